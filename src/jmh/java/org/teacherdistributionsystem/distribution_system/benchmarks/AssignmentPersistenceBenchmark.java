@@ -0,0 +1,102 @@
+package org.teacherdistributionsystem.distribution_system.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.teacherdistributionsystem.distribution_system.config.AssignmentConstraintConfig;
+import org.teacherdistributionsystem.distribution_system.entities.assignment.TeacherExamAssignment;
+import org.teacherdistributionsystem.distribution_system.models.others.SolverInstanceExamModel;
+import org.teacherdistributionsystem.distribution_system.models.others.SolverInstanceModel;
+import org.teacherdistributionsystem.distribution_system.repositories.assignement.TeacherExamAssignmentBatchWriter;
+import org.teacherdistributionsystem.distribution_system.utils.SyntheticSessionGenerator;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writing the assignments of a solved session into an in-memory H2 table shaped like
+ * teacher_exam_assignments. "rowByRow" is what saveAll() does with IDENTITY ids, one
+ * INSERT per supervision; "batched" is TeacherExamAssignmentBatchWriter.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AssignmentPersistenceBenchmark {
+
+    @Param({"SMALL", "MEDIUM", "LARGE"})
+    public BenchmarkInstances.Scale scale;
+
+    private SingleConnectionDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private TeacherExamAssignmentBatchWriter writer;
+    private List<TeacherExamAssignment> assignments;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        dataSource = new SingleConnectionDataSource("jdbc:h2:mem:persistence_bench;DB_CLOSE_DELAY=-1", "sa", "", true);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS teacher_exam_assignments (" +
+                "id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY, session_id BIGINT NOT NULL, run_id BIGINT NOT NULL, " +
+                "exam_id VARCHAR(255) NOT NULL, teacher_id BIGINT NOT NULL, exam_day INTEGER, seance INTEGER, " +
+                "assigned_at TIMESTAMP, exam_date DATE, start_time TIME, end_time TIME)");
+        writer = new TeacherExamAssignmentBatchWriter(jdbcTemplate);
+
+        // Supervisors taken round-robin, only the row count and shape matter here
+        SolverInstanceModel instance = SyntheticSessionGenerator.toInstance(
+                SyntheticSessionGenerator.generate(scale.spec()), AssignmentConstraintConfig.defaultConfig());
+        LocalDateTime now = LocalDateTime.now();
+        assignments = new ArrayList<>();
+        int next = 0;
+        for (SolverInstanceExamModel exam : instance.getExams()) {
+            for (int s = 0; s < exam.getRequiredSupervisors(); s++) {
+                assignments.add(TeacherExamAssignment.builder()
+                        .sessionId(instance.getSessionId())
+                        .runId(1L)
+                        .examId(exam.getExamId())
+                        .teacherId(instance.getTeacherIds()[next++ % instance.getTeacherIds().length])
+                        .examDay(exam.getDay())
+                        .seance(exam.getSeance())
+                        .assignedAt(now)
+                        .examDate(exam.getExamDate())
+                        .startTime(exam.getStartTime())
+                        .endTime(exam.getEndTime())
+                        .build());
+            }
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void clearTable() {
+        jdbcTemplate.execute("TRUNCATE TABLE teacher_exam_assignments");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        jdbcTemplate.execute("DROP TABLE teacher_exam_assignments");
+        dataSource.destroy();
+    }
+
+    @Benchmark
+    public int rowByRow() {
+        int inserted = 0;
+        for (TeacherExamAssignment a : assignments) {
+            inserted += jdbcTemplate.update("INSERT INTO teacher_exam_assignments " +
+                            "(session_id, run_id, exam_id, teacher_id, exam_day, seance, assigned_at, exam_date, start_time, end_time) " +
+                            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)",
+                    a.getSessionId(), a.getRunId(), a.getExamId(), a.getTeacherId(), a.getExamDay(), a.getSeance(),
+                    Timestamp.valueOf(a.getAssignedAt()), a.getExamDate(), a.getStartTime(), a.getEndTime());
+        }
+        return inserted;
+    }
+
+    @Benchmark
+    public int batched() {
+        return writer.insertAll(assignments);
+    }
+}
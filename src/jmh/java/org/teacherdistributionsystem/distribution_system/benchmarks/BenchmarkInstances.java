@@ -0,0 +1,74 @@
+package org.teacherdistributionsystem.distribution_system.benchmarks;
+
+import org.teacherdistributionsystem.distribution_system.config.AssignmentConstraintConfig;
+import org.teacherdistributionsystem.distribution_system.enums.GradeType;
+import org.teacherdistributionsystem.distribution_system.models.others.SyntheticSessionSpec;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Fixed, seeded instances and the config presets shared by all benchmarks.
+ */
+public final class BenchmarkInstances {
+    public static final long SEED = 20250106L;
+
+    public enum Scale {
+        // teachers, days, min rooms, max rooms  (4 seances per day)
+        SMALL(30, 5, 2, 4),
+        MEDIUM(150, 10, 8, 12),
+        LARGE(500, 12, 26, 36),
+        XLARGE(1000, 15, 45, 55);
+
+        private final int teachers;
+        private final int days;
+        private final int minRooms;
+        private final int maxRooms;
+
+        Scale(int teachers, int days, int minRooms, int maxRooms) {
+            this.teachers = teachers;
+            this.days = days;
+            this.minRooms = minRooms;
+            this.maxRooms = maxRooms;
+        }
+
+        public SyntheticSessionSpec spec() {
+            // Rough grade mix of a faculty: 10% PR, 15% MC, 35% MA, 40% AS
+            Map<GradeType, Integer> perGrade = new EnumMap<>(GradeType.class);
+            perGrade.put(GradeType.PR, teachers / 10);
+            perGrade.put(GradeType.MC, teachers * 15 / 100);
+            perGrade.put(GradeType.MA, teachers * 35 / 100);
+            perGrade.put(GradeType.AS, teachers - teachers / 10 - teachers * 15 / 100 - teachers * 35 / 100);
+
+            return SyntheticSessionSpec.builder()
+                    .seed(SEED)
+                    .teachersPerGrade(perGrade)
+                    .numDays(days)
+                    .minRoomsPerSlot(minRooms)
+                    .maxRoomsPerSlot(maxRooms)
+                    .build();
+        }
+    }
+
+    public enum Preset {
+        DEFAULT(AssignmentConstraintConfig::defaultConfig),
+        STRICT(AssignmentConstraintConfig::strictConfig),
+        RELAXED(AssignmentConstraintConfig::relaxedConfig),
+        FAIRNESS(AssignmentConstraintConfig::fairnessOptimizedConfig),
+        LEXICOGRAPHIC(AssignmentConstraintConfig::lexicographicConfig);
+
+        private final Supplier<AssignmentConstraintConfig> factory;
+
+        Preset(Supplier<AssignmentConstraintConfig> factory) {
+            this.factory = factory;
+        }
+
+        public AssignmentConstraintConfig config() {
+            return factory.get();
+        }
+    }
+
+    private BenchmarkInstances() {
+    }
+}
@@ -0,0 +1,24 @@
+package org.teacherdistributionsystem.distribution_system.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmarks with the GC profiler, so every result carries its allocation
+ * rate (gc.alloc.rate.norm = bytes allocated per operation). Accepts the usual JMH
+ * command line, e.g. {@code ModelBuild -p scale=SMALL,MEDIUM}. Compare the JSON
+ * result with src/jmh/resources/baseline before merging model-building changes.
+ */
+public class BenchmarkRunner {
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .addProfiler(GCProfiler.class)
+                .resultFormat(ResultFormatType.JSON)
+                .build())
+                .run();
+    }
+}
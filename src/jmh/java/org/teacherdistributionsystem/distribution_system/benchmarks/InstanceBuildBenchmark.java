@@ -0,0 +1,37 @@
+package org.teacherdistributionsystem.distribution_system.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.teacherdistributionsystem.distribution_system.config.AssignmentConstraintConfig;
+import org.teacherdistributionsystem.distribution_system.models.others.SolverInstanceModel;
+import org.teacherdistributionsystem.distribution_system.models.others.SyntheticSessionSpec;
+import org.teacherdistributionsystem.distribution_system.utils.SyntheticSessionGenerator;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Building the in-memory solver instance, the DB-free equivalent of loadData().
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class InstanceBuildBenchmark {
+
+    @Param({"SMALL", "MEDIUM", "LARGE", "XLARGE"})
+    public BenchmarkInstances.Scale scale;
+
+    private SyntheticSessionSpec spec;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        spec = scale.spec();
+    }
+
+    @Benchmark
+    public SolverInstanceModel buildInstance() {
+        return SyntheticSessionGenerator.toInstance(
+                SyntheticSessionGenerator.generate(spec), AssignmentConstraintConfig.defaultConfig());
+    }
+}
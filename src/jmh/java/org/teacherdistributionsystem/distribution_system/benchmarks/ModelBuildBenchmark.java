@@ -0,0 +1,69 @@
+package org.teacherdistributionsystem.distribution_system.benchmarks;
+
+import com.google.ortools.sat.CpModel;
+import org.openjdk.jmh.annotations.*;
+import org.teacherdistributionsystem.distribution_system.config.AssignmentConstraintConfig;
+import org.teacherdistributionsystem.distribution_system.models.others.SolverInstanceModel;
+import org.teacherdistributionsystem.distribution_system.services.assignment.AssignmentAlgorithmService;
+import org.teacherdistributionsystem.distribution_system.utils.SyntheticSessionGenerator;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * createVariables() + addConstraintsWithPriority() for each preset. The JMH score is the
+ * whole build; the per-family split (Variables, Exam coverage, ..., Objective) is
+ * averaged over all measured invocations and printed at the end of each trial.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgs = {"-Xmx8g"})
+public class ModelBuildBenchmark {
+
+    @Param({"SMALL", "MEDIUM", "LARGE", "XLARGE"})
+    public BenchmarkInstances.Scale scale;
+
+    @Param({"DEFAULT", "STRICT", "RELAXED", "FAIRNESS", "LEXICOGRAPHIC"})
+    public BenchmarkInstances.Preset preset;
+
+    private SolverInstanceModel instance;
+    private AssignmentConstraintConfig config;
+    private AssignmentAlgorithmService service;
+
+    private final Map<String, Long> phaseTotals = new LinkedHashMap<>();
+    private long builds;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        config = preset.config();
+        instance = SyntheticSessionGenerator.toInstance(SyntheticSessionGenerator.generate(scale.spec()), config);
+        service = new AssignmentAlgorithmService(null, null, null, null, null);
+    }
+
+    @Setup(Level.Iteration)
+    public void resetPhases() {
+        // Only measurement iterations end up in the split, warmup totals are overwritten
+        phaseTotals.clear();
+        builds = 0;
+    }
+
+    @Benchmark
+    public CpModel buildModel() {
+        CpModel model = service.buildModel(instance, config);
+        service.getModelBuildNanos().forEach((phase, nanos) -> phaseTotals.merge(phase, nanos, Long::sum));
+        builds++;
+        return model;
+    }
+
+    @TearDown(Level.Trial)
+    public void printPhases() {
+        System.out.println("\nModel build split for " + scale + "/" + preset + " (last iteration, "
+                + builds + " builds):");
+        phaseTotals.forEach((phase, nanos) -> System.out.println(
+                String.format("  %-20s %10.3f ms", phase, nanos / 1_000_000.0 / Math.max(builds, 1))));
+    }
+}
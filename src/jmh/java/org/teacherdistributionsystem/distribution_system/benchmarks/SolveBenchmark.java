@@ -0,0 +1,48 @@
+package org.teacherdistributionsystem.distribution_system.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.teacherdistributionsystem.distribution_system.config.AssignmentConstraintConfig;
+import org.teacherdistributionsystem.distribution_system.models.others.SolverInstanceModel;
+import org.teacherdistributionsystem.distribution_system.models.responses.assignment.AssignmentResponseModel;
+import org.teacherdistributionsystem.distribution_system.services.assignment.AssignmentAlgorithmService;
+import org.teacherdistributionsystem.distribution_system.utils.SyntheticSessionGenerator;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end strategy (strict solve, then relaxation if needed) through replay().
+ * Each invocation is a full solve, so this runs in single shot mode with a capped
+ * solver time; LARGE and XLARGE can be selected with -p scale=... when there is time.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgs = {"-Xmx8g"})
+public class SolveBenchmark {
+    private static final double MAX_SOLVE_TIME_SECONDS = 60.0;
+
+    @Param({"SMALL", "MEDIUM"})
+    public BenchmarkInstances.Scale scale;
+
+    @Param({"DEFAULT", "STRICT", "RELAXED", "FAIRNESS", "LEXICOGRAPHIC"})
+    public BenchmarkInstances.Preset preset;
+
+    private SolverInstanceModel instance;
+    private AssignmentConstraintConfig config;
+    private AssignmentAlgorithmService service;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        config = preset.config();
+        config.setMaxSolveTimeSeconds(MAX_SOLVE_TIME_SECONDS);
+        instance = SyntheticSessionGenerator.toInstance(SyntheticSessionGenerator.generate(scale.spec()), config);
+        service = new AssignmentAlgorithmService(null, null, null, null, null);
+    }
+
+    @Benchmark
+    public AssignmentResponseModel solve() {
+        return service.replay(instance, config);
+    }
+}
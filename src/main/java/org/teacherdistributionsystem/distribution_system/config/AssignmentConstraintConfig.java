@@ -1,12 +1,23 @@
 package org.teacherdistributionsystem.distribution_system.config;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+
 import java.nio.file.attribute.FileAttribute;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
 
 /**
  * Configuration for assignment algorithm constraints
  * Allows fine-tuning of constraint behavior: HARD (must follow) vs SOFT (prefer but allow)
  */
 public class AssignmentConstraintConfig {
+    private static final ObjectMapper FINGERPRINT_MAPPER = JsonMapper.builder()
+            .enable(MapperFeature.SORT_PROPERTIES_ALPHABETICALLY)
+            .build();
 
     // Constraint enforcement modes
     public enum ConstraintMode {
@@ -15,6 +26,12 @@ public class AssignmentConstraintConfig {
         HARD       // Strict constraint (cannot be violated)
     }
 
+    // How the SOFT penalties are combined into the objective
+    public enum ObjectiveMode {
+        WEIGHTED,       // One weighted sum of all penalties
+        LEXICOGRAPHIC   // Optimize penalties one at a time, in priority order
+    }
+
     // ===== CORE CONSTRAINTS (Usually keep HARD) =====
 
     /**
@@ -104,8 +121,213 @@ public class AssignmentConstraintConfig {
 
     private int equalAssignmentPenalty = 10;
 
+    // ===== SOLVER SETTINGS =====
+
+    /**
+     * WEIGHTED: the penalty weights above are summed into a single objective
+     * LEXICOGRAPHIC: unavailability violations, then fairness deviations, then gaps,
+     * then owner presence, then conflict avoidance are optimized one after the other.
+     * Each stage's optimum is fixed as a constraint before the next stage runs,
+     * so the weights only matter inside a stage
+     */
+    private ObjectiveMode objectiveMode = ObjectiveMode.WEIGHTED;
+
+    /**
+     * Slack allowed on a lexicographic stage once it is fixed (0 = keep the exact optimum)
+     * Only used if objectiveMode = LEXICOGRAPHIC
+     */
+    private int lexicographicTolerance = 0;
+
+    /**
+     * Total time budget for one solve, split across stages in LEXICOGRAPHIC mode
+     */
+    private double maxSolveTimeSeconds = 300.0;
+
+    /**
+     * Order interchangeable exams of the same time slot (no owner among the loaded
+     * teachers, same required supervisors) so the solver does not explore every
+     * permutation of their supervisor sets. Does not change the set of schedules found
+     */
+    private boolean symmetryBreaking = false;
+
+    /**
+     * Write the loaded instance (teacher/exam/unavailability arrays, this config and
+     * the built CP-SAT model) under outputDir/instances before solving, for offline replay
+     */
+    private boolean exportInstance = false;
+
+    /**
+     * Build the constraint families that only use the assignment variables (coverage,
+     * participation, ownership, owner presence, unavailability, quotas, time conflicts)
+     * on parallel workers, each into its own model fragment. Fragments are merged in a
+     * fixed order, so the model is identical to a sequential build
+     */
+    private boolean parallelModelBuild = true;
+
+    /**
+     * Keep the solver events of the run (phases, constraint counts, relaxation steps,
+     * solver statuses) and return them in the response metadata, whatever the log level
+     */
+    private boolean collectSolverEvents = false;
+
+    /**
+     * Run CP-SAT with search logging into the response and parse it for the presolve
+     * time, presolved model size and worker count of the solver statistics. Logging
+     * slows the search down, so these statistics stay empty unless it is on
+     */
+    private boolean solverSearchLog = false;
+
+    // ===== JOINT SESSIONS =====
+
+    /**
+     * When several sessions are solved as one model, quotas are enforced on the total over
+     * all sessions. A teacher may take up to this many supervisions above their quota in one
+     * session, compensated by fewer in another (0 = every session quota stays hard)
+     */
+    private int jointSessionCreditLimit = 2;
+
+    // ===== CP-SAT PARAMETERS (see SolverParameterTuner) =====
+
+    /**
+     * Parallel search workers, 0 = CP-SAT default (one per core)
+     */
+    private int numSearchWorkers = 0;
+
+    /**
+     * 0 = no LP relaxation, 1 = linear constraints only (CP-SAT default), 2 = full linearization
+     */
+    private int linearizationLevel = 1;
+
+    /**
+     * Run the CP-SAT presolve before search
+     */
+    private boolean cpModelPresolve = true;
+
+    /**
+     * Share of the teachers with unavailabilities relaxed per attempt at the start
+     * of the progressive relaxation
+     */
+    private int relaxationBatchPercent = 5;
+
+    /**
+     * Batch share multiplier applied after the 3rd and the 7th relaxation attempt
+     */
+    private double relaxationBatchGrowth = 2.0;
+
     // ===== GETTERS AND SETTERS =====
 
+    public int getNumSearchWorkers() {
+        return numSearchWorkers;
+    }
+
+    public void setNumSearchWorkers(int numSearchWorkers) {
+        this.numSearchWorkers = numSearchWorkers;
+    }
+
+    public int getLinearizationLevel() {
+        return linearizationLevel;
+    }
+
+    public void setLinearizationLevel(int linearizationLevel) {
+        this.linearizationLevel = linearizationLevel;
+    }
+
+    public boolean isCpModelPresolve() {
+        return cpModelPresolve;
+    }
+
+    public void setCpModelPresolve(boolean cpModelPresolve) {
+        this.cpModelPresolve = cpModelPresolve;
+    }
+
+    public int getRelaxationBatchPercent() {
+        return relaxationBatchPercent;
+    }
+
+    public void setRelaxationBatchPercent(int relaxationBatchPercent) {
+        this.relaxationBatchPercent = relaxationBatchPercent;
+    }
+
+    public double getRelaxationBatchGrowth() {
+        return relaxationBatchGrowth;
+    }
+
+    public void setRelaxationBatchGrowth(double relaxationBatchGrowth) {
+        this.relaxationBatchGrowth = relaxationBatchGrowth;
+    }
+
+    public ObjectiveMode getObjectiveMode() {
+        return objectiveMode;
+    }
+
+    public void setObjectiveMode(ObjectiveMode objectiveMode) {
+        this.objectiveMode = objectiveMode;
+    }
+
+    public int getLexicographicTolerance() {
+        return lexicographicTolerance;
+    }
+
+    public void setLexicographicTolerance(int lexicographicTolerance) {
+        this.lexicographicTolerance = lexicographicTolerance;
+    }
+
+    public boolean isSymmetryBreaking() {
+        return symmetryBreaking;
+    }
+
+    public void setSymmetryBreaking(boolean symmetryBreaking) {
+        this.symmetryBreaking = symmetryBreaking;
+    }
+
+    public boolean isExportInstance() {
+        return exportInstance;
+    }
+
+    public void setExportInstance(boolean exportInstance) {
+        this.exportInstance = exportInstance;
+    }
+
+    public int getJointSessionCreditLimit() {
+        return jointSessionCreditLimit;
+    }
+
+    public void setJointSessionCreditLimit(int jointSessionCreditLimit) {
+        this.jointSessionCreditLimit = jointSessionCreditLimit;
+    }
+
+    public boolean isCollectSolverEvents() {
+        return collectSolverEvents;
+    }
+
+    public void setCollectSolverEvents(boolean collectSolverEvents) {
+        this.collectSolverEvents = collectSolverEvents;
+    }
+
+    public boolean isSolverSearchLog() {
+        return solverSearchLog;
+    }
+
+    public void setSolverSearchLog(boolean solverSearchLog) {
+        this.solverSearchLog = solverSearchLog;
+    }
+
+    public boolean isParallelModelBuild() {
+        return parallelModelBuild;
+    }
+
+    public void setParallelModelBuild(boolean parallelModelBuild) {
+        this.parallelModelBuild = parallelModelBuild;
+    }
+
+    public double getMaxSolveTimeSeconds() {
+        return maxSolveTimeSeconds;
+    }
+
+    public void setMaxSolveTimeSeconds(double maxSolveTimeSeconds) {
+        this.maxSolveTimeSeconds = maxSolveTimeSeconds;
+    }
+
     public int getEqualAssignmentPenalty() {
         return equalAssignmentPenalty;
     }
@@ -361,4 +583,28 @@ public class AssignmentConstraintConfig {
 
         return config;
     }
-}
\ No newline at end of file
+
+    /**
+     * Short hash of every setting, saved with each assignment run so that runs made
+     * with the same configuration can be told apart from the others
+     */
+    public String fingerprint() {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(FINGERPRINT_MAPPER.writeValueAsBytes(this));
+            return HexFormat.of().formatHex(digest, 0, 8);
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Could not hash the assignment configuration", e);
+        }
+    }
+
+    /**
+     * Lexicographic configuration - same constraints as default, but the soft
+     * penalties are optimized in priority order instead of as one weighted sum
+     */
+    public static AssignmentConstraintConfig lexicographicConfig() {
+        AssignmentConstraintConfig config = defaultConfig();
+        config.setObjectiveMode(ObjectiveMode.LEXICOGRAPHIC);
+        config.setLexicographicTolerance(0);
+        return config;
+    }
+}
@@ -0,0 +1,17 @@
+package org.teacherdistributionsystem.distribution_system.config;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a read endpoint whose response only changes with the ScheduleVersionService
+ * version: of its {sessionId} path variable when it has one, else the global version.
+ * ConditionalGetInterceptor answers a matching If-None-Match / If-Modified-Since with 304
+ * before the handler runs.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ConditionalGet {
+}
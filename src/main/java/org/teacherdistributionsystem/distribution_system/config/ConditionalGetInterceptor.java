@@ -0,0 +1,51 @@
+package org.teacherdistributionsystem.distribution_system.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+import org.teacherdistributionsystem.distribution_system.services.assignment.ScheduleVersionService;
+
+import java.util.Map;
+
+@Component
+@RequiredArgsConstructor
+public class ConditionalGetInterceptor implements HandlerInterceptor {
+    private final ScheduleVersionService scheduleVersionService;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!(handler instanceof HandlerMethod method) || !method.hasMethodAnnotation(ConditionalGet.class)) {
+            return true;
+        }
+        if (!HttpMethod.GET.matches(request.getMethod()) && !HttpMethod.HEAD.matches(request.getMethod())) {
+            return true;
+        }
+
+        ScheduleVersionService.Validator validator;
+        @SuppressWarnings("unchecked")
+        Map<String, String> pathVariables =
+                (Map<String, String>) request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+        String sessionId = pathVariables != null ? pathVariables.get("sessionId") : null;
+        if (sessionId == null) {
+            validator = scheduleVersionService.global();
+        } else {
+            try {
+                validator = scheduleVersionService.session(Long.valueOf(sessionId));
+            } catch (NumberFormatException e) {
+                return true; // Left to the handler's own validation
+            }
+        }
+
+        // Stored copies must be revalidated, a heuristic lifetime would serve a stale schedule
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "no-cache");
+        // Sets ETag and Last-Modified, and the 304 status when the client copy is current
+        return !new ServletWebRequest(request, response).checkNotModified(validator.eTag(), validator.lastModified());
+    }
+}
@@ -8,8 +8,10 @@ import org.springframework.web.bind.annotation.*;
 import org.teacherdistributionsystem.distribution_system.dtos.assignment.ExamSessionDto;
 import org.teacherdistributionsystem.distribution_system.exceptions.custom.BadRequestException;
 import org.teacherdistributionsystem.distribution_system.models.requests.MainRequestBody;
+import org.teacherdistributionsystem.distribution_system.models.responses.assignment.SessionCapacityResponse;
 import org.teacherdistributionsystem.distribution_system.models.responses.teacher.GradeCount;
 import org.teacherdistributionsystem.distribution_system.services.ExcelImportOrchestrator;
+import org.teacherdistributionsystem.distribution_system.services.assignment.CapacityLedgerService;
 import org.teacherdistributionsystem.distribution_system.services.assignment.ExamService;
 import org.teacherdistributionsystem.distribution_system.services.assignment.ExamSessionService;
 import org.teacherdistributionsystem.distribution_system.services.assignment.QuotaRecommendationService;
@@ -32,6 +34,7 @@ public class MainController {
     private final ExamService examService;
     private final TeacherService teacherService;
     private final QuotaRecommendationService quotaRecommendationService;
+    private final CapacityLedgerService capacityLedgerService;
 
 
     @PostMapping("/upload")
@@ -83,6 +86,11 @@ public class MainController {
 
     }
 
+    @GetMapping("/{sessionId}/capacity")
+    public ResponseEntity<SessionCapacityResponse> capacity(@PathVariable Long sessionId) {
+        return ResponseEntity.ok(capacityLedgerService.getCapacity(sessionId));
+    }
+
 
 
 }
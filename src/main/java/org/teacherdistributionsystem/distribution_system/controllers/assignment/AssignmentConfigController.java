@@ -1,16 +1,43 @@
 package org.teacherdistributionsystem.distribution_system.controllers.assignment;
 
+import jakarta.persistence.EntityNotFoundException;
+import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import org.teacherdistributionsystem.distribution_system.config.AssignmentConstraintConfig;
+import org.teacherdistributionsystem.distribution_system.utils.ConfigProfileStore;
+
+import java.util.ArrayList;
+import java.util.List;
 
 
 @RestController
 @RequestMapping("/api/assignment")
+@RequiredArgsConstructor
 public class AssignmentConfigController {
+    private final ConfigProfileStore configProfileStore;
 
+    /**
+     * List preset names: built-in presets first, then profiles written by SolverParameterTuner
+     */
+    @GetMapping("/config/presets")
+    public ResponseEntity<List<String>> getPresetNames() {
+        List<String> names = new ArrayList<>(ConfigProfileStore.BUILT_IN_PRESETS.keySet());
+        configProfileStore.names().stream()
+                .filter(name -> !ConfigProfileStore.BUILT_IN_PRESETS.containsKey(name))
+                .forEach(names::add);
+        return ResponseEntity.ok(names);
+    }
 
+    /**
+     * Get a preset by name, built-in or tuned
+     */
+    @GetMapping("/config/presets/{name}")
+    public ResponseEntity<AssignmentConstraintConfig> getPreset(@PathVariable String name) {
+        return ResponseEntity.ok(configProfileStore.findPreset(name)
+                .orElseThrow(() -> new EntityNotFoundException("No configuration preset named " + name)));
+    }
 
     /**
      * Get default configuration
@@ -43,4 +70,12 @@ public class AssignmentConfigController {
     public ResponseEntity<AssignmentConstraintConfig> getFairnessConfig() {
         return ResponseEntity.ok(AssignmentConstraintConfig.fairnessOptimizedConfig());
     }
+
+    /**
+     * Get lexicographic configuration
+     */
+    @GetMapping("/config/lexicographic")
+    public ResponseEntity<AssignmentConstraintConfig> getLexicographicConfig() {
+        return ResponseEntity.ok(AssignmentConstraintConfig.lexicographicConfig());
+    }
 }
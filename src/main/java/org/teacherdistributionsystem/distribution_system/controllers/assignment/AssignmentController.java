@@ -1,26 +1,37 @@
 package org.teacherdistributionsystem.distribution_system.controllers.assignment;
 
 import jakarta.persistence.EntityNotFoundException;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.context.request.async.DeferredResult;
 
+import org.teacherdistributionsystem.distribution_system.config.ConditionalGet;
 import org.teacherdistributionsystem.distribution_system.config.AssignmentConstraintConfig;
 import org.teacherdistributionsystem.distribution_system.dtos.assignment.TeacherExamAssignmentDto;
 import org.teacherdistributionsystem.distribution_system.entities.assignment.AssignmentSession;
 import org.teacherdistributionsystem.distribution_system.enums.AssignmentStatus;
 import org.teacherdistributionsystem.distribution_system.exceptions.custom.BadRequestException;
+import org.teacherdistributionsystem.distribution_system.models.responses.KeysetPageResponse;
 import org.teacherdistributionsystem.distribution_system.models.responses.assignment.AssignmentResponseModel;
 import org.teacherdistributionsystem.distribution_system.models.responses.assignment.DaySeanceGroupAssignments;
+import org.teacherdistributionsystem.distribution_system.models.responses.assignment.JointAssignmentResponseModel;
+import org.teacherdistributionsystem.distribution_system.models.responses.assignment.SolverReadinessResponse;
 import org.teacherdistributionsystem.distribution_system.services.assignment.AssignmentAlgorithmService;
 import org.teacherdistributionsystem.distribution_system.services.assignment.AssignmentPersistenceService;
+import org.teacherdistributionsystem.distribution_system.services.assignment.AssignmentQueryCache;
 import org.teacherdistributionsystem.distribution_system.services.assignment.ExamService;
 import org.teacherdistributionsystem.distribution_system.services.teacher.*;
+import org.teacherdistributionsystem.distribution_system.utils.BoundedCache;
 import org.teacherdistributionsystem.distribution_system.utils.JsonFileWriter;
+import org.teacherdistributionsystem.distribution_system.utils.SolverWarmup;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Map;
 
@@ -41,17 +52,41 @@ public class AssignmentController {
     private final ExamService examService;
     private final TeacherService teacherService;
     private final TeacherUnavailabilityService teacherUnavailabilityService;
+    private final SolverWarmup solverWarmup;
+    private final AssignmentQueryCache assignmentQueryCache;
 
 
+    // Written to the response row by row, large sessions are never held as a list
+    @ConditionalGet
     @GetMapping("/{sessionId}")
-    public ResponseEntity<List<TeacherExamAssignmentDto>> getAssignmentsForSession(@PathVariable Long sessionId) {
+    public void getAssignmentsForSession(@PathVariable Long sessionId, HttpServletResponse response) throws IOException {
         if(sessionId == null) {
             throw new BadRequestException("Bad Request", "Session id is required");
         }
-        List<TeacherExamAssignmentDto> result = assignmentPersistenceService.getAssignmentsForSession(sessionId);
-        return ResponseEntity.ok(result);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        assignmentPersistenceService.writeAssignmentsForSession(sessionId, response.getOutputStream());
+    }
+
+    // Keyset paging: pass the previous page's nextCursor as "after"
+    @ConditionalGet
+    @GetMapping("/{sessionId}/page")
+    public ResponseEntity<KeysetPageResponse<TeacherExamAssignmentDto>> getAssignmentsPage(@PathVariable Long sessionId,
+            @RequestParam(defaultValue = "0") Long after,
+            @RequestParam(defaultValue = "50") int size,
+            @RequestParam(required = false) Long teacherId,
+            @RequestParam(required = false) Integer day,
+            @RequestParam(required = false) Integer seance) {
+        if(sessionId == null) {
+            throw new BadRequestException("Bad Request", "Session id is required");
+        }
+        if (size < 1 || size > KeysetPageResponse.MAX_PAGE_SIZE) {
+            throw new BadRequestException("Bad Request", "size must be between 1 and " + KeysetPageResponse.MAX_PAGE_SIZE);
+        }
+        return ResponseEntity.ok(assignmentPersistenceService.getAssignmentsPage(sessionId, after, size, teacherId, day, seance));
     }
 
+    @ConditionalGet
     @GetMapping("/teacher/{sessionId}/{teacherId}")
     public ResponseEntity<List<TeacherExamAssignmentDto>> getTeacherAssignments(@PathVariable Long sessionId, @PathVariable Long teacherId){
         if(sessionId == null) {
@@ -136,6 +171,79 @@ public class AssignmentController {
         return deferredResult;
     }
 
+    /**
+     * Solves several sessions as one model (fairness and quotas over the whole period).
+     * The body is optional and defaults to the current configuration.
+     */
+    @PostMapping("/execute/joint")
+    public DeferredResult<ResponseEntity<Object>> executeJointAssignment(
+            @RequestParam List<Long> sessionIds,
+            @RequestBody(required = false) AssignmentConstraintConfig config) {
+        if (sessionIds == null || sessionIds.isEmpty()) {
+            throw new BadRequestException("Bad Request", "At least one session id is required");
+        }
+        sessionIds.forEach(assignmentPersistenceService::deleteAssignments);
+
+        DeferredResult<ResponseEntity<Object>> deferredResult = new DeferredResult<>(800000L);
+
+        try {
+            assignmentAlgorithmService.executeJointAssignment(sessionIds, config)
+                    .whenComplete((response, exception) -> {
+                        try {
+                            if (exception != null) {
+                                handleError(deferredResult, exception);
+                            } else {
+                                handleJointSuccess(deferredResult, response);
+                            }
+                        } catch (Exception e) {
+                            handleError(deferredResult, e);
+                        }
+                    });
+        } catch (Exception e) {
+            handleError(deferredResult, e);
+        }
+
+        deferredResult.onTimeout(() -> {
+            AssignmentResponseModel timeoutResponse = AssignmentResponseModel.builder()
+                    .status(AssignmentStatus.TIMEOUT)
+                    .message("Request timed out")
+                    .build();
+            deferredResult.setResult(
+                    ResponseEntity.status(HttpStatus.REQUEST_TIMEOUT).body(timeoutResponse)
+            );
+        });
+
+        return deferredResult;
+    }
+
+    private void handleJointSuccess(DeferredResult<ResponseEntity<Object>> deferredResult,
+                                    JointAssignmentResponseModel response) {
+        HttpStatus httpStatus = switch (response.getStatus()) {
+            case SUCCESS, INFEASIBLE -> HttpStatus.OK;
+            case TIMEOUT -> HttpStatus.PARTIAL_CONTENT;
+            case ERROR -> HttpStatus.INTERNAL_SERVER_ERROR;
+        };
+
+        if (response.getStatus() == AssignmentStatus.SUCCESS) {
+            persistenceService.saveJointAssignmentResultsAsync(response);
+        }
+
+        // Same shape as the single-session endpoint: metadata only, assignments are read back per session
+        deferredResult.setResult(ResponseEntity.status(httpStatus).body(JointAssignmentResponseModel.builder()
+                .status(response.getStatus())
+                .message(response.getMessage())
+                .sessionIds(response.getSessionIds())
+                .metadata(response.getMetadata())
+                .sessions(response.getSessions().stream()
+                        .map(session -> AssignmentResponseModel.builder()
+                                .status(session.getStatus())
+                                .metadata(session.getMetadata())
+                                .build())
+                        .toList())
+                .diagnosis(response.getDiagnosis())
+                .generatedAt(response.getGeneratedAt())
+                .build()));
+    }
 
     private void handleSuccess(DeferredResult<ResponseEntity<Object>> deferredResult,
                                AssignmentResponseModel response) {
@@ -213,12 +321,20 @@ public class AssignmentController {
         return ResponseEntity.noContent().build();
     }
 
+    @GetMapping("/solver/ready")
+    public ResponseEntity<SolverReadinessResponse> solverReadiness() {
+        SolverReadinessResponse readiness = solverWarmup.getReadiness();
+        return ResponseEntity.status(readiness.isReady() ? HttpStatus.OK : HttpStatus.SERVICE_UNAVAILABLE).body(readiness);
+    }
+
+    @ConditionalGet
     @GetMapping("/status/{sessionId}")
     public ResponseEntity<Boolean> checkAssignmentStatus(@PathVariable Long sessionId) {
         boolean exists = persistenceService.hasAssignments(sessionId);
         return ResponseEntity.ok(exists);
     }
 
+    @ConditionalGet
     @GetMapping("/exam/{sessionId}/{examId}")
     public ResponseEntity<List<TeacherExamAssignmentDto>> getExamAssignments(@PathVariable Long sessionId, @PathVariable String examId){
         if(sessionId == null) {
@@ -230,6 +346,12 @@ public class AssignmentController {
         return ResponseEntity.ok().body(assignmentPersistenceService.getExamAssignments(examId, sessionId));
     }
 
+    @GetMapping("/cache/stats")
+    public ResponseEntity<List<BoundedCache.Stats>> getCacheStats() {
+        return ResponseEntity.ok(assignmentQueryCache.stats());
+    }
+
+    @ConditionalGet
     @GetMapping("/metadata/{sessionId}")
     public ResponseEntity<AssignmentSession> getSessionMetadata(@PathVariable Long sessionId){
         if(sessionId == null) {
@@ -246,6 +368,7 @@ public class AssignmentController {
         assignmentPersistenceService.deleteAssignments(sessionId);
         return ResponseEntity.accepted().body("Assignments deleted for session: " + sessionId);
     }
+    @ConditionalGet
     @GetMapping("/{sessionId}/by-date")
     public ResponseEntity<Map<Integer, Map<Integer, Map<String, DaySeanceGroupAssignments>>>>
     getAssignmentsGrouped(@PathVariable Long sessionId) {
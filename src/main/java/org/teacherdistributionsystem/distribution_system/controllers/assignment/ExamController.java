@@ -1,13 +1,15 @@
 package org.teacherdistributionsystem.distribution_system.controllers.assignment;
 
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.teacherdistributionsystem.distribution_system.exceptions.custom.BadRequestException;
-import org.teacherdistributionsystem.distribution_system.models.projections.ExamProjection;
 import org.teacherdistributionsystem.distribution_system.services.assignment.ExamService;
 
-import java.util.List;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 
 @RestController
 @RequestMapping("/api/v1/exams")
@@ -16,12 +18,15 @@ import java.util.List;
 public class ExamController {
     private final ExamService examService;
 
+    // Written to the response row by row, large sessions are never held as a list
     @GetMapping("/{sessionId}")
-    public ResponseEntity<List<ExamProjection>> getExamsBySessionId(@PathVariable Long sessionId) {
+    public void getExamsBySessionId(@PathVariable Long sessionId, HttpServletResponse response) throws IOException {
         if (sessionId == null) {
             throw new BadRequestException("Bad Request","SessionId cannot be null");
         }
-        return ResponseEntity.ok().body(examService.getExam(sessionId));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        examService.writeExams(sessionId, response.getOutputStream());
     }
     @PatchMapping("/{examId}")
     public ResponseEntity<String> getExamsBySessionId(@PathVariable String examId, @RequestBody Integer requiredSupervisors) {
@@ -7,6 +7,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.teacherdistributionsystem.distribution_system.config.ConditionalGet;
 import org.teacherdistributionsystem.distribution_system.dtos.assignment.TeacherAssignmentsDTO;
 import org.teacherdistributionsystem.distribution_system.services.scheduler.ExcelScheduleService;
 import org.teacherdistributionsystem.distribution_system.services.scheduler.JsonDataLoaderService;
@@ -35,6 +36,7 @@ public class ExcelScheduleController {
      * 1. Télécharger le planning par séance en Excel (AVEC signature)
      * URL: GET http://localhost:8080/api/schedules/session/excel?day=1&seance=1
      */
+    @ConditionalGet
     @GetMapping("/session/excel")
     public ResponseEntity<byte[]> downloadSessionSchedule(@RequestParam Integer day,
                                                           @RequestParam Integer seance) {
@@ -63,6 +65,7 @@ public class ExcelScheduleController {
      * 2. Télécharger le planning d'un enseignant surveillant en Excel PAR NOM (ANCIEN)
      * URL: GET http://localhost:8080/api/schedules/teacher/excel?name=NomEnseignant
      */
+    @ConditionalGet
     @GetMapping("/teacher/excel")
     public ResponseEntity<byte[]> downloadTeacherSchedule(@RequestParam String name) {
         try {
@@ -95,6 +98,7 @@ public class ExcelScheduleController {
      * 2bis. Télécharger le planning d'un enseignant surveillant en Excel PAR EMAIL (NOUVEAU)
      * URL: GET http://localhost:8080/api/schedules/teacher/email/excel?email=john.doe@example.com
      */
+    @ConditionalGet
     @GetMapping("/teacher/email/excel")
     public ResponseEntity<byte[]> downloadTeacherScheduleByEmail(@RequestParam String email) {
         try {
@@ -126,6 +130,7 @@ public class ExcelScheduleController {
      * 3. Télécharger le planning d'un enseignant responsable en Excel PAR NOM (ANCIEN)
      * URL: GET http://localhost:8080/api/schedules/responsible/excel?name=NomEnseignant
      */
+    @ConditionalGet
     @GetMapping("/responsible/excel")
     public ResponseEntity<byte[]> downloadResponsibleTeacherSchedule(@RequestParam String name) {
         try {
@@ -158,6 +163,7 @@ public class ExcelScheduleController {
      * 3bis. Télécharger le planning d'un enseignant responsable en Excel PAR EMAIL (NOUVEAU)
      * URL: GET http://localhost:8080/api/schedules/responsible/email/excel?email=john.doe@example.com
      */
+    @ConditionalGet
     @GetMapping("/responsible/email/excel")
     public ResponseEntity<byte[]> downloadResponsibleTeacherScheduleByEmail(@RequestParam String email) {
         try {
@@ -189,6 +195,7 @@ public class ExcelScheduleController {
      * 4. Télécharger le planning administration en Excel
      * URL: GET http://localhost:8080/api/schedules/admin/excel
      */
+    @ConditionalGet
     @GetMapping("/admin/excel")
     public ResponseEntity<byte[]> downloadAdminSchedule() {
         try {
@@ -215,6 +222,7 @@ public class ExcelScheduleController {
      * Récupérer la liste de tous les enseignants
      * URL: GET http://localhost:8080/api/schedules/teachers
      */
+    @ConditionalGet
     @GetMapping("/teachers")
     public ResponseEntity<List<String>> getAllTeachers() {
         try {
@@ -232,6 +240,7 @@ public class ExcelScheduleController {
      * Récupérer la liste de tous les emails des enseignants (NOUVEAU)
      * URL: GET http://localhost:8080/api/schedules/teachers/emails
      */
+    @ConditionalGet
     @GetMapping("/teachers/emails")
     public ResponseEntity<List<String>> getAllTeacherEmails() {
         try {
@@ -249,6 +258,7 @@ public class ExcelScheduleController {
      * Récupérer la liste de tous les enseignants responsables
      * URL: GET http://localhost:8080/api/schedules/responsible-teachers
      */
+    @ConditionalGet
     @GetMapping("/responsible-teachers")
     public ResponseEntity<List<String>> getAllResponsibleTeachers() {
         try {
@@ -266,6 +276,7 @@ public class ExcelScheduleController {
      * Vérifier si un enseignant existe PAR NOM
      * URL: GET http://localhost:8080/api/schedules/teacher/exists?name=NomEnseignant
      */
+    @ConditionalGet
     @GetMapping("/teacher/exists")
     public ResponseEntity<Boolean> checkTeacherExists(@RequestParam String name) {
         try {
@@ -281,6 +292,7 @@ public class ExcelScheduleController {
      * Vérifier si un enseignant existe PAR EMAIL (NOUVEAU)
      * URL: GET http://localhost:8080/api/schedules/teacher/email/exists?email=john.doe@example.com
      */
+    @ConditionalGet
     @GetMapping("/teacher/email/exists")
     public ResponseEntity<Boolean> checkTeacherExistsByEmail(@RequestParam String email) {
         try {
@@ -296,6 +308,7 @@ public class ExcelScheduleController {
      * Vérifier si un enseignant a des responsabilités PAR NOM
      * URL: GET http://localhost:8080/api/schedules/responsible/exists?name=NomEnseignant
      */
+    @ConditionalGet
     @GetMapping("/responsible/exists")
     public ResponseEntity<Boolean> checkResponsibleTeacherExists(@RequestParam String name) {
         try {
@@ -311,6 +324,7 @@ public class ExcelScheduleController {
      * Vérifier si un enseignant a des responsabilités PAR EMAIL (NOUVEAU)
      * URL: GET http://localhost:8080/api/schedules/responsible/email/exists?email=john.doe@example.com
      */
+    @ConditionalGet
     @GetMapping("/responsible/email/exists")
     public ResponseEntity<Boolean> checkResponsibleTeacherExistsByEmail(@RequestParam String email) {
         try {
@@ -1,5 +1,6 @@
 package org.teacherdistributionsystem.distribution_system.controllers.scheduler;
 
+import org.teacherdistributionsystem.distribution_system.config.ConditionalGet;
 import org.teacherdistributionsystem.distribution_system.dtos.assignment.TeacherAssignmentsDTO;
 
 import org.slf4j.Logger;
@@ -36,6 +37,7 @@ public class ScheduleExportController {
     /**
      * GET - Liste de tous les enseignants
      */
+    @ConditionalGet
     @GetMapping("/teachers")
     public ResponseEntity<List<String>> getAllTeachers() {
         try {
@@ -50,6 +52,7 @@ public class ScheduleExportController {
     /**
      * GET - Données d'un enseignant PAR NOM
      */
+    @ConditionalGet
     @GetMapping("/teachers/{teacherName}")
     public ResponseEntity<TeacherAssignmentsDTO> getTeacherData(@PathVariable String teacherName) {
         try {
@@ -65,6 +68,7 @@ public class ScheduleExportController {
      * GET - Données d'un enseignant PAR EMAIL (NOUVEAU)
      * Exemple: /api/schedule/teachers/email/john.doe@example.com
      */
+    @ConditionalGet
     @GetMapping("/teachers/email/{teacherEmail}")
     public ResponseEntity<TeacherAssignmentsDTO> getTeacherDataByEmail(@PathVariable String teacherEmail) {
         try {
@@ -80,6 +84,7 @@ public class ScheduleExportController {
      * GET - Export PDF planning enseignant (surveillances) PAR EMAIL (MODIFIÉ)
      * Exemple: /api/schedule/export/teacher/email/john.doe@example.com/pdf
      */
+    @ConditionalGet
     @GetMapping("/export/teacher/email/{teacherEmail}/pdf")
     public ResponseEntity<ByteArrayResource> exportTeacherSchedulePDF(@PathVariable String teacherEmail) {
         try {
@@ -109,6 +114,7 @@ public class ScheduleExportController {
      * GET - Export PDF planning séance (UN SEUL jour + UNE SEULE séance)
      * Exemple: /api/schedule/export/session/pdf?day=1&seance=1
      */
+    @ConditionalGet
     @GetMapping("/export/session/pdf")
     public ResponseEntity<ByteArrayResource> exportSessionSchedulePDF(
             @RequestParam Integer day,
@@ -137,6 +143,7 @@ public class ScheduleExportController {
      * GET - Export PDF de TOUTES les séances de TOUS les jours (NOUVEAU)
      * Exemple: /api/schedule/export/all-sessions/pdf
      */
+    @ConditionalGet
     @GetMapping("/export/all-sessions/pdf")
     public ResponseEntity<ByteArrayResource> exportAllSessionsSchedulePDF() {
         try {
@@ -190,6 +197,7 @@ public class ScheduleExportController {
     /**
      * GET - Informations générales sur les affectations
      */
+    @ConditionalGet
     @GetMapping("/info")
     public ResponseEntity<Map<String, Object>> getScheduleInfo() {
         try {
@@ -216,6 +224,7 @@ public class ScheduleExportController {
     /**
      * GET - Récupère tous les enseignants avec leurs affectations pour un jour
      */
+    @ConditionalGet
     @GetMapping("/day/{day}")
     public ResponseEntity<List<TeacherAssignmentsDTO>> getTeachersByDay(@PathVariable Integer day) {
         try {
@@ -237,6 +246,7 @@ public class ScheduleExportController {
     /**
      * GET - Récupère tous les enseignants pour une séance spécifique
      */
+    @ConditionalGet
     @GetMapping("/session")
     public ResponseEntity<List<Map<String, Object>>> getTeachersBySession(
             @RequestParam Integer day,
@@ -275,6 +285,7 @@ public class ScheduleExportController {
     /**
      * GET - Liste de tous les enseignants RESPONSABLES
      */
+    @ConditionalGet
     @GetMapping("/responsible-teachers")
     public ResponseEntity<List<String>> getAllResponsibleTeachers() {
         try {
@@ -290,6 +301,7 @@ public class ScheduleExportController {
      * GET - Export PDF planning ENSEIGNANT RESPONSABLE PAR EMAIL (MODIFIÉ)
      * Exemple: /api/schedule/export/responsible/email/john.doe@example.com/pdf
      */
+    @ConditionalGet
     @GetMapping("/export/responsible/email/{teacherEmail}/pdf")
     public ResponseEntity<ByteArrayResource> exportResponsibleTeacherPDF(@PathVariable String teacherEmail) {
         try {
@@ -318,6 +330,7 @@ public class ScheduleExportController {
     /**
      * GET - Vérifie si un enseignant a des responsabilités PAR NOM
      */
+    @ConditionalGet
     @GetMapping("/teachers/{teacherName}/is-responsible")
     public ResponseEntity<Map<String, Object>> isTeacherResponsible(@PathVariable String teacherName) {
         try {
@@ -336,6 +349,7 @@ public class ScheduleExportController {
      * GET - Vérifie si un enseignant a des responsabilités PAR EMAIL (NOUVEAU)
      * Exemple: /api/schedule/teachers/email/john.doe@example.com/is-responsible
      */
+    @ConditionalGet
     @GetMapping("/teachers/email/{teacherEmail}/is-responsible")
     public ResponseEntity<Map<String, Object>> isTeacherResponsibleByEmail(@PathVariable String teacherEmail) {
         try {
@@ -4,12 +4,13 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.teacherdistributionsystem.distribution_system.config.ConditionalGet;
 import org.teacherdistributionsystem.distribution_system.dtos.assignment.TeacherExamAssignmentDto;
 import org.teacherdistributionsystem.distribution_system.dtos.teacher.TeacherDto;
 import org.teacherdistributionsystem.distribution_system.exceptions.custom.BadRequestException;
 import org.teacherdistributionsystem.distribution_system.exceptions.custom.InvalidSearchParameterException;
 import org.teacherdistributionsystem.distribution_system.models.projections.TeacherUnavailabilitiesProjection;
-import org.teacherdistributionsystem.distribution_system.models.responses.PageResponse;
+import org.teacherdistributionsystem.distribution_system.models.responses.KeysetPageResponse;
 import org.teacherdistributionsystem.distribution_system.models.responses.assignment.TeacherAssignmentsResponse;
 
 import org.teacherdistributionsystem.distribution_system.models.responses.teacher.TeacherResponse;
@@ -35,15 +36,22 @@ public class TeacherController {
     private final AssignmentPersistenceService assignmentPersistenceService;
     private final ExamService examService;
 
+    // Keyset paging: pass the previous page's nextCursor as "after"
+    @ConditionalGet
     @GetMapping("/{sessionId}")
-    public ResponseEntity<PageResponse<TeacherResponse>> getAllTeachersQuotas( @PathVariable Long sessionId,
-            @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size) {
+    public ResponseEntity<KeysetPageResponse<TeacherResponse>> getAllTeachersQuotas( @PathVariable Long sessionId,
+            @RequestParam(defaultValue = "0") Long after,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String grade) {
+        if (size < 1 || size > KeysetPageResponse.MAX_PAGE_SIZE) {
+            throw new BadRequestException("Bad Request", "size must be between 1 and " + KeysetPageResponse.MAX_PAGE_SIZE);
+        }
 
-        PageResponse<TeacherResponse> response = teacherService.getAllTeachers(page, size,sessionId);
+        KeysetPageResponse<TeacherResponse> response = teacherService.getAllTeachers(sessionId, after, size, grade);
         return ResponseEntity.ok(response);
     }
 
+    @ConditionalGet
     @GetMapping("/{sessionId}/unavailabilities")
     public ResponseEntity<List<TeacherUnavailabilitiesProjection>> getTeachersUnavailabilityList(@PathVariable Long sessionId) {
         if (sessionId == null) {
@@ -65,6 +73,7 @@ public class TeacherController {
     }
 
 
+    @ConditionalGet
     @GetMapping("/{teacherId}/workload/{sessionId}")
     public ResponseEntity<TeacherAssignmentsResponse> getTeacherWorkloadById(
             @PathVariable Long teacherId,
@@ -94,6 +103,7 @@ public class TeacherController {
         return new ResponseEntity<>(response, HttpStatus.OK);
     }
 
+    @ConditionalGet
     @GetMapping("/search")
     public ResponseEntity<List<TeacherDto>> getTeacherByName(
             @RequestParam(required = false) String name) {
@@ -105,6 +115,7 @@ public class TeacherController {
         return ResponseEntity.ok(teachers);
     }
 
+    @ConditionalGet
     @GetMapping("/by-email")
     public ResponseEntity<Long> getTeacherIdByEmail(
             @RequestParam String email) {
@@ -10,7 +10,7 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 @Data
-@Builder
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
 @JsonInclude(JsonInclude.Include.NON_NULL)
@@ -23,7 +23,7 @@ public class TeacherExamAssignmentDto {
     private Integer examDay;
     private Integer seance;
     private LocalDateTime assignedAt;
-    private Boolean isActive;
+    private Long runId;
     private LocalDate examDate;
     private LocalTime startTime;
     private LocalTime endTime;
@@ -0,0 +1,39 @@
+package org.teacherdistributionsystem.distribution_system.entities.assignment;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * One saved schedule of a session. Its TeacherExamAssignment rows carry the run id and
+ * ExamSession.currentRunId points at the run being served; older runs are kept up to
+ * the configured retention, then deleted with their rows.
+ */
+@Entity
+@Table(name = "assignment_runs", indexes = @Index(name = "idx_assignment_runs_session", columnList = "exam_session_id"))
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AssignmentRun {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "exam_session_id", nullable = false)
+    private Long examSessionId;
+
+    @Column(name = "config_hash", length = 64)
+    private String configHash;
+
+    @Column(name = "total_assignments")
+    private Integer totalAssignments;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+}
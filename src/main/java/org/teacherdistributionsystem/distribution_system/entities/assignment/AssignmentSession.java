@@ -8,6 +8,8 @@ import lombok.NoArgsConstructor;
 import org.teacherdistributionsystem.distribution_system.enums.AssignmentStatus;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 
 @Entity
 @Table(name = "assignment_sessions")
@@ -40,4 +42,10 @@ public class AssignmentSession {
     @Column(name = "created_at")
     private LocalDateTime createdAt;
 
+    @OneToMany(cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.EAGER)
+    @JoinColumn(name = "assignment_session_id")
+    @OrderBy("id")
+    @Builder.Default
+    private List<SolverRunStats> solverRuns = new ArrayList<>();
+
 }
\ No newline at end of file
@@ -14,7 +14,12 @@ import java.time.LocalTime;
 @NoArgsConstructor
 @Getter
 @Setter
-@Table(name = "exams")
+@Table(name = "exams", indexes = {
+        // Exam grouping by slot and room (supervisor updates)
+        @Index(name = "idx_exams_session_slot", columnList = "session_id, jour_numero, seance, num_rooms"),
+        // Owner conflict check for a teacher in a slot
+        @Index(name = "idx_exams_teacher_slot", columnList = "teacher_id, session_id, jour_numero, seance")
+})
 public class Exam {
     @Id
     @GeneratedValue(strategy = GenerationType.UUID)
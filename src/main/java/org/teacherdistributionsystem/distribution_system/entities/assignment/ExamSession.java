@@ -47,6 +47,9 @@ public class ExamSession {
     @Column(name = "teachers_per_exam")
     private Integer teachersPerExam ;
 
+    @Column(name = "current_run_id") // AssignmentRun served for this session, null when none
+    private Long currentRunId;
+
 
 
 }
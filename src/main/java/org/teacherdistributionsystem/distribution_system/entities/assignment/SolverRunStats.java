@@ -0,0 +1,75 @@
+package org.teacherdistributionsystem.distribution_system.entities.assignment;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Entity
+@Table(name = "solver_run_stats")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SolverRunStats {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "phase", length = 100, nullable = false)
+    private String phase;
+
+    @Column(name = "status", length = 20)
+    private String status;
+
+    @Column(name = "num_variables")
+    private Integer numVariables;
+
+    @Column(name = "num_constraints")
+    private Integer numConstraints;
+
+    @Column(name = "presolved_variables")
+    private Integer presolvedVariables;
+
+    @Column(name = "presolved_constraints")
+    private Integer presolvedConstraints;
+
+    @Column(name = "num_conflicts")
+    private Long numConflicts;
+
+    @Column(name = "num_branches")
+    private Long numBranches;
+
+    @Column(name = "wall_time_seconds")
+    private Double wallTimeSeconds;
+
+    @Column(name = "user_time_seconds")
+    private Double userTimeSeconds;
+
+    @Column(name = "presolve_time_seconds")
+    private Double presolveTimeSeconds;
+
+    @Column(name = "objective_value")
+    private Double objectiveValue;
+
+    @Column(name = "best_objective_bound")
+    private Double bestObjectiveBound;
+
+    @Column(name = "gap")
+    private Double gap;
+
+    @Column(name = "num_workers")
+    private Integer numWorkers;
+
+    @ElementCollection(fetch = FetchType.EAGER)
+    @CollectionTable(name = "solver_run_build_times", joinColumns = @JoinColumn(name = "run_stats_id"))
+    @MapKeyColumn(name = "phase", length = 50)
+    @Column(name = "millis")
+    @Builder.Default
+    private Map<String, Double> modelBuildMillis = new LinkedHashMap<>();
+}
@@ -11,7 +11,11 @@ import java.time.LocalDateTime;
 import java.time.LocalTime;
 
 @Entity
-@Table(name = "teacher_exam_assignments")
+@Table(name = "teacher_exam_assignments", indexes = {
+        // Reads only touch the current run: whole run, per teacher (also the swap lookup) or per exam
+        @Index(name = "idx_assignments_run_teacher", columnList = "run_id, teacher_id"),
+        @Index(name = "idx_assignments_run_exam", columnList = "run_id, exam_id")
+})
 @Data
 @Builder
 @NoArgsConstructor
@@ -40,8 +44,8 @@ public class TeacherExamAssignment {
     @Column(name = "assigned_at")
     private LocalDateTime assignedAt;
 
-    @Column(name = "is_active")
-    private Boolean isActive;
+    @Column(name = "run_id", nullable = false)
+    private Long runId;
 
     @Column(name="exam_date")
     private LocalDate examDate;
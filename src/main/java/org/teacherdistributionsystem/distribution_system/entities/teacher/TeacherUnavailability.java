@@ -8,7 +8,9 @@ import lombok.NoArgsConstructor;
 import org.teacherdistributionsystem.distribution_system.entities.assignment.ExamSession;
 
 @Entity
-@Table(name = "teacher_unavailability")
+@Table(name = "teacher_unavailability", indexes = {
+        @Index(name = "idx_unavailability_teacher_slot", columnList = "teacher_id, session_id, numero_jour, seance")
+})
 @Builder
 @AllArgsConstructor
 @NoArgsConstructor
@@ -0,0 +1,7 @@
+package org.teacherdistributionsystem.distribution_system.enums;
+
+public enum ScheduleChangeType {
+    RUN_COMPLETED,
+    ASSIGNMENTS_SWAPPED,
+    ASSIGNMENTS_CLEARED
+}
@@ -0,0 +1,11 @@
+package org.teacherdistributionsystem.distribution_system.enums;
+
+public enum SolverEventType {
+    PHASE,
+    CONSTRAINTS,
+    RELAXATION,
+    SOLVE,
+    IMPORT_ROW_ERROR,
+    WARNING,
+    REPORT
+}
@@ -0,0 +1,48 @@
+package org.teacherdistributionsystem.distribution_system.events;
+
+import java.util.Set;
+
+/**
+ * Published when saved assignments or run metadata change. A null sessionId means every
+ * session; null teacherIds or examIds mean every teacher or exam of the session.
+ * creditsChanged means Teacher.quotaCredit was rewritten, which every session shows.
+ */
+public record AssignmentsChangedEvent(Long sessionId,
+                                      Set<Long> teacherIds,
+                                      Set<String> examIds,
+                                      boolean assignmentsChanged,
+                                      boolean metadataChanged,
+                                      boolean creditsChanged) {
+
+    /**
+     * A run was saved: all assignments of the session, its metadata and every teacher's credit
+     */
+    public static AssignmentsChangedEvent runSaved(Long sessionId) {
+        return new AssignmentsChangedEvent(sessionId, null, null, true, true, true);
+    }
+
+    /**
+     * A run was deleted: all assignments of the session and its metadata
+     */
+    public static AssignmentsChangedEvent session(Long sessionId) {
+        return new AssignmentsChangedEvent(sessionId, null, null, true, true, false);
+    }
+
+    /**
+     * A solve that saved no assignments, only its metadata
+     */
+    public static AssignmentsChangedEvent metadata(Long sessionId) {
+        return new AssignmentsChangedEvent(sessionId, Set.of(), Set.of(), false, true, false);
+    }
+
+    /**
+     * A swap moved assignments between these teachers and exams
+     */
+    public static AssignmentsChangedEvent swap(Long sessionId, Set<Long> teacherIds, Set<String> examIds) {
+        return new AssignmentsChangedEvent(sessionId, teacherIds, examIds, true, false, false);
+    }
+
+    public static AssignmentsChangedEvent all() {
+        return new AssignmentsChangedEvent(null, null, null, true, true, true);
+    }
+}
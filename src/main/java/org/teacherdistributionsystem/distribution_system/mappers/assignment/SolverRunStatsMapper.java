@@ -0,0 +1,32 @@
+package org.teacherdistributionsystem.distribution_system.mappers.assignment;
+
+import org.teacherdistributionsystem.distribution_system.entities.assignment.SolverRunStats;
+import org.teacherdistributionsystem.distribution_system.models.others.SolverRunStatistics;
+
+import java.util.LinkedHashMap;
+
+public class SolverRunStatsMapper {
+
+    public static SolverRunStats toEntity(SolverRunStatistics statistics) {
+        return SolverRunStats.builder()
+                .phase(statistics.getPhase())
+                .status(statistics.getStatus())
+                .numVariables(statistics.getNumVariables())
+                .numConstraints(statistics.getNumConstraints())
+                .presolvedVariables(statistics.getPresolvedVariables())
+                .presolvedConstraints(statistics.getPresolvedConstraints())
+                .numConflicts(statistics.getNumConflicts())
+                .numBranches(statistics.getNumBranches())
+                .wallTimeSeconds(statistics.getWallTimeSeconds())
+                .userTimeSeconds(statistics.getUserTimeSeconds())
+                .presolveTimeSeconds(statistics.getPresolveTimeSeconds())
+                .objectiveValue(statistics.getObjectiveValue())
+                .bestObjectiveBound(statistics.getBestObjectiveBound())
+                .gap(statistics.getGap())
+                .numWorkers(statistics.getNumWorkers())
+                .modelBuildMillis(statistics.getModelBuildMillis() != null
+                        ? new LinkedHashMap<>(statistics.getModelBuildMillis())
+                        : new LinkedHashMap<>())
+                .build();
+    }
+}
@@ -15,7 +15,7 @@ public class TeacherExamAssignmentMapper {
                 .seance(dto.getSeance())
                 .startTime(dto.getStartTime())
                 .endTime(dto.getEndTime())
-                .isActive(dto.getIsActive())
+                .runId(dto.getRunId())
                 .assignedAt(dto.getAssignedAt())
                 .build();
 
@@ -31,7 +31,7 @@ public class TeacherExamAssignmentMapper {
                 .seance(entity.getSeance())
                 .startTime(entity.getStartTime())
                 .endTime(entity.getEndTime())
-                .isActive(entity.getIsActive())
+                .runId(entity.getRunId())
                 .assignedAt(entity.getAssignedAt())
                 .build();
     }
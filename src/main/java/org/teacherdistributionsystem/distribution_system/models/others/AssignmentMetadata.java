@@ -5,6 +5,8 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.util.List;
+
 @Data
 @Builder
 @NoArgsConstructor
@@ -21,4 +23,7 @@ public class AssignmentMetadata {
     private Integer relaxedTeachersCount;
     private Integer totalConstraints;
     private Integer relaxationAttempts;
+    private List<SolverRunStatistics> solverRuns;
+    private String configHash; // AssignmentConstraintConfig.fingerprint() of the run
+    private List<SolverEvent> events; // Only when the config collects solver events
 }
\ No newline at end of file
@@ -0,0 +1,70 @@
+package org.teacherdistributionsystem.distribution_system.models.others;
+
+import java.util.Arrays;
+
+/**
+ * Compact result of a solve: the assigned teacher indices exam by exam, in one int array
+ * with per-exam offsets. Indices refer to the teacher and exam tables of the run that
+ * produced it. The per-teacher view is only indexed the first time it is asked for.
+ */
+public class AssignmentSolution {
+    private final int numTeachers;
+    private final int numExams;
+    private final int[] examTeachers; // Teachers of exam e are examTeachers[examStart[e] .. examStart[e + 1])
+    private final int[] examStart;
+
+    private int[] teacherExams;
+    private int[] teacherStart;
+
+    public AssignmentSolution(int numTeachers, int numExams, int[] examTeachers, int[] examStart) {
+        this.numTeachers = numTeachers;
+        this.numExams = numExams;
+        this.examTeachers = examTeachers;
+        this.examStart = examStart;
+    }
+
+    public int getNumTeachers() {
+        return numTeachers;
+    }
+
+    public int getNumExams() {
+        return numExams;
+    }
+
+    public int size() {
+        return examStart[numExams];
+    }
+
+    public int[] teachersOf(int examIdx) {
+        return Arrays.copyOfRange(examTeachers, examStart[examIdx], examStart[examIdx + 1]);
+    }
+
+    public int[] examsOf(int teacherIdx) {
+        if (teacherStart == null) {
+            indexByTeacher();
+        }
+        return Arrays.copyOfRange(teacherExams, teacherStart[teacherIdx], teacherStart[teacherIdx + 1]);
+    }
+
+    // Counting sort of the pairs by teacher, exams stay in ascending order
+    private void indexByTeacher() {
+        int[] start = new int[numTeachers + 1];
+        for (int i = 0; i < size(); i++) {
+            start[examTeachers[i] + 1]++;
+        }
+        for (int t = 0; t < numTeachers; t++) {
+            start[t + 1] += start[t];
+        }
+
+        int[] next = Arrays.copyOf(start, numTeachers);
+        int[] exams = new int[size()];
+        for (int e = 0; e < numExams; e++) {
+            for (int i = examStart[e]; i < examStart[e + 1]; i++) {
+                exams[next[examTeachers[i]]++] = e;
+            }
+        }
+
+        teacherExams = exams;
+        teacherStart = start;
+    }
+}
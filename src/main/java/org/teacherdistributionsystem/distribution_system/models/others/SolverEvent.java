@@ -0,0 +1,30 @@
+package org.teacherdistributionsystem.distribution_system.models.others;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.teacherdistributionsystem.distribution_system.enums.SolverEventType;
+
+/**
+ * One entry of a SolverEventLog. Only the fields of its type are set: a phase name,
+ * a constraint family with its count, a relaxed teacher, a solver status or an import row.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class SolverEvent {
+    private SolverEventType type;
+    private String level;
+    private long elapsedMillis; // Since the log started collecting
+    private String name; // Phase, constraint family, solver phase or import source
+    private Long count;
+    private Long teacherId;
+    private Integer row;
+    private String status;
+    private Double seconds;
+    private String message;
+}
@@ -0,0 +1,25 @@
+package org.teacherdistributionsystem.distribution_system.models.others;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SolverInstanceExamModel {
+    private String examId;
+    private int day;
+    private int seance;
+    private String room;
+    private Long ownerTeacherId;
+    private int requiredSupervisors;
+    private LocalDate examDate;
+    private LocalTime startTime;
+    private LocalTime endTime;
+}
@@ -0,0 +1,42 @@
+package org.teacherdistributionsystem.distribution_system.models.others;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.teacherdistributionsystem.distribution_system.config.AssignmentConstraintConfig;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Everything the solver loaded for one session, so a solve can be replayed
+ * without the database. Arrays are indexed by teacher index. The CP-SAT model is
+ * not stored: a replay builds it again from these arrays for the replay config.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SolverInstanceModel {
+    private Long sessionId;
+    private String sessionName;
+    private Integer numExamDays;
+
+    private Long[] teacherIds;
+    private String[] teacherNames;
+    private String[] teacherEmails;
+    private String[] teacherGrades;
+    private Boolean[] teacherParticipateSurveillance;
+    private int[] teacherPriorities;
+    private int[] baseQuotas;
+    private boolean[][][] teacherUnavailable;
+
+    private List<SolverInstanceExamModel> exams;
+    private Map<String, Set<Long>> examOwnersByKey;
+
+    private AssignmentConstraintConfig config;
+    private LocalDateTime exportedAt;
+}
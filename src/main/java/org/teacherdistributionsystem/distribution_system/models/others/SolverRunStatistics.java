@@ -0,0 +1,43 @@
+package org.teacherdistributionsystem.distribution_system.models.others;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * CP-SAT statistics of one solver call (strict phase, extended retry, relaxation
+ * attempt or lexicographic stage). Presolve figures come from the solver log and
+ * are null when the log does not contain them.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SolverRunStatistics {
+    private String phase;
+    private String status;
+    private Integer numVariables;
+    private Integer numConstraints;
+    /**
+     * Presolved model size, presolve time and worker count come from the search log:
+     * null unless AssignmentConstraintConfig.solverSearchLog is on
+     */
+    private Integer presolvedVariables;
+    private Integer presolvedConstraints;
+    private Long numConflicts;
+    private Long numBranches;
+    private Double wallTimeSeconds;
+    private Double userTimeSeconds;
+    private Double presolveTimeSeconds;
+    private Double objectiveValue;
+    private Double bestObjectiveBound;
+    private Double gap;
+    private Integer numWorkers;
+    /**
+     * Model build time per constraint family in ms, only on the first solve of a new model
+     */
+    private Map<String, Double> modelBuildMillis;
+}
@@ -0,0 +1,60 @@
+package org.teacherdistributionsystem.distribution_system.models.others;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.teacherdistributionsystem.distribution_system.enums.GradeType;
+
+import java.util.List;
+
+/**
+ * A generated session, independent of the database. Teachers are referenced by
+ * their index in {@code teachers}, days and seances are 0-based.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SyntheticSessionModel {
+    private SyntheticSessionSpec spec;
+    private List<SyntheticTeacher> teachers;
+    private List<SyntheticExam> exams;
+    private List<SyntheticUnavailability> unavailabilities;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class SyntheticTeacher {
+        private String nom;
+        private String prenom;
+        private String abrv;
+        private String email;
+        private GradeType grade;
+        private Integer codeSmartex;
+        private boolean participeSurveillance;
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class SyntheticExam {
+        private int day;
+        private int seance;
+        private String room;
+        private int ownerIndex;
+        private String examType;
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class SyntheticUnavailability {
+        private int teacherIndex;
+        private int day;
+        private int seance;
+    }
+}
@@ -0,0 +1,108 @@
+package org.teacherdistributionsystem.distribution_system.models.others;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.teacherdistributionsystem.distribution_system.enums.GradeType;
+
+import java.time.LocalDate;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Parameters of a synthetic exam session. The same spec and seed always
+ * produce the same session.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SyntheticSessionSpec {
+
+    @Builder.Default
+    private long seed = 42L;
+
+    @Builder.Default
+    private Map<GradeType, Integer> teachersPerGrade = defaultTeachersPerGrade();
+
+    @Builder.Default
+    private LocalDate startDate = LocalDate.of(2025, 1, 6);
+
+    @Builder.Default
+    private int numDays = 5;
+
+    /**
+     * Seances used per day, taken in order from SeanceType (max 4)
+     */
+    @Builder.Default
+    private int seancesPerDay = 4;
+
+    @Builder.Default
+    private int minRoomsPerSlot = 2;
+
+    @Builder.Default
+    private int maxRoomsPerSlot = 4;
+
+    @Builder.Default
+    private int supervisorsPerExam = 2;
+
+    /**
+     * 0 = exams are owned uniformly by all teachers,
+     * higher = a few teachers own most exams (Zipf exponent)
+     */
+    @Builder.Default
+    private double ownerConcentration = 1.0;
+
+    @Builder.Default
+    private double nonParticipatingRatio = 0.05;
+
+    /**
+     * Fraction of (day, seance) slots each teacher marks as unavailable
+     */
+    @Builder.Default
+    private double unavailabilityDensity = 0.1;
+
+    /**
+     * Probability that an unavailability covers the whole day instead of a single seance
+     */
+    @Builder.Default
+    private double unavailabilityClustering = 0.5;
+
+    /**
+     * Used when the QuotaPerGrade table has no row for a grade (and by the DB-free instance)
+     */
+    @Builder.Default
+    private Map<GradeType, Integer> quotaPerGrade = defaultQuotaPerGrade();
+
+    @Builder.Default
+    private Map<GradeType, Integer> priorityPerGrade = defaultPriorityPerGrade();
+
+    public static Map<GradeType, Integer> defaultTeachersPerGrade() {
+        Map<GradeType, Integer> teachers = new EnumMap<>(GradeType.class);
+        teachers.put(GradeType.PR, 4);
+        teachers.put(GradeType.MC, 6);
+        teachers.put(GradeType.MA, 10);
+        teachers.put(GradeType.AS, 10);
+        return teachers;
+    }
+
+    public static Map<GradeType, Integer> defaultQuotaPerGrade() {
+        Map<GradeType, Integer> quotas = new EnumMap<>(GradeType.class);
+        for (GradeType grade : GradeType.values()) {
+            quotas.put(grade, 8);
+        }
+        quotas.put(GradeType.PR, 6);
+        quotas.put(GradeType.MC, 7);
+        quotas.put(GradeType.AS, 9);
+        return quotas;
+    }
+
+    public static Map<GradeType, Integer> defaultPriorityPerGrade() {
+        Map<GradeType, Integer> priorities = new EnumMap<>(GradeType.class);
+        for (GradeType grade : GradeType.values()) {
+            priorities.put(grade, grade.ordinal() + 1);
+        }
+        return priorities;
+    }
+}
@@ -0,0 +1,37 @@
+package org.teacherdistributionsystem.distribution_system.models.others;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Candidate values per tuned parameter, see SolverParameterTuner
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TuningSearchSpace {
+    @Builder.Default
+    private List<Integer> numSearchWorkers = List.of(1, 2, 4, 8);
+
+    @Builder.Default
+    private List<Integer> linearizationLevels = List.of(0, 1, 2);
+
+    @Builder.Default
+    private List<Boolean> cpModelPresolve = List.of(true, false);
+
+    @Builder.Default
+    private List<Integer> relaxationBatchPercents = List.of(5, 10, 20);
+
+    @Builder.Default
+    private List<Double> relaxationBatchGrowths = List.of(1.5, 2.0, 3.0);
+
+    public int size() {
+        return numSearchWorkers.size() * linearizationLevels.size() * cpModelPresolve.size()
+                * relaxationBatchPercents.size() * relaxationBatchGrowths.size();
+    }
+}
@@ -0,0 +1,22 @@
+package org.teacherdistributionsystem.distribution_system.models.others;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.teacherdistributionsystem.distribution_system.config.AssignmentConstraintConfig;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TuningTrialResult {
+    private AssignmentConstraintConfig config;
+    private int solvedInstances;
+    private int totalInstances;
+    private double totalSeconds;
+    /**
+     * Total solve time with every unsolved instance counted as 3x the time limit, lower is better
+     */
+    private double score;
+}
@@ -16,7 +16,7 @@ public interface AssignmentDetailsProjection {
     String getNom();
     String getPrenom();
     String getEmail();
-    String getCodeSmartex();
+    Integer getCodeSmartex();
     String getGradeCode();
     Boolean getParticipeSurveillance();
     Integer getQuotaCredit();
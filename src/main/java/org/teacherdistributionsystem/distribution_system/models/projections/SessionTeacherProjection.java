@@ -0,0 +1,16 @@
+package org.teacherdistributionsystem.distribution_system.models.projections;
+
+/**
+ * One teacher of a session roster: the teacher columns the solver needs, the
+ * quota assigned for that session and the priority of the teacher's grade
+ */
+public interface SessionTeacherProjection {
+    Long getId();
+    String getGradeCode();
+    String getNom();
+    String getPrenom();
+    String getEmail();
+    Boolean getParticipeSurveillance();
+    Integer getAssignedQuota();
+    Integer getPriority(); // null if the grade has no QuotaPerGrade row
+}
@@ -0,0 +1,32 @@
+package org.teacherdistributionsystem.distribution_system.models.responses;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One page of a keyset (seek) listing. The next page is requested with after=nextCursor,
+ * so it costs the same however deep it is; there is no total count or page number.
+ */
+@Getter
+@Setter
+public class KeysetPageResponse<T> {
+    public static final int MAX_PAGE_SIZE = 200;
+
+    private List<T> content;
+    private int pageSize;
+    private boolean hasNext;
+    private Long nextCursor; // Key of the last row, null on the last page
+
+    /**
+     * @param rows up to pageSize + 1 rows in key order, the extra row only tells there is a next page
+     */
+    public KeysetPageResponse(List<T> rows, int pageSize, Function<T, Long> key) {
+        this.hasNext = rows.size() > pageSize;
+        this.content = hasNext ? rows.subList(0, pageSize) : rows;
+        this.pageSize = pageSize;
+        this.nextCursor = hasNext ? key.apply(content.get(content.size() - 1)) : null;
+    }
+}
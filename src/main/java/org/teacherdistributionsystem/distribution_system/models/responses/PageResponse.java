@@ -1,30 +0,0 @@
-package org.teacherdistributionsystem.distribution_system.models.responses;
-
-
-import lombok.Data;
-import lombok.Getter;
-import lombok.Setter;
-
-import java.util.List;
-
-@Getter
-@Setter
-public class PageResponse<T> {
-    private List<T> content;
-    private int currentPage;
-    private int pageSize;
-    private long totalElements;
-    private int totalPages;
-    private boolean hasNext;
-    private boolean hasPrevious;
-    public PageResponse(List<T> content, int currentPage, int pageSize,
-                        long totalElements) {
-        this.content = content;
-        this.currentPage = currentPage;
-        this.pageSize = pageSize;
-        this.totalElements = totalElements;
-        this.totalPages = (int) Math.ceil((double) totalElements / pageSize);
-        this.hasNext = currentPage < totalPages - 1;
-        this.hasPrevious = currentPage > 0;
-    }
-}
@@ -0,0 +1,30 @@
+package org.teacherdistributionsystem.distribution_system.models.responses.assignment;
+
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.teacherdistributionsystem.distribution_system.enums.AssignmentStatus;
+import org.teacherdistributionsystem.distribution_system.models.others.AssignmentMetadata;
+import org.teacherdistributionsystem.distribution_system.models.others.InfeasibilityDiagnosisModel;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class JointAssignmentResponseModel {
+    private AssignmentStatus status;
+    private String message;
+    private List<Long> sessionIds;
+    private AssignmentMetadata metadata; // Joint model: totals and solver runs over all sessions
+    private List<AssignmentResponseModel> sessions; // One per session, in sessionIds order, only on success
+    private InfeasibilityDiagnosisModel diagnosis;
+    private LocalDateTime generatedAt;
+}
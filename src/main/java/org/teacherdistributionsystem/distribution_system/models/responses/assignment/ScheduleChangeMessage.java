@@ -0,0 +1,44 @@
+package org.teacherdistributionsystem.distribution_system.models.responses.assignment;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.teacherdistributionsystem.distribution_system.enums.ScheduleChangeType;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Pushed on /topic/sessions/{sessionId}/assignments once a change commits. RUN_COMPLETED
+ * and ASSIGNMENTS_CLEARED replace the whole schedule (re-fetch it); ASSIGNMENTS_SWAPPED
+ * lists the supervisions whose teacher changed, enough to patch a /by-date view in place.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ScheduleChangeMessage {
+    private ScheduleChangeType type;
+    private Long sessionId;
+    private Long runId;
+    private Integer totalAssignments;
+    private List<SupervisionChange> changes;
+    private LocalDateTime occurredAt;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class SupervisionChange {
+        private Long assignmentId;
+        private String examId;
+        private Integer examDay;
+        private Integer seance;
+        private String numRooms;
+        private Long previousTeacherId;
+        private Long teacherId;
+    }
+}
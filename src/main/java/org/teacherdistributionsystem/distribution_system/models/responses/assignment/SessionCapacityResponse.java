@@ -0,0 +1,47 @@
+package org.teacherdistributionsystem.distribution_system.models.responses.assignment;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SessionCapacityResponse {
+    private Long sessionId;
+    private boolean feasible; // Necessary conditions only: a full solve can still be infeasible
+    private int totalDemand; // Supervisor seats over all exams
+    private int totalQuota; // Summed quota of participating teachers
+    private int shortSlots; // Slots with more seats than available teachers
+    private List<SlotCapacity> slots;
+    private List<GradeCapacity> grades;
+    private LocalDateTime generatedAt;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class SlotCapacity {
+        private int day; // 1-based, like Exam.jourNumero
+        private String seance;
+        private int demand;
+        private int supply; // Available participating teachers with a non-zero quota
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class GradeCapacity {
+        private String grade;
+        private int teachers;
+        private int quota;
+        private int unavailableSlots;
+    }
+}
@@ -0,0 +1,22 @@
+package org.teacherdistributionsystem.distribution_system.models.responses.assignment;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class SolverReadinessResponse {
+    private boolean ready; // Native libraries loaded, a solve can start without the load delay
+    private long nativeLoadMillis;
+    private boolean warmupEnabled;
+    private boolean warmedUp;
+    private long warmupMillis;
+    private String error;
+}
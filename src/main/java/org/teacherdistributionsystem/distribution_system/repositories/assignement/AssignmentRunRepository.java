@@ -0,0 +1,21 @@
+package org.teacherdistributionsystem.distribution_system.repositories.assignement;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.teacherdistributionsystem.distribution_system.entities.assignment.AssignmentRun;
+
+import java.util.List;
+
+@Repository
+public interface AssignmentRunRepository extends JpaRepository<AssignmentRun, Long> {
+
+    @Query("SELECT r.id FROM AssignmentRun r WHERE r.examSessionId = :sessionId ORDER BY r.id DESC")
+    List<Long> findRunIdsBySessionNewestFirst(@Param("sessionId") Long sessionId);
+
+    @Modifying
+    @Query("DELETE FROM AssignmentRun r WHERE r.id IN :runIds")
+    void deleteByIdIn(@Param("runIds") List<Long> runIds);
+}
@@ -12,6 +12,8 @@ public interface AssignmentSessionRepository extends JpaRepository<AssignmentSes
 
     AssignmentSession findByExamSessionId(Long examSessionId);
 
+    AssignmentSession findFirstByExamSessionIdOrderByIdDesc(Long examSessionId);
+
     @Transactional
     @Modifying
     @Query(value = """
@@ -21,6 +23,7 @@ public interface AssignmentSessionRepository extends JpaRepository<AssignmentSes
     TRUNCATE TABLE teacher_unavailability;
     TRUNCATE TABLE teacher_quotas;
     TRUNCATE TABLE teacher_exam_assignments;
+    TRUNCATE TABLE assignment_runs;
     TRUNCATE TABLE exams;
     TRUNCATE TABLE teachers;
     TRUNCATE TABLE exam_sessions RESTART IDENTITY CASCADE;
@@ -1,9 +1,12 @@
 package org.teacherdistributionsystem.distribution_system.repositories.assignement;
 
+import jakarta.persistence.QueryHint;
 import jakarta.transaction.Transactional;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import org.teacherdistributionsystem.distribution_system.entities.assignment.Exam;
@@ -14,13 +17,16 @@ import org.teacherdistributionsystem.distribution_system.models.projections.Exam
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface ExamRepository extends JpaRepository<Exam, String> {
-    @Query("SELECT e.id AS id, e.seance AS seance, e.jourNumero AS jourNumero, e.numRooms AS numRooms, e.responsable.id AS responsableId, e.examDate AS examDate, e.requiredSupervisors AS requiredSupervisors,e.startTime AS startTime, e.endTime AS endTime FROM Exam e WHERE e.examSession.id = ?1 ")
+    @Query("SELECT e.id AS id, e.seance AS seance, e.jourNumero AS jourNumero, e.numRooms AS numRooms, e.responsable.id AS responsableId, e.examDate AS examDate, e.requiredSupervisors AS requiredSupervisors,e.startTime AS startTime, e.endTime AS endTime FROM Exam e WHERE e.examSession.id = ?1 " +
+            "ORDER BY e.jourNumero, e.seance, e.numRooms, e.id")
     List<ExamForAssignmentProjection> getExamsBySessionIdForAssignment(Long sessionId);
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
     @Query("SELECT e.id AS id, e.seance AS seance, e.examDate AS examDate, e.numRooms AS numRooms, e.responsable.id AS responsableId, e.requiredSupervisors AS requiredSupervisors, e.responsable.nom AS nom, e.responsable.prenom AS prenom ,e.startTime AS startTime, e.endTime AS endTime FROM Exam e WHERE e.examSession.id = ?1 ")
-    List<ExamProjection> getExamsBySessionId(Long sessionId);
+    Stream<ExamProjection> streamExamsBySessionId(Long sessionId);
 
     @Modifying
     @Transactional
@@ -1,10 +1,24 @@
 package org.teacherdistributionsystem.distribution_system.repositories.assignement;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import org.teacherdistributionsystem.distribution_system.entities.assignment.ExamSession;
 
+import java.util.List;
+
 @Repository
 public interface ExamSessionRepository extends JpaRepository<ExamSession, Long> {
 
+    @Query("SELECT s.currentRunId FROM ExamSession s WHERE s.id = :sessionId")
+    Long findCurrentRunId(@Param("sessionId") Long sessionId);
+
+    @Query("SELECT s.id FROM ExamSession s")
+    List<Long> findAllIds();
+
+    @Modifying
+    @Query("UPDATE ExamSession s SET s.currentRunId = :runId WHERE s.id = :sessionId")
+    void updateCurrentRunId(@Param("sessionId") Long sessionId, @Param("runId") Long runId);
 }
@@ -0,0 +1,51 @@
+package org.teacherdistributionsystem.distribution_system.repositories.assignement;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.teacherdistributionsystem.distribution_system.entities.assignment.TeacherExamAssignment;
+
+import java.sql.Date;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.List;
+
+/**
+ * Inserts the assignments of a run with JDBC batches. TeacherExamAssignment ids are
+ * IDENTITY columns, so saveAll() cannot batch and sends one INSERT per supervision;
+ * here the database fills the ids and a whole session goes in a few round trips.
+ * The inserted rows are not attached to the persistence context.
+ */
+@Repository
+@RequiredArgsConstructor
+public class TeacherExamAssignmentBatchWriter {
+    static final int BATCH_SIZE = 1000;
+
+    private static final String INSERT_SQL = "INSERT INTO teacher_exam_assignments " +
+            "(session_id, run_id, exam_id, teacher_id, exam_day, seance, assigned_at, exam_date, start_time, end_time) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public int insertAll(List<TeacherExamAssignment> assignments) {
+        int[][] counts = jdbcTemplate.batchUpdate(INSERT_SQL, assignments, BATCH_SIZE, (ps, a) -> {
+            ps.setLong(1, a.getSessionId());
+            ps.setLong(2, a.getRunId());
+            ps.setString(3, a.getExamId());
+            ps.setLong(4, a.getTeacherId());
+            ps.setObject(5, a.getExamDay(), Types.INTEGER);
+            ps.setObject(6, a.getSeance(), Types.INTEGER);
+            ps.setTimestamp(7, a.getAssignedAt() != null ? Timestamp.valueOf(a.getAssignedAt()) : null);
+            ps.setDate(8, a.getExamDate() != null ? Date.valueOf(a.getExamDate()) : null);
+            ps.setTime(9, a.getStartTime() != null ? Time.valueOf(a.getStartTime()) : null);
+            ps.setTime(10, a.getEndTime() != null ? Time.valueOf(a.getEndTime()) : null);
+        });
+
+        int inserted = 0;
+        for (int[] batch : counts) {
+            inserted += batch.length;
+        }
+        return inserted;
+    }
+}
@@ -1,8 +1,12 @@
 package org.teacherdistributionsystem.distribution_system.repositories.assignement;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import org.teacherdistributionsystem.distribution_system.entities.assignment.TeacherExamAssignment;
@@ -12,21 +16,54 @@ import org.teacherdistributionsystem.distribution_system.models.responses.assign
 
 
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface TeacherExamAssignmentRepository extends JpaRepository<TeacherExamAssignment, Long> {
 
-    List<TeacherExamAssignment> findBySessionIdAndIsActiveTrue(Long sessionId);
+    // "Current" is the run ExamSession.currentRunId points at, older runs are never read
 
-    List<TeacherExamAssignment> findByTeacherIdAndSessionIdAndIsActiveTrue(Long teacherId, Long sessionId);
+    // Keyset page by id of the current run, null filters are ignored
+    @Query("SELECT t FROM TeacherExamAssignment t WHERE t.runId = " +
+            "(SELECT s.currentRunId FROM ExamSession s WHERE s.id = :sessionId) " +
+            "AND t.id > :afterId " +
+            "AND (:teacherId IS NULL OR t.teacherId = :teacherId) " +
+            "AND (:day IS NULL OR t.examDay = :day) " +
+            "AND (:seance IS NULL OR t.seance = :seance) " +
+            "ORDER BY t.id")
+    List<TeacherExamAssignment> findCurrentAfter(@Param("sessionId") Long sessionId,
+                                                 @Param("afterId") Long afterId,
+                                                 @Param("teacherId") Long teacherId,
+                                                 @Param("day") Integer day,
+                                                 @Param("seance") Integer seance,
+                                                 Limit limit);
 
-    List<TeacherExamAssignment> findByExamIdAndSessionIdAndIsActiveTrue(String examId, Long sessionId);
+    // Read one fetch at a time, consume inside a read-only transaction and close
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT t FROM TeacherExamAssignment t WHERE t.runId = " +
+            "(SELECT s.currentRunId FROM ExamSession s WHERE s.id = :sessionId)")
+    Stream<TeacherExamAssignment> streamCurrentBySessionId(@Param("sessionId") Long sessionId);
 
-    @Modifying
-    @Query("UPDATE TeacherExamAssignment t SET t.isActive = false WHERE t.sessionId = :sessionId")
-    void deactivateAllForSession(Long sessionId);
+    @Query("SELECT t FROM TeacherExamAssignment t WHERE t.teacherId = :teacherId AND t.runId = " +
+            "(SELECT s.currentRunId FROM ExamSession s WHERE s.id = :sessionId)")
+    List<TeacherExamAssignment> findCurrentByTeacherIdAndSessionId(@Param("teacherId") Long teacherId,
+                                                                   @Param("sessionId") Long sessionId);
+
+    @Query("SELECT t FROM TeacherExamAssignment t WHERE t.examId = :examId AND t.runId = " +
+            "(SELECT s.currentRunId FROM ExamSession s WHERE s.id = :sessionId)")
+    List<TeacherExamAssignment> findCurrentByExamIdAndSessionId(@Param("examId") String examId,
+                                                                @Param("sessionId") Long sessionId);
 
-    boolean existsBySessionIdAndIsActiveTrue(Long sessionId);
+    @Query("SELECT COUNT(t) > 0 FROM TeacherExamAssignment t WHERE t.runId = " +
+            "(SELECT s.currentRunId FROM ExamSession s WHERE s.id = :sessionId)")
+    boolean existsCurrentBySessionId(@Param("sessionId") Long sessionId);
+
+    @Modifying
+    @Query("DELETE FROM TeacherExamAssignment t WHERE t.runId IN :runIds")
+    void deleteByRunIdIn(@Param("runIds") List<Long> runIds);
     @Query(value = "SELECT a.exam_date AS examDate, a.start_time AS startTime, a.end_time AS endTime, " +
             "a.exam_day AS examDay, a.seance AS seance, a.teacher_id AS teacherId, " +
             "e.num_rooms AS numRooms, " + // Add this line
@@ -36,7 +73,7 @@ public interface TeacherExamAssignmentRepository extends JpaRepository<TeacherEx
             "FROM teacher_exam_assignments a " +
             "INNER JOIN teachers t ON a.teacher_id = t.id " +
             "INNER JOIN exams e ON a.exam_id = e.id " + // Add this join
-            "WHERE a.session_id = :sessionId AND a.is_active = true " +
+            "WHERE a.run_id = (SELECT s.current_run_id FROM exam_sessions s WHERE s.id = :sessionId) " +
             "ORDER BY a.exam_day, a.seance, a.exam_date, a.start_time",
             nativeQuery = true)
     List<AssignmentDetailsProjection> getAllBySession(@Param("sessionId") Long sessionId);
@@ -47,6 +84,7 @@ public interface TeacherExamAssignmentRepository extends JpaRepository<TeacherEx
     WHERE t.teacherId = :teacherId 
       AND t.examDay = :examDay 
       AND t.seance = :seance 
+      AND t.runId IN (SELECT s.currentRunId FROM ExamSession s)
 """)
     Long findAssignmentIdByTeacherAndDayAndSeance(
             @Param("teacherId") Long teacherId,
@@ -7,6 +7,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import org.teacherdistributionsystem.distribution_system.entities.teacher.TeacherQuota;
+import org.teacherdistributionsystem.distribution_system.models.projections.SessionTeacherProjection;
 
 import java.util.List;
 import java.util.Map;
@@ -16,6 +17,19 @@ public interface TeacherQuotaRepository extends JpaRepository<TeacherQuota, Long
     @Query(value = "SELECT q.teacher.id, q.assignedQuota FROM TeacherQuota q WHERE q.examSession.id=?1")
     List<Object[]> getTeacherQuotaAndId(Long sessionId);
 
+    // Native: QuotaPerGrade.grade is an enum column joined on the plain grade code string
+    @Query(value = """
+    SELECT t.id AS id, t.grade_code AS gradeCode, t.nom AS nom, t.prenom AS prenom, t.email AS email,
+           t.participe_surveillance AS participeSurveillance, q.assigned_quota AS assignedQuota,
+           p.priority AS priority
+    FROM teacher_quotas q
+    JOIN teachers t ON t.id = q.teacher_id
+    LEFT JOIN quota_per_grade p ON p.grade = t.grade_code
+    WHERE q.session_id = :sessionId
+    ORDER BY t.id
+""", nativeQuery = true)
+    List<SessionTeacherProjection> getSessionRoster(@Param("sessionId") Long sessionId);
+
     @Modifying
     @Transactional
     @Query("UPDATE TeacherQuota t SET t.assignedQuota = :quota WHERE t.id = :teacherId")
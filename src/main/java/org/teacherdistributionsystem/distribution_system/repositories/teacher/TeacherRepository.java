@@ -1,8 +1,7 @@
 package org.teacherdistributionsystem.distribution_system.repositories.teacher;
 
 import jakarta.transaction.Transactional;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
@@ -39,11 +38,17 @@ public interface TeacherRepository extends JpaRepository<Teacher, Long> {
     @Query("SELECT t.codeSmartex FROM Teacher t ")
     List<Integer> findAllCodesSmartex();
 
+    // Keyset page by id with the session quota joined in; quota is 0 for non-participants
     @Query("SELECT new org.teacherdistributionsystem.distribution_system.models.responses.teacher.TeacherResponse(" +
-            "t.id, t.nom, t.prenom, t.email, t.codeSmartex, t.gradeCode, " +
-            "t.participeSurveillance, t.quotaCredit) " +
-            "FROM Teacher t")
-    Page<TeacherResponse> getAllTeachers(Pageable pageable);
+            "t.id, t.nom, t.prenom, t.email, t.codeSmartex, t.gradeCode, t.participeSurveillance, " +
+            "CASE WHEN t.participeSurveillance = true THEN COALESCE(q.assignedQuota, 0) ELSE 0 END) " +
+            "FROM Teacher t LEFT JOIN TeacherQuota q ON q.teacher = t AND q.examSession.id = :sessionId " +
+            "WHERE t.id > :afterId AND (:grade IS NULL OR t.gradeCode = :grade) " +
+            "ORDER BY t.id")
+    List<TeacherResponse> getTeachersAfter(@Param("sessionId") Long sessionId,
+                                           @Param("afterId") Long afterId,
+                                           @Param("grade") String grade,
+                                           Limit limit);
 
 
     @Query("SELECT t FROM Teacher t WHERE LOWER(t.prenom) LIKE LOWER(CONCAT('%', :name, '%')) OR LOWER(t.nom) LIKE LOWER(CONCAT('%', :name, '%'))")
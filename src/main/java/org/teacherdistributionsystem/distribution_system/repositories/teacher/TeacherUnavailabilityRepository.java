@@ -12,10 +12,16 @@ import java.util.List;
 
 @Repository
 public interface TeacherUnavailabilityRepository extends JpaRepository<TeacherUnavailability, Long> {
-    @Query("SELECT t.id AS id, t.numeroJour AS numeroJour, t.seance AS seance " +
+    // Consumers index teachers by id and days from 0, while numeroJour is stored from 1
+    @Query("SELECT t.teacher.id AS id, t.numeroJour - 1 AS numeroJour, t.seance AS seance " +
             "FROM TeacherUnavailability t WHERE t.examSession.id = ?1 ")
     List<TeacherUnavailabilityProjection> getTeacherUnavailableBySessionId(Long sessionId);
 
+    // Keyed by teacher id, numeroJour as stored (from 1)
+    @Query("SELECT t.teacher.id AS id, t.numeroJour AS numeroJour, t.seance AS seance " +
+            "FROM TeacherUnavailability t WHERE t.examSession.id = ?1 ")
+    List<TeacherUnavailabilityProjection> getTeacherSlotsBySessionId(Long sessionId);
+
     @Query("SELECT tu.teacher.prenom as prenom, " +
             "tu.teacher.nom as nom, " +
             "tu.teacher.codeSmartex as codeSmartex, " +
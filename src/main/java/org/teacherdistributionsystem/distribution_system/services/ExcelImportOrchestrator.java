@@ -11,6 +11,7 @@ import org.teacherdistributionsystem.distribution_system.entities.teacher.Teache
 import org.teacherdistributionsystem.distribution_system.mappers.assignment.ExamSessionMapper;
 import org.teacherdistributionsystem.distribution_system.services.assignment.ExamService;
 import org.teacherdistributionsystem.distribution_system.services.assignment.ExamSessionService;
+import org.teacherdistributionsystem.distribution_system.services.assignment.ScheduleVersionService;
 import org.teacherdistributionsystem.distribution_system.services.teacher.*;
 import org.teacherdistributionsystem.distribution_system.utils.TeacherMaps;
 
@@ -27,6 +28,7 @@ public class ExcelImportOrchestrator {
     private final ExamSessionService examSessionService;
     private final ExamService examService;
     private final TeacherUnavailabilityService teacherUnavailabilityService;
+    private final ScheduleVersionService scheduleVersionService;
 
 
 
@@ -74,6 +76,8 @@ public class ExcelImportOrchestrator {
             );
         }
 
+        // Teachers are shared by every session
+        scheduleVersionService.bumpAll();
         return ExamSessionMapper.toExamSessionDto(examSession);
     }
 }
\ No newline at end of file
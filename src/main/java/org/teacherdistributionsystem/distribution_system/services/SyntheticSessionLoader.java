@@ -0,0 +1,178 @@
+package org.teacherdistributionsystem.distribution_system.services;
+
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.teacherdistributionsystem.distribution_system.dtos.assignment.ExamSessionDto;
+import org.teacherdistributionsystem.distribution_system.entities.assignment.Exam;
+import org.teacherdistributionsystem.distribution_system.entities.assignment.ExamSession;
+import org.teacherdistributionsystem.distribution_system.entities.teacher.Grade;
+import org.teacherdistributionsystem.distribution_system.entities.teacher.QuotaPerGrade;
+import org.teacherdistributionsystem.distribution_system.entities.teacher.Teacher;
+import org.teacherdistributionsystem.distribution_system.entities.teacher.TeacherQuota;
+import org.teacherdistributionsystem.distribution_system.entities.teacher.TeacherUnavailability;
+import org.teacherdistributionsystem.distribution_system.enums.GradeType;
+import org.teacherdistributionsystem.distribution_system.enums.QuotaType;
+import org.teacherdistributionsystem.distribution_system.enums.SeanceType;
+import org.teacherdistributionsystem.distribution_system.enums.SemesterType;
+import org.teacherdistributionsystem.distribution_system.enums.SessionType;
+import org.teacherdistributionsystem.distribution_system.mappers.assignment.ExamSessionMapper;
+import org.teacherdistributionsystem.distribution_system.models.others.SyntheticSessionModel;
+import org.teacherdistributionsystem.distribution_system.models.others.SyntheticSessionModel.SyntheticExam;
+import org.teacherdistributionsystem.distribution_system.models.others.SyntheticSessionModel.SyntheticTeacher;
+import org.teacherdistributionsystem.distribution_system.models.others.SyntheticSessionModel.SyntheticUnavailability;
+import org.teacherdistributionsystem.distribution_system.models.others.SyntheticSessionSpec;
+import org.teacherdistributionsystem.distribution_system.repositories.assignement.ExamRepository;
+import org.teacherdistributionsystem.distribution_system.repositories.assignement.ExamSessionRepository;
+import org.teacherdistributionsystem.distribution_system.repositories.teacher.GradeTypeRepository;
+import org.teacherdistributionsystem.distribution_system.repositories.teacher.TeacherQuotaRepository;
+import org.teacherdistributionsystem.distribution_system.repositories.teacher.TeacherRepository;
+import org.teacherdistributionsystem.distribution_system.repositories.teacher.TeacherUnavailabilityRepository;
+import org.teacherdistributionsystem.distribution_system.services.teacher.QuotaPerGradeService;
+import org.teacherdistributionsystem.distribution_system.utils.SyntheticSessionGenerator;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Persists a synthetic session through the same tables the Excel import fills,
+ * so the assignment endpoints can run against it.
+ */
+@Service
+@RequiredArgsConstructor
+public class SyntheticSessionLoader {
+    private static final Logger logger = LoggerFactory.getLogger(SyntheticSessionLoader.class);
+
+    private final QuotaPerGradeService quotaPerGradeService;
+    private final GradeTypeRepository gradeTypeRepository;
+    private final TeacherRepository teacherRepository;
+    private final TeacherQuotaRepository teacherQuotaRepository;
+    private final ExamSessionRepository examSessionRepository;
+    private final ExamRepository examRepository;
+    private final TeacherUnavailabilityRepository teacherUnavailabilityRepository;
+
+    @Transactional
+    public ExamSessionDto load(SyntheticSessionSpec spec) {
+        return load(SyntheticSessionGenerator.generate(spec));
+    }
+
+    @Transactional
+    public ExamSessionDto load(SyntheticSessionModel session) {
+        SyntheticSessionSpec spec = session.getSpec();
+
+        Map<GradeType, Integer> quotas = ensureQuotaPerGrade(spec);
+        Map<GradeType, Integer> priorities = quotaPerGradeService.getPrioritiesByGrade();
+
+        ExamSession examSession = examSessionRepository.save(ExamSession.builder()
+                .startDate(spec.getStartDate())
+                .endDate(spec.getStartDate().plusDays(spec.getNumDays() - 1))
+                .sessionLibelle(SessionType.P.getLabel())
+                .academicYear(String.valueOf(spec.getStartDate().plusDays(spec.getNumDays() - 1).getYear()))
+                .semesterCode(SemesterType.S1.toString())
+                .semesterLibelle(SemesterType.S1.getLabel())
+                .numExamDays(spec.getNumDays())
+                .seancesPerDay(SeanceType.values().length)
+                .teachersPerExam(spec.getSupervisorsPerExam())
+                .build());
+
+        List<Teacher> teachers = new ArrayList<>();
+        Set<GradeType> usedGrades = EnumSet.noneOf(GradeType.class);
+        for (SyntheticTeacher t : session.getTeachers()) {
+            teachers.add(Teacher.builder()
+                    .nom(t.getNom())
+                    .prenom(t.getPrenom())
+                    .email(t.getEmail())
+                    .gradeCode(t.getGrade().name())
+                    .codeSmartex(t.getCodeSmartex())
+                    .participeSurveillance(t.isParticipeSurveillance())
+                    .quotaCredit(0)
+                    .build());
+            usedGrades.add(t.getGrade());
+        }
+        teachers = teacherRepository.saveAll(teachers);
+
+        List<Grade> grades = new ArrayList<>();
+        for (GradeType grade : usedGrades) {
+            grades.add(Grade.builder()
+                    .gradeCode(grade.name())
+                    .gradeLibelle(grade.getLabel())
+                    .defaultQuotaPerSession(quotas.get(grade))
+                    .priorityLevel(priorities.get(grade))
+                    .build());
+        }
+        gradeTypeRepository.saveAll(grades);
+
+        List<TeacherQuota> teacherQuotas = new ArrayList<>();
+        for (Teacher teacher : teachers) {
+            teacherQuotas.add(TeacherQuota.builder()
+                    .assignedQuota(quotas.get(GradeType.fromCode(teacher.getGradeCode())))
+                    .teacher(teacher)
+                    .examSession(examSession)
+                    .quotaType(QuotaType.STANDARD)
+                    .reason("Standard pour le grade : " + teacher.getGradeCode())
+                    .build());
+        }
+        teacherQuotaRepository.saveAll(teacherQuotas);
+
+        List<Exam> exams = new ArrayList<>();
+        for (SyntheticExam e : session.getExams()) {
+            SeanceType seance = SeanceType.values()[e.getSeance()];
+            exams.add(Exam.builder()
+                    .examDate(spec.getStartDate().plusDays(e.getDay()))
+                    .startTime(seance.getStartTime())
+                    .endTime(seance.getEndTime())
+                    .examSession(examSession)
+                    .examType(e.getExamType())
+                    .responsable(teachers.get(e.getOwnerIndex()))
+                    .numRooms(e.getRoom())
+                    .requiredSupervisors(spec.getSupervisorsPerExam())
+                    .seance(seance)
+                    .jourNumero(e.getDay() + 1)
+                    .build());
+        }
+        examRepository.saveAll(exams);
+
+        List<TeacherUnavailability> unavailabilities = new ArrayList<>();
+        for (SyntheticUnavailability u : session.getUnavailabilities()) {
+            unavailabilities.add(TeacherUnavailability.builder()
+                    .teacher(teachers.get(u.getTeacherIndex()))
+                    .examSession(examSession)
+                    .numeroJour(u.getDay() + 1)
+                    .seance(SeanceType.values()[u.getSeance()].name())
+                    .build());
+        }
+        teacherUnavailabilityRepository.saveAll(unavailabilities);
+
+        logger.info("Synthetic session {} loaded (seed {}): {} teachers, {} exams, {} unavailabilities",
+                examSession.getId(), spec.getSeed(), teachers.size(), exams.size(), unavailabilities.size());
+
+        return ExamSessionMapper.toExamSessionDto(examSession);
+    }
+
+    /**
+     * Quotas come from the QuotaPerGrade table; grades missing there are created from the spec.
+     */
+    private Map<GradeType, Integer> ensureQuotaPerGrade(SyntheticSessionSpec spec) {
+        Map<GradeType, Integer> existing = quotaPerGradeService.getDefaultQuotasByGrade();
+
+        List<QuotaPerGrade> missing = new ArrayList<>();
+        for (GradeType grade : spec.getTeachersPerGrade().keySet()) {
+            if (!existing.containsKey(grade)) {
+                missing.add(QuotaPerGrade.builder()
+                        .grade(grade)
+                        .defaultQuota(spec.getQuotaPerGrade().getOrDefault(grade, 0))
+                        .priority(spec.getPriorityPerGrade().getOrDefault(grade, 0))
+                        .build());
+            }
+        }
+        if (!missing.isEmpty()) {
+            quotaPerGradeService.saveAll(missing);
+        }
+        return quotaPerGradeService.getDefaultQuotasByGrade();
+    }
+}
@@ -1,28 +1,35 @@
 package org.teacherdistributionsystem.distribution_system.services.assignment;
 
-import com.google.ortools.Loader;
 import com.google.ortools.sat.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 import org.teacherdistributionsystem.distribution_system.config.AssignmentConstraintConfig;
 import org.teacherdistributionsystem.distribution_system.dtos.assignment.*;
 import org.teacherdistributionsystem.distribution_system.enums.AssignmentStatus;
-import org.teacherdistributionsystem.distribution_system.enums.GradeType;
 import org.teacherdistributionsystem.distribution_system.enums.SeanceType;
 import org.teacherdistributionsystem.distribution_system.models.others.*;
 import org.teacherdistributionsystem.distribution_system.models.projections.ExamForAssignmentProjection;
+import org.teacherdistributionsystem.distribution_system.models.projections.SessionTeacherProjection;
 import org.teacherdistributionsystem.distribution_system.models.projections.TeacherUnavailabilityProjection;
 import org.teacherdistributionsystem.distribution_system.models.responses.assignment.*;
-import org.teacherdistributionsystem.distribution_system.services.teacher.QuotaPerGradeService;
 import org.teacherdistributionsystem.distribution_system.services.teacher.TeacherQuotaService;
-import org.teacherdistributionsystem.distribution_system.services.teacher.TeacherService;
 import org.teacherdistributionsystem.distribution_system.services.teacher.TeacherUnavailabilityService;
+import org.teacherdistributionsystem.distribution_system.utils.OrToolsRuntime;
+import org.teacherdistributionsystem.distribution_system.utils.SolverInstanceWriter;
+import org.teacherdistributionsystem.distribution_system.utils.SolverEventLog;
+import org.teacherdistributionsystem.distribution_system.utils.SolverStatisticsExtractor;
 
+import java.nio.file.Path;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 
 @Service
@@ -32,8 +39,10 @@ public class AssignmentAlgorithmService {
     private final TeacherUnavailabilityService teacherUnavailabilityService;
     private final ExamSessionService examSessionService;
     private final ExamService examService;
-    private final TeacherService teacherService;
-    private final QuotaPerGradeService quotaPerGradeService;
+    private final SolverInstanceWriter solverInstanceWriter;
+    private static final Logger logger = LoggerFactory.getLogger(AssignmentAlgorithmService.class);
+
+    private final SolverEventLog events = new SolverEventLog(AssignmentAlgorithmService.class);
 
     static class Exam {
         String examId;
@@ -72,6 +81,37 @@ public class AssignmentAlgorithmService {
         }
     }
 
+    static class ObjectiveStage {
+        String name;
+        LinearExprBuilder expression;
+        int terms;
+        int weight;
+
+        public ObjectiveStage(String name, LinearExprBuilder expression, int terms, int weight) {
+            this.name = name;
+            this.expression = expression;
+            this.terms = terms;
+            this.weight = weight;
+        }
+    }
+
+    /**
+     * One session of a joint solve: its days and exams on the joint timeline and its own quotas
+     */
+    static class JointSessionSlice {
+        ExamSessionDto session;
+        int dayOffset;
+        int examFrom;
+        int examTo;
+        int[] quotas;
+
+        public JointSessionSlice(ExamSessionDto session, int dayOffset, int examFrom) {
+            this.session = session;
+            this.dayOffset = dayOffset;
+            this.examFrom = examFrom;
+        }
+    }
+
     private BoolVar[][] assignment;
     private CpModel model;
     private int numTeachers;
@@ -95,19 +135,22 @@ public class AssignmentAlgorithmService {
     private int totalConstraintsAdded = 0;
     private int relaxationAttemptNumber = 0;
     private Map<String, Set<Long>> examOwnersByKey;
-    public AssignmentAlgorithmService(TeacherService teacherService,
-                                      TeacherQuotaService teacherQuotaService,
+    private List<ObjectiveStage> objectiveStages;
+    private Map<String, Long> modelBuildNanos = new LinkedHashMap<>();
+    private boolean modelBuildReported;
+    private List<SolverRunStatistics> solverRunStatistics = new ArrayList<>();
+    private List<JointSessionSlice> jointSessions;
+    private AssignmentSolution solution; // Compact result of the last successful solve
+    public AssignmentAlgorithmService(TeacherQuotaService teacherQuotaService,
                                       TeacherUnavailabilityService teacherUnavailabilityService,
                                       ExamSessionService examSessionService,
                                       ExamService examService,
-                                      QuotaPerGradeService quotaPerGradeService) {
-        Loader.loadNativeLibraries();
-        this.teacherService = teacherService;
+                                      SolverInstanceWriter solverInstanceWriter) {
         this.teacherQuotaService = teacherQuotaService;
         this.teacherUnavailabilityService = teacherUnavailabilityService;
         this.examSessionService = examSessionService;
         this.examService = examService;
-        this.quotaPerGradeService = quotaPerGradeService;
+        this.solverInstanceWriter = solverInstanceWriter;
 
 
         this.config = AssignmentConstraintConfig.defaultConfig();
@@ -136,123 +179,323 @@ public class AssignmentAlgorithmService {
     public CompletableFuture<AssignmentResponseModel> executeAssignment(Long sessionId) {
         try {
             loadData(sessionId);
-            teachersWithRelaxedUnavailability = new HashSet<>();
+            return CompletableFuture.completedFuture(runAssignment(config.isExportInstance()));
 
-            System.out.println("========================================");
-            System.out.println("HUMAN-LIKE ASSIGNMENT STRATEGY");
-            System.out.println("========================================");
+        } catch (jakarta.persistence.EntityNotFoundException e) {
+            logger.error("Entity not found for session {}", sessionId, e);
+            return CompletableFuture.failedFuture(e);
 
-            calculateEffectiveQuotas();
+        } catch (Exception e) {
+            logger.error("Assignment of session {} failed", sessionId, e);
+            return CompletableFuture.failedFuture(e);
+        }
+    }
 
-            // Calculate total supervision needed based on EACH exam's requirements
-            int totalSupervisionNeeded = 0;
-            for (Exam exam : exams) {
-                totalSupervisionNeeded += exam.requiredSupervisors;
+    /**
+     * Solves several sessions (e.g. the main session and its resit) as one model, so that
+     * same-grade fairness and quotas hold over the whole period instead of being carried
+     * from one session to the next through Teacher.quotaCredit. Sessions are laid out in
+     * the given order. A null config uses the current one.
+     */
+    @Async
+    public CompletableFuture<JointAssignmentResponseModel> executeJointAssignment(
+            List<Long> sessionIds,
+            AssignmentConstraintConfig customConfig) {
+
+        AssignmentConstraintConfig originalConfig = this.config;
+        if (customConfig != null) {
+            this.config = customConfig;
+        }
+
+        try {
+            if (sessionIds == null || sessionIds.isEmpty()) {
+                throw new IllegalArgumentException("At least one session id is required");
+            }
+            if (new HashSet<>(sessionIds).size() != sessionIds.size()) {
+                throw new IllegalArgumentException("Duplicate session ids: " + sessionIds);
             }
 
-            int totalCapacity = calculateTotalCapacity();
-            int availableExamSlots = calculateAvailableExamSlots();
+            loadJointData(sessionIds);
+            AssignmentResponseModel joint = runAssignment(false);
+
+            return CompletableFuture.completedFuture(JointAssignmentResponseModel.builder()
+                    .status(joint.getStatus())
+                    .message(joint.getMessage())
+                    .sessionIds(sessionIds)
+                    .metadata(joint.getMetadata())
+                    .diagnosis(joint.getDiagnosis())
+                    .sessions(joint.getStatus() == AssignmentStatus.SUCCESS
+                            ? splitJointResponse(joint)
+                            : List.of())
+                    .generatedAt(LocalDateTime.now())
+                    .build());
+
+        } catch (jakarta.persistence.EntityNotFoundException e) {
+            logger.error("Entity not found for sessions {}", sessionIds, e);
+            return CompletableFuture.failedFuture(e);
 
-            System.out.println("\n=== PHASE 1: CAPACITY CHECK ===");
-            System.out.println("Total supervisions needed: " + totalSupervisionNeeded);
-            System.out.println("Total teacher capacity (quotas): " + totalCapacity);
-            System.out.println("Available exam-teacher slot pairs: " + availableExamSlots);
+        } catch (Exception e) {
+            logger.error("Joint assignment of sessions {} failed", sessionIds, e);
+            return CompletableFuture.failedFuture(e);
+        } finally {
+            jointSessions = null;
+            this.config = originalConfig;
+        }
+    }
 
-            boolean sufficientCapacity = totalCapacity >= totalSupervisionNeeded;
-            boolean sufficientAvailableSlots = availableExamSlots >= totalSupervisionNeeded;
+    /**
+     * Re-runs the whole assignment strategy on an exported instance, without touching
+     * the database. A null config replays with the configuration the instance was exported with.
+     */
+    public AssignmentResponseModel replay(SolverInstanceModel instance, AssignmentConstraintConfig replayConfig) {
+        AssignmentConstraintConfig originalConfig = this.config;
+        this.config = replayConfig != null ? replayConfig : instance.getConfig();
 
-            System.out.println("\nFeasibility indicators:");
-            System.out.println("  Quota capacity sufficient: " + (sufficientCapacity ? "✓" : "✗"));
-            System.out.println("  Available slots sufficient: " + (sufficientAvailableSlots ? "✓" : "✗"));
+        try {
+            restoreInstance(instance);
+            return runAssignment(false);
+        } finally {
+            this.config = originalConfig;
+        }
+    }
 
+    public AssignmentResponseModel replay(Path instanceFile, AssignmentConstraintConfig replayConfig) {
+        return replay(solverInstanceWriter.read(instanceFile), replayConfig);
+    }
 
+    /**
+     * Builds the strict-phase model of an instance without solving it. Used by the
+     * benchmarks; per-phase build times are available from getModelBuildNanos().
+     */
+    public CpModel buildModel(SolverInstanceModel instance, AssignmentConstraintConfig buildConfig) {
+        AssignmentConstraintConfig originalConfig = this.config;
+        this.config = buildConfig != null ? buildConfig : instance.getConfig();
 
-        // PHASE 1: Try solving with strict unavailability + priority assignments
-            System.out.println("\n=== PHASE 2: TRY WITH STRICT UNAVAILABILITY ===");
-            System.out.println("Strategy: Use optimization to prefer available teachers for conflict slots");
+        try {
+            OrToolsRuntime.ensureLoaded();
+            restoreInstance(instance);
+            teachersWithRelaxedUnavailability = new HashSet<>();
+            calculateEffectiveQuotas();
 
             model = new CpModel();
             createVariables();
             addConstraintsWithPriority();
-            AssignmentResponseModel result = solve();
+            return model;
+        } finally {
+            this.config = originalConfig;
+        }
+    }
 
-            if (result.getStatus() == AssignmentStatus.SUCCESS) {
-                System.out.println("[SUCCESS] Solution found with all unavailability respected!");
-                System.out.println("========================================\n");
-                return CompletableFuture.completedFuture(result);
+    /**
+     * Build time in nanoseconds of each phase of the last model, in build order
+     */
+    public Map<String, Long> getModelBuildNanos() {
+        return modelBuildNanos;
+    }
+
+    private AssignmentResponseModel runAssignment(boolean exportInstance) {
+        OrToolsRuntime.ensureLoaded();
+        solverRunStatistics = new ArrayList<>();
+        if (config.isCollectSolverEvents()) {
+            events.startCollecting();
+        }
+
+        AssignmentResponseModel result;
+        List<SolverEvent> runEvents;
+        try {
+            result = runStrategy(exportInstance);
+        } finally {
+            runEvents = events.finishCollecting();
+        }
+
+        if (result.getMetadata() != null) {
+            result.getMetadata().setSolverRuns(new ArrayList<>(solverRunStatistics));
+            result.getMetadata().setConfigHash(config.fingerprint());
+            if (config.isCollectSolverEvents()) {
+                result.getMetadata().setEvents(runEvents);
             }
+        }
+        return result;
+    }
+
+    private AssignmentResponseModel runStrategy(boolean exportInstance) {
+        teachersWithRelaxedUnavailability = new HashSet<>();
+
+        events.phase("Human-like assignment strategy");
+
+        calculateEffectiveQuotas();
+
+        // Calculate total supervision needed based on EACH exam's requirements
+        int totalSupervisionNeeded = exams.stream().mapToInt(exam -> exam.requiredSupervisors).sum();
+
+        int totalCapacity = calculateTotalCapacity();
+        int availableExamSlots = calculateAvailableExamSlots();
+
+        events.phase("Phase 1: capacity check");
+        events.constraints("Supervisions needed", totalSupervisionNeeded);
+        events.constraints("Teacher capacity (quotas)", totalCapacity);
+        events.constraints("Available exam-teacher slot pairs", availableExamSlots);
+
+        boolean sufficientCapacity = totalCapacity >= totalSupervisionNeeded;
+        if (availableExamSlots < totalSupervisionNeeded) {
+            events.warning(() -> "Available slots insufficient: " + availableExamSlots + " < " + totalSupervisionNeeded);
+        }
+
+        // PHASE 1: Try solving with strict unavailability + priority assignments
+        events.phase("Phase 2: strict unavailability");
+
+        model = new CpModel();
+        createVariables();
+        addConstraintsWithPriority();
+        if (exportInstance) {
+            exportInstance();
+        }
+        AssignmentResponseModel result = solve("Strict");
+
+        if (result.getStatus() == AssignmentStatus.SUCCESS) {
+            events.phase("Solution found with all unavailability respected");
+            return result;
+        }
 
 // Check if it's a timeout vs true infeasibility
-            if (result.getStatus() == AssignmentStatus.TIMEOUT) {
-                System.out.println("[TIMEOUT] Solver couldn't complete within time limit.");
-                System.out.println("Increasing time limit and retrying...");
-
-                // Retry with longer timeout
-                CpSolver solver = new CpSolver();
-                solver.getParameters().setMaxTimeInSeconds(500.0);
-                long startTime = System.currentTimeMillis();
-                CpSolverStatus status = solver.solve(model);
-                double solutionTime = (System.currentTimeMillis() - startTime) / 1000.0;
-
-                System.out.println("Extended solve status: " + status + " (Time: " + String.format("%.3f", solutionTime) + "s)");
-
-                if (status == CpSolverStatus.OPTIMAL || status == CpSolverStatus.FEASIBLE) {
-                    result = buildSuccessResponse(solver, status, solutionTime);
-                    System.out.println("[SUCCESS] Solution found with extended timeout!");
-                    System.out.println("========================================\n");
-                    return CompletableFuture.completedFuture(result);
-                } else if (status == CpSolverStatus.UNKNOWN) {
-                    System.out.println("[STILL TIMEOUT] Even with 30s, couldn't solve.");
-                    System.out.println("This suggests the problem may be very constrained.");
-                    System.out.println("Proceeding to relaxation...");
-                }
+        if (result.getStatus() == AssignmentStatus.TIMEOUT) {
+            events.warning(() -> "Solver couldn't complete within time limit, retrying with a longer one");
+
+            // Retry with longer timeout
+            CpSolver solver = new CpSolver();
+            configureSolver(solver, 500.0);
+            long startTime = System.currentTimeMillis();
+            CpSolverStatus status = solver.solve(model);
+            double solutionTime = (System.currentTimeMillis() - startTime) / 1000.0;
+            recordSolverStatistics("Strict (extended timeout)", solver, status);
+
+            events.solve("Strict (extended timeout)", status.name(), solutionTime);
+
+            if (status == CpSolverStatus.OPTIMAL || status == CpSolverStatus.FEASIBLE) {
+                result = buildSuccessResponse(solver, status, solutionTime);
+                events.phase("Solution found with extended timeout");
+                return result;
+            } else if (status == CpSolverStatus.UNKNOWN) {
+                events.warning(() -> "Still no solution with the extended time limit, the problem may be very constrained");
             }
+        }
 
 // PHASE 2: If truly infeasible (not just timeout), try progressive relaxation
-            if (result.getStatus() == AssignmentStatus.INFEASIBLE) {
-                System.out.println("[INFEASIBLE] Could not solve with strict unavailability.");
-            } else {
-                System.out.println("[UNABLE TO SOLVE] Status: " + result.getStatus());
-            }
+        AssignmentStatus strictStatus = result.getStatus();
+        events.warning(() -> "Could not solve with strict unavailability, status " + strictStatus);
 
 // Check if relaxation can help
-            if (!sufficientCapacity) {
-                System.out.println("\n[ANALYSIS] Insufficient total capacity.");
-                System.out.println("  Need to relax unavailability to reach capacity.");
-            } else {
-                System.out.println("\n[ANALYSIS] Capacity is sufficient but constraints conflict.");
-                System.out.println("  This could be due to:");
-                System.out.println("  - Time slot distribution (too many exams at certain times)");
-                System.out.println("  - Ownership conflicts (owners can't cover their own slots)");
-                System.out.println("  - Unavailability clustering");
-                System.out.println("  - Equal assignment constraints for same-grade teachers");
-                System.out.println("  Attempting progressive relaxation...");
-            }
+        if (!sufficientCapacity) {
+            events.warning(() -> "Insufficient total capacity, unavailability must be relaxed to reach it");
+        } else {
+            events.report("Capacity is sufficient but constraints conflict", () -> String.join("\n",
+                    "  - Time slot distribution (too many exams at certain times)",
+                    "  - Ownership conflicts (owners can't cover their own slots)",
+                    "  - Unavailability clustering",
+                    "  - Equal assignment constraints for same-grade teachers"));
+        }
 
 
-            // Always attempt relaxation if strict mode failed
-            System.out.println("\n=== PHASE 3: PROGRESSIVE RELAXATION ===");
-            return CompletableFuture.completedFuture(attemptProgressiveRelaxation(totalSupervisionNeeded));
+        // Always attempt relaxation if strict mode failed
+        events.phase("Phase 3: progressive relaxation");
+        return attemptProgressiveRelaxation(totalSupervisionNeeded);
+    }
 
-        } catch (jakarta.persistence.EntityNotFoundException e) {
-            System.err.println("[ERROR] Entity not found: " + e.getMessage());
-            return CompletableFuture.failedFuture(e);
+    private void loadData(Long sessionId)  {
+        events.phase("Loading data");
 
-        } catch (Exception e) {
-            System.err.println("[ERROR] " + e.getMessage());
-            e.printStackTrace();
-            return CompletableFuture.failedFuture(e);
+        jointSessions = null;
+        List<SessionTeacherProjection> roster = teacherQuotaService.getSessionRoster(sessionId);
+        loadTeachers(roster);
+
+        for (int i = 0; i < numTeachers; i++) {
+            baseQuotas[i] = roster.get(i).getAssignedQuota();
         }
+
+        currentSession = examSessionService.getExamSessionDto(sessionId);
+
+        teacherUnavailable = new boolean[numTeachers][currentSession.getNumExamDays()][SeanceType.values().length];
+        exams = new ArrayList<>();
+        examOwnersByKey = new HashMap<>();
+        int dbRows = loadSessionExams(currentSession, 0);
+
+        logLoadedExams(dbRows);
     }
 
-    private void loadData(Long sessionId)  {
-        System.out.println("\n=== LOADING DATA ===");
+    /**
+     * Loads several sessions on one timeline: session s starts at the day following the last
+     * day of session s-1, so exams, unavailability and exam keys of different sessions never
+     * share a slot. Teacher data is read once; each teacher's quota is the sum of their
+     * session quotas, the per-session share being bounded by the "Session quotas" family.
+     */
+    private void loadJointData(List<Long> sessionIds) {
+        events.phase("Loading joint data (" + sessionIds.size() + " sessions)");
+
+        List<ExamSessionDto> sessions = new ArrayList<>();
+        List<Map<Long, Integer>> sessionQuotas = new ArrayList<>();
+        Map<Long, SessionTeacherProjection> roster = new TreeMap<>();
+        int totalDays = 0;
+        for (Long sessionId : sessionIds) {
+            ExamSessionDto session = examSessionService.getExamSessionDto(sessionId);
+            sessions.add(session);
+            totalDays += session.getNumExamDays();
+
+            Map<Long, Integer> quotas = new HashMap<>();
+            for (SessionTeacherProjection teacher : teacherQuotaService.getSessionRoster(sessionId)) {
+                roster.putIfAbsent(teacher.getId(), teacher);
+                quotas.put(teacher.getId(), teacher.getAssignedQuota());
+            }
+            sessionQuotas.add(quotas);
+        }
+
+        // Union of the session rosters, a teacher absent from a session has no quota there
+        loadTeachers(new ArrayList<>(roster.values()));
 
-        Map<Long, Boolean> map = teacherService.getTeacherParticipeSurveillance();
-        numTeachers = map.size();
-        teacherIds = map.keySet().toArray(Long[]::new);
-        teacherParticipateSurveillance = map.values().toArray(Boolean[]::new);
+        teacherUnavailable = new boolean[numTeachers][totalDays][SeanceType.values().length];
+        exams = new ArrayList<>();
+        examOwnersByKey = new HashMap<>();
+        jointSessions = new ArrayList<>();
+
+        int dayOffset = 0;
+        int dbRows = 0;
+        for (int s = 0; s < sessions.size(); s++) {
+            ExamSessionDto session = sessions.get(s);
+            JointSessionSlice slice = new JointSessionSlice(session, dayOffset, exams.size());
+
+            Map<Long, Integer> quotaMap = sessionQuotas.get(s);
+            slice.quotas = new int[numTeachers];
+            for (int i = 0; i < numTeachers; i++) {
+                slice.quotas[i] = quotaMap.getOrDefault(teacherIds[i], 0);
+                baseQuotas[i] += slice.quotas[i];
+            }
 
+            dbRows += loadSessionExams(session, dayOffset);
+            slice.examTo = exams.size();
+            jointSessions.add(slice);
+
+            events.constraints("Exams of session " + session.getId(), slice.examTo - slice.examFrom);
+            dayOffset += session.getNumExamDays();
+        }
+
+        currentSession = ExamSessionDto.builder()
+                .id(sessions.get(0).getId())
+                .sessionLibelle("Joint: " + sessions.stream()
+                        .map(ExamSessionDto::getSessionLibelle)
+                        .collect(java.util.stream.Collectors.joining(" + ")))
+                .numExamDays(totalDays)
+                .build();
+
+        logLoadedExams(dbRows);
+    }
+
+    /**
+     * Fills the teacher arrays from a session roster: only teachers holding a quota in the
+     * session become solver variables, all their columns coming from one query.
+     */
+    private void loadTeachers(List<SessionTeacherProjection> roster) {
+        numTeachers = roster.size();
+        teacherIds = new Long[numTeachers];
+        teacherParticipateSurveillance = new Boolean[numTeachers];
         teacherGrades = new String[numTeachers];
         teacherNames = new String[numTeachers];
         teacherEmails = new String[numTeachers];
@@ -260,24 +503,20 @@ public class AssignmentAlgorithmService {
         effectiveQuotas = new int[numTeachers];
         teacherPriorities = new int[numTeachers];
 
-        Map<Long, String> gradeMap = teacherService.getAllGrades();
-        Map<Long, String> nameMap = teacherService.getAllNames();
-        Map<Long, Integer> quotaMap = teacherQuotaService.getAllQuotas(sessionId);
-        Map<Long, String> emailMap = teacherService.getAllEmails();
-        Map<GradeType, Integer> priorityPerGradeMap = quotaPerGradeService.getPrioritiesByGrade();
-
         for (int i = 0; i < numTeachers; i++) {
-            teacherGrades[i] = gradeMap.get(teacherIds[i]);
-            teacherNames[i] = nameMap.getOrDefault(teacherIds[i], "Unknown");
-            teacherEmails[i] = emailMap.getOrDefault(teacherIds[i], "Unknown");
-            baseQuotas[i] = quotaMap.getOrDefault(teacherIds[i], 0);
-
-
-            try {
-                GradeType gradeType = GradeType.valueOf(teacherGrades[i]);
-                teacherPriorities[i] = priorityPerGradeMap.getOrDefault(gradeType, Integer.MAX_VALUE);
-            } catch (IllegalArgumentException | NullPointerException e) {
-                System.err.println("Warning: Invalid or missing grade for teacher " + teacherIds[i] + ": " + teacherGrades[i]);
+            SessionTeacherProjection teacher = roster.get(i);
+            teacherIds[i] = teacher.getId();
+            teacherParticipateSurveillance[i] = Boolean.TRUE.equals(teacher.getParticipeSurveillance());
+            teacherGrades[i] = teacher.getGradeCode();
+            teacherNames[i] = teacher.getPrenom() + " " + teacher.getNom();
+            teacherEmails[i] = teacher.getEmail() != null ? teacher.getEmail() : "Unknown";
+
+            if (teacher.getPriority() != null) {
+                teacherPriorities[i] = teacher.getPriority();
+            } else {
+                Long teacherId = teacherIds[i];
+                String grade = teacherGrades[i];
+                events.warning(() -> "Invalid or missing grade for teacher " + teacherId + ": " + grade);
                 teacherPriorities[i] = Integer.MAX_VALUE;
             }
         }
@@ -287,18 +526,18 @@ public class AssignmentAlgorithmService {
         for (int i = 0; i < numTeachers; i++) {
             teacherIdToIndex.put(teacherIds[i], i);
         }
+    }
 
-        currentSession = examSessionService.getExamSessionDto(sessionId);
-
-
-
-        int numDays = currentSession.getNumExamDays();
+    /**
+     * Adds the unavailability and the deduplicated exams of one session, shifted by dayOffset days.
+     * Returns the number of exam rows read.
+     */
+    private int loadSessionExams(ExamSessionDto session, int dayOffset) {
+        int numDays = session.getNumExamDays();
         int numSeances = SeanceType.values().length;
 
         List<TeacherUnavailabilityProjection> teacherUnavailability =
-                teacherUnavailabilityService.getTeacherUnavailabilitiesBySessionId(currentSession.getId());
-
-        teacherUnavailable = new boolean[numTeachers][numDays][numSeances];
+                teacherUnavailabilityService.getTeacherUnavailabilitiesBySessionId(session.getId());
 
         for (TeacherUnavailabilityProjection t : teacherUnavailability) {
             Integer teacherIdx = teacherIdToIndex.get(t.getId());
@@ -308,91 +547,79 @@ public class AssignmentAlgorithmService {
             int seanceIdx = SeanceType.valueOf(t.getSeance()).ordinal();
 
             if (dayIdx >= 0 && dayIdx < numDays && seanceIdx >= 0 && seanceIdx < numSeances) {
-                teacherUnavailable[teacherIdx][dayIdx][seanceIdx] = true;
+                teacherUnavailable[teacherIdx][dayOffset + dayIdx][seanceIdx] = true;
             }
         }
 
         // ========================================
         // FIX: Deduplicate exams and handle dynamic supervisor counts
         // ========================================
-        List<ExamForAssignmentProjection> examsList = examService.getExamsForAssignment(currentSession.getId());
+        List<ExamForAssignmentProjection> examsList = examService.getExamsForAssignment(session.getId());
 
-        // Group exams by logical key (day + seance + room)
-        Map<String, List<ExamForAssignmentProjection>> examGroups = new HashMap<>();
+        // One pass: the first row of a logical key (day + seance + room) creates the exam,
+        // later rows only add their owner
+        Map<String, Integer> examIndexByKey = new HashMap<>();
 
         for (ExamForAssignmentProjection e : examsList) {
             int dayIdx = e.getJourNumero() - 1;
             int seanceIdx = e.getSeance().ordinal();
 
-            if (dayIdx >= 0 && dayIdx < numDays && seanceIdx >= 0 && seanceIdx < numSeances) {
-                String examKey = dayIdx + "_" + seanceIdx + "_" + e.getNumRooms();
-                examGroups.computeIfAbsent(examKey, k -> new ArrayList<>()).add(e);
-            }
-        }
-
-        // Create ONE exam per logical group
-        exams = new ArrayList<>();
-        examOwnersByKey = new HashMap<>();
-
-        int totalSupervisorsNeeded = 0;
-        int minSupervisors = Integer.MAX_VALUE;
-        int maxSupervisors = Integer.MIN_VALUE;
-
-        for (Map.Entry<String, List<ExamForAssignmentProjection>> entry : examGroups.entrySet()) {
-            String examKey = entry.getKey();
-            List<ExamForAssignmentProjection> group = entry.getValue();
-
-            // Use the first exam as representative
-            ExamForAssignmentProjection representative = group.get(0);
-            int dayIdx = representative.getJourNumero() - 1;
-            int seanceIdx = representative.getSeance().ordinal();
-
-            // IMPORTANT: All rows for same logical exam should have same requiredSupervisors
-            // Use the first one (they should all be identical)
-            int requiredSupervisors = representative.getRequiredSupervisors();
-
-            // Validate consistency (optional but recommended)
-            for (ExamForAssignmentProjection exam : group) {
-                if (exam.getRequiredSupervisors() != requiredSupervisors) {
-                    System.err.println("WARNING: Inconsistent requiredSupervisors for exam at " + examKey);
-                }
+            if (dayIdx < 0 || dayIdx >= numDays || seanceIdx < 0 || seanceIdx >= numSeances) continue;
+
+            String examKey = (dayOffset + dayIdx) + "_" + seanceIdx + "_" + e.getNumRooms();
+            Integer index = examIndexByKey.get(examKey);
+
+            if (index == null) {
+                examIndexByKey.put(examKey, exams.size());
+                examOwnersByKey.put(examKey, new HashSet<>());
+                exams.add(new Exam(
+                        e.getId(),
+                        dayOffset + dayIdx,
+                        seanceIdx,
+                        e.getNumRooms(),
+                        null,
+                        e.getRequiredSupervisors(),
+                        e.getExamDate(),
+                        e.getStartTime(),
+                        e.getEndTime()
+                ));
+            } else if (exams.get(index).requiredSupervisors != e.getRequiredSupervisors()) {
+                // IMPORTANT: All rows for same logical exam should have same requiredSupervisors
+                // The first one is kept
+                events.warning(() -> "Inconsistent requiredSupervisors for exam at " + examKey);
             }
 
-            // Collect ALL owner IDs for this logical exam
-            Set<Long> ownerIds = new HashSet<>();
-            for (ExamForAssignmentProjection exam : group) {
-                if (exam.getResponsableId() != null) {
-                    ownerIds.add(exam.getResponsableId());
-                }
+            if (e.getResponsableId() != null) {
+                examOwnersByKey.get(examKey).add(e.getResponsableId());
             }
+        }
 
-            examOwnersByKey.put(examKey, ownerIds);
+        for (Map.Entry<String, Integer> entry : examIndexByKey.entrySet()) {
+            Set<Long> ownerIds = examOwnersByKey.get(entry.getKey());
+            exams.get(entry.getValue()).ownerTeacherId = ownerIds.isEmpty() ? null : ownerIds.iterator().next();
+        }
 
-            Long representativeOwnerId = ownerIds.isEmpty() ? null : ownerIds.iterator().next();
+        return examsList.size();
+    }
 
-            exams.add(new Exam(
-                    representative.getId(),
-                    dayIdx,
-                    seanceIdx,
-                    representative.getNumRooms(),
-                    representativeOwnerId,
-                    requiredSupervisors,
-                    representative.getExamDate(),
-                    representative.getStartTime(),
-                    representative.getEndTime()
-            ));
+    private void logLoadedExams(int dbRows) {
+        numExams = exams.size();
 
-            totalSupervisorsNeeded += requiredSupervisors;
-            minSupervisors = Math.min(minSupervisors, requiredSupervisors);
-            maxSupervisors = Math.max(maxSupervisors, requiredSupervisors);
+        int totalSupervisorsNeeded = 0;
+        int minSupervisors = Integer.MAX_VALUE;
+        int maxSupervisors = Integer.MIN_VALUE;
+        for (Exam exam : exams) {
+            totalSupervisorsNeeded += exam.requiredSupervisors;
+            minSupervisors = Math.min(minSupervisors, exam.requiredSupervisors);
+            maxSupervisors = Math.max(maxSupervisors, exam.requiredSupervisors);
         }
 
-        numExams = exams.size();
-
-        System.out.println("Teachers: " + numTeachers + ", Exams: " + numExams);
-        System.out.println("Original DB rows: " + examsList.size() + ", Deduplicated logical exams: " + numExams);
-        System.out.println("Total supervisors needed: " + totalSupervisorsNeeded);
-        System.out.println("Supervisor requirements - Min: " + minSupervisors + ", Max: " + maxSupervisors);
+        events.constraints("Teachers", numTeachers);
+        events.constraints("Original DB rows", dbRows);
+        events.constraints("Deduplicated logical exams", numExams);
+        events.constraints("Total supervisors needed", totalSupervisorsNeeded);
+        events.constraints("Min supervisors per exam", minSupervisors);
+        events.constraints("Max supervisors per exam", maxSupervisors);
 
         // Log any exams with multiple owners
         int multiOwnerCount = 0;
@@ -402,13 +629,93 @@ public class AssignmentAlgorithmService {
             }
         }
         if (multiOwnerCount > 0) {
-            System.out.println("Exams with multiple owners: " + multiOwnerCount);
+            events.constraints("Exams with multiple owners", multiOwnerCount);
         }
+    }
+
+
 
-        System.out.println("===================\n");
+    private void restoreInstance(SolverInstanceModel instance) {
+        events.phase("Restoring exported instance");
+
+        jointSessions = null;
+
+        teacherIds = instance.getTeacherIds();
+        numTeachers = teacherIds.length;
+        teacherNames = instance.getTeacherNames();
+        teacherEmails = instance.getTeacherEmails();
+        teacherGrades = instance.getTeacherGrades();
+        teacherParticipateSurveillance = instance.getTeacherParticipateSurveillance();
+        teacherPriorities = instance.getTeacherPriorities();
+        baseQuotas = instance.getBaseQuotas();
+        effectiveQuotas = new int[numTeachers];
+        teacherUnavailable = instance.getTeacherUnavailable();
+
+        teacherIdToIndex = new HashMap<>();
+        for (int i = 0; i < numTeachers; i++) {
+            teacherIdToIndex.put(teacherIds[i], i);
+        }
+
+        currentSession = ExamSessionDto.builder()
+                .id(instance.getSessionId())
+                .sessionLibelle(instance.getSessionName())
+                .numExamDays(instance.getNumExamDays())
+                .build();
+
+        exams = new ArrayList<>();
+        for (SolverInstanceExamModel e : instance.getExams()) {
+            exams.add(new Exam(e.getExamId(), e.getDay(), e.getSeance(), e.getRoom(), e.getOwnerTeacherId(),
+                    e.getRequiredSupervisors(), e.getExamDate(), e.getStartTime(), e.getEndTime()));
+        }
+        examOwnersByKey = new HashMap<>(instance.getExamOwnersByKey());
+        numExams = exams.size();
+
+        events.constraints("Teachers", numTeachers);
+        events.constraints("Exams", numExams);
     }
 
+    private void exportInstance() {
+        List<SolverInstanceExamModel> instanceExams = new ArrayList<>();
+        for (Exam exam : exams) {
+            instanceExams.add(SolverInstanceExamModel.builder()
+                    .examId(exam.examId)
+                    .day(exam.day)
+                    .seance(exam.seance)
+                    .room(exam.salle)
+                    .ownerTeacherId(exam.ownerTeacherId)
+                    .requiredSupervisors(exam.requiredSupervisors)
+                    .examDate(exam.examDate)
+                    .startTime(exam.startTime)
+                    .endTime(exam.endTime)
+                    .build());
+        }
+
+        SolverInstanceModel instance = SolverInstanceModel.builder()
+                .sessionId(currentSession.getId())
+                .sessionName(currentSession.getSessionLibelle())
+                .numExamDays(currentSession.getNumExamDays())
+                .teacherIds(teacherIds)
+                .teacherNames(teacherNames)
+                .teacherEmails(teacherEmails)
+                .teacherGrades(teacherGrades)
+                .teacherParticipateSurveillance(teacherParticipateSurveillance)
+                .teacherPriorities(teacherPriorities)
+                .baseQuotas(baseQuotas)
+                .teacherUnavailable(teacherUnavailable)
+                .exams(instanceExams)
+                .examOwnersByKey(examOwnersByKey)
+                .config(config)
+                .exportedAt(LocalDateTime.now())
+                .build();
 
+        // A failed export must never fail the solve itself
+        try {
+            Path file = solverInstanceWriter.write(instance);
+            events.phase("Solver instance exported to " + file);
+        } catch (RuntimeException e) {
+            logger.warn("Could not export solver instance", e);
+        }
+    }
 
     private void calculateEffectiveQuotas() {
         // IMPORTANT: Quota is a limit on total assignments, NOT reduced by unavailability
@@ -426,8 +733,6 @@ public class AssignmentAlgorithmService {
             effectiveQuotas[t] = baseQuotas[t];
         }
 
-        System.out.println("\nQuota calculation:");
-        System.out.println("  Using BASE quotas (unavailability handled by constraints, not quota reduction)");
     }
 
     private int countUnavailableSlots(int teacherIdx) {
@@ -498,19 +803,12 @@ public class AssignmentAlgorithmService {
         // Calculate theoretical maximum capacity (all teachers, all unavailability ignored)
         int maxTheoreticalCapacity = calculateTotalCapacity();
 
-        System.out.println("\nCapacity Analysis:");
-        System.out.println("  Supervisions needed: " + totalSupervisionNeeded);
-        System.out.println("  Current total capacity: " + maxTheoreticalCapacity);
-        System.out.println("  Deficit: " + (totalSupervisionNeeded - maxTheoreticalCapacity));
+        events.constraints("Theoretical capacity", maxTheoreticalCapacity);
 
         // If even ignoring ALL unavailability we don't have enough capacity, stop immediately
         if (maxTheoreticalCapacity < totalSupervisionNeeded) {
-            System.out.println("\n❌ IMPOSSIBLE: Even with all unavailability ignored,");
-            System.out.println("   total capacity (" + maxTheoreticalCapacity + ") < needed (" + totalSupervisionNeeded + ")");
-            System.out.println("\n💡 SOLUTIONS:");
-            System.out.println("   1. Increase teacher quotas (need +" + (totalSupervisionNeeded - maxTheoreticalCapacity) + " more slots)");
-            System.out.println("   2. Reduce number of exams");
-            System.out.println("   3. Add more teachers to supervision pool");
+            events.warning(() -> "Even with all unavailability ignored, total capacity (" + maxTheoreticalCapacity
+                    + ") < needed (" + totalSupervisionNeeded + ")");
 
             return AssignmentResponseModel.builder()
                     .status(AssignmentStatus.INFEASIBLE)
@@ -527,7 +825,6 @@ public class AssignmentAlgorithmService {
                     .build();
         }
 
-        System.out.println("  ✓ Theoretical capacity sufficient - trying progressive relaxation\n");
 
         // Sort teachers by priority (lowest first)
         List<Integer> participatingTeacherIndices = new ArrayList<>();
@@ -547,44 +844,40 @@ public class AssignmentAlgorithmService {
             }
         }
 
-        System.out.println("Teachers available for relaxation: " + contributions.size());
+        events.constraints("Teachers available for relaxation", contributions.size());
 
         // Try relaxing in small batches
         relaxationAttemptNumber = 0;
         int maxAttempts = 30; // Increased to allow more attempts
 
         // Start with smaller batches for more gradual relaxation
-        int batchSize = Math.max(1, contributions.size() / 20); // 5% at a time
+        double batchShare = config.getRelaxationBatchPercent() / 100.0;
+        int batchSize = Math.max(1, (int) (contributions.size() * batchShare));
 
         while (!contributions.isEmpty() && relaxationAttemptNumber <= maxAttempts) {
             relaxationAttemptNumber++;
             int teachersToAdd = Math.min(batchSize, contributions.size());
 
-            System.out.println("\n[RELAXATION ATTEMPT " + relaxationAttemptNumber + "] Adding " +
-                    teachersToAdd + " teacher(s)");
-
             // Relax batch
             List<TeacherContribution> batch = contributions.subList(0, teachersToAdd);
             for (TeacherContribution tc : batch) {
                 teachersWithRelaxedUnavailability.add(tc.teacherIdx);
-                System.out.println("  + " + teacherNames[tc.teacherIdx] +
-                        " (Priority: " + teacherPriorities[tc.teacherIdx] +
-                        ", restores " + tc.contribution + " exam slots)");
+                events.relaxation(relaxationAttemptNumber, teacherIds[tc.teacherIdx], teacherNames[tc.teacherIdx],
+                        tc.contribution);
             }
             contributions = contributions.subList(teachersToAdd, contributions.size());
 
             // Show progress
             int relaxedCount = teachersWithRelaxedUnavailability.size();
             double relaxedPercentage = (relaxedCount * 100.0) / numTeachers;
-            System.out.println("  → Total relaxed: " + relaxedCount + "/" + numTeachers +
-                    " (" + String.format("%.1f%%", relaxedPercentage) + ")");
+            events.constraints("Relaxed teachers", relaxedCount);
 
             // Try solving
             model = new CpModel();
             createVariables();
             addConstraintsWithPriority();
 
-            AssignmentResponseModel result = solve();
+            AssignmentResponseModel result = solve("Relaxation attempt " + relaxationAttemptNumber);
             if (result.getStatus() == AssignmentStatus.SUCCESS) {
                 // Update metadata
                 result.getMetadata().setIsOptimal(false);
@@ -605,243 +898,63 @@ public class AssignmentAlgorithmService {
 
             // If we've relaxed >50% of teachers and still infeasible, likely structural issue
             if (relaxedPercentage > 50) {
-                System.out.println("\n⚠️  WARNING: Relaxed over 50% of teachers with no solution");
-                System.out.println("   This suggests structural constraints beyond unavailability:");
-                System.out.println("   - Time slot conflicts (too many exams at same time)");
-                System.out.println("   - Ownership conflicts (teacher owns exam during high-demand slot)");
-                System.out.println("   - Quota distribution issues");
+                events.warning(() -> "Relaxed over 50% of teachers with no solution, the constraints conflict beyond"
+                        + " unavailability (slot conflicts, ownership, quota distribution)");
             }
 
             relaxationAttemptNumber++;
 
             // Increase batch size gradually for faster convergence
             if (relaxationAttemptNumber > 3) {
-                batchSize = Math.max(batchSize, contributions.size() / 10); // 10% batches
+                batchSize = Math.max(batchSize,
+                        (int) (contributions.size() * batchShare * config.getRelaxationBatchGrowth()));
             }
             if (relaxationAttemptNumber > 7) {
-                batchSize = Math.max(batchSize, contributions.size() / 5); // 20% batches
+                batchSize = Math.max(batchSize, (int) (contributions.size() * batchShare
+                        * config.getRelaxationBatchGrowth() * config.getRelaxationBatchGrowth()));
             }
         }
 
-        System.out.println("\n[FAILED] Could not find solution even with relaxation");
-        System.out.println("Final status: " + teachersWithRelaxedUnavailability.size() + " teachers relaxed");
-        System.out.println("Total attempts: " + relaxationAttemptNumber);
+        int relaxedCount = teachersWithRelaxedUnavailability.size();
+        int attempts = relaxationAttemptNumber;
+        events.warning(() -> "No solution even with relaxation: " + relaxedCount + " teachers relaxed in "
+                + attempts + " attempts");
 
         return buildInfeasibleResponse(0.0);
     }
 
     private void createVariables() {
-        assignment = new BoolVar[numTeachers][numExams];
-        for (int t = 0; t < numTeachers; t++) {
-            for (int e = 0; e < numExams; e++) {
-                assignment[t][e] = model.newBoolVar("T" + teacherIds[t] + "_E" + exams.get(e).examId);
-            }
-        }
-    }
-
-    private void addConstraintsWithPriority() {
-        System.out.println("\n--- Adding Constraints with Configuration ---");
-        System.out.println("Config: Owner Presence=" + config.getOwnerPresenceMode() +
-                ", No Gaps=" + config.getNoGapsMode());
-        totalConstraintsAdded = 0;
-
-        // 1. Each exam needs exactly its required number of teachers
-        if (config.getExamCoverageMode() == AssignmentConstraintConfig.ConstraintMode.HARD) {
-            for (int e = 0; e < numExams; e++) {
-                Exam exam = exams.get(e);
-                LinearExprBuilder sum = LinearExpr.newBuilder();
-                for (int t = 0; t < numTeachers; t++) {
-                    sum.addTerm(assignment[t][e], 1);
-                }
-                model.addEquality(sum, exam.requiredSupervisors);
-                totalConstraintsAdded++;
-            }
-            System.out.println("✓ Exam coverage: HARD (each exam needs exact supervisors)");
-        }
-
-        // 2. Non-participating teachers excluded
-        if (config.getParticipationMode() == AssignmentConstraintConfig.ConstraintMode.HARD) {
-            int nonParticipatingConstraints = 0;
-            for (int t = 0; t < numTeachers; t++) {
-                if (!teacherParticipateSurveillance[t]) {
-                    for (int e = 0; e < numExams; e++) {
-                        model.addEquality(assignment[t][e], 0);
-                        nonParticipatingConstraints++;
-                    }
-                }
-            }
-            totalConstraintsAdded += nonParticipatingConstraints;
-            System.out.println("✓ Participation: HARD (non-participants excluded)");
-        }
-
-        // 3. Exam ownership constraints
-        int ownershipConstraints = 0;
-
-        // 3a. Cannot supervise own exam
-        if (config.getOwnershipExclusionMode() == AssignmentConstraintConfig.ConstraintMode.HARD) {
-            for (int e = 0; e < numExams; e++) {
-                Exam exam = exams.get(e);
-                String examKey = exam.day + "_" + exam.seance + "_" + exam.salle;
-                Set<Long> ownerIds = examOwnersByKey.getOrDefault(examKey, new HashSet<>());
-
-                if (ownerIds.isEmpty()) continue;
-
-                for (Long ownerId : ownerIds) {
-                    if (teacherIdToIndex.containsKey(ownerId)) {
-                        int ownerIdx = teacherIdToIndex.get(ownerId);
-                        model.addEquality(assignment[ownerIdx][e], 0);
-                        ownershipConstraints++;
-                    }
-                }
-            }
-            totalConstraintsAdded += ownershipConstraints;
-            System.out.println("✓ Ownership exclusion: HARD (" + ownershipConstraints + " constraints)");
-        }
-
-        // 3b. Owner presence in same slot (configurable)
-        int ownerPresenceConstraints = 0;
-
-        if (config.getOwnerPresenceMode() == AssignmentConstraintConfig.ConstraintMode.HARD) {
-            // HARD: At least one owner MUST supervise another exam in same slot
-            Map<String, List<Integer>> examsBySlot = new HashMap<>();
-            for (int e = 0; e < numExams; e++) {
-                Exam exam = exams.get(e);
-                String slotKey = exam.day + "_" + exam.seance;
-                examsBySlot.computeIfAbsent(slotKey, k -> new ArrayList<>()).add(e);
-            }
-
-            for (int e = 0; e < numExams; e++) {
-                Exam exam = exams.get(e);
-                String examKey = exam.day + "_" + exam.seance + "_" + exam.salle;
-                Set<Long> ownerIds = examOwnersByKey.getOrDefault(examKey, new HashSet<>());
-
-                if (ownerIds.isEmpty()) continue;
-
-                List<Integer> participatingOwners = ownerIds.stream()
-                        .filter(teacherIdToIndex::containsKey)
-                        .map(teacherIdToIndex::get)
-                        .filter(idx -> teacherParticipateSurveillance[idx])
-                        .toList();
-
-                if (participatingOwners.isEmpty()) continue;
-
-                String slotKey = exam.day + "_" + exam.seance;
-                List<Integer> otherExamIndices = new ArrayList<>();
-
-                for (int otherExamIdx : examsBySlot.get(slotKey)) {
-                    if (otherExamIdx == e) continue;
+        modelBuildNanos = new LinkedHashMap<>();
+        modelBuildReported = false;
+        long phaseStart = System.nanoTime();
 
-                    Exam otherExam = exams.get(otherExamIdx);
-                    String otherExamKey = otherExam.day + "_" + otherExam.seance + "_" + otherExam.salle;
-                    Set<Long> otherOwners = examOwnersByKey.getOrDefault(otherExamKey, new HashSet<>());
-
-                    boolean atLeastOneOwnerCanSupervise = false;
-                    for (int ownerIdx : participatingOwners) {
-                        Long ownerId = teacherIds[ownerIdx];
-                        if (!otherOwners.contains(ownerId)) {
-                            atLeastOneOwnerCanSupervise = true;
-                            break;
-                        }
-                    }
-
-                    if (atLeastOneOwnerCanSupervise) {
-                        otherExamIndices.add(otherExamIdx);
-                    }
-                }
-
-                if (otherExamIndices.isEmpty()) continue;
-
-                LinearExprBuilder atLeastOneOwnerPresent = LinearExpr.newBuilder();
-
-                for (int ownerIdx : participatingOwners) {
-                    Long ownerId = teacherIds[ownerIdx];
-
-                    for (int otherExamIdx : otherExamIndices) {
-                        Exam otherExam = exams.get(otherExamIdx);
-                        String otherExamKey = otherExam.day + "_" + otherExam.seance + "_" + otherExam.salle;
-                        Set<Long> otherOwners = examOwnersByKey.getOrDefault(otherExamKey, new HashSet<>());
-
-                        if (!otherOwners.contains(ownerId)) {
-                            atLeastOneOwnerPresent.addTerm(assignment[ownerIdx][otherExamIdx], 1);
-                        }
-                    }
-                }
-
-                model.addGreaterOrEqual(atLeastOneOwnerPresent, 1);
-                ownerPresenceConstraints++;
-            }
-
-            totalConstraintsAdded += ownerPresenceConstraints;
-            System.out.println("✓ Owner presence: HARD (" + ownerPresenceConstraints + " constraints)");
-            System.out.println("  WARNING: This may cause infeasibility if owners are unavailable");
-        } else if (config.getOwnerPresenceMode() == AssignmentConstraintConfig.ConstraintMode.SOFT) {
-            System.out.println("✓ Owner presence: SOFT (will be optimized, not required)");
-        } else {
-            System.out.println("✓ Owner presence: DISABLED");
-        }
-
-        // 4. Unavailability (only for non-relaxed teachers)
-        if (config.getUnavailabilityMode() == AssignmentConstraintConfig.ConstraintMode.HARD) {
-            int unavailabilityConstraints = 0;
-            for (int t = 0; t < numTeachers; t++) {
-                if (teachersWithRelaxedUnavailability.contains(t)) {
-                    continue;
-                }
-
-                for (int e = 0; e < numExams; e++) {
-                    Exam exam = exams.get(e);
-                    if (exam.day < teacherUnavailable[t].length &&
-                            exam.seance < teacherUnavailable[t][exam.day].length) {
-                        if (teacherUnavailable[t][exam.day][exam.seance]) {
-                            model.addEquality(assignment[t][e], 0);
-                            unavailabilityConstraints++;
-                        }
-                    }
-                }
-            }
-            totalConstraintsAdded += unavailabilityConstraints;
-            System.out.println("✓ Unavailability: HARD (" + unavailabilityConstraints + " constraints, " +
-                    teachersWithRelaxedUnavailability.size() + " teachers relaxed)");
-        }
-
-        // 5. Teacher quota limits
-        if (config.getQuotaLimitMode() == AssignmentConstraintConfig.ConstraintMode.HARD) {
-            for (int t = 0; t < numTeachers; t++) {
-                LinearExprBuilder sum = LinearExpr.newBuilder();
-                for (int e = 0; e < numExams; e++) {
-                    sum.addTerm(assignment[t][e], 1);
-                }
-                model.addLessOrEqual(sum, effectiveQuotas[t]);
-                totalConstraintsAdded++;
-            }
-            System.out.println("✓ Quota limits: HARD");
-        }
-
-        // 6. No time conflicts - one exam per slot
-        if (config.getTimeConflictMode() == AssignmentConstraintConfig.ConstraintMode.HARD) {
-            int timeConflictConstraints = 0;
-            for (int t = 0; t < numTeachers; t++) {
-                Map<String, List<Integer>> timeSlots = new HashMap<>();
-                for (int e = 0; e < numExams; e++) {
-                    Exam exam = exams.get(e);
-                    String key = exam.day + "_" + exam.seance;
-                    timeSlots.computeIfAbsent(key, k -> new ArrayList<>()).add(e);
-                }
-                for (List<Integer> examsInSlot : timeSlots.values()) {
-                    if (examsInSlot.size() > 1) {
-                        List<Literal> assignments = new ArrayList<>();
-                        for (int e : examsInSlot) {
-                            assignments.add(assignment[t][e]);
-                        }
-                        model.addAtMostOne(assignments);
-                        timeConflictConstraints++;
-                    }
-                }
+        assignment = new BoolVar[numTeachers][numExams];
+        for (int t = 0; t < numTeachers; t++) {
+            for (int e = 0; e < numExams; e++) {
+                assignment[t][e] = model.newBoolVar("T" + teacherIds[t] + "_E" + exams.get(e).examId);
             }
-            totalConstraintsAdded += timeConflictConstraints;
-            System.out.println("✓ Time conflicts: HARD");
+        }
+        recordBuildPhase("Variables", phaseStart);
+    }
+
+    private void addConstraintsWithPriority() {
+        events.phase("Adding constraints (owner presence " + config.getOwnerPresenceMode()
+                + ", no gaps " + config.getNoGapsMode() + ")");
+        totalConstraintsAdded = 0;
+
+        // 1-6. Families over the assignment variables only, one fragment each
+        addConstraintFragments();
+        long phaseStart = System.nanoTime();
+
+        // 6b. Symmetry breaking between interchangeable exams of the same slot
+        if (config.isSymmetryBreaking()) {
+            int symmetryConstraints = addSymmetryBreakingConstraints();
+            totalConstraintsAdded += symmetryConstraints;
+            events.constraints("Symmetry breaking", symmetryConstraints);
         }
 
+        phaseStart = recordBuildPhase("Symmetry breaking", phaseStart);
+
         // 7. No gaps in daily schedule (configurable)
         int noGapsConstraints = 0;
         Map<Integer, BoolVar> gapVariables = new HashMap<>(); // For SOFT mode
@@ -921,9 +1034,7 @@ public class AssignmentAlgorithmService {
             }
 
             totalConstraintsAdded += noGapsConstraints;
-            System.out.println("✓ No gaps: HARD (" + noGapsConstraints + " constraints, " +
-                    (config.isNoGapsSkipUnavailableTeachers() ?
-                            "skipping teachers with unavailability" : "all teachers") + ")");
+            events.constraints("No gaps", noGapsConstraints);
 
         } else if (config.getNoGapsMode() == AssignmentConstraintConfig.ConstraintMode.SOFT) {
             // SOFT mode: Track gaps as variables for objective
@@ -990,12 +1101,11 @@ public class AssignmentAlgorithmService {
                 }
             }
 
-            System.out.println("✓ No gaps: SOFT (" + gapVarCount + " potential gaps will be penalized)");
-
-        } else {
-            System.out.println("✓ No gaps: DISABLED");
+            events.constraints("No gaps (soft)", gapVarCount);
         }
 
+        phaseStart = recordBuildPhase("No gaps", phaseStart);
+
 // 8. Equal assignments for same grade with quota adjustment (fairness constraint)
 // NOTE: SOFT mode variables will be added to objective later
         Map<Integer, IntVar> equalityDeviationVars = new HashMap<>();
@@ -1057,29 +1167,25 @@ public class AssignmentAlgorithmService {
             }
 
             totalConstraintsAdded += equalAssignmentConstraints;
-            System.out.println("✓ Equal assignments for same grade (quota-adjusted): HARD (" +
-                    equalAssignmentConstraints + " constraints across " +
-                    teachersByGrade.size() + " grade groups)");
-
-            for (Map.Entry<String, List<Integer>> entry : teachersByGrade.entrySet()) {
-                if (entry.getValue().size() > 1) {
-                    String grade = entry.getKey();
-                    List<Integer> teachers = entry.getValue();
-
-                    Map<Integer, Long> quotaDistribution = teachers.stream()
-                            .collect(java.util.stream.Collectors.groupingBy(
-                                    t -> effectiveQuotas[t],
-                                    java.util.stream.Collectors.counting()
-                            ));
-
-                    System.out.println("  Grade " + grade + ": " + teachers.size() +
-                            " teachers, quotas: " + quotaDistribution);
+            events.constraints("Equal assignment", equalAssignmentConstraints);
+            events.report("Equal assignment quotas per grade", () -> {
+                StringBuilder report = new StringBuilder();
+                for (Map.Entry<String, List<Integer>> entry : teachersByGrade.entrySet()) {
+                    if (entry.getValue().size() > 1) {
+                        Map<Integer, Long> quotaDistribution = entry.getValue().stream()
+                                .collect(java.util.stream.Collectors.groupingBy(
+                                        t -> effectiveQuotas[t],
+                                        java.util.stream.Collectors.counting()
+                                ));
+                        report.append("  Grade ").append(entry.getKey()).append(": ").append(entry.getValue().size())
+                                .append(" teachers, quotas: ").append(quotaDistribution).append('\n');
+                    }
                 }
-            }
+                return report.toString();
+            });
 
         } else if (config.getEqualAssignmentMode() == AssignmentConstraintConfig.ConstraintMode.SOFT) {
             // SOFT mode: Penalize deviations from equal assignments
-            System.out.println("✓ Equal assignments for same grade: SOFT (penalizing unfairness)");
 
             // Group teachers by grade
             Map<String, List<Integer>> teachersByGrade = new HashMap<>();
@@ -1156,20 +1262,24 @@ public class AssignmentAlgorithmService {
                 }
             }
 
-            System.out.println("  → " + equalityDeviationCount + " fairness deviation variables created (weight: "
-                    + config.getEqualAssignmentPenalty() + ")");
-
-        } else {
-            System.out.println("✓ Equal assignments for same grade: DISABLED");
+            events.constraints("Equal assignment (soft)", equalityDeviationCount);
         }
 
 
 
 
-        // 9. PRIORITY STRATEGY: Build optimization objective
-        System.out.println("\n--- Building Optimization Objective ---");
+        phaseStart = recordBuildPhase("Equal assignment", phaseStart);
 
-        LinearExprBuilder objectiveBuilder = LinearExpr.newBuilder();
+        // 9. PRIORITY STRATEGY: Build optimization objective
+        events.phase("Building optimization objective");
+
+        // One expression per penalty family, so they can be either summed with
+        // their weights or optimized one after the other (lexicographic mode)
+        LinearExprBuilder unavailabilityViolationExpr = LinearExpr.newBuilder();
+        LinearExprBuilder conflictAvoidanceExpr = LinearExpr.newBuilder();
+        LinearExprBuilder ownerPresenceExpr = LinearExpr.newBuilder();
+        LinearExprBuilder gapExpr = LinearExpr.newBuilder();
+        LinearExprBuilder equalAssignmentExpr = LinearExpr.newBuilder();
         int totalPenaltyTerms = 0;
 
         // 8a. Build conflict map
@@ -1197,6 +1307,7 @@ public class AssignmentAlgorithmService {
 
         // 8b. Penalty for unavailability violations (relaxed teachers)
         int unavailabilityViolationTerms = 0;
+        int conflictTerms = 0;
         for (int e = 0; e < numExams; e++) {
             Exam exam = exams.get(e);
 
@@ -1207,28 +1318,26 @@ public class AssignmentAlgorithmService {
                     if (exam.day < teacherUnavailable[t].length &&
                             exam.seance < teacherUnavailable[t][exam.day].length &&
                             teacherUnavailable[t][exam.day][exam.seance]) {
-                        objectiveBuilder.addTerm(assignment[t][e], config.getUnavailabilityViolationPenalty());
+                        unavailabilityViolationExpr.addTerm(assignment[t][e], 1);
                         unavailabilityViolationTerms++;
                     }
                 }
 
                 // Conflict avoidance penalty
                 if (config.isOptimizeConflictAvoidance() && examConflictScore[e] > 0) {
-                    objectiveBuilder.addTerm(assignment[t][e], examConflictScore[e] * config.getConflictAvoidancePenalty());
+                    conflictAvoidanceExpr.addTerm(assignment[t][e], examConflictScore[e]);
+                    conflictTerms++;
                 }
             }
         }
 
         if (unavailabilityViolationTerms > 0) {
-            System.out.println("  - Unavailability violations: " + unavailabilityViolationTerms +
-                    " terms (weight: " + config.getUnavailabilityViolationPenalty() + ")");
+            events.constraints("Objective: unavailability violations", unavailabilityViolationTerms);
             totalPenaltyTerms += unavailabilityViolationTerms;
         }
 
         if (config.isOptimizeConflictAvoidance()) {
-            int conflictTerms = (int) Arrays.stream(examConflictScore).filter(s -> s > 0).count() * numTeachers;
-            System.out.println("  - Conflict avoidance: " + conflictTerms +
-                    " terms (weight: " + config.getConflictAvoidancePenalty() + ")");
+            events.constraints("Objective: conflict avoidance", conflictTerms);
             totalPenaltyTerms += conflictTerms;
         }
 
@@ -1270,8 +1379,7 @@ public class AssignmentAlgorithmService {
 
                             if (!otherOwners.contains(ownerId)) {
                                 // BONUS (negative = reward when minimizing)
-                                objectiveBuilder.addTerm(assignment[ownerIdx][otherExamIdx],
-                                        -config.getOwnerPresencePenalty());
+                                ownerPresenceExpr.addTerm(assignment[ownerIdx][otherExamIdx], -1);
                                 ownerPresenceBonuses++;
                             }
                         }
@@ -1279,55 +1387,448 @@ public class AssignmentAlgorithmService {
                 }
             }
 
-            System.out.println("  - Owner presence bonus: " + ownerPresenceBonuses +
-                    " opportunities (bonus: -" + config.getOwnerPresencePenalty() + ")");
+            events.constraints("Objective: owner presence", ownerPresenceBonuses);
             totalPenaltyTerms += ownerPresenceBonuses;
         }
 
         // 8d. SOFT Gap penalties
         if (config.getNoGapsMode() == AssignmentConstraintConfig.ConstraintMode.SOFT) {
             for (BoolVar gapVar : gapVariables.values()) {
-                objectiveBuilder.addTerm(gapVar, config.getNoGapsPenalty());
+                gapExpr.addTerm(gapVar, 1);
             }
-            System.out.println("  - Gap penalties: " + gapVariables.size() +
-                    " gaps (weight: " + config.getNoGapsPenalty() + ")");
+            events.constraints("Objective: gap penalties", gapVariables.size());
             totalPenaltyTerms += gapVariables.size();
         }
 
         // Add equal assignment penalties (if SOFT mode)
         if (config.getEqualAssignmentMode() == AssignmentConstraintConfig.ConstraintMode.SOFT) {
             for (IntVar deviationVar : equalityDeviationVars.values()) {
-                objectiveBuilder.addTerm(deviationVar, config.getEqualAssignmentPenalty());
+                equalAssignmentExpr.addTerm(deviationVar, 1);
             }
-            System.out.println("  - Equal assignment deviations: " + equalityDeviationVars.size() +
-                    " variables (weight: " + config.getEqualAssignmentPenalty() + ")");
+            events.constraints("Objective: equal assignment deviations", equalityDeviationVars.size());
             totalPenaltyTerms += equalityDeviationVars.size();
         }
 
+        // Stages in priority order (highest first), empty families are skipped
+        objectiveStages = new ArrayList<>();
+        addObjectiveStage("Unavailability violations", unavailabilityViolationExpr,
+                unavailabilityViolationTerms, config.getUnavailabilityViolationPenalty());
+        addObjectiveStage("Equal assignment deviations", equalAssignmentExpr,
+                equalityDeviationVars.size(), config.getEqualAssignmentPenalty());
+        addObjectiveStage("Gap penalties", gapExpr,
+                gapVariables.size(), config.getNoGapsPenalty());
+        addObjectiveStage("Owner presence", ownerPresenceExpr,
+                ownerPresenceBonuses, config.getOwnerPresencePenalty());
+        addObjectiveStage("Conflict avoidance", conflictAvoidanceExpr,
+                conflictTerms, config.getConflictAvoidancePenalty());
 
         // Set objective to minimize
         if (totalPenaltyTerms > 0) {
-            model.minimize(objectiveBuilder);
-            System.out.println("\n✓ Objective function set: Minimize penalties (" + totalPenaltyTerms + " terms)");
-        } else {
-            System.out.println("\n✓ No objective needed - standard assignment");
+            if (config.getObjectiveMode() == AssignmentConstraintConfig.ObjectiveMode.LEXICOGRAPHIC) {
+                // The first stage is set here, solveLexicographic() moves through the others
+                model.minimize(objectiveStages.get(0).expression);
+                events.constraints("Objective stages (lexicographic)", objectiveStages.size());
+            } else {
+                LinearExprBuilder objectiveBuilder = LinearExpr.newBuilder();
+                for (ObjectiveStage stage : objectiveStages) {
+                    objectiveBuilder.add(LinearExpr.term(stage.expression, stage.weight));
+                }
+                model.minimize(objectiveBuilder);
+                events.constraints("Objective terms (weighted)", totalPenaltyTerms);
+            }
+        }
+
+        recordBuildPhase("Objective", phaseStart);
+
+        events.constraints("Total hard constraints", totalConstraintsAdded);
+    }
+
+
+    /**
+     * Constraints of one family, built into a model of its own. The fragment declares no
+     * variables: its constraints reference the assignment variables of the main model by index,
+     * so it can be built on any thread and appended to the main model as is.
+     */
+    static class ConstraintFragment {
+        final String family;
+        final CpModel model = new CpModel();
+        int constraints;
+        long buildNanos;
+
+        ConstraintFragment(String family) {
+            this.family = family;
+        }
+    }
+
+    /**
+     * Builds the variable-free constraint families, concurrently if configured, and merges
+     * the fragments in family order so the resulting model does not depend on scheduling.
+     */
+    private void addConstraintFragments() {
+        Map<String, Consumer<ConstraintFragment>> families = new LinkedHashMap<>();
+        families.put("Exam coverage", this::addExamCoverageConstraints);
+        families.put("Participation", this::addParticipationConstraints);
+        families.put("Ownership exclusion", this::addOwnershipExclusionConstraints);
+        families.put("Owner presence", this::addOwnerPresenceConstraints);
+        families.put("Unavailability", this::addUnavailabilityConstraints);
+        families.put("Quota limits", this::addQuotaLimitConstraints);
+        families.put("Time conflicts", this::addTimeConflictConstraints);
+        if (jointSessions != null) {
+            families.put("Session quotas", this::addSessionQuotaConstraints);
+        }
+
+        List<CompletableFuture<ConstraintFragment>> futures = new ArrayList<>();
+        for (Map.Entry<String, Consumer<ConstraintFragment>> family : families.entrySet()) {
+            Supplier<ConstraintFragment> task = () -> buildFragment(family.getKey(), family.getValue());
+            futures.add(config.isParallelModelBuild()
+                    ? CompletableFuture.supplyAsync(task)
+                    : CompletableFuture.completedFuture(task.get()));
+        }
+
+        List<ConstraintFragment> fragments = new ArrayList<>();
+        for (CompletableFuture<ConstraintFragment> future : futures) {
+            try {
+                fragments.add(future.join());
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException cause) throw cause;
+                throw e;
+            }
+        }
+
+        long mergeStart = System.nanoTime();
+        CpModelProto.Builder target = model.getBuilder();
+        for (ConstraintFragment fragment : fragments) {
+            target.addAllConstraints(fragment.model.getBuilder().getConstraintsList());
+            totalConstraintsAdded += fragment.constraints;
+            events.constraints(fragment.family, fragment.constraints);
+            modelBuildNanos.put(fragment.family, fragment.buildNanos);
+        }
+        recordBuildPhase("Fragment merge", mergeStart);
+    }
+
+    private ConstraintFragment buildFragment(String family, Consumer<ConstraintFragment> builder) {
+        long start = System.nanoTime();
+        ConstraintFragment fragment = new ConstraintFragment(family);
+        builder.accept(fragment);
+        fragment.buildNanos = System.nanoTime() - start;
+        return fragment;
+    }
+
+    // 1. Each exam needs exactly its required number of teachers
+    private void addExamCoverageConstraints(ConstraintFragment fragment) {
+        if (config.getExamCoverageMode() != AssignmentConstraintConfig.ConstraintMode.HARD) return;
+
+        for (int e = 0; e < numExams; e++) {
+            Exam exam = exams.get(e);
+            LinearExprBuilder sum = LinearExpr.newBuilder();
+            for (int t = 0; t < numTeachers; t++) {
+                sum.addTerm(assignment[t][e], 1);
+            }
+            fragment.model.addEquality(sum, exam.requiredSupervisors);
+            fragment.constraints++;
+        }
+    }
+
+    // 2. Non-participating teachers excluded
+    private void addParticipationConstraints(ConstraintFragment fragment) {
+        if (config.getParticipationMode() != AssignmentConstraintConfig.ConstraintMode.HARD) return;
+
+        for (int t = 0; t < numTeachers; t++) {
+            if (!teacherParticipateSurveillance[t]) {
+                for (int e = 0; e < numExams; e++) {
+                    fragment.model.addEquality(assignment[t][e], 0);
+                    fragment.constraints++;
+                }
+            }
+        }
+    }
+
+    // 3a. Cannot supervise own exam
+    private void addOwnershipExclusionConstraints(ConstraintFragment fragment) {
+        if (config.getOwnershipExclusionMode() != AssignmentConstraintConfig.ConstraintMode.HARD) return;
+
+        for (int e = 0; e < numExams; e++) {
+            Exam exam = exams.get(e);
+            String examKey = exam.day + "_" + exam.seance + "_" + exam.salle;
+            Set<Long> ownerIds = examOwnersByKey.getOrDefault(examKey, new HashSet<>());
+
+            if (ownerIds.isEmpty()) continue;
+
+            for (Long ownerId : ownerIds) {
+                if (teacherIdToIndex.containsKey(ownerId)) {
+                    int ownerIdx = teacherIdToIndex.get(ownerId);
+                    fragment.model.addEquality(assignment[ownerIdx][e], 0);
+                    fragment.constraints++;
+                }
+            }
+        }
+    }
+
+    // 3b. Owner presence in same slot (configurable)
+    private void addOwnerPresenceConstraints(ConstraintFragment fragment) {
+        // SOFT is handled by the objective
+        if (config.getOwnerPresenceMode() != AssignmentConstraintConfig.ConstraintMode.HARD) return;
+
+        // HARD: At least one owner MUST supervise another exam in same slot
+        Map<String, List<Integer>> examsBySlot = new HashMap<>();
+        for (int e = 0; e < numExams; e++) {
+            Exam exam = exams.get(e);
+            String slotKey = exam.day + "_" + exam.seance;
+            examsBySlot.computeIfAbsent(slotKey, k -> new ArrayList<>()).add(e);
+        }
+
+        for (int e = 0; e < numExams; e++) {
+            Exam exam = exams.get(e);
+            String examKey = exam.day + "_" + exam.seance + "_" + exam.salle;
+            Set<Long> ownerIds = examOwnersByKey.getOrDefault(examKey, new HashSet<>());
+
+            if (ownerIds.isEmpty()) continue;
+
+            List<Integer> participatingOwners = ownerIds.stream()
+                    .filter(teacherIdToIndex::containsKey)
+                    .map(teacherIdToIndex::get)
+                    .filter(idx -> teacherParticipateSurveillance[idx])
+                    .toList();
+
+            if (participatingOwners.isEmpty()) continue;
+
+            String slotKey = exam.day + "_" + exam.seance;
+            List<Integer> otherExamIndices = new ArrayList<>();
+
+            for (int otherExamIdx : examsBySlot.get(slotKey)) {
+                if (otherExamIdx == e) continue;
+
+                Exam otherExam = exams.get(otherExamIdx);
+                String otherExamKey = otherExam.day + "_" + otherExam.seance + "_" + otherExam.salle;
+                Set<Long> otherOwners = examOwnersByKey.getOrDefault(otherExamKey, new HashSet<>());
+
+                boolean atLeastOneOwnerCanSupervise = false;
+                for (int ownerIdx : participatingOwners) {
+                    Long ownerId = teacherIds[ownerIdx];
+                    if (!otherOwners.contains(ownerId)) {
+                        atLeastOneOwnerCanSupervise = true;
+                        break;
+                    }
+                }
+
+                if (atLeastOneOwnerCanSupervise) {
+                    otherExamIndices.add(otherExamIdx);
+                }
+            }
+
+            if (otherExamIndices.isEmpty()) continue;
+
+            LinearExprBuilder atLeastOneOwnerPresent = LinearExpr.newBuilder();
+
+            for (int ownerIdx : participatingOwners) {
+                Long ownerId = teacherIds[ownerIdx];
+
+                for (int otherExamIdx : otherExamIndices) {
+                    Exam otherExam = exams.get(otherExamIdx);
+                    String otherExamKey = otherExam.day + "_" + otherExam.seance + "_" + otherExam.salle;
+                    Set<Long> otherOwners = examOwnersByKey.getOrDefault(otherExamKey, new HashSet<>());
+
+                    if (!otherOwners.contains(ownerId)) {
+                        atLeastOneOwnerPresent.addTerm(assignment[ownerIdx][otherExamIdx], 1);
+                    }
+                }
+            }
+
+            fragment.model.addGreaterOrEqual(atLeastOneOwnerPresent, 1);
+            fragment.constraints++;
+        }
+
+    }
+
+    // 4. Unavailability (only for non-relaxed teachers)
+    private void addUnavailabilityConstraints(ConstraintFragment fragment) {
+        if (config.getUnavailabilityMode() != AssignmentConstraintConfig.ConstraintMode.HARD) return;
+
+        for (int t = 0; t < numTeachers; t++) {
+            if (teachersWithRelaxedUnavailability.contains(t)) {
+                continue;
+            }
+
+            for (int e = 0; e < numExams; e++) {
+                Exam exam = exams.get(e);
+                if (exam.day < teacherUnavailable[t].length &&
+                        exam.seance < teacherUnavailable[t][exam.day].length) {
+                    if (teacherUnavailable[t][exam.day][exam.seance]) {
+                        fragment.model.addEquality(assignment[t][e], 0);
+                        fragment.constraints++;
+                    }
+                }
+            }
+        }
+    }
+
+    // 5. Teacher quota limits
+    private void addQuotaLimitConstraints(ConstraintFragment fragment) {
+        if (config.getQuotaLimitMode() != AssignmentConstraintConfig.ConstraintMode.HARD) return;
+
+        for (int t = 0; t < numTeachers; t++) {
+            LinearExprBuilder sum = LinearExpr.newBuilder();
+            for (int e = 0; e < numExams; e++) {
+                sum.addTerm(assignment[t][e], 1);
+            }
+            fragment.model.addLessOrEqual(sum, effectiveQuotas[t]);
+            fragment.constraints++;
+        }
+    }
+
+    // 6. No time conflicts - one exam per slot
+    private void addTimeConflictConstraints(ConstraintFragment fragment) {
+        if (config.getTimeConflictMode() != AssignmentConstraintConfig.ConstraintMode.HARD) return;
+
+        for (int t = 0; t < numTeachers; t++) {
+            Map<String, List<Integer>> timeSlots = new HashMap<>();
+            for (int e = 0; e < numExams; e++) {
+                Exam exam = exams.get(e);
+                String key = exam.day + "_" + exam.seance;
+                timeSlots.computeIfAbsent(key, k -> new ArrayList<>()).add(e);
+            }
+            for (List<Integer> examsInSlot : timeSlots.values()) {
+                if (examsInSlot.size() > 1) {
+                    List<Literal> assignments = new ArrayList<>();
+                    for (int e : examsInSlot) {
+                        assignments.add(assignment[t][e]);
+                    }
+                    fragment.model.addAtMostOne(assignments);
+                    fragment.constraints++;
+                }
+            }
+        }
+    }
+
+    // 6c. Joint solve only: bound each session's share of a teacher's total quota
+    private void addSessionQuotaConstraints(ConstraintFragment fragment) {
+        if (config.getQuotaLimitMode() != AssignmentConstraintConfig.ConstraintMode.HARD) return;
+
+        for (JointSessionSlice slice : jointSessions) {
+            for (int t = 0; t < numTeachers; t++) {
+                if (effectiveQuotas[t] == 0) continue;
+
+                LinearExprBuilder sum = LinearExpr.newBuilder();
+                for (int e = slice.examFrom; e < slice.examTo; e++) {
+                    sum.addTerm(assignment[t][e], 1);
+                }
+                fragment.model.addLessOrEqual(sum, slice.quotas[t] + config.getJointSessionCreditLimit());
+                fragment.constraints++;
+            }
+        }
+    }
+
+    /**
+     * Exams of one (day, seance) slot that have no owner among the loaded teachers and
+     * the same required supervisors only differ by their id: any permutation of their
+     * supervisor sets is an equivalent schedule. For each such orbit the smallest
+     * teacher index assigned to consecutive exams is forced to increase, which keeps
+     * exactly one schedule per permutation class.
+     */
+    private int addSymmetryBreakingConstraints() {
+        Map<String, List<Integer>> orbits = new LinkedHashMap<>();
+        for (int e = 0; e < numExams; e++) {
+            Exam exam = exams.get(e);
+            if (exam.requiredSupervisors < 1 || hasActiveOwner(exam)) continue;
+            String orbitKey = exam.day + "_" + exam.seance + "_" + exam.requiredSupervisors;
+            orbits.computeIfAbsent(orbitKey, k -> new ArrayList<>()).add(e);
         }
 
-        System.out.println("----------------------------------------------");
-        System.out.println("Total hard constraints: " + totalConstraintsAdded);
-        System.out.println("----------------------------------------------\n");
+        // Minimums are distinct only if every exam is covered and a teacher
+        // cannot take two exams of the same slot
+        boolean strictOrder = config.getTimeConflictMode() == AssignmentConstraintConfig.ConstraintMode.HARD
+                && config.getExamCoverageMode() == AssignmentConstraintConfig.ConstraintMode.HARD;
+        int constraints = 0;
+
+        for (List<Integer> orbit : orbits.values()) {
+            if (orbit.size() < 2) continue;
+
+            IntVar previousMin = null;
+            for (int e : orbit) {
+                // minTeacher = smallest t with assignment[t][e], numTeachers if nobody is assigned
+                LinearArgument[] candidates = new LinearArgument[numTeachers];
+                for (int t = 0; t < numTeachers; t++) {
+                    candidates[t] = LinearExpr.affine(assignment[t][e], t - numTeachers, numTeachers);
+                }
+                IntVar minTeacher = model.newIntVar(0, numTeachers, "minTeacher_E" + exams.get(e).examId);
+                model.addMinEquality(minTeacher, candidates);
+
+                if (previousMin != null) {
+                    if (strictOrder) {
+                        model.addLessThan(previousMin, minTeacher);
+                    } else {
+                        model.addLessOrEqual(previousMin, minTeacher);
+                    }
+                    constraints++;
+                }
+                previousMin = minTeacher;
+            }
+        }
+        return constraints;
+    }
+
+    private boolean hasActiveOwner(Exam exam) {
+        String examKey = exam.day + "_" + exam.seance + "_" + exam.salle;
+        boolean nonParticipantsExcluded =
+                config.getParticipationMode() == AssignmentConstraintConfig.ConstraintMode.HARD;
+        for (Long ownerId : examOwnersByKey.getOrDefault(examKey, Collections.emptySet())) {
+            Integer ownerIdx = teacherIdToIndex.get(ownerId);
+            if (ownerIdx != null && (teacherParticipateSurveillance[ownerIdx] || !nonParticipantsExcluded)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void configureSolver(CpSolver solver, double maxTimeSeconds) {
+        solver.getParameters()
+                .setMaxTimeInSeconds(maxTimeSeconds)
+                .setLinearizationLevel(config.getLinearizationLevel())
+                .setCpModelPresolve(config.isCpModelPresolve());
+        if (config.getNumSearchWorkers() > 0) {
+            solver.getParameters().setNumWorkers(config.getNumSearchWorkers());
+        }
+        if (config.isSolverSearchLog()) {
+            SolverStatisticsExtractor.enableResponseLog(solver);
+        }
     }
 
+    /**
+     * Build times are attached to the first solve of each new model only
+     */
+    private void recordSolverStatistics(String phase, CpSolver solver, CpSolverStatus status) {
+        solverRunStatistics.add(SolverStatisticsExtractor.extract(phase, model, solver, status,
+                modelBuildReported ? null : modelBuildNanos));
+        modelBuildReported = true;
+    }
+
+    private long recordBuildPhase(String phase, long phaseStart) {
+        long now = System.nanoTime();
+        modelBuildNanos.put(phase, now - phaseStart);
+        return now;
+    }
+
+    private void addObjectiveStage(String name, LinearExprBuilder expression, int terms, int weight) {
+        if (terms > 0) {
+            objectiveStages.add(new ObjectiveStage(name, expression, terms, weight));
+        }
+    }
+
+    private AssignmentResponseModel solve(String phase) {
+        if (config.getObjectiveMode() == AssignmentConstraintConfig.ObjectiveMode.LEXICOGRAPHIC
+                && objectiveStages.size() > 1) {
+            return solveLexicographic(phase);
+        }
 
-    private AssignmentResponseModel solve() {
         long startTime = System.currentTimeMillis();
         CpSolver solver = new CpSolver();
-        solver.getParameters().setMaxTimeInSeconds(300.0);
+        configureSolver(solver, config.getMaxSolveTimeSeconds());
 
         CpSolverStatus status = solver.solve(model);
         double solutionTime = (System.currentTimeMillis() - startTime) / 1000.0;
+        recordSolverStatistics(phase, solver, status);
 
-        System.out.println("Status: " + status + " (Time: " + String.format("%.3f", solutionTime) + "s)");
+        events.solve(phase, status.name(), solutionTime);
 
         if (status == CpSolverStatus.OPTIMAL || status == CpSolverStatus.FEASIBLE) {
             AssignmentResponseModel response = buildSuccessResponse(solver, status, solutionTime);
@@ -1343,28 +1844,110 @@ public class AssignmentAlgorithmService {
         }
     }
 
-    private AssignmentResponseModel buildSuccessResponse(CpSolver solver, CpSolverStatus status, double solutionTime) {
-        List<ExamAssignmentModel> examAssignments = new ArrayList<>();
-        int totalAssignments = 0;
+    /**
+     * Optimizes the objective stages one by one. After each stage its value is
+     * fixed (plus the configured tolerance) and the solution is kept as a hint for
+     * the next stage. The time budget is shared: unused time rolls over to later stages.
+     */
+    private AssignmentResponseModel solveLexicographic(String phase) {
+        long startTime = System.currentTimeMillis();
+        double remainingTime = config.getMaxSolveTimeSeconds();
+        CpSolver bestSolver = null;
+        boolean allStagesOptimal = true;
+
+        for (int i = 0; i < objectiveStages.size(); i++) {
+            ObjectiveStage stage = objectiveStages.get(i);
+            double stageBudget = remainingTime / (objectiveStages.size() - i);
+
+            model.clearObjective();
+            model.minimize(stage.expression);
+
+            CpSolver solver = new CpSolver();
+            configureSolver(solver, stageBudget);
+            long stageStart = System.currentTimeMillis();
+            CpSolverStatus status = solver.solve(model);
+            double stageTime = (System.currentTimeMillis() - stageStart) / 1000.0;
+            remainingTime = Math.max(0.0, remainingTime - stageTime);
+            recordSolverStatistics(phase + " - stage " + (i + 1) + " [" + stage.name + "]", solver, status);
+
+            events.solve(phase + " - stage " + (i + 1) + " [" + stage.name + "]", status.name(), stageTime);
+
+            if (status != CpSolverStatus.OPTIMAL && status != CpSolverStatus.FEASIBLE) {
+                if (bestSolver == null) {
+                    double solutionTime = (System.currentTimeMillis() - startTime) / 1000.0;
+                    return status == CpSolverStatus.INFEASIBLE
+                            ? buildInfeasibleResponse(solutionTime)
+                            : buildTimeoutResponse(status, solutionTime);
+                }
+                // Keep the previous stage's solution, later stages are not reachable in time
+                allStagesOptimal = false;
+                break;
+            }
 
-        for (int e = 0; e < numExams; e++) {
-            Exam exam = exams.get(e);
+            bestSolver = solver;
+            allStagesOptimal &= status == CpSolverStatus.OPTIMAL;
 
-            // Build the same key used during deduplication
-            String examKey = exam.day + "_" + exam.seance + "_" + exam.salle;
+            long stageValue = solver.value(stage.expression);
+            events.constraints("Objective value: " + stage.name, stageValue);
 
-            List<AssignedTeacherModel> assignedTeachers = new ArrayList<>();
+            if (i < objectiveStages.size() - 1) {
+                model.addLessOrEqual(stage.expression, stageValue + config.getLexicographicTolerance());
+                model.clearHints();
+                for (int t = 0; t < numTeachers; t++) {
+                    for (int e = 0; e < numExams; e++) {
+                        model.addHint(assignment[t][e], solver.booleanValue(assignment[t][e]));
+                    }
+                }
+            }
+        }
+
+        double solutionTime = (System.currentTimeMillis() - startTime) / 1000.0;
+        CpSolverStatus finalStatus = allStagesOptimal ? CpSolverStatus.OPTIMAL : CpSolverStatus.FEASIBLE;
+        AssignmentResponseModel response = buildSuccessResponse(bestSolver, finalStatus, solutionTime);
+        if (!teachersWithRelaxedUnavailability.isEmpty()) {
+            response.getMetadata().setIsOptimal(false);
+        }
+        return response;
+    }
 
+    /**
+     * Reads the assignment matrix out of the solver once; every view of the result is built from this.
+     */
+    private AssignmentSolution extractSolution(CpSolver solver) {
+        int[] examStart = new int[numExams + 1];
+        int[] examTeachers = new int[numExams * 4];
+        int size = 0;
+
+        for (int e = 0; e < numExams; e++) {
             for (int t = 0; t < numTeachers; t++) {
                 if (solver.booleanValue(assignment[t][e])) {
-                    assignedTeachers.add(AssignedTeacherModel.builder()
-                            .teacherId(teacherIds[t])
-                            .teacherName(teacherNames[t])
-                            .teacherGrade(teacherGrades[t])
-                            .build());
-                    totalAssignments++;
+                    if (size == examTeachers.length) {
+                        examTeachers = Arrays.copyOf(examTeachers, size * 2);
+                    }
+                    examTeachers[size++] = t;
                 }
             }
+            examStart[e + 1] = size;
+        }
+
+        return new AssignmentSolution(numTeachers, numExams, Arrays.copyOf(examTeachers, size), examStart);
+    }
+
+    private AssignmentResponseModel buildSuccessResponse(CpSolver solver, CpSolverStatus status, double solutionTime) {
+        solution = extractSolution(solver);
+        List<ExamAssignmentModel> examAssignments = new ArrayList<>(numExams);
+
+        for (int e = 0; e < numExams; e++) {
+            Exam exam = exams.get(e);
+            List<AssignedTeacherModel> assignedTeachers = new ArrayList<>();
+
+            for (int t : solution.teachersOf(e)) {
+                assignedTeachers.add(AssignedTeacherModel.builder()
+                        .teacherId(teacherIds[t])
+                        .teacherName(teacherNames[t])
+                        .teacherGrade(teacherGrades[t])
+                        .build());
+            }
 
             examAssignments.add(ExamAssignmentModel.builder()
                     .examId(exam.examId)
@@ -1376,7 +1959,6 @@ public class AssignmentAlgorithmService {
                     .requiredSupervisors(exam.requiredSupervisors)
                     .ownerTeacherId(exam.ownerTeacherId)
                     .ownerTeacherName(getTeacherName(exam.ownerTeacherId))
-                    // Use KEY to lookup temporal data
                     .examDate(exam.examDate)
                     .startTime(exam.startTime)
                     .endTime(exam.endTime)
@@ -1384,7 +1966,11 @@ public class AssignmentAlgorithmService {
                     .build());
         }
 
-        List<TeacherWorkloadModel> teacherWorkloads = buildTeacherWorkloads(solver);
+        int[] examsPerSlot = countExamsPerSlot();
+        List<TeacherWorkloadModel> teacherWorkloads = new ArrayList<>(numTeachers);
+        for (int t = 0; t < numTeachers; t++) {
+            teacherWorkloads.add(buildTeacherWorkload(t, 0, teacherUnavailable[t].length, effectiveQuotas[t], examsPerSlot));
+        }
 
         int participatingCount = (int) Arrays.stream(teacherParticipateSurveillance)
                 .filter(b -> b).count();
@@ -1397,7 +1983,7 @@ public class AssignmentAlgorithmService {
                 .participatingTeachers(participatingCount)
                 .solutionTimeSeconds(solutionTime)
                 .isOptimal(status == CpSolverStatus.OPTIMAL)
-                .totalAssignmentsMade(totalAssignments)
+                .totalAssignmentsMade(solution.size())
                 .totalConstraints(totalConstraintsAdded)
                 .relaxationAttempts(relaxationAttemptNumber)
                 .build();
@@ -1412,77 +1998,123 @@ public class AssignmentAlgorithmService {
                 .build();
     }
 
-    private List<TeacherWorkloadModel> buildTeacherWorkloads(CpSolver solver) {
-        List<TeacherWorkloadModel> workloads = new ArrayList<>();
+    private int[] countExamsPerSlot() {
+        int numSeances = SeanceType.values().length;
+        int numDays = numTeachers > 0 ? teacherUnavailable[0].length : 0;
+        for (Exam exam : exams) {
+            numDays = Math.max(numDays, exam.day + 1);
+        }
 
-        for (int t = 0; t < numTeachers; t++) {
-            List<WorkloadDetailModel> assignments = new ArrayList<>();
-            int assignedCount = 0;
-            int unavailabilityCredit = 0;
+        int[] examsPerSlot = new int[numDays * numSeances];
+        for (Exam exam : exams) {
+            examsPerSlot[exam.day * numSeances + exam.seance]++;
+        }
+        return examsPerSlot;
+    }
 
-            Set<String> assignedTimeSlots = new HashSet<>();
-            for (int e = 0; e < numExams; e++) {
-                if (solver.booleanValue(assignment[t][e])) {
-                    Exam exam = exams.get(e);
-                    String timeSlotKey = exam.day + "_" + exam.seance;
-                    assignedTimeSlots.add(timeSlotKey);
+    /**
+     * Workload of one teacher over the days [firstDay, lastDay) of the solution, with days
+     * renumbered from firstDay. The unavailability credit counts the exams held in the
+     * teacher's unavailable slots while the teacher supervises nothing in that slot.
+     */
+    private TeacherWorkloadModel buildTeacherWorkload(int t, int firstDay, int lastDay, int quota, int[] examsPerSlot) {
+        int numSeances = SeanceType.values().length;
+        boolean[] assignedSlots = new boolean[(lastDay - firstDay) * numSeances];
+        List<WorkloadDetailModel> assignments = new ArrayList<>();
 
-                    // Build exam key for temporal data lookup
-                    String examKey = exam.day + "_" + exam.seance + "_" + exam.salle;
+        for (int e : solution.examsOf(t)) {
+            Exam exam = exams.get(e);
+            if (exam.day < firstDay || exam.day >= lastDay) continue;
+
+            int day = exam.day - firstDay + 1;
+            assignedSlots[(day - 1) * numSeances + exam.seance] = true;
+            assignments.add(WorkloadDetailModel.builder()
+                    .examId(exam.examId)
+                    .day(day)
+                    .dayLabel("Day " + day)
+                    .seance(exam.seance + 1)
+                    .seanceLabel(getSeanceLabel(exam.seance))
+                    .room(exam.salle)
+                    .examDate(exam.examDate)
+                    .startTime(exam.startTime)
+                    .endTime(exam.endTime)
+                    .build());
+        }
 
-                    assignments.add(WorkloadDetailModel.builder()
-                            .examId(exam.examId)
-                            .day(exam.day + 1)
-                            .dayLabel("Day " + (exam.day + 1))
-                            .seance(exam.seance + 1)
-                            .seanceLabel(getSeanceLabel(exam.seance))
-                            .room(exam.salle)
-                            // Use KEY to lookup temporal data
-                            .examDate(exam.examDate)
-                            .startTime(exam.startTime)
-                            .endTime(exam.endTime)
-                            .build());
-                    assignedCount++;
+        int unavailabilityCredit = 0;
+        for (int d = firstDay; d < lastDay; d++) {
+            for (int s = 0; s < numSeances; s++) {
+                if (teacherUnavailable[t][d][s] && !assignedSlots[(d - firstDay) * numSeances + s]) {
+                    unavailabilityCredit += examsPerSlot[d * numSeances + s];
                 }
             }
+        }
 
-            // Count unavailability requests that were respected
-            for (int e = 0; e < numExams; e++) {
-                Exam exam = exams.get(e);
-
-                // Check if teacher marked this exam's time slot as unavailable
-                if (exam.day < teacherUnavailable[t].length &&
-                        exam.seance < teacherUnavailable[t][exam.day].length &&
-                        teacherUnavailable[t][exam.day][exam.seance]) {
+        return TeacherWorkloadModel.builder()
+                .teacherId(teacherIds[t])
+                .teacherName(teacherNames[t])
+                .grade(teacherGrades[t])
+                .email(teacherEmails[t])
+                .assignedSupervisions(assignments.size())
+                .quotaSupervisions(quota)
+                .unavailabilityCredit(unavailabilityCredit)
+                .utilizationPercentage(quota > 0 ? (assignments.size() * 100.0) / quota : 0.0)
+                .assignments(assignments)
+                .build();
+    }
 
-                    String timeSlotKey = exam.day + "_" + exam.seance;
+    /**
+     * Cuts a joint solution back into one response per session, with session-relative days,
+     * session quotas and per-session unavailability credits, so each can be persisted like
+     * a single-session run. Solver statistics stay on the joint metadata only.
+     */
+    private List<AssignmentResponseModel> splitJointResponse(AssignmentResponseModel joint) {
+        List<AssignmentResponseModel> responses = new ArrayList<>();
+        int[] examsPerSlot = countExamsPerSlot();
+
+        for (JointSessionSlice slice : jointSessions) {
+            List<ExamAssignmentModel> examAssignments = new ArrayList<>();
+            int totalAssignments = 0;
+            for (int e = slice.examFrom; e < slice.examTo; e++) {
+                ExamAssignmentModel exam = joint.getExamAssignments().get(e);
+                exam.setDay(exam.getDay() - slice.dayOffset);
+                exam.setDayLabel("Day " + exam.getDay());
+                examAssignments.add(exam);
+                totalAssignments += exam.getAssignedTeachers().size();
+            }
 
-                    // If teacher is NOT assigned to this time slot, credit them
-                    if (!assignedTimeSlots.contains(timeSlotKey)) {
-                        unavailabilityCredit++;
-                    }
-                }
+            List<TeacherWorkloadModel> workloads = new ArrayList<>();
+            for (int t = 0; t < numTeachers; t++) {
+                int quota = teacherParticipateSurveillance[t] ? slice.quotas[t] : 0;
+                workloads.add(buildTeacherWorkload(t, slice.dayOffset,
+                        slice.dayOffset + slice.session.getNumExamDays(), quota, examsPerSlot));
             }
 
-            double utilization = effectiveQuotas[t] > 0
-                    ? (assignedCount * 100.0) / effectiveQuotas[t]
-                    : 0.0;
-
-            workloads.add(TeacherWorkloadModel.builder()
-                    .teacherId(teacherIds[t])
-                    .teacherName(teacherNames[t])
-                    .grade(teacherGrades[t])
-                    .email(teacherEmails[t])
-                    .assignedSupervisions(assignedCount)
-                    .quotaSupervisions(effectiveQuotas[t])
-                    .unavailabilityCredit(unavailabilityCredit)
-                    .utilizationPercentage(utilization)
-                    .assignments(assignments)
+            AssignmentMetadata jointMetadata = joint.getMetadata();
+            responses.add(AssignmentResponseModel.builder()
+                    .status(joint.getStatus())
+                    .message(joint.getMessage())
+                    .metadata(AssignmentMetadata.builder()
+                            .sessionId(slice.session.getId())
+                            .sessionName(slice.session.getSessionLibelle())
+                            .totalExams(slice.examTo - slice.examFrom)
+                            .totalTeachers(jointMetadata.getTotalTeachers())
+                            .participatingTeachers(jointMetadata.getParticipatingTeachers())
+                            .solutionTimeSeconds(jointMetadata.getSolutionTimeSeconds())
+                            .isOptimal(jointMetadata.getIsOptimal())
+                            .totalAssignmentsMade(totalAssignments)
+                            .totalConstraints(jointMetadata.getTotalConstraints())
+                            .relaxationAttempts(jointMetadata.getRelaxationAttempts())
+                            .configHash(jointMetadata.getConfigHash())
+                            .build())
+                    .examAssignments(examAssignments)
+                    .teacherWorkloads(workloads)
+                    .generatedAt(joint.getGeneratedAt())
                     .build());
         }
-
-        return workloads;
+        return responses;
     }
+
     private AssignmentResponseModel buildInfeasibleResponse(double solutionTime) {
         return AssignmentResponseModel.builder()
                 .status(AssignmentStatus.INFEASIBLE)
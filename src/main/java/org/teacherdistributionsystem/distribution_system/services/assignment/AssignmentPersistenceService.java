@@ -1,62 +1,94 @@
 package org.teacherdistributionsystem.distribution_system.services.assignment;
 
+import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityNotFoundException;
+import jakarta.persistence.PersistenceContext;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.teacherdistributionsystem.distribution_system.dtos.assignment.TeacherExamAssignmentDto;
+import org.teacherdistributionsystem.distribution_system.entities.assignment.AssignmentRun;
 import org.teacherdistributionsystem.distribution_system.entities.assignment.AssignmentSession;
 import org.teacherdistributionsystem.distribution_system.entities.assignment.TeacherExamAssignment;
-import org.teacherdistributionsystem.distribution_system.entities.teacher.Teacher;
 import org.teacherdistributionsystem.distribution_system.enums.AssignmentStatus;
+import org.teacherdistributionsystem.distribution_system.events.AssignmentsChangedEvent;
+import org.teacherdistributionsystem.distribution_system.mappers.assignment.SolverRunStatsMapper;
 import org.teacherdistributionsystem.distribution_system.mappers.assignment.TeacherExamAssignmentMapper;
 import org.teacherdistributionsystem.distribution_system.models.others.AssignedTeacherModel;
 import org.teacherdistributionsystem.distribution_system.models.others.AssignmentMetadata;
 import org.teacherdistributionsystem.distribution_system.models.others.ExamAssignmentModel;
 import org.teacherdistributionsystem.distribution_system.models.others.TeacherWorkloadModel;
-import org.teacherdistributionsystem.distribution_system.models.projections.AssignmentDetailsProjection;
+import org.teacherdistributionsystem.distribution_system.models.responses.KeysetPageResponse;
 import org.teacherdistributionsystem.distribution_system.models.responses.assignment.*;
-import org.teacherdistributionsystem.distribution_system.models.responses.teacher.TeacherResponse;
+import org.teacherdistributionsystem.distribution_system.repositories.assignement.AssignmentRunRepository;
 import org.teacherdistributionsystem.distribution_system.repositories.assignement.AssignmentSessionRepository;
+import org.teacherdistributionsystem.distribution_system.repositories.assignement.ExamSessionRepository;
+import org.teacherdistributionsystem.distribution_system.repositories.assignement.TeacherExamAssignmentBatchWriter;
 import org.teacherdistributionsystem.distribution_system.repositories.assignement.TeacherExamAssignmentRepository;
-import org.teacherdistributionsystem.distribution_system.repositories.teacher.TeacherRepository;
+import org.teacherdistributionsystem.distribution_system.repositories.teacher.TeacherCreditWriter;
 import org.teacherdistributionsystem.distribution_system.services.teacher.TeacherService;
+import org.teacherdistributionsystem.distribution_system.utils.JsonArrayStreamWriter;
 
+import java.io.OutputStream;
 import java.time.LocalDateTime;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 public class AssignmentPersistenceService {
 
     private final TeacherExamAssignmentRepository assignmentRepository;
+    private final TeacherExamAssignmentBatchWriter assignmentBatchWriter;
     private final AssignmentSessionRepository sessionRepository;
-    private final TeacherRepository teacherRepository;
+    private final TeacherCreditWriter teacherCreditWriter;
     private final TeacherService teacherService;
     private final AssignmentSessionRepository assignmentSessionRepository;
+    private final AssignmentRunRepository assignmentRunRepository;
+    private final ExamSessionRepository examSessionRepository;
+    private final AssignmentReadModelService readModelService;
+    private final AssignmentQueryCache queryCache;
+    private final ScheduleNotificationService notificationService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final JsonArrayStreamWriter jsonArrayStreamWriter;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${spring.application.assignmentRunRetention:2}")
+    private int runRetention; // Previous runs kept per session besides the current one
 
 
     @Transactional
     public void saveAssignmentResults(AssignmentResponseModel response) {
         if (response.getStatus() != AssignmentStatus.SUCCESS) {
             saveSessionMetadata(response);
+            eventPublisher.publishEvent(AssignmentsChangedEvent.metadata(response.getMetadata().getSessionId()));
             return;
         }
 
         Long sessionId = response.getMetadata().getSessionId();
 
-        assignmentRepository.deactivateAllForSession(sessionId);
+        LocalDateTime now = LocalDateTime.now();
+        AssignmentRun run = assignmentRunRepository.save(AssignmentRun.builder()
+                .examSessionId(sessionId)
+                .configHash(response.getMetadata().getConfigHash())
+                .createdAt(now)
+                .build());
 
         List<TeacherExamAssignment> assignments = new ArrayList<>();
-        LocalDateTime now = LocalDateTime.now();
 
         for (ExamAssignmentModel examModel : response.getExamAssignments()) {
             for (AssignedTeacherModel teacherModel : examModel.getAssignedTeachers()) {
                 TeacherExamAssignment assignment = TeacherExamAssignment.builder()
                         .sessionId(sessionId)
+                        .runId(run.getId())
                         .examId(examModel.getExamId())
                         .teacherId(teacherModel.getTeacherId())
                         .examDay(examModel.getDay())
@@ -65,7 +97,6 @@ public class AssignmentPersistenceService {
                         .startTime(examModel.getStartTime())
                         .endTime(examModel.getEndTime())
                         .examDate(examModel.getExamDate())
-                        .isActive(true)
                         .build();
 
 
@@ -73,13 +104,21 @@ public class AssignmentPersistenceService {
 
             }
         }
+        Map<Long, Integer> credits = new LinkedHashMap<>();
         for(TeacherWorkloadModel workloadModel : response.getTeacherWorkloads()){
-            updateTeacherCredit(workloadModel.getTeacherId(),workloadModel.getUnavailabilityCredit());
+            credits.put(workloadModel.getTeacherId(), workloadModel.getUnavailabilityCredit());
         }
+        teacherCreditWriter.updateCredits(credits);
 
-        assignmentRepository.saveAll(assignments);
+        // JDBC batches, saveAll() would send one INSERT per supervision (IDENTITY ids)
+        run.setTotalAssignments(assignmentBatchWriter.insertAll(assignments));
+        examSessionRepository.updateCurrentRunId(sessionId, run.getId());
+        pruneRuns(sessionId, runRetention + 1);
+        readModelService.onRunSaved(sessionId, run.getId());
+        notificationService.onRunCompleted(sessionId, run.getId(), run.getTotalAssignments());
 
         saveSessionMetadata(response);
+        eventPublisher.publishEvent(AssignmentsChangedEvent.runSaved(sessionId));
     }
 
     private void saveSessionMetadata(AssignmentResponseModel response) {
@@ -95,6 +134,12 @@ public class AssignmentPersistenceService {
                 .createdAt(LocalDateTime.now())
                 .build();
 
+        if (metadata.getSolverRuns() != null) {
+            metadata.getSolverRuns().stream()
+                    .map(SolverRunStatsMapper::toEntity)
+                    .forEach(session.getSolverRuns()::add);
+        }
+
         sessionRepository.save(session);
     }
     @Async
@@ -104,39 +149,77 @@ public class AssignmentPersistenceService {
         return CompletableFuture.completedFuture(null);
     }
 
-    @Transactional(readOnly = true)
-    public List<TeacherExamAssignmentDto> getAssignmentsForSession(Long sessionId) {
-        return assignmentRepository.findBySessionIdAndIsActiveTrue(sessionId).stream().map(TeacherExamAssignmentMapper::toDto).collect(Collectors.toList());
+    /**
+     * Saves the sessions of a joint solve in order, so quotaCredit ends up with the
+     * credit of the last session as it would after running them one by one.
+     */
+    @Async
+    @Transactional
+    public CompletableFuture<Void> saveJointAssignmentResultsAsync(JointAssignmentResponseModel response) {
+        for (AssignmentResponseModel session : response.getSessions()) {
+            saveAssignmentResults(session);
+        }
+        return CompletableFuture.completedFuture(null);
     }
 
+    /**
+     * Streams the current run as a JSON array, each row is detached once written so the
+     * persistence context does not grow with the session
+     */
+    @Transactional(readOnly = true)
+    public void writeAssignmentsForSession(Long sessionId, OutputStream out) {
+        try (Stream<TeacherExamAssignment> assignments = assignmentRepository.streamCurrentBySessionId(sessionId)) {
+            jsonArrayStreamWriter.write(assignments.map(assignment -> {
+                entityManager.detach(assignment);
+                return TeacherExamAssignmentMapper.toDto(assignment);
+            }), out);
+        }
+    }
 
     @Transactional(readOnly = true)
+    public KeysetPageResponse<TeacherExamAssignmentDto> getAssignmentsPage(Long sessionId, Long after, int size,
+                                                                          Long teacherId, Integer day, Integer seance) {
+        List<TeacherExamAssignmentDto> rows = assignmentRepository.findCurrentAfter(sessionId, after, teacherId, day, seance, Limit.of(size + 1))
+                .stream().map(TeacherExamAssignmentMapper::toDto).collect(Collectors.toList());
+        return new KeysetPageResponse<>(rows, size, TeacherExamAssignmentDto::getId);
+    }
+
+    // Read-through AssignmentQueryCache, a hit does not open a transaction
+
     public List<TeacherExamAssignmentDto> getTeacherAssignments(Long teacherId, Long sessionId,boolean light) {
-        return light?assignmentRepository.findByTeacherIdAndSessionIdAndIsActiveTrue(teacherId, sessionId).stream().map(TeacherExamAssignmentMapper::toLightDto).collect(Collectors.toList()):
-                assignmentRepository.findByTeacherIdAndSessionIdAndIsActiveTrue(teacherId, sessionId).stream().map(TeacherExamAssignmentMapper::toDto).collect(Collectors.toList());
+        return copies(queryCache.teacherAssignments(sessionId, teacherId, light, () -> light?assignmentRepository.findCurrentByTeacherIdAndSessionId(teacherId, sessionId).stream().map(TeacherExamAssignmentMapper::toLightDto).collect(Collectors.toList()):
+                assignmentRepository.findCurrentByTeacherIdAndSessionId(teacherId, sessionId).stream().map(TeacherExamAssignmentMapper::toDto).collect(Collectors.toList())));
     }
 
-    @Transactional(readOnly = true)
     public List<TeacherExamAssignmentDto> getExamAssignments(String examId, Long sessionId) {
-        return assignmentRepository.findByExamIdAndSessionIdAndIsActiveTrue(examId, sessionId).stream().map(TeacherExamAssignmentMapper::toDto).collect(Collectors.toList());
+        return copies(queryCache.examAssignments(sessionId, examId, () ->
+                assignmentRepository.findCurrentByExamIdAndSessionId(examId, sessionId).stream().map(TeacherExamAssignmentMapper::toDto).collect(Collectors.toList())));
     }
 
 
-    @Transactional(readOnly = true)
     public boolean hasAssignments(Long sessionId) {
-        return assignmentRepository.existsBySessionIdAndIsActiveTrue(sessionId);
+        return queryCache.hasAssignments(sessionId, () -> assignmentRepository.existsCurrentBySessionId(sessionId));
     }
 
 
-    @Transactional(readOnly = true)
     public AssignmentSession getSessionMetadata(Long examSessionId) {
-        return sessionRepository.findByExamSessionId(examSessionId);
+        return queryCache.sessionMetadata(examSessionId, () -> sessionRepository.findFirstByExamSessionIdOrderByIdDesc(examSessionId));
+    }
+
+    // Callers may fill in fields (e.g. roomNum), the cached DTOs stay untouched
+    private static List<TeacherExamAssignmentDto> copies(List<TeacherExamAssignmentDto> cached) {
+        return cached.stream().map(dto -> dto.toBuilder().build()).collect(Collectors.toList());
     }
 
 
     @Transactional
     public void deleteAssignments(Long sessionId) {
-        assignmentRepository.deactivateAllForSession(sessionId);
+        // The current run becomes a previous one, kept until the retention drops it
+        examSessionRepository.updateCurrentRunId(sessionId, null);
+        pruneRuns(sessionId, runRetention);
+        readModelService.evict(sessionId);
+        notificationService.onAssignmentsCleared(List.of(sessionId));
+        eventPublisher.publishEvent(AssignmentsChangedEvent.session(sessionId));
 
        /* AssignmentSession session = sessionRepository.findByExamSessionId(sessionId);
         if (session != null) {
@@ -144,99 +227,23 @@ public class AssignmentPersistenceService {
         }*/
     }
 
-    private void updateTeacherCredit(Long teacherId, Integer credit){
-        teacherRepository.updateQuotaCreditById(teacherId,credit);
-    }
-    @Transactional(readOnly = true)
+    /**
+     * Served from the read model, built when the run was saved and patched by swaps
+     */
     public Map<Integer, Map<Integer, Map<String, DaySeanceGroupAssignments>>> getAssignmentsBySession(Long sessionId) {
-        List<AssignmentDetailsProjection> assignments = assignmentRepository.getAllBySession(sessionId);
-
-        if (assignments.isEmpty()) {
-            return new HashMap<>();
-        }
-
-        // Get all teachers at once
-        List<Long> teacherIds = assignments.stream()
-                .map(AssignmentDetailsProjection::getTeacherId)
-                .distinct()
-                .collect(Collectors.toList());
-
-        Map<Long, Teacher> teacherMap = teacherRepository.findAllById(teacherIds)
-                .stream()
-                .collect(Collectors.toMap(Teacher::getId, teacher -> teacher));
-
-        // Group by day, seance, and then by room (numRooms)
-        Map<Integer, Map<Integer, Map<String, List<AssignmentDetailsProjection>>>> groupedByDaySeanceRoom =
-                assignments.stream()
-                        .collect(Collectors.groupingBy(
-                                AssignmentDetailsProjection::getExamDay,
-                                Collectors.groupingBy(
-                                        AssignmentDetailsProjection::getSeance,
-                                        Collectors.groupingBy(
-                                                AssignmentDetailsProjection::getNumRooms
-                                        )
-                                )
-                        ));
-
-        // Convert to final structure
-        Map<Integer, Map<Integer, Map<String, DaySeanceGroupAssignments>>> result = new TreeMap<>();
-
-        groupedByDaySeanceRoom.forEach((day, seanceMap) -> {
-            Map<Integer, Map<String, DaySeanceGroupAssignments>> seanceAssignments = new TreeMap<>();
-
-            seanceMap.forEach((seance, roomMap) -> {
-                Map<String, DaySeanceGroupAssignments> roomAssignments = new TreeMap<>();
-
-                roomMap.forEach((room, roomAssignmentsList) -> {
-                    AssignmentDetailsProjection first = roomAssignmentsList.get(0);
-
-                    List<TeacherResponse> supervisors = roomAssignmentsList.stream()
-                            .map(assignment -> {
-                                Teacher teacher = teacherMap.get(assignment.getTeacherId());
-                                return teacherToResponse(teacher);
-                            })
-                            .collect(Collectors.toList());
-
-                    DaySeanceGroupAssignments daySeanceGroup = DaySeanceGroupAssignments.builder()
-                            .examDay(first.getExamDay())
-                            .seance(first.getSeance())
-                            .examDate(first.getExamDate())
-                            .dayOfWeek(first.getExamDate().getDayOfWeek().toString())
-                            .startTime(first.getStartTime())
-                            .endTime(first.getEndTime())
-                            .numRooms(first.getNumRooms())
-                            .supervisors(supervisors)
-                            .build();
-
-                    roomAssignments.put(room, daySeanceGroup);
-                });
-
-                seanceAssignments.put(seance, roomAssignments);
-            });
-
-            result.put(day, seanceAssignments);
-        });
-
-        return result;
+        return readModelService.getAssignmentsBySession(sessionId);
     }
 
-    private TeacherResponse teacherToResponse(Teacher teacher) {
-        if (teacher == null) {
-            return null;
-        }
+    /**
+     * Deletes all but the newest runs of a session together with their assignments
+     */
+    private void pruneRuns(Long sessionId, int keep) {
+        List<Long> runIds = assignmentRunRepository.findRunIdsBySessionNewestFirst(sessionId);
+        if (runIds.size() <= keep) return;
 
-        TeacherResponse response = new TeacherResponse();
-        response.setId(teacher.getId());
-        response.setNom(teacher.getNom());
-        response.setPrenom(teacher.getPrenom());
-        response.setEmail(teacher.getEmail());
-        response.setCodeSmartex(teacher.getCodeSmartex());
-        response.setGrade(teacher.getGradeCode());
-        response.setParticipeSurveillance(teacher.getParticipeSurveillance());
-        response.setQuota(teacher.getQuotaCredit());
-        response.setCredit(teacher.getQuotaCredit());
-
-        return response;
+        List<Long> expired = runIds.subList(Math.max(keep, 0), runIds.size());
+        assignmentRepository.deleteByRunIdIn(expired);
+        assignmentRunRepository.deleteByIdIn(expired);
     }
 
     public TeacherExamAssignment getAssignmentById(Long id) {
@@ -254,7 +261,11 @@ public class AssignmentPersistenceService {
     }
 
     public void cleanUp() {
+         List<Long> sessionIds = examSessionRepository.findAllIds(); // Gone once truncated
          assignmentSessionRepository.truncateAllTables();
+         readModelService.evictAll();
+         notificationService.onAssignmentsCleared(sessionIds);
+         eventPublisher.publishEvent(AssignmentsChangedEvent.all());
     }
 
 }
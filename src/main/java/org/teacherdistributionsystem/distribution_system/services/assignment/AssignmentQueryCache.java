@@ -0,0 +1,90 @@
+package org.teacherdistributionsystem.distribution_system.services.assignment;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.teacherdistributionsystem.distribution_system.dtos.assignment.TeacherExamAssignmentDto;
+import org.teacherdistributionsystem.distribution_system.entities.assignment.AssignmentSession;
+import org.teacherdistributionsystem.distribution_system.events.AssignmentsChangedEvent;
+import org.teacherdistributionsystem.distribution_system.utils.BoundedCache;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Read-through caches of the AssignmentPersistenceService queries teachers refresh the
+ * most. Entries are dropped by AssignmentsChangedEvent once the change commits, the TTL
+ * only bounds how long an entry missed by an event (e.g. a direct database edit) lives.
+ * The whole-session list is not cached, it is streamed (writeAssignmentsForSession).
+ */
+@Service
+public class AssignmentQueryCache {
+    private final BoundedCache<TeacherQuery, List<TeacherExamAssignmentDto>> teacherAssignments;
+    private final BoundedCache<ExamQuery, List<TeacherExamAssignmentDto>> examAssignments;
+    private final BoundedCache<Long, Boolean> hasAssignments;
+    private final BoundedCache<Long, AssignmentSession> sessionMetadata;
+
+    private record TeacherQuery(Long sessionId, Long teacherId, boolean light) {
+    }
+
+    private record ExamQuery(Long sessionId, String examId) {
+    }
+
+    public AssignmentQueryCache(@Value("${spring.application.assignmentCacheMaxEntries:10000}") int maxEntries,
+                                @Value("${spring.application.assignmentCacheTtlSeconds:600}") long ttlSeconds) {
+        this.teacherAssignments = new BoundedCache<>("teacherAssignments", maxEntries, ttlSeconds, TimeUnit.SECONDS);
+        this.examAssignments = new BoundedCache<>("examAssignments", maxEntries, ttlSeconds, TimeUnit.SECONDS);
+        this.hasAssignments = new BoundedCache<>("hasAssignments", maxEntries, ttlSeconds, TimeUnit.SECONDS);
+        this.sessionMetadata = new BoundedCache<>("sessionMetadata", maxEntries, ttlSeconds, TimeUnit.SECONDS);
+    }
+
+    public List<TeacherExamAssignmentDto> teacherAssignments(Long sessionId, Long teacherId, boolean light,
+                                                             Supplier<List<TeacherExamAssignmentDto>> loader) {
+        return teacherAssignments.get(new TeacherQuery(sessionId, teacherId, light), key -> List.copyOf(loader.get()));
+    }
+
+    public List<TeacherExamAssignmentDto> examAssignments(Long sessionId, String examId,
+                                                          Supplier<List<TeacherExamAssignmentDto>> loader) {
+        return examAssignments.get(new ExamQuery(sessionId, examId), key -> List.copyOf(loader.get()));
+    }
+
+    public boolean hasAssignments(Long sessionId, Supplier<Boolean> loader) {
+        return hasAssignments.get(sessionId, key -> loader.get());
+    }
+
+    public AssignmentSession sessionMetadata(Long sessionId, Supplier<AssignmentSession> loader) {
+        return sessionMetadata.get(sessionId, key -> loader.get());
+    }
+
+    /**
+     * Outside a transaction (cleanUp) the event is handled as soon as it is published
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAssignmentsChanged(AssignmentsChangedEvent event) {
+        Long sessionId = event.sessionId();
+        if (sessionId == null) {
+            teacherAssignments.invalidateAll();
+            examAssignments.invalidateAll();
+            hasAssignments.invalidateAll();
+            sessionMetadata.invalidateAll();
+            return;
+        }
+
+        if (event.assignmentsChanged()) {
+            hasAssignments.invalidate(sessionId);
+            teacherAssignments.invalidateIf(key -> sessionId.equals(key.sessionId())
+                    && (event.teacherIds() == null || event.teacherIds().contains(key.teacherId())));
+            examAssignments.invalidateIf(key -> sessionId.equals(key.sessionId())
+                    && (event.examIds() == null || event.examIds().contains(key.examId())));
+        }
+        if (event.metadataChanged()) {
+            sessionMetadata.invalidate(sessionId);
+        }
+    }
+
+    public List<BoundedCache.Stats> stats() {
+        return List.of(teacherAssignments.stats(), examAssignments.stats(),
+                hasAssignments.stats(), sessionMetadata.stats());
+    }
+}
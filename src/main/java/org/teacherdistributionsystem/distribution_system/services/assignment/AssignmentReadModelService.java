@@ -0,0 +1,228 @@
+package org.teacherdistributionsystem.distribution_system.services.assignment;
+
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.teacherdistributionsystem.distribution_system.entities.assignment.TeacherExamAssignment;
+import org.teacherdistributionsystem.distribution_system.models.projections.AssignmentDetailsProjection;
+import org.teacherdistributionsystem.distribution_system.models.responses.assignment.DaySeanceGroupAssignments;
+import org.teacherdistributionsystem.distribution_system.models.responses.teacher.TeacherResponse;
+import org.teacherdistributionsystem.distribution_system.repositories.assignement.ExamSessionRepository;
+import org.teacherdistributionsystem.distribution_system.repositories.assignement.TeacherExamAssignmentRepository;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.teacherdistributionsystem.distribution_system.utils.TransactionHooks.afterCommit;
+
+/**
+ * Assignments of the current run of each session grouped by day, seance and room, as
+ * served by GET /assignments/{sessionId}/by-date. A view is built when the results of a
+ * run are saved and swaps patch it in place, so reads never join assignments, exams and
+ * teachers again. Sessions without a view (restart, eviction) are built on first read.
+ * Views are immutable: a patch copies the maps on its path and replaces the whole view.
+ * Views must only show committed runs, so every change is applied after its commit.
+ */
+@Service
+@RequiredArgsConstructor
+public class AssignmentReadModelService {
+    private static final Logger logger = LoggerFactory.getLogger(AssignmentReadModelService.class);
+
+    private final TeacherExamAssignmentRepository assignmentRepository;
+    private final ExamSessionRepository examSessionRepository;
+    private final PlatformTransactionManager transactionManager;
+
+    private final Map<Long, SessionView> views = new ConcurrentHashMap<>();
+    private long generation; // Bumped by every change and eviction, guarded by this
+
+    private record SessionView(Long runId, Map<Integer, Map<Integer, Map<String, DaySeanceGroupAssignments>>> days) {
+
+        DaySeanceGroupAssignments group(Integer day, Integer seance, String room) {
+            Map<Integer, Map<String, DaySeanceGroupAssignments>> seances = days.get(day);
+            Map<String, DaySeanceGroupAssignments> rooms = seances != null ? seances.get(seance) : null;
+            return rooms != null ? rooms.get(room) : null;
+        }
+
+        SessionView with(DaySeanceGroupAssignments group) {
+            Map<Integer, Map<Integer, Map<String, DaySeanceGroupAssignments>>> newDays = new TreeMap<>(days);
+            Map<Integer, Map<String, DaySeanceGroupAssignments>> newSeances = new TreeMap<>(days.get(group.getExamDay()));
+            Map<String, DaySeanceGroupAssignments> newRooms = new TreeMap<>(newSeances.get(group.getSeance()));
+
+            newRooms.put(group.getNumRooms(), group);
+            newSeances.put(group.getSeance(), Collections.unmodifiableMap(newRooms));
+            newDays.put(group.getExamDay(), Collections.unmodifiableMap(newSeances));
+            return new SessionView(runId, Collections.unmodifiableMap(newDays));
+        }
+    }
+
+    public Map<Integer, Map<Integer, Map<String, DaySeanceGroupAssignments>>> getAssignmentsBySession(Long sessionId) {
+        SessionView view = views.get(sessionId);
+        if (view != null) {
+            return view.days();
+        }
+
+        long buildGeneration;
+        synchronized (this) {
+            buildGeneration = generation;
+        }
+        // The current run id and its rows are read in one transaction
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(true);
+        SessionView built = transaction.execute(status ->
+                build(sessionId, examSessionRepository.findCurrentRunId(sessionId)));
+        synchronized (this) {
+            // A change applied while the rows were read found no view and may be missing
+            // from them: answer from this one but do not keep it, the next read rebuilds
+            if (generation != buildGeneration) {
+                return built.days();
+            }
+            view = views.putIfAbsent(sessionId, built);
+        }
+        return (view != null ? view : built).days();
+    }
+
+    /**
+     * Builds the view of a freshly saved run inside the saving transaction and publishes it
+     * once that commits. Saving a run rewrites Teacher.quotaCredit, which every view shows,
+     * so the views of the other sessions are dropped and rebuilt on their next read.
+     */
+    public void onRunSaved(Long sessionId, Long runId) {
+        SessionView view = build(sessionId, runId);
+        afterCommit(() -> {
+            synchronized (this) {
+                generation++;
+                views.clear();
+                views.put(sessionId, view);
+            }
+        });
+    }
+
+    /**
+     * Moves the two supervisors of a committed swap between their groups. After the swap
+     * each assignment holds the teacher the other one had; the rooms are those of their exams.
+     */
+    public void onAssignmentsSwapped(TeacherExamAssignment assignment1, String room1,
+                                     TeacherExamAssignment assignment2, String room2) {
+        Long sessionId = assignment1.getSessionId();
+        afterCommit(() -> {
+            synchronized (this) {
+                generation++;
+            }
+            views.computeIfPresent(sessionId, (id, view) -> swap(view, assignment1, room1, assignment2, room2));
+        });
+    }
+
+    private static SessionView swap(SessionView view, TeacherExamAssignment assignment1, String room1,
+                                    TeacherExamAssignment assignment2, String room2) {
+        if (!Objects.equals(view.runId(), assignment1.getRunId())) return null;
+
+        DaySeanceGroupAssignments group1 = view.group(assignment1.getExamDay(), assignment1.getSeance(), room1);
+        DaySeanceGroupAssignments group2 = view.group(assignment2.getExamDay(), assignment2.getSeance(), room2);
+        if (group1 == null || group2 == null) return null;
+        if (group1 == group2) return view; // Same group, the same two supervisors
+
+        int index1 = indexOf(group1, assignment2.getTeacherId());
+        int index2 = indexOf(group2, assignment1.getTeacherId());
+        if (index1 < 0 || index2 < 0) return null; // Out of sync, rebuild on next read
+
+        TeacherResponse teacher1 = group1.getSupervisors().get(index1);
+        TeacherResponse teacher2 = group2.getSupervisors().get(index2);
+        return view.with(replaceSupervisor(group1, index1, teacher2))
+                .with(replaceSupervisor(group2, index2, teacher1));
+    }
+
+    /**
+     * Drops a view whose run is no longer current; the next read rebuilds it
+     */
+    public void evict(Long sessionId) {
+        afterCommit(() -> {
+            synchronized (this) {
+                generation++;
+                views.remove(sessionId);
+            }
+        });
+    }
+
+    public void evictAll() {
+        afterCommit(() -> {
+            synchronized (this) {
+                generation++;
+                views.clear();
+            }
+        });
+    }
+
+    private SessionView build(Long sessionId, Long runId) {
+        Map<Integer, Map<Integer, Map<String, DaySeanceGroupAssignments>>> days = new TreeMap<>();
+        if (runId == null) {
+            return new SessionView(null, Collections.unmodifiableMap(days));
+        }
+
+        // Rows come ordered by day and seance and carry the teacher columns, one pass groups them
+        Map<Integer, Map<Integer, Map<String, DaySeanceGroupAssignments>>> groups = new TreeMap<>();
+        for (AssignmentDetailsProjection row : assignmentRepository.getAllBySession(sessionId)) {
+            DaySeanceGroupAssignments group = groups
+                    .computeIfAbsent(row.getExamDay(), d -> new TreeMap<>())
+                    .computeIfAbsent(row.getSeance(), s -> new TreeMap<>())
+                    .computeIfAbsent(row.getNumRooms(), r -> DaySeanceGroupAssignments.builder()
+                            .examDay(row.getExamDay())
+                            .seance(row.getSeance())
+                            .examDate(row.getExamDate())
+                            .dayOfWeek(row.getExamDate().getDayOfWeek().toString())
+                            .startTime(row.getStartTime())
+                            .endTime(row.getEndTime())
+                            .numRooms(row.getNumRooms())
+                            .supervisors(new ArrayList<>())
+                            .build());
+            group.getSupervisors().add(toTeacherResponse(row));
+        }
+
+        groups.forEach((day, seances) -> {
+            Map<Integer, Map<String, DaySeanceGroupAssignments>> seanceView = new TreeMap<>();
+            seances.forEach((seance, rooms) -> {
+                rooms.values().forEach(group -> group.setSupervisors(Collections.unmodifiableList(group.getSupervisors())));
+                seanceView.put(seance, Collections.unmodifiableMap(rooms));
+            });
+            days.put(day, Collections.unmodifiableMap(seanceView));
+        });
+
+        logger.debug("Assignment read model built for session {}, run {}: {} days", sessionId, runId, days.size());
+        return new SessionView(runId, Collections.unmodifiableMap(days));
+    }
+
+    private static int indexOf(DaySeanceGroupAssignments group, Long teacherId) {
+        List<TeacherResponse> supervisors = group.getSupervisors();
+        for (int i = 0; i < supervisors.size(); i++) {
+            if (supervisors.get(i) != null && teacherId.equals(supervisors.get(i).getId())) return i;
+        }
+        return -1;
+    }
+
+    private static DaySeanceGroupAssignments replaceSupervisor(DaySeanceGroupAssignments group, int index, TeacherResponse teacher) {
+        List<TeacherResponse> supervisors = new ArrayList<>(group.getSupervisors());
+        supervisors.set(index, teacher);
+        return group.toBuilder().supervisors(Collections.unmodifiableList(supervisors)).build();
+    }
+
+    private static TeacherResponse toTeacherResponse(AssignmentDetailsProjection row) {
+        TeacherResponse response = new TeacherResponse();
+        response.setId(row.getTeacherId());
+        response.setNom(row.getNom());
+        response.setPrenom(row.getPrenom());
+        response.setEmail(row.getEmail());
+        response.setCodeSmartex(row.getCodeSmartex());
+        response.setGrade(row.getGradeCode());
+        response.setParticipeSurveillance(row.getParticipeSurveillance());
+        response.setQuota(row.getQuotaCredit());
+        response.setCredit(row.getQuotaCredit());
+        return response;
+    }
+}
@@ -2,6 +2,7 @@ package org.teacherdistributionsystem.distribution_system.services.assignment;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.stereotype.Service;
@@ -14,6 +15,7 @@ import jakarta.mail.internet.MimeMessage;
 
 
 import org.teacherdistributionsystem.distribution_system.entities.teacher.Teacher;
+import org.teacherdistributionsystem.distribution_system.events.AssignmentsChangedEvent;
 import org.teacherdistributionsystem.distribution_system.models.responses.assignment.SwapResult;
 import org.teacherdistributionsystem.distribution_system.repositories.assignement.ExamRepository;
 import org.teacherdistributionsystem.distribution_system.repositories.assignement.TeacherExamAssignmentRepository;
@@ -22,7 +24,9 @@ import org.teacherdistributionsystem.distribution_system.repositories.teacher.Te
 
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 import static org.teacherdistributionsystem.distribution_system.models.responses.assignment.SwapResult.success;
 
@@ -36,6 +40,9 @@ public class AssignmentSwapService {
     private final TeacherUnavailabilityRepository unavailabilityRepository;
     private final JavaMailSender mailSender;
     private final TeacherRepository teacherRepository;
+    private final AssignmentReadModelService readModelService;
+    private final ScheduleNotificationService notificationService;
+    private final ApplicationEventPublisher eventPublisher;
 
 
 
@@ -90,11 +97,7 @@ public class AssignmentSwapService {
 
 
         if (!violations.isEmpty()) {
-            System.out.println("❌ SWAP REJECTED\n");
-            for (String violation : violations) {
-                System.out.println("  ✗ " + violation);
-            }
-            System.out.println();
+            log.debug("Swap rejected: {}", violations);
             return SwapResult.failure("Swap constraints violated", violations);
         }
         Long assignment1Id = assignment1.getTeacherId();
@@ -107,6 +110,11 @@ public class AssignmentSwapService {
 
         assignmentRepository.save(assignment1);
         assignmentRepository.save(assignment2);
+        readModelService.onAssignmentsSwapped(assignment1, exam1.getNumRooms(), assignment2, exam2.getNumRooms());
+        notificationService.onAssignmentsSwapped(assignment1, exam1.getNumRooms(), assignment2, exam2.getNumRooms());
+        eventPublisher.publishEvent(AssignmentsChangedEvent.swap(assignment1.getSessionId(),
+                Set.of(assignment1.getTeacherId(), assignment2.getTeacherId()),
+                new HashSet<>(List.of(assignment1.getExamId(), assignment2.getExamId())))); // Both may supervise the same exam
 
 
         return success(assignment1, assignment2);
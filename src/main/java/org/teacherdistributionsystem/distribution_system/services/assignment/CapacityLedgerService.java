@@ -0,0 +1,343 @@
+package org.teacherdistributionsystem.distribution_system.services.assignment;
+
+import jakarta.persistence.EntityNotFoundException;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.teacherdistributionsystem.distribution_system.entities.assignment.ExamSession;
+import org.teacherdistributionsystem.distribution_system.entities.teacher.TeacherUnavailability;
+import org.teacherdistributionsystem.distribution_system.enums.SeanceType;
+import org.teacherdistributionsystem.distribution_system.models.projections.ExamForAssignmentProjection;
+import org.teacherdistributionsystem.distribution_system.models.projections.SessionTeacherProjection;
+import org.teacherdistributionsystem.distribution_system.models.projections.TeacherUnavailabilityProjection;
+import org.teacherdistributionsystem.distribution_system.models.responses.assignment.SessionCapacityResponse;
+import org.teacherdistributionsystem.distribution_system.models.responses.assignment.SessionCapacityResponse.GradeCapacity;
+import org.teacherdistributionsystem.distribution_system.models.responses.assignment.SessionCapacityResponse.SlotCapacity;
+import org.teacherdistributionsystem.distribution_system.repositories.assignement.ExamRepository;
+import org.teacherdistributionsystem.distribution_system.repositories.assignement.ExamSessionRepository;
+import org.teacherdistributionsystem.distribution_system.repositories.teacher.TeacherQuotaRepository;
+import org.teacherdistributionsystem.distribution_system.repositories.teacher.TeacherUnavailabilityRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+import static org.teacherdistributionsystem.distribution_system.utils.TransactionHooks.afterCommit;
+
+/**
+ * In-memory demand/supply ledger per session. A ledger is built from the database the
+ * first time its session is queried; after that the editing services push every quota,
+ * supervisor count and unavailability change into it, so a capacity query never goes
+ * back to the database. Sessions that were never queried are not tracked.
+ */
+@Service
+@RequiredArgsConstructor
+public class CapacityLedgerService {
+    private static final Logger logger = LoggerFactory.getLogger(CapacityLedgerService.class);
+
+    private final ExamSessionRepository examSessionRepository;
+    private final ExamRepository examRepository;
+    private final TeacherQuotaRepository teacherQuotaRepository;
+    private final TeacherUnavailabilityRepository teacherUnavailabilityRepository;
+
+    private final Map<Long, SessionLedger> ledgers = new ConcurrentHashMap<>();
+    private long generation; // Bumped by every change and eviction, guarded by this
+
+    private static class TeacherEntry {
+        String grade;
+        boolean participates;
+        int quota;
+        boolean[] unavailable;
+
+        // Only these teachers can take a seat, so only they count as supply
+        boolean active() {
+            return participates && quota > 0;
+        }
+    }
+
+    private static class GradeTally {
+        int teachers;
+        int quota;
+        int unavailableSlots;
+    }
+
+    private static class SessionLedger {
+        final int numDays;
+        final int numSeances;
+        final int[] slotDemand; // Indexed day * numSeances + seance
+        final int[] slotSupply;
+        final Map<String, Integer> examDemand = new HashMap<>(); // day_seance_room -> required supervisors
+        final Map<Long, TeacherEntry> teachers = new HashMap<>();
+        final Map<String, GradeTally> grades = new TreeMap<>(); // Participating teachers only
+
+        int totalDemand;
+        int totalQuota;
+        int shortSlots;
+
+        SessionLedger(int numDays, int numSeances) {
+            this.numDays = numDays;
+            this.numSeances = numSeances;
+            this.slotDemand = new int[numDays * numSeances];
+            this.slotSupply = new int[numDays * numSeances];
+        }
+
+        int slot(int dayIdx, int seanceIdx) {
+            if (dayIdx < 0 || dayIdx >= numDays || seanceIdx < 0 || seanceIdx >= numSeances) return -1;
+            return dayIdx * numSeances + seanceIdx;
+        }
+
+        void adjustSlot(int slot, int demandDelta, int supplyDelta) {
+            boolean wasShort = slotDemand[slot] > slotSupply[slot];
+            slotDemand[slot] += demandDelta;
+            slotSupply[slot] += supplyDelta;
+            boolean isShort = slotDemand[slot] > slotSupply[slot];
+            if (wasShort != isShort) {
+                shortSlots += isShort ? 1 : -1;
+            }
+        }
+
+        void setExamDemand(int dayIdx, int seanceIdx, String room, int required) {
+            int slot = slot(dayIdx, seanceIdx);
+            if (slot < 0) return;
+
+            Integer previous = examDemand.put(dayIdx + "_" + seanceIdx + "_" + room, required);
+            int delta = required - (previous != null ? previous : 0);
+            totalDemand += delta;
+            adjustSlot(slot, delta, 0);
+        }
+
+        void setAllExamDemand(int required) {
+            for (Map.Entry<String, Integer> entry : examDemand.entrySet()) {
+                String[] key = entry.getKey().split("_", 3);
+                int delta = required - entry.getValue();
+                totalDemand += delta;
+                adjustSlot(slot(Integer.parseInt(key[0]), Integer.parseInt(key[1])), delta, 0);
+                entry.setValue(required);
+            }
+        }
+
+        void addTeacher(Long teacherId, String grade, boolean participates, int quota) {
+            TeacherEntry teacher = new TeacherEntry();
+            teacher.grade = grade != null ? grade : "UNKNOWN";
+            teacher.participates = participates;
+            teacher.unavailable = new boolean[slotDemand.length];
+            teachers.put(teacherId, teacher);
+
+            if (participates) {
+                grades.computeIfAbsent(teacher.grade, g -> new GradeTally()).teachers++;
+            }
+            setQuota(teacher, quota);
+        }
+
+        void setQuota(TeacherEntry teacher, int quota) {
+            boolean wasActive = teacher.active();
+            int previous = teacher.quota;
+            teacher.quota = quota;
+
+            if (teacher.participates) {
+                totalQuota += quota - previous;
+                grades.get(teacher.grade).quota += quota - previous;
+            }
+            if (wasActive != teacher.active()) {
+                int supplyDelta = teacher.active() ? 1 : -1;
+                for (int slot = 0; slot < slotSupply.length; slot++) {
+                    if (!teacher.unavailable[slot]) adjustSlot(slot, 0, supplyDelta);
+                }
+            }
+        }
+
+        void markUnavailable(TeacherEntry teacher, int slot) {
+            if (slot < 0 || teacher.unavailable[slot]) return;
+
+            teacher.unavailable[slot] = true;
+            if (teacher.participates) {
+                grades.get(teacher.grade).unavailableSlots++;
+            }
+            if (teacher.active()) {
+                adjustSlot(slot, 0, -1);
+            }
+        }
+
+        SessionCapacityResponse snapshot(Long sessionId) {
+            SeanceType[] seances = SeanceType.values();
+            List<SlotCapacity> slots = new ArrayList<>(slotDemand.length);
+            for (int slot = 0; slot < slotDemand.length; slot++) {
+                slots.add(SlotCapacity.builder()
+                        .day(slot / numSeances + 1)
+                        .seance(seances[slot % numSeances].name())
+                        .demand(slotDemand[slot])
+                        .supply(slotSupply[slot])
+                        .build());
+            }
+
+            List<GradeCapacity> gradeCapacities = new ArrayList<>(grades.size());
+            grades.forEach((grade, tally) -> gradeCapacities.add(GradeCapacity.builder()
+                    .grade(grade)
+                    .teachers(tally.teachers)
+                    .quota(tally.quota)
+                    .unavailableSlots(tally.unavailableSlots)
+                    .build()));
+
+            return SessionCapacityResponse.builder()
+                    .sessionId(sessionId)
+                    .feasible(shortSlots == 0 && totalQuota >= totalDemand)
+                    .totalDemand(totalDemand)
+                    .totalQuota(totalQuota)
+                    .shortSlots(shortSlots)
+                    .slots(slots)
+                    .grades(gradeCapacities)
+                    .generatedAt(LocalDateTime.now())
+                    .build();
+        }
+    }
+
+    public SessionCapacityResponse getCapacity(Long sessionId) {
+        SessionLedger ledger = ledgers.get(sessionId);
+        if (ledger == null) {
+            long buildGeneration;
+            synchronized (this) {
+                buildGeneration = generation;
+            }
+            ledger = build(sessionId);
+            synchronized (this) {
+                // A change applied while the rows were read found no ledger and may be missing
+                // from them: answer from this one but do not keep it, the next query rebuilds
+                if (generation == buildGeneration) {
+                    SessionLedger published = ledgers.putIfAbsent(sessionId, ledger);
+                    if (published != null) ledger = published;
+                }
+            }
+        }
+        synchronized (ledger) {
+            return ledger.snapshot(sessionId);
+        }
+    }
+
+    public void onTeacherQuotaChanged(Long sessionId, Long teacherId, int quota) {
+        update(sessionId, ledger -> {
+            TeacherEntry teacher = ledger.teachers.get(teacherId);
+            if (teacher != null) {
+                ledger.setQuota(teacher, quota);
+            }
+        });
+    }
+
+    /**
+     * Per-grade quota edits apply to every session, like TeacherQuotaRepository.updateQuotaPerGrade
+     */
+    public void onGradeQuotaChanged(String grade, int quota) {
+        afterCommit(() -> {
+            List<SessionLedger> tracked;
+            synchronized (this) {
+                generation++;
+                tracked = new ArrayList<>(ledgers.values());
+            }
+            for (SessionLedger ledger : tracked) {
+                synchronized (ledger) {
+                    for (TeacherEntry teacher : ledger.teachers.values()) {
+                        if (teacher.grade.equals(grade)) {
+                            ledger.setQuota(teacher, quota);
+                        }
+                    }
+                }
+            }
+        });
+    }
+
+    /**
+     * Same grouping as ExamRepository.updateRequiredSupervisorsForRelatedExams: one logical exam per day, seance and room
+     */
+    public void onExamSupervisorsChanged(Long sessionId, int jourNumero, SeanceType seance, String numRooms, int required) {
+        update(sessionId, ledger -> ledger.setExamDemand(jourNumero - 1, seance.ordinal(), numRooms, required));
+    }
+
+    public void onSessionSupervisorsChanged(Long sessionId, int required) {
+        update(sessionId, ledger -> ledger.setAllExamDemand(required));
+    }
+
+    public void onUnavailabilitiesAdded(Long sessionId, List<TeacherUnavailability> unavailabilities) {
+        update(sessionId, ledger -> {
+            for (TeacherUnavailability u : unavailabilities) {
+                TeacherEntry teacher = ledger.teachers.get(u.getTeacher().getId());
+                if (teacher != null) {
+                    ledger.markUnavailable(teacher, ledger.slot(u.getNumeroJour() - 1, SeanceType.valueOf(u.getSeance()).ordinal()));
+                }
+            }
+        });
+    }
+
+    /**
+     * Drops a ledger whose rows were deleted; the next query rebuilds it
+     */
+    public void evict(Long sessionId) {
+        afterCommit(() -> {
+            synchronized (this) {
+                generation++;
+                ledgers.remove(sessionId);
+            }
+        });
+    }
+
+    public void evictAll() {
+        afterCommit(() -> {
+            synchronized (this) {
+                generation++;
+                ledgers.clear();
+            }
+        });
+    }
+
+    /**
+     * Changes reach the ledger once the edit commits: a rolled back edit never does, and
+     * until the commit the ledger keeps showing the committed state
+     */
+    private void update(Long sessionId, Consumer<SessionLedger> change) {
+        afterCommit(() -> {
+            SessionLedger ledger;
+            synchronized (this) {
+                generation++;
+                ledger = ledgers.get(sessionId);
+            }
+            if (ledger == null) return;
+
+            synchronized (ledger) {
+                change.accept(ledger);
+            }
+        });
+    }
+
+    private SessionLedger build(Long sessionId) {
+        ExamSession session = examSessionRepository.findById(sessionId)
+                .orElseThrow(() -> new EntityNotFoundException("No valid exam session found with id " + sessionId));
+        SessionLedger ledger = new SessionLedger(session.getNumExamDays(), SeanceType.values().length);
+
+        for (ExamForAssignmentProjection e : examRepository.getExamsBySessionIdForAssignment(sessionId)) {
+            String key = (e.getJourNumero() - 1) + "_" + e.getSeance().ordinal() + "_" + e.getNumRooms();
+            if (!ledger.examDemand.containsKey(key)) {
+                ledger.setExamDemand(e.getJourNumero() - 1, e.getSeance().ordinal(), e.getNumRooms(), e.getRequiredSupervisors());
+            }
+        }
+
+        for (SessionTeacherProjection t : teacherQuotaRepository.getSessionRoster(sessionId)) {
+            ledger.addTeacher(t.getId(), t.getGradeCode(), Boolean.TRUE.equals(t.getParticipeSurveillance()),
+                    t.getAssignedQuota() != null ? t.getAssignedQuota() : 0);
+        }
+
+        for (TeacherUnavailabilityProjection u : teacherUnavailabilityRepository.getTeacherSlotsBySessionId(sessionId)) {
+            TeacherEntry teacher = ledger.teachers.get(u.getId());
+            if (teacher != null) {
+                ledger.markUnavailable(teacher, ledger.slot(u.getNumeroJour() - 1, SeanceType.valueOf(u.getSeance()).ordinal()));
+            }
+        }
+
+        logger.debug("Capacity ledger built for session {}: {} teachers, {} exams, {} short slots",
+                sessionId, ledger.teachers.size(), ledger.examDemand.size(), ledger.shortSlots);
+        return ledger;
+    }
+}
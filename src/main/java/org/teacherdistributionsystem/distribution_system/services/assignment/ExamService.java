@@ -14,6 +14,10 @@ import org.teacherdistributionsystem.distribution_system.models.projections.Exam
 import org.teacherdistributionsystem.distribution_system.models.projections.ExamProjection;
 import org.teacherdistributionsystem.distribution_system.repositories.assignement.ExamRepository;
 import org.teacherdistributionsystem.distribution_system.repositories.teacher.TeacherRepository;
+import org.teacherdistributionsystem.distribution_system.utils.JsonArrayStreamWriter;
+import org.teacherdistributionsystem.distribution_system.utils.SolverEventLog;
+
+import java.io.OutputStream;
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.time.temporal.ChronoUnit;
@@ -21,6 +25,7 @@ import java.util.*;
 
 import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static org.teacherdistributionsystem.distribution_system.utils.ExcelCellUtils.getCellAsString;
 import static org.teacherdistributionsystem.distribution_system.utils.HelperMethods.getLocalDate;
@@ -30,10 +35,19 @@ import static org.teacherdistributionsystem.distribution_system.utils.HelperMeth
 public class ExamService {
     private final ExamRepository examRepository;
     private final TeacherRepository teacherRepository;
-
-    public ExamService(ExamRepository examRepository, TeacherRepository teacherRepository) {
+    private final CapacityLedgerService capacityLedgerService;
+    private final AssignmentReadModelService readModelService;
+    private final JsonArrayStreamWriter jsonArrayStreamWriter;
+    private final SolverEventLog events = new SolverEventLog(ExamService.class);
+
+    public ExamService(ExamRepository examRepository, TeacherRepository teacherRepository,
+                       CapacityLedgerService capacityLedgerService, AssignmentReadModelService readModelService,
+                       JsonArrayStreamWriter jsonArrayStreamWriter) {
         this.examRepository = examRepository;
         this.teacherRepository = teacherRepository;
+        this.capacityLedgerService = capacityLedgerService;
+        this.readModelService = readModelService;
+        this.jsonArrayStreamWriter = jsonArrayStreamWriter;
     }
     public void addExams(Workbook workbook, ExamSession examSession) {
         List<Exam> examList = new ArrayList<>();
@@ -60,13 +74,13 @@ public class ExamService {
                 try {
                     codeSmartex = Integer.parseInt(codeStr);
                 } catch (NumberFormatException e) {
-                    System.err.println("Invalid code in row " + row.getRowNum() + ": " + codeStr);
+                    events.importRowError(sheet.getSheetName(), row.getRowNum(), "invalid teacher code " + codeStr);
                     return;
                 }
 
                 Teacher teacher = teacherMap.get(codeSmartex);
                 if (teacher == null) {
-                    System.err.println("No teacher found for code: " + codeSmartex);
+                    events.importRowError(sheet.getSheetName(), row.getRowNum(), "no teacher found for code " + codeSmartex);
                     return;
                 }
 
@@ -115,9 +129,11 @@ public class ExamService {
         return examRepository.getExamsBySessionIdForAssignment(sessionId);
 
     }
-    public List<ExamProjection> getExam(Long sessionId) {
-        return examRepository.getExamsBySessionId(sessionId);
-
+    @Transactional(readOnly = true)
+    public void writeExams(Long sessionId, OutputStream out) {
+        try (Stream<ExamProjection> exams = examRepository.streamExamsBySessionId(sessionId)) {
+            jsonArrayStreamWriter.write(exams, out);
+        }
     }
     public void updateRequiredSupervisors(String examId, Integer requiredSupervisors) {
 
@@ -131,11 +147,20 @@ public class ExamService {
                 exam.getNumRooms(),
                 requiredSupervisors
         );
+        capacityLedgerService.onExamSupervisorsChanged(
+                exam.getExamSession().getId(),
+                exam.getJourNumero(),
+                exam.getSeance(),
+                exam.getNumRooms(),
+                requiredSupervisors
+        );
     }
 
     @Transactional
     public void clearAllExams(Long sessionId) {
         examRepository.deleteAllInBatchByExamSession_Id(sessionId);
+        capacityLedgerService.evict(sessionId);
+        readModelService.evict(sessionId);
     }
 
     public Boolean dataExists(){
@@ -27,10 +27,13 @@ import static org.teacherdistributionsystem.distribution_system.utils.HelperMeth
 public class ExamSessionService {
     private  final ExamSessionRepository examSessionRepository;
     private final ExamRepository examRepository;
+    private final CapacityLedgerService capacityLedgerService;
 
-    public ExamSessionService(ExamSessionRepository examSessionRepository, ExamRepository examRepository) {
+    public ExamSessionService(ExamSessionRepository examSessionRepository, ExamRepository examRepository,
+                              CapacityLedgerService capacityLedgerService) {
         this.examSessionRepository = examSessionRepository;
         this.examRepository = examRepository;
+        this.capacityLedgerService = capacityLedgerService;
     }
     public ExamSession addSession( Workbook workbook) {
 
@@ -111,6 +114,7 @@ public class ExamSessionService {
        ExamSession oldExamSession= examSessionRepository.findById(sessionId).orElseThrow(e);
        oldExamSession.setTeachersPerExam(teachersPerExam);
        examRepository.updateRequiredSupervisorsBySession(teachersPerExam,sessionId);
+       capacityLedgerService.onSessionSupervisorsChanged(sessionId,teachersPerExam);
        return ExamSessionMapper.toExamSessionDto(examSessionRepository.save(oldExamSession));
     }
 
@@ -1,15 +1,17 @@
 package org.teacherdistributionsystem.distribution_system.services.assignment;
 
+import org.slf4j.event.Level;
 import org.springframework.stereotype.Service;
 import org.teacherdistributionsystem.distribution_system.enums.GradeType;
 import org.teacherdistributionsystem.distribution_system.enums.SeanceType;
 import org.teacherdistributionsystem.distribution_system.models.projections.ExamForAssignmentProjection;
+import org.teacherdistributionsystem.distribution_system.models.projections.SessionTeacherProjection;
 import org.teacherdistributionsystem.distribution_system.models.projections.TeacherUnavailabilityProjection;
 import org.teacherdistributionsystem.distribution_system.services.teacher.QuotaPerGradeService;
 import org.teacherdistributionsystem.distribution_system.services.teacher.TeacherQuotaService;
-import org.teacherdistributionsystem.distribution_system.services.teacher.TeacherService;
 import org.teacherdistributionsystem.distribution_system.services.teacher.TeacherUnavailabilityService;
 import org.teacherdistributionsystem.distribution_system.dtos.assignment.ExamSessionDto;
+import org.teacherdistributionsystem.distribution_system.utils.SolverEventLog;
 
 import java.util.*;
 import java.util.stream.Collectors;
@@ -17,20 +19,18 @@ import java.util.stream.Collectors;
 @Service
 public class QuotaRecommendationService {
 
-    private final TeacherService teacherService;
     private final TeacherQuotaService teacherQuotaService;
     private final TeacherUnavailabilityService teacherUnavailabilityService;
     private final ExamSessionService examSessionService;
     private final ExamService examService;
     private final QuotaPerGradeService quotaPerGradeService;
+    private final SolverEventLog events = new SolverEventLog(QuotaRecommendationService.class);
 
-    public QuotaRecommendationService(TeacherService teacherService,
-                                      TeacherQuotaService teacherQuotaService,
+    public QuotaRecommendationService(TeacherQuotaService teacherQuotaService,
                                       TeacherUnavailabilityService teacherUnavailabilityService,
                                       ExamSessionService examSessionService,
                                       ExamService examService,
                                       QuotaPerGradeService quotaPerGradeService) {
-        this.teacherService = teacherService;
         this.teacherQuotaService = teacherQuotaService;
         this.teacherUnavailabilityService = teacherUnavailabilityService;
         this.examSessionService = examSessionService;
@@ -42,10 +42,6 @@ public class QuotaRecommendationService {
      * Analyzes current quota distribution and recommends fair quotas per grade
      */
     public QuotaRecommendationResponse analyzeAndRecommendQuotas(Long sessionId) {
-        System.out.println("\n╔════════════════════════════════════════════════╗");
-        System.out.println("║   QUOTA FAIRNESS ANALYSIS & RECOMMENDATIONS    ║");
-        System.out.println("╔════════════════════════════════════════════════╗\n");
-
         // Load session data
         ExamSessionDto session = examSessionService.getExamSessionDto(sessionId);
 
@@ -53,10 +49,8 @@ public class QuotaRecommendationService {
         List<ExamForAssignmentProjection> exams = examService.getExamsForAssignment(sessionId);
         int totalSupervisionNeeded = calculateTotalSupervisionNeeded(exams);
 
-        System.out.println("📊 Session Overview:");
-        System.out.println("   Session: " + session.getSessionLibelle());
-        System.out.println("   Total supervisions needed: " + totalSupervisionNeeded);
-        System.out.println();
+        events.phase("Quota fairness analysis: " + session.getSessionLibelle());
+        events.constraints("Supervisions needed", totalSupervisionNeeded);
 
         // Analyze teachers by grade
         Map<GradeType, GradeAnalysis> gradeAnalysis = analyzeTeachersByGrade(sessionId, session);
@@ -88,9 +82,7 @@ public class QuotaRecommendationService {
      * Analyze teachers grouped by grade
      */
     private Map<GradeType, GradeAnalysis> analyzeTeachersByGrade(Long sessionId, ExamSessionDto session) {
-        Map<Long, Boolean> participationMap = teacherService.getTeacherParticipeSurveillance();
-        Map<Long, String> gradeMap = teacherService.getAllGrades();
-        Map<Long, Integer> quotaMap = teacherQuotaService.getAllQuotas(sessionId);
+        List<SessionTeacherProjection> roster = teacherQuotaService.getSessionRoster(sessionId);
 
         // Get unavailability data
         List<TeacherUnavailabilityProjection> unavailabilityList =
@@ -107,17 +99,17 @@ public class QuotaRecommendationService {
         // Group by grade
         Map<GradeType, GradeAnalysis> analysis = new HashMap<>();
 
-        for (Map.Entry<Long, String> entry : gradeMap.entrySet()) {
-            Long teacherId = entry.getKey();
+        for (SessionTeacherProjection teacher : roster) {
+            Long teacherId = teacher.getId();
 
             // Skip non-participating teachers
-            if (!participationMap.getOrDefault(teacherId, false)) {
+            if (!Boolean.TRUE.equals(teacher.getParticipeSurveillance())) {
                 continue;
             }
 
             try {
-                GradeType grade = GradeType.valueOf(entry.getValue());
-                int quota = quotaMap.getOrDefault(teacherId, 0);
+                GradeType grade = GradeType.valueOf(teacher.getGradeCode());
+                int quota = teacher.getAssignedQuota();
                 int unavailableSlots = unavailabilityByTeacher.getOrDefault(teacherId, Collections.emptySet()).size();
                 double availabilityRate = totalTimeSlots > 0 ?
                         ((totalTimeSlots - unavailableSlots) * 100.0) / totalTimeSlots : 100.0;
@@ -128,7 +120,7 @@ public class QuotaRecommendationService {
                 gradeAnalysis.addTeacher(teacherId, quota, unavailableSlots, availabilityRate);
 
             } catch (IllegalArgumentException e) {
-                System.err.println("Warning: Invalid grade for teacher " + teacherId);
+                events.warning(() -> "Invalid grade for teacher " + teacherId);
             }
         }
 
@@ -206,8 +198,6 @@ public class QuotaRecommendationService {
             return recommendations;
         }
 
-        System.out.println("📈 Analysis by Grade:\n");
-
         // Get current priorities and default quotas
         Map<GradeType, Integer> currentPriorities = quotaPerGradeService.getPrioritiesByGrade();
         Map<GradeType, Integer> defaultQuotas = quotaPerGradeService.getDefaultQuotasByGrade();
@@ -219,11 +209,6 @@ public class QuotaRecommendationService {
         // Calculate baseline quota (if all grades were equal)
         double baselineQuota = (double) totalSupervisionNeeded / totalParticipatingTeachers;
 
-        System.out.println("🎯 Priority System Analysis:");
-        System.out.println("   Baseline quota (if all equal): " + String.format("%.1f", baselineQuota));
-        System.out.println("   Priority scale: 1 (highest/less work) → 9 (lowest/more work)");
-        System.out.println("   Multiplier range: 0.5x (priority 1) to 1.5x (priority 9)\n");
-
         // IMPORTANT: Calculate total weighted capacity to ensure we meet supervision needs
         double totalWeightedCapacity = gradeAnalysis.entrySet().stream()
                 .mapToDouble(e -> {
@@ -237,8 +222,12 @@ public class QuotaRecommendationService {
         // Adjustment factor to ensure total capacity meets needs
         double adjustmentFactor = totalSupervisionNeeded / totalWeightedCapacity;
 
-        System.out.println("   Total weighted capacity: " + String.format("%.1f", totalWeightedCapacity));
-        System.out.println("   Adjustment factor: " + String.format("%.3f", adjustmentFactor) + "\n");
+        events.report("Priority system", () -> String.join("\n",
+                "   Baseline quota (if all equal): " + String.format("%.1f", baselineQuota),
+                "   Priority scale: 1 (highest/less work) → 9 (lowest/more work)",
+                "   Multiplier range: 0.5x (priority 1) to 1.5x (priority 9)",
+                "   Total weighted capacity: " + String.format("%.1f", totalWeightedCapacity),
+                "   Adjustment factor: " + String.format("%.3f", adjustmentFactor)));
 
         for (Map.Entry<GradeType, GradeAnalysis> entry : gradeAnalysis.entrySet()) {
             GradeType grade = entry.getKey();
@@ -309,29 +298,28 @@ public class QuotaRecommendationService {
             recommendations.addGradeRecommendation(rec);
 
             // Print analysis with clearer priority impact
-            System.out.println("┌─ " + grade + " ─────────────────────");
-            System.out.println("│  Teachers: " + analysis.teacherCount);
-            System.out.println("│  Priority: " + priority + " → Multiplier: " + String.format("%.2fx", priorityMultiplier));
-            System.out.println("│  Current avg quota: " + String.format("%.1f", currentAvgQuota) +
-                    " (total: " + currentTotalQuota + ")");
-            System.out.println("│  Availability: " + String.format("%.1f%%", avgAvailability));
-            System.out.println("│");
-            System.out.println("│  📊 Strategy Breakdown:");
-            System.out.println("│    • Equal share (no priority): " + String.format("%.1f", equalShareQuota));
-            System.out.println("│    • Priority-based: " + String.format("%.1f", priorityBasedQuota) +
-                    " (" + String.format("%+.1f", priorityBasedQuota - equalShareQuota) + ")");
-            System.out.println("│    • Availability-adjusted: " + String.format("%.1f", availabilityAdjustedQuota));
-            System.out.println("│    • Capacity-adjusted: " + String.format("%.1f", capacityAdjustedQuota));
-            System.out.println("│");
-            System.out.println("│  🎯 RECOMMENDED: " + String.format("%.1f", recommendedQuota) +
-                    " per teacher");
-            System.out.println("│     Change: " + (quotaChange >= 0 ? "+" : "") +
-                    String.format("%.1f", quotaChange) +
-                    " (" + (changePercentage >= 0 ? "+" : "") +
-                    String.format("%.1f%%", changePercentage) + ")");
-            System.out.println("│     Total for grade: " + rec.recommendedTotalQuota +
-                    " (vs current: " + currentTotalQuota + ")");
-            System.out.println("└──────────────────────────────────\n");
+            if (events.isEnabled(Level.DEBUG)) {
+                String report = String.join("\n",
+                        "│  Teachers: " + analysis.teacherCount,
+                        "│  Priority: " + priority + " → Multiplier: " + String.format("%.2fx", priorityMultiplier),
+                        "│  Current avg quota: " + String.format("%.1f", currentAvgQuota) +
+                                " (total: " + currentTotalQuota + ")",
+                        "│  Availability: " + String.format("%.1f%%", avgAvailability),
+                        "│  Strategy Breakdown:",
+                        "│    • Equal share (no priority): " + String.format("%.1f", equalShareQuota),
+                        "│    • Priority-based: " + String.format("%.1f", priorityBasedQuota) +
+                                " (" + String.format("%+.1f", priorityBasedQuota - equalShareQuota) + ")",
+                        "│    • Availability-adjusted: " + String.format("%.1f", availabilityAdjustedQuota),
+                        "│    • Capacity-adjusted: " + String.format("%.1f", capacityAdjustedQuota),
+                        "│  RECOMMENDED: " + String.format("%.1f", recommendedQuota) + " per teacher",
+                        "│     Change: " + (quotaChange >= 0 ? "+" : "") +
+                                String.format("%.1f", quotaChange) +
+                                " (" + (changePercentage >= 0 ? "+" : "") +
+                                String.format("%.1f%%", changePercentage) + ")",
+                        "│     Total for grade: " + rec.recommendedTotalQuota +
+                                " (vs current: " + currentTotalQuota + ")");
+                events.report("Grade " + grade, () -> report);
+            }
         }
 
         // Calculate fairness metrics
@@ -339,11 +327,7 @@ public class QuotaRecommendationService {
 
         // Verify total capacity
         int totalRecommended = recommendations.getTotalRecommendedCapacity();
-        System.out.println("🔍 Verification:");
-        System.out.println("   Total recommended capacity: " + totalRecommended);
-        System.out.println("   Total needed: " + totalSupervisionNeeded);
-        System.out.println("   Difference: " + (totalRecommended - totalSupervisionNeeded));
-        System.out.println();
+        events.constraints("Total recommended capacity", totalRecommended);
 
         return recommendations;
     }
@@ -363,30 +347,19 @@ public class QuotaRecommendationService {
         double currentRange = calculateQuotaRange(gradeAnalysis, false);
         double recommendedRange = recommendations.quotaRange;
 
-        System.out.println("═══════════════════════════════════════════════");
-        System.out.println("📊 FAIRNESS METRICS");
-        System.out.println("═══════════════════════════════════════════════");
-        System.out.println();
-        System.out.println("Current Distribution:");
-        System.out.println("  • Std Deviation: " + String.format("%.2f", currentStdDev));
-        System.out.println("  • Range (max-min): " + String.format("%.2f", currentRange));
-        System.out.println("  • Fairness Score: " + getFairnessScore(currentStdDev));
-        System.out.println();
-        System.out.println("Recommended Distribution:");
-        System.out.println("  • Std Deviation: " + String.format("%.2f", recommendedStdDev));
-        System.out.println("  • Range (max-min): " + String.format("%.2f", recommendedRange));
-        System.out.println("  • Fairness Score: " + getFairnessScore(recommendedStdDev));
-        System.out.println();
-
         double improvement = ((currentStdDev - recommendedStdDev) / currentStdDev) * 100;
-        if (improvement > 0) {
-            System.out.println("✅ IMPROVEMENT: " + String.format("%.1f%%", improvement) + " more fair");
-        } else if (improvement < -5) {
-            System.out.println("⚠️  WARNING: Recommended quotas may be less fair");
-        } else {
-            System.out.println("ℹ️  Similar fairness level");
-        }
-        System.out.println();
+        events.report("Fairness metrics", () -> String.join("\n",
+                "Current Distribution:",
+                "  • Std Deviation: " + String.format("%.2f", currentStdDev),
+                "  • Range (max-min): " + String.format("%.2f", currentRange),
+                "  • Fairness Score: " + getFairnessScore(currentStdDev),
+                "Recommended Distribution:",
+                "  • Std Deviation: " + String.format("%.2f", recommendedStdDev),
+                "  • Range (max-min): " + String.format("%.2f", recommendedRange),
+                "  • Fairness Score: " + getFairnessScore(recommendedStdDev),
+                improvement > 0 ? "IMPROVEMENT: " + String.format("%.1f%%", improvement) + " more fair"
+                        : improvement < -5 ? "WARNING: Recommended quotas may be less fair"
+                        : "Similar fairness level"));
 
         // Capacity check
         int currentTotalCapacity = gradeAnalysis.values().stream()
@@ -394,36 +367,14 @@ public class QuotaRecommendationService {
                 .sum();
         int recommendedTotalCapacity = recommendations.getTotalRecommendedCapacity();
 
-        System.out.println("═══════════════════════════════════════════════");
-        System.out.println("💼 CAPACITY ANALYSIS");
-        System.out.println("═══════════════════════════════════════════════");
-        System.out.println();
-        System.out.println("Total supervision needed: " + totalSupervisionNeeded);
-        System.out.println("Current total capacity: " + currentTotalCapacity);
-        System.out.println("Recommended total capacity: " + recommendedTotalCapacity);
-        System.out.println();
-
-        if (recommendedTotalCapacity >= totalSupervisionNeeded) {
-            System.out.println("✅ Recommended capacity is SUFFICIENT");
-        } else {
-            int deficit = totalSupervisionNeeded - recommendedTotalCapacity;
-            System.out.println("⚠️  WARNING: Recommended capacity is SHORT by " + deficit + " slots");
-            System.out.println("   Consider increasing quotas or reducing exam requirements");
+        events.constraints("Current total capacity", currentTotalCapacity);
+        if (recommendedTotalCapacity < totalSupervisionNeeded) {
+            events.warning(() -> "Recommended capacity is short by " + (totalSupervisionNeeded - recommendedTotalCapacity)
+                    + " slots, consider increasing quotas or reducing exam requirements");
         }
-        System.out.println();
-
-        System.out.println("═══════════════════════════════════════════════");
-        System.out.println("💡 RECOMMENDATIONS");
-        System.out.println("═══════════════════════════════════════════════");
-        System.out.println();
 
         List<String> actionItems = generateActionItems(recommendations, currentStdDev, recommendedStdDev);
-        for (int i = 0; i < actionItems.size(); i++) {
-            System.out.println((i + 1) + ". " + actionItems.get(i));
-        }
-
-        System.out.println();
-        System.out.println("╚════════════════════════════════════════════════╝\n");
+        events.report("Recommendations", () -> String.join("\n", actionItems));
 
         return QuotaRecommendationResponse.builder()
                 .sessionId(session.getId())
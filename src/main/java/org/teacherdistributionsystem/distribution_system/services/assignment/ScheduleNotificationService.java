@@ -0,0 +1,91 @@
+package org.teacherdistributionsystem.distribution_system.services.assignment;
+
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Service;
+import org.teacherdistributionsystem.distribution_system.entities.assignment.TeacherExamAssignment;
+import org.teacherdistributionsystem.distribution_system.enums.ScheduleChangeType;
+import org.teacherdistributionsystem.distribution_system.models.responses.assignment.ScheduleChangeMessage;
+import org.teacherdistributionsystem.distribution_system.models.responses.assignment.ScheduleChangeMessage.SupervisionChange;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.teacherdistributionsystem.distribution_system.utils.TransactionHooks.afterCommit;
+
+/**
+ * Pushes assignment changes to the STOMP topic of their session, so open schedules are
+ * patched or re-fetched when something changes instead of polling /status. Messages are
+ * sent after the commit: a client reacting to one always reads the new data.
+ */
+@Service
+@RequiredArgsConstructor
+public class ScheduleNotificationService {
+    private static final Logger logger = LoggerFactory.getLogger(ScheduleNotificationService.class);
+
+    private final SimpMessagingTemplate messagingTemplate;
+
+    public static String topic(Long sessionId) {
+        return "/topic/sessions/" + sessionId + "/assignments";
+    }
+
+    public void onRunCompleted(Long sessionId, Long runId, int totalAssignments) {
+        send(ScheduleChangeMessage.builder()
+                .type(ScheduleChangeType.RUN_COMPLETED)
+                .sessionId(sessionId)
+                .runId(runId)
+                .totalAssignments(totalAssignments)
+                .build());
+    }
+
+    /**
+     * Same arguments as AssignmentReadModelService.onAssignmentsSwapped: the assignments
+     * already hold their new teacher, each one's previous teacher is the other's new one
+     */
+    public void onAssignmentsSwapped(TeacherExamAssignment assignment1, String room1,
+                                     TeacherExamAssignment assignment2, String room2) {
+        send(ScheduleChangeMessage.builder()
+                .type(ScheduleChangeType.ASSIGNMENTS_SWAPPED)
+                .sessionId(assignment1.getSessionId())
+                .runId(assignment1.getRunId())
+                .changes(List.of(
+                        change(assignment1, room1, assignment2.getTeacherId()),
+                        change(assignment2, room2, assignment1.getTeacherId())))
+                .build());
+    }
+
+    public void onAssignmentsCleared(List<Long> sessionIds) {
+        for (Long sessionId : sessionIds) {
+            send(ScheduleChangeMessage.builder()
+                    .type(ScheduleChangeType.ASSIGNMENTS_CLEARED)
+                    .sessionId(sessionId)
+                    .build());
+        }
+    }
+
+    private static SupervisionChange change(TeacherExamAssignment assignment, String room, Long previousTeacherId) {
+        return SupervisionChange.builder()
+                .assignmentId(assignment.getId())
+                .examId(assignment.getExamId())
+                .examDay(assignment.getExamDay())
+                .seance(assignment.getSeance())
+                .numRooms(room)
+                .previousTeacherId(previousTeacherId)
+                .teacherId(assignment.getTeacherId())
+                .build();
+    }
+
+    private void send(ScheduleChangeMessage message) {
+        message.setOccurredAt(LocalDateTime.now());
+        afterCommit(() -> {
+            try {
+                messagingTemplate.convertAndSend(topic(message.getSessionId()), message);
+            } catch (Exception e) {
+                // The change is committed, a lost push only means clients refresh later
+                logger.warn("Schedule change push failed for session {}", message.getSessionId(), e);
+            }
+        });
+    }
+}
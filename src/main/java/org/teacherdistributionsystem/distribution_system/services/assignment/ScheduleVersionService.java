@@ -0,0 +1,91 @@
+package org.teacherdistributionsystem.distribution_system.services.assignment;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.teacherdistributionsystem.distribution_system.events.AssignmentsChangedEvent;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.teacherdistributionsystem.distribution_system.utils.TransactionHooks.afterCommit;
+
+/**
+ * Versions of what the schedule read endpoints serve, used as ETag / Last-Modified by
+ * ConditionalGetInterceptor. A session version moves when a change to its runs,
+ * assignments or quotas commits; a saved run moves every session, it rewrites the
+ * teacher credits they all show. The global version moves on every change and when the
+ * schedule JSON file is rewritten; it covers the endpoints that take no session id.
+ * Versions are bumped after the commit, so a tag is never handed out for data that is
+ * not visible yet. They live in memory: the boot time in the tag keeps tags handed out
+ * before a restart from matching.
+ */
+@Service
+public class ScheduleVersionService {
+    private final long bootTime = System.currentTimeMillis();
+    private final Map<Long, Version> sessions = new ConcurrentHashMap<>();
+    private final AtomicReference<Version> allSessions = new AtomicReference<>(new Version(0, bootTime));
+    private final AtomicReference<Version> global = new AtomicReference<>(new Version(0, bootTime));
+
+    private record Version(long number, long modifiedAt) {
+
+        Version next() {
+            return new Version(number + 1, Math.max(modifiedAt, System.currentTimeMillis()));
+        }
+    }
+
+    public record Validator(String eTag, long lastModified) {
+    }
+
+    public Validator session(Long sessionId) {
+        Version all = allSessions.get();
+        Version own = sessions.getOrDefault(sessionId, new Version(0, bootTime));
+        return new Validator("\"" + Long.toHexString(bootTime) + "-" + all.number() + "-" + own.number() + "\"",
+                Math.max(all.modifiedAt(), own.modifiedAt()));
+    }
+
+    public Validator global() {
+        Version version = global.get();
+        return new Validator("\"" + Long.toHexString(bootTime) + "-g" + version.number() + "\"", version.modifiedAt());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAssignmentsChanged(AssignmentsChangedEvent event) {
+        if (event.sessionId() == null || event.creditsChanged()) {
+            applyAll();
+        } else {
+            applySession(event.sessionId());
+        }
+    }
+
+    /**
+     * Quotas or other data of one session changed
+     */
+    public void bumpSession(Long sessionId) {
+        afterCommit(() -> applySession(sessionId));
+    }
+
+    /**
+     * Data shared by every session changed (import, per-grade quotas)
+     */
+    public void bumpAll() {
+        afterCommit(this::applyAll);
+    }
+
+    /**
+     * Only the endpoints without a session id changed (schedule JSON file rewritten)
+     */
+    public void bumpGlobal() {
+        afterCommit(() -> global.updateAndGet(Version::next));
+    }
+
+    private void applySession(Long sessionId) {
+        sessions.compute(sessionId, (id, version) -> version == null ? new Version(0, bootTime).next() : version.next());
+        global.updateAndGet(Version::next);
+    }
+
+    private void applyAll() {
+        allSessions.updateAndGet(Version::next);
+        global.updateAndGet(Version::next);
+    }
+}
@@ -8,6 +8,7 @@ import org.teacherdistributionsystem.distribution_system.dtos.teacher.QuotaPerGr
 import org.teacherdistributionsystem.distribution_system.entities.teacher.Grade;
 import org.teacherdistributionsystem.distribution_system.enums.GradeType;
 import org.teacherdistributionsystem.distribution_system.repositories.teacher.GradeTypeRepository;
+import org.teacherdistributionsystem.distribution_system.utils.SolverEventLog;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -20,6 +21,7 @@ import static org.teacherdistributionsystem.distribution_system.utils.ExcelCellU
 public class GradeService {
     private final GradeTypeRepository gradeTypeRepository;
     private final QuotaPerGradeService quotaPerGradeService;
+    private final SolverEventLog events = new SolverEventLog(GradeService.class);
 
 
 
@@ -35,7 +37,7 @@ public class GradeService {
                 String gradeCodeStr = getCellAsString(row, 4);
 
                 if (gradeCodeStr == null || gradeCodeStr.trim().isEmpty()) {
-                    System.err.println("Empty grade code at row " + row.getRowNum());
+                    events.importRowError(sheet.getSheetName(), row.getRowNum(), "empty grade code");
                     return;
                 }
 
@@ -46,7 +48,7 @@ public class GradeService {
                     grade = GradeType.fromCode(gradeCodeStr);
                     quotaPerGrade = quotaPerGradeService.getQuotaByGrade(grade);
                 } catch (IllegalArgumentException e) {
-                    System.err.println("Invalid grade code: " + gradeCodeStr + " at row " + row.getRowNum());
+                    events.importRowError(sheet.getSheetName(), row.getRowNum(), "invalid grade code " + gradeCodeStr);
                     throw new RuntimeException("Invalid grade code: " + gradeCodeStr, e);
                 }
 
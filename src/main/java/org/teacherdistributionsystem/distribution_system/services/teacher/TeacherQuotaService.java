@@ -12,8 +12,12 @@ import org.teacherdistributionsystem.distribution_system.entities.teacher.Teache
 import org.teacherdistributionsystem.distribution_system.enums.GradeType;
 
 import org.teacherdistributionsystem.distribution_system.enums.QuotaType;
+import org.teacherdistributionsystem.distribution_system.models.projections.SessionTeacherProjection;
 import org.teacherdistributionsystem.distribution_system.repositories.teacher.QuotaPerGradeRepository;
 import org.teacherdistributionsystem.distribution_system.repositories.teacher.TeacherQuotaRepository;
+import org.teacherdistributionsystem.distribution_system.services.assignment.CapacityLedgerService;
+import org.teacherdistributionsystem.distribution_system.services.assignment.ScheduleVersionService;
+import org.teacherdistributionsystem.distribution_system.utils.SolverEventLog;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -28,17 +32,16 @@ public class TeacherQuotaService {
     private final TeacherQuotaRepository teacherQuotaRepository;
     private final QuotaPerGradeService quotaPerGradeService;
     private final QuotaPerGradeRepository quotaPerGradeRepository;
+    private final CapacityLedgerService capacityLedgerService;
+    private final ScheduleVersionService scheduleVersionService;
+    private final SolverEventLog events = new SolverEventLog(TeacherQuotaService.class);
 
     public void addTeachersQuota(Workbook workbook, Map<String, Teacher> teacherMap, ExamSession session) {
         List<TeacherQuota> teacherQuotas = new ArrayList<>();
 
         workbook.forEach(sheet -> {
-            System.out.println("QuotaService - Processing sheet: " + sheet.getSheetName());
             sheet.forEach(row -> {
-                if (row.getRowNum() == 0) {
-                    System.out.println("QuotaService - Skipping header row");
-                    return;
-                }
+                if (row.getRowNum() == 0) return;
 
                 // FIXED: Read email from column 3 (was column 2)
                 String email = getCellAsString(row, 3);
@@ -46,16 +49,13 @@ public class TeacherQuotaService {
                 // FIXED: Read grade from column 4 (was column 3)
                 String gradeCodeStr = getCellAsString(row, 4);
 
-                System.out.println("QuotaService - Row " + row.getRowNum() +
-                        ": email=" + email + ", gradeCode=" + gradeCodeStr);
-
                 if (email == null || email.trim().isEmpty()) {
-                    System.err.println("QuotaService - Empty email at row " + row.getRowNum());
+                    events.importRowError(sheet.getSheetName(), row.getRowNum(), "empty email");
                     return;
                 }
 
                 if (gradeCodeStr == null || gradeCodeStr.trim().isEmpty()) {
-                    System.err.println("QuotaService - Empty grade code at row " + row.getRowNum());
+                    events.importRowError(sheet.getSheetName(), row.getRowNum(), "empty grade code");
                     return;
                 }
 
@@ -63,13 +63,13 @@ public class TeacherQuotaService {
                 try {
                     quotaPerGrade = quotaPerGradeService.getQuotaByGrade(GradeType.fromCode(gradeCodeStr));
                 } catch (IllegalArgumentException e) {
-                    System.err.println("QuotaService - Invalid grade code: " + gradeCodeStr + " at row " + row.getRowNum());
+                    events.importRowError(sheet.getSheetName(), row.getRowNum(), "invalid grade code " + gradeCodeStr);
                     throw new RuntimeException("Invalid grade code: " + gradeCodeStr, e);
                 }
 
                 Teacher teacher = teacherMap.get(email);
                 if (teacher == null) {
-                    System.err.println("QuotaService - Teacher not found for email: " + email + " at row " + row.getRowNum());
+                    events.importRowError(sheet.getSheetName(), row.getRowNum(), "teacher not found for email " + email);
                     return;
                 }
 
@@ -92,9 +92,16 @@ public class TeacherQuotaService {
 
         if (!teacherQuotas.isEmpty()) {
             teacherQuotaRepository.saveAll(teacherQuotas);
-            System.out.println("QuotaService - Saved " + teacherQuotas.size() + " teacher quotas");
+            events.constraints("Saved teacher quotas", teacherQuotas.size());
         }
     }
+    /**
+     * Teachers that have a quota in the session, ordered by id, with their quota
+     */
+    public List<SessionTeacherProjection> getSessionRoster(Long sessionId) {
+        return teacherQuotaRepository.getSessionRoster(sessionId);
+    }
+
    public Map<Long, Integer> getAllQuotas(Long sessionId) {
        return teacherQuotaRepository.getTeacherQuotaAndId(sessionId).stream()
                 .collect(Collectors.toMap(
@@ -112,13 +119,22 @@ public class TeacherQuotaService {
             throw new IllegalArgumentException("quota cannot be null");
         }
         teacherQuotaRepository.updateTeacherQuotaById(teacherId,quota);
+        // The update matches TeacherQuota.id, so read back which session and teacher it hit
+        teacherQuotaRepository.findById(teacherId).ifPresent(q -> {
+            capacityLedgerService.onTeacherQuotaChanged(q.getExamSession().getId(), q.getTeacher().getId(), quota);
+            scheduleVersionService.bumpSession(q.getExamSession().getId());
+        });
     }
     @Transactional
     public void clearAllQuotas(Long sessionId) {
         teacherQuotaRepository.deleteAllInBatchByExamSession_Id(sessionId);
+        capacityLedgerService.evict(sessionId);
+        scheduleVersionService.bumpSession(sessionId);
     }
 
     public void updateQuotaPerGrade(String grade,Integer quota){
         teacherQuotaRepository.updateQuotaPerGrade(grade,quota);
+        capacityLedgerService.onGradeQuotaChanged(grade,quota);
+        scheduleVersionService.bumpAll();
     }
 }
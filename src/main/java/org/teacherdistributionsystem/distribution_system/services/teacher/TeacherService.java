@@ -5,9 +5,7 @@ import lombok.RequiredArgsConstructor;
 import org.apache.poi.ss.usermodel.Workbook;
 
 
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 
 
@@ -16,10 +14,11 @@ import org.teacherdistributionsystem.distribution_system.entities.teacher.Teache
 import org.teacherdistributionsystem.distribution_system.mappers.teacher.TeacherMapper;
 import org.teacherdistributionsystem.distribution_system.models.projections.TeacherNameProjection;
 
-import org.teacherdistributionsystem.distribution_system.models.responses.PageResponse;
+import org.teacherdistributionsystem.distribution_system.models.responses.KeysetPageResponse;
 import org.teacherdistributionsystem.distribution_system.models.responses.teacher.GradeCount;
 import org.teacherdistributionsystem.distribution_system.models.responses.teacher.TeacherResponse;
 import org.teacherdistributionsystem.distribution_system.repositories.teacher.TeacherRepository;
+import org.teacherdistributionsystem.distribution_system.utils.SolverEventLog;
 import org.teacherdistributionsystem.distribution_system.utils.TeacherMaps;
 
 
@@ -38,7 +37,7 @@ public class TeacherService {
 
     private final TeacherRepository teacherRepository;
 
-    private final TeacherQuotaService teacherQuotaService;
+    private final SolverEventLog events = new SolverEventLog(TeacherService.class);
 
         public TeacherMaps populateTeachersTable(Workbook workbook) {
             List<Teacher> teachers = new ArrayList<>();
@@ -55,7 +54,9 @@ public class TeacherService {
                     String gradeCode = getCellAsString(row, 4);
                     Integer codeSmartex = getCellAsInteger(row, 5);
                     Boolean participeSurveillance = getCellAsBoolean(row, 6);
-                    System.out.println("Row " + row.getRowNum() + ": nom=" + nom + ", email=" + email + ", gradeCode=" + gradeCode);
+                    if (email == null || email.trim().isEmpty()) {
+                        events.importRowError(sheet.getSheetName(), row.getRowNum(), "empty email");
+                    }
                     Teacher teacher = Teacher.builder()
                             .nom(nom)
                             .prenom(prenom)
@@ -139,22 +140,9 @@ public class TeacherService {
                 ));
     }
 
-    public PageResponse<TeacherResponse> getAllTeachers(int page, int size,Long sessionId) {
-        Pageable pageable = PageRequest.of(page, size);
-        Page<TeacherResponse> teacherPage = teacherRepository.getAllTeachers(pageable);
-        Map<Long, Integer> quotaPerTeacher=teacherQuotaService.getAllQuotas(sessionId);
-        teacherPage.getContent().forEach(teacher -> {
-            Integer quota=quotaPerTeacher.get(teacher.getId());
-            Integer credit=teacher.getCredit();
-           Integer total =teacher.getParticipeSurveillance()? (credit != null ? credit : 0) + (quota != null ? quota : 0):0;
-            teacher.setQuota(total);
-        });
-        return new PageResponse<>(
-                teacherPage.getContent(),
-                teacherPage.getNumber(),
-                teacherPage.getSize(),
-                teacherPage.getTotalElements()
-        );
+    public KeysetPageResponse<TeacherResponse> getAllTeachers(Long sessionId, Long after, int size, String grade) {
+        List<TeacherResponse> rows = teacherRepository.getTeachersAfter(sessionId, after, grade, Limit.of(size + 1));
+        return new KeysetPageResponse<>(rows, size, TeacherResponse::getId);
     }
 
     public TeacherDto getTeacherDetails(Long teacherId) {
@@ -11,7 +11,9 @@ import org.teacherdistributionsystem.distribution_system.models.projections.Teac
 import org.teacherdistributionsystem.distribution_system.models.projections.TeacherUnavailabilityProjection;
 import org.teacherdistributionsystem.distribution_system.repositories.teacher.TeacherRepository;
 import org.teacherdistributionsystem.distribution_system.repositories.teacher.TeacherUnavailabilityRepository;
+import org.teacherdistributionsystem.distribution_system.services.assignment.CapacityLedgerService;
 import org.teacherdistributionsystem.distribution_system.models.keys.TeacherKey;
+import org.teacherdistributionsystem.distribution_system.utils.SolverEventLog;
 
 import java.time.DayOfWeek;
 import java.time.LocalDate;
@@ -28,6 +30,8 @@ import static org.teacherdistributionsystem.distribution_system.utils.ExcelCellU
 public class TeacherUnavailabilityService {
     private final TeacherUnavailabilityRepository teacherUnavailabilitRepository;
     private final TeacherRepository teacherRepository;
+    private final CapacityLedgerService capacityLedgerService;
+    private final SolverEventLog events = new SolverEventLog(TeacherUnavailabilityService.class);
 
     private static final Map<String, DayOfWeek> FRENCH_DAYS = Map.of(
             "lundi", DayOfWeek.MONDAY,
@@ -56,6 +60,7 @@ public class TeacherUnavailabilityService {
                 getTeacherUnavailabilities(workbook, session, abrvToEmailMap, emailToTeacherMap);
 
         teacherUnavailabilitRepository.saveAll(teacherUnavailabilityList);
+        capacityLedgerService.onUnavailabilitiesAdded(session.getId(), teacherUnavailabilityList);
     }
 
     private List<TeacherUnavailability> getTeacherUnavailabilities(
@@ -80,14 +85,15 @@ public class TeacherUnavailabilityService {
                 // Look up teacher email using abbreviation
                 String email = abrvToEmailMap.get(teacherAbrv);
                 if (email == null) {
-                    System.err.println("No email mapping found for abbreviation: " + teacherAbrv);
+                    events.importRowError(sheet.getSheetName(), row.getRowNum(), "no email mapping for abbreviation " + teacherAbrv);
                     return;
                 }
 
                 // Get teacher using email
                 Teacher teacher = emailToTeacherMap.get(email);
                 if (teacher == null) {
-                    System.err.println("Teacher not found for email: " + email + " (abbreviation: " + teacherAbrv + ")");
+                    events.importRowError(sheet.getSheetName(), row.getRowNum(),
+                            "teacher not found for email " + email + " (abbreviation " + teacherAbrv + ")");
                     return;
                 }
 
@@ -97,7 +103,7 @@ public class TeacherUnavailabilityService {
 
                 Integer numeroJour = calculateDayNumber(jourName.toLowerCase().trim(), examStartDate);
                 if (numeroJour == null) {
-                    System.err.println("Unable to calculate day number for: " + jourName);
+                    events.importRowError(sheet.getSheetName(), row.getRowNum(), "no exam day for " + jourName);
                     return;
                 }
 
@@ -177,5 +183,6 @@ public class TeacherUnavailabilityService {
     }
     public void cleanUp(){
         teacherUnavailabilitRepository.deleteAll();
+        capacityLedgerService.evictAll();
     }
 }
@@ -0,0 +1,104 @@
+package org.teacherdistributionsystem.distribution_system.utils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.teacherdistributionsystem.distribution_system.config.AssignmentConstraintConfig;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Named AssignmentConstraintConfig profiles stored as JSON under outputDir/profiles,
+ * written by SolverParameterTuner and served next to the built-in presets.
+ */
+@Component
+public class ConfigProfileStore {
+    public static final Map<String, Supplier<AssignmentConstraintConfig>> BUILT_IN_PRESETS = new LinkedHashMap<>();
+
+    static {
+        BUILT_IN_PRESETS.put("default", AssignmentConstraintConfig::defaultConfig);
+        BUILT_IN_PRESETS.put("strict", AssignmentConstraintConfig::strictConfig);
+        BUILT_IN_PRESETS.put("relaxed", AssignmentConstraintConfig::relaxedConfig);
+        BUILT_IN_PRESETS.put("fairness", AssignmentConstraintConfig::fairnessOptimizedConfig);
+        BUILT_IN_PRESETS.put("lexicographic", AssignmentConstraintConfig::lexicographicConfig);
+    }
+
+    private static final String PROFILES_DIR = "profiles";
+    private static final String EXTENSION = ".json";
+    private static final Pattern VALID_NAME = Pattern.compile("[a-z0-9][a-z0-9_-]{0,63}");
+
+    private final Path directory;
+    private final ObjectMapper objectMapper;
+
+    public ConfigProfileStore(@Value("${spring.application.outputDir}") String outputDir, ObjectMapper objectMapper) {
+        this.directory = Paths.get(outputDir, PROFILES_DIR);
+        this.objectMapper = objectMapper;
+    }
+
+    public Path save(String name, AssignmentConstraintConfig config) {
+        validateName(name);
+        try {
+            Files.createDirectories(directory);
+            Path file = directory.resolve(name + EXTENSION);
+            objectMapper.writerWithDefaultPrettyPrinter().writeValue(file.toFile(), config);
+            return file;
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    public Optional<AssignmentConstraintConfig> find(String name) {
+        if (!VALID_NAME.matcher(name).matches()) {
+            return Optional.empty();
+        }
+        Path file = directory.resolve(name + EXTENSION);
+        if (!Files.isRegularFile(file)) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(objectMapper.readValue(file.toFile(), AssignmentConstraintConfig.class));
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * A built-in preset, else the stored profile of that name
+     */
+    public Optional<AssignmentConstraintConfig> findPreset(String name) {
+        Supplier<AssignmentConstraintConfig> builtIn = BUILT_IN_PRESETS.get(name);
+        return builtIn != null ? Optional.of(builtIn.get()) : find(name);
+    }
+
+    public List<String> names() {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(file -> file.getFileName().toString())
+                    .filter(fileName -> fileName.endsWith(EXTENSION))
+                    .map(fileName -> fileName.substring(0, fileName.length() - EXTENSION.length()))
+                    .sorted()
+                    .toList();
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private void validateName(String name) {
+        if (name == null || !VALID_NAME.matcher(name).matches()) {
+            throw new IllegalArgumentException("Invalid profile name: " + name
+                    + " (lowercase letters, digits, '-' and '_')");
+        }
+    }
+}
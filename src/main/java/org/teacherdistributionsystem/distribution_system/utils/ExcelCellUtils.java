@@ -3,8 +3,12 @@ package org.teacherdistributionsystem.distribution_system.utils;
 import org.apache.poi.ss.usermodel.Cell;
 import org.apache.poi.ss.usermodel.CellType;
 import org.apache.poi.ss.usermodel.Row;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 public class ExcelCellUtils {
+    private static final Logger logger = LoggerFactory.getLogger(ExcelCellUtils.class);
+
     public static String getCellAsString(Row row, int columnIndex) {
         Cell cell = row.getCell(columnIndex);
         if (cell == null) return "";
@@ -40,7 +44,7 @@ public class ExcelCellUtils {
                 return "TRUE".equals(value) || "YES".equals(value) || "1".equals(value);
             }
         } catch (Exception e) {
-            System.err.println("Error parsing boolean from cell: " + e.getMessage());
+            logger.warn("Could not parse a boolean from row {} column {}", row.getRowNum(), columnIndex, e);
         }
         return null;
     }
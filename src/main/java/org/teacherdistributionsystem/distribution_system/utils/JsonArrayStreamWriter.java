@@ -0,0 +1,44 @@
+package org.teacherdistributionsystem.distribution_system.utils;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Writes a stream of items as one JSON array, serializing each item as soon as the stream
+ * yields it. Only the generator buffer is held, never the whole list. Items are written
+ * with the application ObjectMapper, so they look exactly as in a List response.
+ */
+@Component
+public class JsonArrayStreamWriter {
+    private final ObjectMapper objectMapper;
+
+    public JsonArrayStreamWriter(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * @return number of items written; the output stream is flushed but left open
+     */
+    public <T> int write(Stream<T> items, OutputStream out) {
+        try (JsonGenerator generator = objectMapper.createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.writeStartArray();
+            int count = 0;
+            Iterator<T> iterator = items.iterator();
+            while (iterator.hasNext()) {
+                generator.writeObject(iterator.next());
+                count++;
+            }
+            generator.writeEndArray();
+            return count;
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
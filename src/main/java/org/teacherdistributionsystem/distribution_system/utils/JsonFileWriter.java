@@ -5,6 +5,7 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Component;
 import org.teacherdistributionsystem.distribution_system.models.responses.assignment.AssignmentResponseModel;
+import org.teacherdistributionsystem.distribution_system.services.assignment.ScheduleVersionService;
 
 import java.io.File;
 import java.io.IOException;
@@ -19,10 +20,12 @@ public class JsonFileWriter {
     private String outputFileName;
 
     private final ObjectMapper objectMapper;
+    private final ScheduleVersionService scheduleVersionService;
 
 
-    public JsonFileWriter(ObjectMapper objectMapper) {
+    public JsonFileWriter(ObjectMapper objectMapper, ScheduleVersionService scheduleVersionService) {
         this.objectMapper = objectMapper;
+        this.scheduleVersionService = scheduleVersionService;
     }
 
     @Async
@@ -31,6 +34,8 @@ public class JsonFileWriter {
             Files.createDirectories(Paths.get(outputDir));
             File file = new File(outputDir + "/" + outputFileName);
             objectMapper.writerWithDefaultPrettyPrinter().writeValue(file, teachersWorkload);
+            // The /api/schedule(s) endpoints read this file
+            scheduleVersionService.bumpGlobal();
         } catch (IOException e) {
             throw new RuntimeException(e);
         }
@@ -0,0 +1,42 @@
+package org.teacherdistributionsystem.distribution_system.utils;
+
+import com.google.ortools.Loader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Loads the OR-Tools native libraries once per JVM. Every solver entry point calls
+ * ensureLoaded(), so the load happens on the first solve unless SolverWarmup has
+ * already done it in the background after startup.
+ */
+public class OrToolsRuntime {
+    private static final Logger logger = LoggerFactory.getLogger(OrToolsRuntime.class);
+
+    private static volatile boolean loaded;
+    private static volatile long loadMillis;
+
+    private OrToolsRuntime() {
+    }
+
+    public static void ensureLoaded() {
+        if (loaded) return;
+
+        synchronized (OrToolsRuntime.class) {
+            if (loaded) return;
+
+            long start = System.currentTimeMillis();
+            Loader.loadNativeLibraries();
+            loadMillis = System.currentTimeMillis() - start;
+            loaded = true;
+            logger.info("OR-Tools native libraries loaded in {} ms", loadMillis);
+        }
+    }
+
+    public static boolean isLoaded() {
+        return loaded;
+    }
+
+    public static long getLoadMillis() {
+        return loadMillis;
+    }
+}
@@ -0,0 +1,104 @@
+package org.teacherdistributionsystem.distribution_system.utils;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.event.Level;
+import org.teacherdistributionsystem.distribution_system.enums.SolverEventType;
+import org.teacherdistributionsystem.distribution_system.models.others.SolverEvent;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Typed events of the solver and import hot paths. Each method first checks whether
+ * its level is enabled on the "solver.events.<source>" logger or a run is being
+ * collected, so a disabled event costs one check and no string work. The logger is
+ * routed through an async appender (logback-spring.xml).
+ */
+public class SolverEventLog {
+    private final Logger logger;
+    private volatile List<SolverEvent> collected;
+    private long collectStart;
+
+    public SolverEventLog(Class<?> source) {
+        this.logger = LoggerFactory.getLogger("solver.events." + source.getSimpleName());
+    }
+
+    /**
+     * Keeps every event from now on, whatever the logger level, until finishCollecting()
+     */
+    public synchronized void startCollecting() {
+        collected = new ArrayList<>();
+        collectStart = System.currentTimeMillis();
+    }
+
+    public synchronized List<SolverEvent> finishCollecting() {
+        List<SolverEvent> events = collected != null ? collected : List.of();
+        collected = null;
+        return events;
+    }
+
+    public boolean isEnabled(Level level) {
+        return collected != null || logger.isEnabledForLevel(level);
+    }
+
+    public void phase(String phase) {
+        if (!isEnabled(Level.INFO)) return;
+        logger.info("[{}] {}", SolverEventType.PHASE, phase);
+        collect(event(SolverEventType.PHASE, Level.INFO).name(phase));
+    }
+
+    public void constraints(String family, long count) {
+        if (!isEnabled(Level.DEBUG)) return;
+        logger.debug("[{}] {}: {}", SolverEventType.CONSTRAINTS, family, count);
+        collect(event(SolverEventType.CONSTRAINTS, Level.DEBUG).name(family).count(count));
+    }
+
+    public void relaxation(int attempt, Long teacherId, String teacherName, int contribution) {
+        if (!isEnabled(Level.DEBUG)) return;
+        logger.debug("[{}] attempt {}: {} (id {}) contributes {}", SolverEventType.RELAXATION, attempt,
+                teacherName, teacherId, contribution);
+        collect(event(SolverEventType.RELAXATION, Level.DEBUG).count((long) attempt).teacherId(teacherId)
+                .message(teacherName + " contributes " + contribution));
+    }
+
+    public void solve(String phase, String status, double seconds) {
+        if (!isEnabled(Level.INFO)) return;
+        logger.info("[{}] {}: {} ({}s)", SolverEventType.SOLVE, phase, status, String.format("%.3f", seconds));
+        collect(event(SolverEventType.SOLVE, Level.INFO).name(phase).status(status).seconds(seconds));
+    }
+
+    public void importRowError(String source, int row, String reason) {
+        if (!isEnabled(Level.WARN)) return;
+        logger.warn("[{}] {} row {}: {}", SolverEventType.IMPORT_ROW_ERROR, source, row, reason);
+        collect(event(SolverEventType.IMPORT_ROW_ERROR, Level.WARN).name(source).row(row).message(reason));
+    }
+
+    public void warning(Supplier<String> message) {
+        if (!isEnabled(Level.WARN)) return;
+        String text = message.get();
+        logger.warn("[{}] {}", SolverEventType.WARNING, text);
+        collect(event(SolverEventType.WARNING, Level.WARN).message(text));
+    }
+
+    /**
+     * Multi-line reports, only built when DEBUG is enabled or a run is collected
+     */
+    public void report(String name, Supplier<String> report) {
+        if (!isEnabled(Level.DEBUG)) return;
+        String text = report.get();
+        logger.debug("[{}] {}\n{}", SolverEventType.REPORT, name, text);
+        collect(event(SolverEventType.REPORT, Level.DEBUG).name(name).message(text));
+    }
+
+    private SolverEvent.SolverEventBuilder event(SolverEventType type, Level level) {
+        return SolverEvent.builder().type(type).level(level.name());
+    }
+
+    private synchronized void collect(SolverEvent.SolverEventBuilder event) {
+        if (collected != null) {
+            collected.add(event.elapsedMillis(System.currentTimeMillis() - collectStart).build());
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package org.teacherdistributionsystem.distribution_system.utils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.teacherdistributionsystem.distribution_system.config.AssignmentConstraintConfig;
+import org.teacherdistributionsystem.distribution_system.models.others.AssignmentMetadata;
+import org.teacherdistributionsystem.distribution_system.models.others.SolverRunStatistics;
+import org.teacherdistributionsystem.distribution_system.models.responses.assignment.AssignmentResponseModel;
+import org.teacherdistributionsystem.distribution_system.services.assignment.AssignmentAlgorithmService;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Replays an instance exported with exportInstance, without the application or its
+ * database, and prints the outcome and the statistics of every solve.
+ *
+ * <pre>
+ * mvn -q compile exec:java \
+ *   -Dexec.mainClass=org.teacherdistributionsystem.distribution_system.utils.SolverInstanceReplay \
+ *   -Dexec.args="./data/instances/session-1-20260105-101500.json lexicographic"
+ * </pre>
+ * Arguments: the instance file, then optionally a preset, built-in or tuned by
+ * SolverParameterTuner. Without a preset the instance replays with the configuration it
+ * was exported with.
+ */
+public class SolverInstanceReplay {
+
+    public static void main(String[] args) {
+        if (args.length < 1) {
+            System.err.println("Usage: SolverInstanceReplay <instance-file> [preset]");
+            System.exit(1);
+        }
+
+        ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+        String outputDir = System.getProperty("outputDir", "./data");
+
+        AssignmentConstraintConfig config = null;
+        if (args.length > 1) {
+            config = new ConfigProfileStore(outputDir, objectMapper).findPreset(args[1])
+                    .orElseThrow(() -> new IllegalArgumentException("No configuration preset named " + args[1]));
+        }
+
+        Path file = Paths.get(args[0]);
+        AssignmentAlgorithmService service = new AssignmentAlgorithmService(
+                null, null, null, null, new SolverInstanceWriter(objectMapper));
+        AssignmentResponseModel result = service.replay(file, config);
+
+        System.out.printf("%s: %s%n", result.getStatus(), result.getMessage());
+        AssignmentMetadata metadata = result.getMetadata();
+        if (metadata == null) return;
+
+        System.out.printf("Assignments: %d, solution time %.2fs, config %s%n",
+                metadata.getTotalAssignmentsMade(), metadata.getSolutionTimeSeconds(), metadata.getConfigHash());
+        if (metadata.getSolverRuns() != null) {
+            for (SolverRunStatistics run : metadata.getSolverRuns()) {
+                System.out.printf("  %-12s %-10s wall %.2fs, %d conflicts, %d branches%n",
+                        run.getPhase(), run.getStatus(), run.getWallTimeSeconds(),
+                        run.getNumConflicts(), run.getNumBranches());
+            }
+        }
+    }
+}
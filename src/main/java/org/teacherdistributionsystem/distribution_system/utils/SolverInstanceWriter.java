@@ -0,0 +1,49 @@
+package org.teacherdistributionsystem.distribution_system.utils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.teacherdistributionsystem.distribution_system.models.others.SolverInstanceModel;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+@Component
+public class SolverInstanceWriter {
+    private static final String INSTANCES_DIR = "instances";
+    private static final DateTimeFormatter FILE_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    @Value("${spring.application.outputDir}")
+    private String outputDir;
+
+    private final ObjectMapper objectMapper;
+
+    public SolverInstanceWriter(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    public Path write(SolverInstanceModel instance) {
+        try {
+            Path dir = Paths.get(outputDir, INSTANCES_DIR);
+            Files.createDirectories(dir);
+            Path file = dir.resolve("session-" + instance.getSessionId() + "-"
+                    + LocalDateTime.now().format(FILE_TIMESTAMP) + ".json");
+            objectMapper.writeValue(file.toFile(), instance);
+            return file;
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    public SolverInstanceModel read(Path file) {
+        try {
+            return objectMapper.readValue(file.toFile(), SolverInstanceModel.class);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
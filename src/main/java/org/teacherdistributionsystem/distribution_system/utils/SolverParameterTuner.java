@@ -0,0 +1,195 @@
+package org.teacherdistributionsystem.distribution_system.utils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.teacherdistributionsystem.distribution_system.config.AssignmentConstraintConfig;
+import org.teacherdistributionsystem.distribution_system.enums.AssignmentStatus;
+import org.teacherdistributionsystem.distribution_system.models.others.SolverInstanceModel;
+import org.teacherdistributionsystem.distribution_system.models.others.SyntheticSessionSpec;
+import org.teacherdistributionsystem.distribution_system.models.others.TuningSearchSpace;
+import org.teacherdistributionsystem.distribution_system.models.others.TuningTrialResult;
+import org.teacherdistributionsystem.distribution_system.models.responses.assignment.AssignmentResponseModel;
+import org.teacherdistributionsystem.distribution_system.services.assignment.AssignmentAlgorithmService;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+
+/**
+ * Offline search over the CP-SAT parameters of AssignmentConstraintConfig (worker count,
+ * linearization level, presolve) and the relaxation batch schedule. Every candidate replays
+ * the whole corpus; the best one is written as a named profile through ConfigProfileStore
+ * and is then served by GET /api/assignment/config/presets/{name}.
+ *
+ * <pre>
+ * mvn -q compile exec:java \
+ *   -Dexec.mainClass=org.teacherdistributionsystem.distribution_system.utils.SolverParameterTuner \
+ *   -Dexec.args="tuned-default ./data/instances random:20 60"
+ * </pre>
+ * Arguments: profile name, corpus (a directory of exported instances or synthetic:N for N seeded
+ * synthetic sessions), grid or random:N, optional time limit per solve in seconds.
+ */
+public class SolverParameterTuner {
+    private static final double FAILURE_PENALTY = 3.0;
+
+    public enum Strategy {
+        GRID,
+        RANDOM
+    }
+
+    private final AssignmentAlgorithmService assignmentService;
+
+    public SolverParameterTuner(AssignmentAlgorithmService assignmentService) {
+        this.assignmentService = assignmentService;
+    }
+
+    /**
+     * Returns the trials sorted best first.
+     */
+    public List<TuningTrialResult> tune(List<SolverInstanceModel> corpus,
+                                        AssignmentConstraintConfig baseConfig,
+                                        TuningSearchSpace space,
+                                        Strategy strategy,
+                                        int randomTrials,
+                                        long seed) {
+        if (corpus.isEmpty()) {
+            throw new IllegalArgumentException("Tuning corpus is empty");
+        }
+
+        List<AssignmentConstraintConfig> candidates = candidates(baseConfig, space);
+        if (strategy == Strategy.RANDOM && randomTrials < candidates.size()) {
+            Collections.shuffle(candidates, new Random(seed));
+            candidates = new ArrayList<>(candidates.subList(0, randomTrials));
+        }
+
+        System.out.println("Tuning " + candidates.size() + " of " + space.size()
+                + " candidates on " + corpus.size() + " instances");
+
+        List<TuningTrialResult> results = new ArrayList<>();
+        for (AssignmentConstraintConfig candidate : candidates) {
+            TuningTrialResult result = evaluate(candidate, corpus);
+            System.out.printf("  workers=%d linearization=%d presolve=%s batch=%d%% growth=%.1f -> solved %d/%d, %.2fs, score %.2f%n",
+                    candidate.getNumSearchWorkers(), candidate.getLinearizationLevel(), candidate.isCpModelPresolve(),
+                    candidate.getRelaxationBatchPercent(), candidate.getRelaxationBatchGrowth(),
+                    result.getSolvedInstances(), result.getTotalInstances(), result.getTotalSeconds(), result.getScore());
+            results.add(result);
+        }
+
+        results.sort(Comparator.comparingDouble(TuningTrialResult::getScore));
+        return results;
+    }
+
+    public TuningTrialResult evaluate(AssignmentConstraintConfig candidate, List<SolverInstanceModel> corpus) {
+        int solved = 0;
+        double totalSeconds = 0;
+        double score = 0;
+
+        for (SolverInstanceModel instance : corpus) {
+            long start = System.nanoTime();
+            AssignmentResponseModel response = assignmentService.replay(instance, candidate);
+            double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+
+            totalSeconds += seconds;
+            if (response.getStatus() == AssignmentStatus.SUCCESS) {
+                solved++;
+                score += seconds;
+            } else {
+                score += FAILURE_PENALTY * Math.max(seconds, candidate.getMaxSolveTimeSeconds());
+            }
+        }
+
+        return TuningTrialResult.builder()
+                .config(candidate)
+                .solvedInstances(solved)
+                .totalInstances(corpus.size())
+                .totalSeconds(totalSeconds)
+                .score(score)
+                .build();
+    }
+
+    /**
+     * Full cartesian product of the search space, each applied on a copy of the base config.
+     */
+    static List<AssignmentConstraintConfig> candidates(AssignmentConstraintConfig baseConfig, TuningSearchSpace space) {
+        ObjectMapper objectMapper = new ObjectMapper();
+        List<AssignmentConstraintConfig> candidates = new ArrayList<>();
+
+        for (int workers : space.getNumSearchWorkers()) {
+            for (int linearization : space.getLinearizationLevels()) {
+                for (boolean presolve : space.getCpModelPresolve()) {
+                    for (int batchPercent : space.getRelaxationBatchPercents()) {
+                        for (double growth : space.getRelaxationBatchGrowths()) {
+                            AssignmentConstraintConfig candidate =
+                                    objectMapper.convertValue(baseConfig, AssignmentConstraintConfig.class);
+                            candidate.setNumSearchWorkers(workers);
+                            candidate.setLinearizationLevel(linearization);
+                            candidate.setCpModelPresolve(presolve);
+                            candidate.setRelaxationBatchPercent(batchPercent);
+                            candidate.setRelaxationBatchGrowth(growth);
+                            candidates.add(candidate);
+                        }
+                    }
+                }
+            }
+        }
+        return candidates;
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 3) {
+            System.err.println("Usage: SolverParameterTuner <profile-name> <instances-dir|synthetic:N> <grid|random:N> [seconds-per-solve]");
+            System.exit(1);
+        }
+
+        ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+        String outputDir = System.getProperty("outputDir", "./data");
+
+        AssignmentConstraintConfig baseConfig = AssignmentConstraintConfig.defaultConfig();
+        if (args.length > 3) {
+            baseConfig.setMaxSolveTimeSeconds(Integer.parseInt(args[3]));
+        }
+
+        List<SolverInstanceModel> corpus = loadCorpus(args[1], baseConfig, objectMapper);
+
+        Strategy strategy = args[2].equalsIgnoreCase("grid") ? Strategy.GRID : Strategy.RANDOM;
+        int randomTrials = strategy == Strategy.RANDOM ? Integer.parseInt(args[2].substring("random:".length())) : 0;
+
+        AssignmentAlgorithmService service = new AssignmentAlgorithmService(
+                null, null, null, null, new SolverInstanceWriter(objectMapper));
+        List<TuningTrialResult> results = new SolverParameterTuner(service)
+                .tune(corpus, baseConfig, TuningSearchSpace.builder().build(), strategy, randomTrials, 42L);
+
+        TuningTrialResult best = results.getFirst();
+        Path file = new ConfigProfileStore(outputDir, objectMapper).save(args[0], best.getConfig());
+        System.out.printf("Best: solved %d/%d, score %.2f -> %s%n",
+                best.getSolvedInstances(), best.getTotalInstances(), best.getScore(), file);
+    }
+
+    private static List<SolverInstanceModel> loadCorpus(String source, AssignmentConstraintConfig config,
+                                                        ObjectMapper objectMapper) throws IOException {
+        List<SolverInstanceModel> corpus = new ArrayList<>();
+
+        if (source.startsWith("synthetic:")) {
+            int count = Integer.parseInt(source.substring("synthetic:".length()));
+            for (int seed = 1; seed <= count; seed++) {
+                SyntheticSessionSpec spec = SyntheticSessionSpec.builder().seed(seed).build();
+                corpus.add(SyntheticSessionGenerator.toInstance(SyntheticSessionGenerator.generate(spec), config));
+            }
+            return corpus;
+        }
+
+        SolverInstanceWriter reader = new SolverInstanceWriter(objectMapper);
+        try (Stream<Path> files = Files.list(Paths.get(source))) {
+            for (Path file : files.filter(f -> f.toString().endsWith(".json")).sorted().toList()) {
+                corpus.add(reader.read(file));
+            }
+        }
+        return corpus;
+    }
+}
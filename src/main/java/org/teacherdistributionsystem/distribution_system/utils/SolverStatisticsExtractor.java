@@ -0,0 +1,131 @@
+package org.teacherdistributionsystem.distribution_system.utils;
+
+import com.google.ortools.sat.CpModel;
+import com.google.ortools.sat.CpSolver;
+import com.google.ortools.sat.CpSolverResponse;
+import com.google.ortools.sat.CpSolverStatus;
+import org.teacherdistributionsystem.distribution_system.models.others.SolverRunStatistics;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Reads SolverRunStatistics out of a finished CpSolver. The response proto has the
+ * search counters; presolve time, presolved model size and worker count are only
+ * printed in the solve log, so they are only filled when the solver ran with
+ * {@link #enableResponseLog(CpSolver)}.
+ * <p>
+ * The parsing expects the CP-SAT log of OR-Tools 9.12 (ortools-java in the pom):
+ * <pre>
+ * Starting presolve at 0.00s
+ * ...
+ * Presolved optimization model '': (model_fingerprint: 0x...)
+ * #Variables: 1'200 (#bools: 1'200 in objective)
+ * #kBoolOr: 40 (#literals: 300)
+ * #kLinear2: 1'050
+ *
+ * Starting search at 0.05s with 8 workers.
+ * </pre>
+ * Counts may carry ' thousands separators. The log format is not a stable API: after
+ * an OR-Tools upgrade, lines that no longer match leave the fields null, they never fail a solve.
+ */
+public class SolverStatisticsExtractor {
+    private static final Pattern WORKERS = Pattern.compile("Starting search at [0-9.]+s with (\\d+) workers");
+    private static final Pattern PRESOLVE_START = Pattern.compile("Starting presolve at ([0-9.]+)s");
+    private static final Pattern SEARCH_START = Pattern.compile("Starting search at ([0-9.]+)s");
+    private static final Pattern COUNT_LINE = Pattern.compile("^#(Variables|k\\w+): ([0-9']+)");
+
+    private SolverStatisticsExtractor() {
+    }
+
+    public static void enableResponseLog(CpSolver solver) {
+        solver.getParameters()
+                .setLogSearchProgress(true)
+                .setLogToResponse(true)
+                .setLogToStdout(false);
+    }
+
+    public static SolverRunStatistics extract(String phase, CpModel model, CpSolver solver,
+                                              CpSolverStatus status, Map<String, Long> modelBuildNanos) {
+        CpSolverResponse response = solver.response();
+        boolean hasSolution = status == CpSolverStatus.OPTIMAL || status == CpSolverStatus.FEASIBLE;
+        boolean hasObjective = model.getBuilder().hasObjective();
+
+        SolverRunStatistics.SolverRunStatisticsBuilder statistics = SolverRunStatistics.builder()
+                .phase(phase)
+                .status(status.name())
+                .numVariables(model.getBuilder().getVariablesCount())
+                .numConstraints(model.getBuilder().getConstraintsCount())
+                .numConflicts(response.getNumConflicts())
+                .numBranches(response.getNumBranches())
+                .wallTimeSeconds(response.getWallTime())
+                .userTimeSeconds(response.getUserTime());
+
+        if (hasSolution && hasObjective) {
+            double objective = response.getObjectiveValue();
+            double bound = response.getBestObjectiveBound();
+            statistics.objectiveValue(objective)
+                    .bestObjectiveBound(bound)
+                    .gap(Math.abs(objective - bound) / Math.max(1.0, Math.abs(objective)));
+        }
+
+        if (modelBuildNanos != null && !modelBuildNanos.isEmpty()) {
+            Map<String, Double> buildMillis = new LinkedHashMap<>();
+            modelBuildNanos.forEach((family, nanos) -> buildMillis.put(family, nanos / 1_000_000.0));
+            statistics.modelBuildMillis(buildMillis);
+        }
+
+        parseSolveLog(response.getSolveLog(), statistics);
+        return statistics.build();
+    }
+
+    private static void parseSolveLog(String log, SolverRunStatistics.SolverRunStatisticsBuilder statistics) {
+        if (log == null || log.isEmpty()) return;
+
+        Double presolveStart = null;
+        boolean inPresolvedModel = false;
+        int presolvedConstraints = 0;
+
+        for (String line : log.split("\n")) {
+            Matcher matcher = PRESOLVE_START.matcher(line);
+            if (matcher.find()) {
+                presolveStart = Double.parseDouble(matcher.group(1));
+                continue;
+            }
+
+            matcher = SEARCH_START.matcher(line);
+            if (matcher.find()) {
+                if (presolveStart != null) {
+                    statistics.presolveTimeSeconds(Double.parseDouble(matcher.group(1)) - presolveStart);
+                }
+                Matcher workers = WORKERS.matcher(line);
+                if (workers.find()) {
+                    statistics.numWorkers(Integer.parseInt(workers.group(1)));
+                }
+                continue;
+            }
+
+            // Block "Presolved ... model" lists #Variables then one #kType line per constraint type
+            if (line.startsWith("Presolved ")) {
+                inPresolvedModel = true;
+                continue;
+            }
+            if (inPresolvedModel) {
+                matcher = COUNT_LINE.matcher(line);
+                if (matcher.find()) {
+                    int count = Integer.parseInt(matcher.group(2).replace("'", ""));
+                    if (matcher.group(1).equals("Variables")) {
+                        statistics.presolvedVariables(count);
+                    } else {
+                        presolvedConstraints += count;
+                    }
+                } else if (line.isBlank()) {
+                    statistics.presolvedConstraints(presolvedConstraints);
+                    inPresolvedModel = false;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package org.teacherdistributionsystem.distribution_system.utils;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.teacherdistributionsystem.distribution_system.config.AssignmentConstraintConfig;
+import org.teacherdistributionsystem.distribution_system.enums.GradeType;
+import org.teacherdistributionsystem.distribution_system.models.others.SyntheticSessionSpec;
+import org.teacherdistributionsystem.distribution_system.models.responses.assignment.SolverReadinessResponse;
+import org.teacherdistributionsystem.distribution_system.services.assignment.AssignmentAlgorithmService;
+
+import java.util.Map;
+
+/**
+ * Loads OR-Tools in the background once the application is up, then optionally solves a
+ * small synthetic session so the JIT and the native solver are warm before the first real
+ * solve. The warm-up uses its own service instance and never touches the database.
+ */
+@Component
+public class SolverWarmup {
+    private static final Logger logger = LoggerFactory.getLogger(SolverWarmup.class);
+
+    @Value("${spring.application.solverWarmup:true}")
+    private boolean warmupEnabled;
+
+    private volatile boolean warmedUp;
+    private volatile long warmupMillis;
+    private volatile String error;
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        try {
+            OrToolsRuntime.ensureLoaded();
+            if (warmupEnabled) {
+                warmUp();
+            }
+        } catch (Throwable e) {
+            error = e.getMessage();
+            logger.error("Solver warm-up failed", e);
+        }
+    }
+
+    private void warmUp() {
+        AssignmentConstraintConfig config = AssignmentConstraintConfig.defaultConfig();
+        config.setEqualAssignmentMode(AssignmentConstraintConfig.ConstraintMode.SOFT);
+        config.setOwnerPresenceMode(AssignmentConstraintConfig.ConstraintMode.SOFT);
+        config.setMaxSolveTimeSeconds(5);
+
+        SyntheticSessionSpec spec = SyntheticSessionSpec.builder()
+                .teachersPerGrade(Map.of(GradeType.MA, 6, GradeType.AS, 6))
+                .numDays(2)
+                .seancesPerDay(2)
+                .minRoomsPerSlot(1)
+                .maxRoomsPerSlot(2)
+                .build();
+
+        long start = System.currentTimeMillis();
+        new AssignmentAlgorithmService(null, null, null, null, null)
+                .replay(SyntheticSessionGenerator.toInstance(SyntheticSessionGenerator.generate(spec), config), config);
+        warmupMillis = System.currentTimeMillis() - start;
+        warmedUp = true;
+        logger.info("Solver warm-up finished in {} ms", warmupMillis);
+    }
+
+    public SolverReadinessResponse getReadiness() {
+        return SolverReadinessResponse.builder()
+                .ready(OrToolsRuntime.isLoaded())
+                .nativeLoadMillis(OrToolsRuntime.getLoadMillis())
+                .warmupEnabled(warmupEnabled)
+                .warmedUp(warmedUp)
+                .warmupMillis(warmupMillis)
+                .error(error)
+                .build();
+    }
+}
@@ -0,0 +1,379 @@
+package org.teacherdistributionsystem.distribution_system.utils;
+
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.teacherdistributionsystem.distribution_system.config.AssignmentConstraintConfig;
+import org.teacherdistributionsystem.distribution_system.enums.GradeType;
+import org.teacherdistributionsystem.distribution_system.enums.SeanceType;
+import org.teacherdistributionsystem.distribution_system.enums.SemesterType;
+import org.teacherdistributionsystem.distribution_system.enums.SessionType;
+import org.teacherdistributionsystem.distribution_system.models.others.SolverInstanceExamModel;
+import org.teacherdistributionsystem.distribution_system.models.others.SolverInstanceModel;
+import org.teacherdistributionsystem.distribution_system.models.others.SyntheticSessionModel;
+import org.teacherdistributionsystem.distribution_system.models.others.SyntheticSessionModel.SyntheticExam;
+import org.teacherdistributionsystem.distribution_system.models.others.SyntheticSessionModel.SyntheticTeacher;
+import org.teacherdistributionsystem.distribution_system.models.others.SyntheticSessionModel.SyntheticUnavailability;
+import org.teacherdistributionsystem.distribution_system.models.others.SyntheticSessionSpec;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+
+/**
+ * Builds seeded synthetic exam sessions for load and scale testing.
+ * A generated session can be written as the three Excel inputs expected by
+ * ExcelImportOrchestrator, turned into a SolverInstanceModel for DB-free
+ * replay, or persisted with SyntheticSessionLoader.
+ */
+public class SyntheticSessionGenerator {
+    public static final String EXAM_DATA_FILE = "exam_data.xlsx";
+    public static final String TEACHERS_LIST_FILE = "teachers_list.xlsx";
+    public static final String TEACHERS_UNAVAILABILITY_FILE = "teachers_unavailability.xlsx";
+
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+    private static final DateTimeFormatter DATE_TIME_FORMAT = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm:ss");
+    private static final Map<DayOfWeek, String> FRENCH_DAYS = Map.of(
+            DayOfWeek.MONDAY, "Lundi",
+            DayOfWeek.TUESDAY, "Mardi",
+            DayOfWeek.WEDNESDAY, "Mercredi",
+            DayOfWeek.THURSDAY, "Jeudi",
+            DayOfWeek.FRIDAY, "Vendredi",
+            DayOfWeek.SATURDAY, "Samedi",
+            DayOfWeek.SUNDAY, "Dimanche"
+    );
+    private static final String EXAM_TYPE = "Examen";
+    private static final int CODE_SMARTEX_OFFSET = 1000;
+
+    private SyntheticSessionGenerator() {
+    }
+
+    public static SyntheticSessionModel generate(SyntheticSessionSpec spec) {
+        validate(spec);
+        Random random = new Random(spec.getSeed());
+
+        List<SyntheticTeacher> teachers = generateTeachers(spec, random);
+        List<SyntheticExam> exams = generateExams(spec, teachers.size(), random);
+        List<SyntheticUnavailability> unavailabilities = generateUnavailabilities(spec, teachers, random);
+
+        return SyntheticSessionModel.builder()
+                .spec(spec)
+                .teachers(teachers)
+                .exams(exams)
+                .unavailabilities(unavailabilities)
+                .build();
+    }
+
+    private static void validate(SyntheticSessionSpec spec) {
+        if (spec.getNumDays() < 1) {
+            throw new IllegalArgumentException("numDays must be at least 1");
+        }
+        if (spec.getSeancesPerDay() < 1 || spec.getSeancesPerDay() > SeanceType.values().length) {
+            throw new IllegalArgumentException("seancesPerDay must be between 1 and " + SeanceType.values().length);
+        }
+        if (spec.getMinRoomsPerSlot() < 0 || spec.getMaxRoomsPerSlot() < spec.getMinRoomsPerSlot()) {
+            throw new IllegalArgumentException("Invalid rooms per slot range");
+        }
+        int totalTeachers = spec.getTeachersPerGrade().values().stream().mapToInt(Integer::intValue).sum();
+        if (totalTeachers < 1) {
+            throw new IllegalArgumentException("At least one teacher is required");
+        }
+    }
+
+    private static List<SyntheticTeacher> generateTeachers(SyntheticSessionSpec spec, Random random) {
+        List<SyntheticTeacher> teachers = new ArrayList<>();
+        // EnumMap keeps a stable grade order, whatever map the caller passed
+        Map<GradeType, Integer> perGrade = new EnumMap<>(spec.getTeachersPerGrade());
+
+        for (Map.Entry<GradeType, Integer> entry : perGrade.entrySet()) {
+            for (int i = 0; i < entry.getValue(); i++) {
+                int index = teachers.size();
+                String nom = "NOM" + index;
+                String prenom = "Prenom" + index;
+                teachers.add(SyntheticTeacher.builder()
+                        .nom(nom)
+                        .prenom(prenom)
+                        .abrv(prenom.charAt(0) + "." + nom)
+                        .email("teacher" + index + ".s" + spec.getSeed() + "@synthetic.test")
+                        .grade(entry.getKey())
+                        .codeSmartex(CODE_SMARTEX_OFFSET + index)
+                        .participeSurveillance(random.nextDouble() >= spec.getNonParticipatingRatio())
+                        .build());
+            }
+        }
+        return teachers;
+    }
+
+    private static List<SyntheticExam> generateExams(SyntheticSessionSpec spec, int numTeachers, Random random) {
+        // Zipf weights over a shuffled ranking, so the busiest owners are not always the first grade
+        List<Integer> ranking = new ArrayList<>();
+        for (int t = 0; t < numTeachers; t++) {
+            ranking.add(t);
+        }
+        Collections.shuffle(ranking, random);
+
+        double[] cumulative = new double[numTeachers];
+        double total = 0;
+        for (int rank = 0; rank < numTeachers; rank++) {
+            total += 1.0 / Math.pow(rank + 1, spec.getOwnerConcentration());
+            cumulative[rank] = total;
+        }
+
+        List<SyntheticExam> exams = new ArrayList<>();
+        int roomSpread = spec.getMaxRoomsPerSlot() - spec.getMinRoomsPerSlot() + 1;
+
+        for (int day = 0; day < spec.getNumDays(); day++) {
+            for (int seance = 0; seance < spec.getSeancesPerDay(); seance++) {
+                int rooms = spec.getMinRoomsPerSlot() + random.nextInt(roomSpread);
+                for (int r = 0; r < rooms; r++) {
+                    int rank = Arrays.binarySearch(cumulative, random.nextDouble() * total);
+                    if (rank < 0) rank = -rank - 1;
+                    rank = Math.min(rank, numTeachers - 1);
+
+                    exams.add(SyntheticExam.builder()
+                            .day(day)
+                            .seance(seance)
+                            .room(String.valueOf(101 + r))
+                            .ownerIndex(ranking.get(rank))
+                            .examType(EXAM_TYPE)
+                            .build());
+                }
+            }
+        }
+        return exams;
+    }
+
+    private static List<SyntheticUnavailability> generateUnavailabilities(SyntheticSessionSpec spec,
+                                                                         List<SyntheticTeacher> teachers,
+                                                                         Random random) {
+        List<SyntheticUnavailability> unavailabilities = new ArrayList<>();
+        int slots = spec.getNumDays() * spec.getSeancesPerDay();
+        int target = (int) Math.round(spec.getUnavailabilityDensity() * slots);
+
+        for (int t = 0; t < teachers.size(); t++) {
+            boolean[][] marked = new boolean[spec.getNumDays()][spec.getSeancesPerDay()];
+            int count = 0;
+            int attempts = 0;
+
+            while (count < target && attempts++ < slots * 4) {
+                int day = random.nextInt(spec.getNumDays());
+                if (random.nextDouble() < spec.getUnavailabilityClustering()) {
+                    for (int s = 0; s < spec.getSeancesPerDay() && count < target; s++) {
+                        if (!marked[day][s]) {
+                            marked[day][s] = true;
+                            count++;
+                        }
+                    }
+                } else {
+                    int s = random.nextInt(spec.getSeancesPerDay());
+                    if (!marked[day][s]) {
+                        marked[day][s] = true;
+                        count++;
+                    }
+                }
+            }
+
+            for (int day = 0; day < spec.getNumDays(); day++) {
+                for (int s = 0; s < spec.getSeancesPerDay(); s++) {
+                    if (marked[day][s]) {
+                        unavailabilities.add(SyntheticUnavailability.builder()
+                                .teacherIndex(t)
+                                .day(day)
+                                .seance(s)
+                                .build());
+                    }
+                }
+            }
+        }
+        return unavailabilities;
+    }
+
+    /**
+     * Solver instance equivalent to importing the session, without touching the database.
+     * Teacher ids are index + 1 and every exam has its own (day, seance, room) key.
+     */
+    public static SolverInstanceModel toInstance(SyntheticSessionModel session, AssignmentConstraintConfig config) {
+        SyntheticSessionSpec spec = session.getSpec();
+        List<SyntheticTeacher> teachers = session.getTeachers();
+        int numTeachers = teachers.size();
+        int numSeances = SeanceType.values().length;
+
+        Long[] teacherIds = new Long[numTeachers];
+        String[] names = new String[numTeachers];
+        String[] emails = new String[numTeachers];
+        String[] grades = new String[numTeachers];
+        Boolean[] participate = new Boolean[numTeachers];
+        int[] priorities = new int[numTeachers];
+        int[] quotas = new int[numTeachers];
+
+        for (int t = 0; t < numTeachers; t++) {
+            SyntheticTeacher teacher = teachers.get(t);
+            teacherIds[t] = (long) (t + 1);
+            names[t] = teacher.getPrenom() + " " + teacher.getNom();
+            emails[t] = teacher.getEmail();
+            grades[t] = teacher.getGrade().name();
+            participate[t] = teacher.isParticipeSurveillance();
+            priorities[t] = spec.getPriorityPerGrade().getOrDefault(teacher.getGrade(), 0);
+            quotas[t] = spec.getQuotaPerGrade().getOrDefault(teacher.getGrade(), 0);
+        }
+
+        boolean[][][] unavailable = new boolean[numTeachers][spec.getNumDays()][numSeances];
+        for (SyntheticUnavailability u : session.getUnavailabilities()) {
+            unavailable[u.getTeacherIndex()][u.getDay()][u.getSeance()] = true;
+        }
+
+        List<SolverInstanceExamModel> exams = new ArrayList<>();
+        Map<String, Set<Long>> ownersByKey = new HashMap<>();
+        for (int e = 0; e < session.getExams().size(); e++) {
+            SyntheticExam exam = session.getExams().get(e);
+            SeanceType seance = SeanceType.values()[exam.getSeance()];
+            Long ownerId = teacherIds[exam.getOwnerIndex()];
+
+            exams.add(SolverInstanceExamModel.builder()
+                    .examId("SYN-" + e)
+                    .day(exam.getDay())
+                    .seance(exam.getSeance())
+                    .room(exam.getRoom())
+                    .ownerTeacherId(ownerId)
+                    .requiredSupervisors(spec.getSupervisorsPerExam())
+                    .examDate(spec.getStartDate().plusDays(exam.getDay()))
+                    .startTime(seance.getStartTime())
+                    .endTime(seance.getEndTime())
+                    .build());
+            ownersByKey.computeIfAbsent(exam.getDay() + "_" + exam.getSeance() + "_" + exam.getRoom(),
+                    k -> new HashSet<>()).add(ownerId);
+        }
+
+        return SolverInstanceModel.builder()
+                .sessionId(-spec.getSeed())
+                .sessionName("SYNTHETIC-" + spec.getSeed())
+                .numExamDays(spec.getNumDays())
+                .teacherIds(teacherIds)
+                .teacherNames(names)
+                .teacherEmails(emails)
+                .teacherGrades(grades)
+                .teacherParticipateSurveillance(participate)
+                .teacherPriorities(priorities)
+                .baseQuotas(quotas)
+                .teacherUnavailable(unavailable)
+                .exams(exams)
+                .examOwnersByKey(ownersByKey)
+                .config(config)
+                .exportedAt(LocalDateTime.now())
+                .build();
+    }
+
+    /**
+     * Writes the exam data, teachers list and unavailability workbooks into {@code directory}.
+     * Returns the paths in the argument order of ExcelImportOrchestrator.importData.
+     * Unavailabilities are written by French day name, so the importer folds days
+     * past the first week onto their first occurrence.
+     */
+    public static List<Path> writeExcelInputs(SyntheticSessionModel session, Path directory) throws IOException {
+        Files.createDirectories(directory);
+        Path examData = directory.resolve(EXAM_DATA_FILE);
+        Path teachersList = directory.resolve(TEACHERS_LIST_FILE);
+        Path unavailability = directory.resolve(TEACHERS_UNAVAILABILITY_FILE);
+
+        writeExamData(session, examData);
+        writeTeachersList(session, teachersList);
+        writeUnavailability(session, unavailability);
+
+        return List.of(examData, teachersList, unavailability);
+    }
+
+    private static void writeExamData(SyntheticSessionModel session, Path file) throws IOException {
+        LocalDate startDate = session.getSpec().getStartDate();
+        try (Workbook workbook = new XSSFWorkbook()) {
+            Sheet sheet = workbook.createSheet("Examens");
+            writeHeader(sheet, "Date", "Heure Debut", "Heure Fin", "Session", "Type", "Semestre", "Enseignant", "Salle");
+
+            int rowNum = 1;
+            for (SyntheticExam exam : session.getExams()) {
+                LocalDate date = startDate.plusDays(exam.getDay());
+                SeanceType seance = SeanceType.values()[exam.getSeance()];
+                Row row = sheet.createRow(rowNum++);
+                row.createCell(0).setCellValue(date.format(DATE_FORMAT));
+                row.createCell(1).setCellValue(date.atTime(seance.getStartTime()).format(DATE_TIME_FORMAT));
+                row.createCell(2).setCellValue(date.atTime(seance.getEndTime()).format(DATE_TIME_FORMAT));
+                row.createCell(3).setCellValue(SessionType.P.name());
+                row.createCell(4).setCellValue(exam.getExamType());
+                row.createCell(5).setCellValue(SemesterType.S1.getLabel());
+                row.createCell(6).setCellValue(session.getTeachers().get(exam.getOwnerIndex()).getCodeSmartex());
+                row.createCell(7).setCellValue(exam.getRoom());
+            }
+            save(workbook, file);
+        }
+    }
+
+    private static void writeTeachersList(SyntheticSessionModel session, Path file) throws IOException {
+        try (Workbook workbook = new XSSFWorkbook()) {
+            Sheet sheet = workbook.createSheet("Enseignants");
+            writeHeader(sheet, "Nom", "Prenom", "Abreviation", "Email", "Grade", "Code Smartex", "Participe Surveillance");
+
+            int rowNum = 1;
+            for (SyntheticTeacher teacher : session.getTeachers()) {
+                Row row = sheet.createRow(rowNum++);
+                row.createCell(0).setCellValue(teacher.getNom());
+                row.createCell(1).setCellValue(teacher.getPrenom());
+                row.createCell(2).setCellValue(teacher.getAbrv());
+                row.createCell(3).setCellValue(teacher.getEmail());
+                row.createCell(4).setCellValue(teacher.getGrade().name());
+                row.createCell(5).setCellValue(teacher.getCodeSmartex());
+                row.createCell(6).setCellValue(teacher.isParticipeSurveillance());
+            }
+            save(workbook, file);
+        }
+    }
+
+    private static void writeUnavailability(SyntheticSessionModel session, Path file) throws IOException {
+        LocalDate startDate = session.getSpec().getStartDate();
+
+        // One row per (teacher, day) with the seances joined, as in the real files
+        Map<String, List<String>> seancesByTeacherDay = new LinkedHashMap<>();
+        for (SyntheticUnavailability u : session.getUnavailabilities()) {
+            seancesByTeacherDay.computeIfAbsent(u.getTeacherIndex() + "_" + u.getDay(), k -> new ArrayList<>())
+                    .add(SeanceType.values()[u.getSeance()].name());
+        }
+
+        try (Workbook workbook = new XSSFWorkbook()) {
+            Sheet sheet = workbook.createSheet("Indisponibilites");
+            writeHeader(sheet, "Enseignant", "Nom", "Prenom", "Jour", "Seances");
+
+            int rowNum = 1;
+            for (Map.Entry<String, List<String>> entry : seancesByTeacherDay.entrySet()) {
+                String[] parts = entry.getKey().split("_");
+                SyntheticTeacher teacher = session.getTeachers().get(Integer.parseInt(parts[0]));
+                LocalDate date = startDate.plusDays(Integer.parseInt(parts[1]));
+
+                Row row = sheet.createRow(rowNum++);
+                row.createCell(0).setCellValue(teacher.getAbrv());
+                row.createCell(1).setCellValue(teacher.getNom());
+                row.createCell(2).setCellValue(teacher.getPrenom());
+                row.createCell(3).setCellValue(FRENCH_DAYS.get(date.getDayOfWeek()));
+                row.createCell(4).setCellValue(String.join(",", entry.getValue()));
+            }
+            save(workbook, file);
+        }
+    }
+
+    private static void writeHeader(Sheet sheet, String... titles) {
+        Row header = sheet.createRow(0);
+        for (int i = 0; i < titles.length; i++) {
+            header.createCell(i).setCellValue(titles[i]);
+        }
+    }
+
+    private static void save(Workbook workbook, Path file) throws IOException {
+        try (OutputStream out = Files.newOutputStream(file)) {
+            workbook.write(out);
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package org.teacherdistributionsystem.distribution_system.utils;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+public class TransactionHooks {
+
+    /**
+     * Runs the action once the current transaction commits, or at once outside a transaction.
+     * Not for @TransactionalEventListener code: it already runs after the commit and
+     * synchronizations registered there are never called.
+     */
+    public static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,197 @@
+package org.teacherdistributionsystem.distribution_system.repositories;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.teacherdistributionsystem.distribution_system.enums.SeanceType;
+import org.teacherdistributionsystem.distribution_system.repositories.assignement.ExamRepository;
+import org.teacherdistributionsystem.distribution_system.repositories.assignement.TeacherExamAssignmentRepository;
+import org.teacherdistributionsystem.distribution_system.repositories.teacher.TeacherUnavailabilityRepository;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs the hot assignment, exam and unavailability repository methods, captures the SQL
+ * Hibernate sends for them and checks that H2 EXPLAIN plans each one on its entity index,
+ * not on a table or FK index scan. The tables are filled with a few sessions worth of
+ * rows and ANALYZEd first, on empty tables H2 has no selectivity to choose between indexes.
+ * ANALYZE commits, so the rows are written outside the test transactions and truncated
+ * once the class is done; the statement inspector property also gives this class an
+ * embedded database of its own, other @DataJpaTest classes never see the rows.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "org.teacherdistributionsystem.distribution_system.repositories.QueryPlanIndexTest$SqlCapture")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class QueryPlanIndexTest {
+
+    private static final List<String> SEEDED_TABLES =
+            List.of("teacher_exam_assignments", "teacher_unavailability", "exams", "exam_sessions");
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private TeacherExamAssignmentRepository assignmentRepository;
+
+    @Autowired
+    private ExamRepository examRepository;
+
+    @Autowired
+    private TeacherUnavailabilityRepository teacherUnavailabilityRepository;
+
+    /**
+     * Records every statement Hibernate prepares, native queries included
+     */
+    public static class SqlCapture implements StatementInspector {
+        static final List<String> statements = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            statements.add(sql);
+            return sql;
+        }
+    }
+
+    @BeforeAll
+    void seedSessions() throws SQLException {
+        // 2 sessions, 10 days x 4 seances, 200 teachers; FKs are off, only the shape matters
+        execute("SET REFERENTIAL_INTEGRITY FALSE",
+                "INSERT INTO exam_sessions (id, academic_year, semester_code, session_libelle, start_date, end_date, " +
+                        "num_exam_days, current_run_id) " +
+                        "SELECT X, '2025/2026', 'S1', 'Principale', DATE '2026-01-05', DATE '2026-01-16', 10, X + 4 " +
+                        "FROM SYSTEM_RANGE(1, 2)",
+                "INSERT INTO exams (id, session_id, teacher_id, exam_date, jour_numero, seance, start_time, end_time, " +
+                        "num_rooms, required_supervisors, exam_type) " +
+                        "SELECT 'E' || X, MOD(X, 2) + 1, MOD(X, 200) + 1, DATE '2026-01-05', MOD(X / 2, 10) + 1, " +
+                        "'S' || (MOD(X / 20, 4) + 1), TIME '08:30:00', TIME '10:00:00', 'A' || MOD(X, 60), 2, 'EXAMEN' " +
+                        "FROM SYSTEM_RANGE(1, 4000)",
+                "INSERT INTO teacher_unavailability (session_id, teacher_id, numero_jour, seance) " +
+                        "SELECT MOD(X, 2) + 1, MOD(X, 200) + 1, MOD(X / 2, 10) + 1, 'S' || (MOD(X / 20, 4) + 1) " +
+                        "FROM SYSTEM_RANGE(1, 3000)",
+                "INSERT INTO teacher_exam_assignments (session_id, run_id, exam_id, teacher_id, exam_day, seance) " +
+                        "SELECT MOD(X, 2) + 1, MOD(X, 6) + 1, 'E' || MOD(X, 4000), MOD(X, 200) + 1, MOD(X / 2, 10) + 1, " +
+                        "MOD(X / 20, 4) + 1 FROM SYSTEM_RANGE(1, 24000)",
+                "SET REFERENTIAL_INTEGRITY TRUE",
+                "ANALYZE");
+    }
+
+    @AfterAll
+    void truncateSessions() throws SQLException {
+        List<String> statements = new ArrayList<>();
+        statements.add("SET REFERENTIAL_INTEGRITY FALSE");
+        SEEDED_TABLES.forEach(table -> statements.add("TRUNCATE TABLE " + table));
+        statements.add("SET REFERENTIAL_INTEGRITY TRUE");
+        execute(statements.toArray(String[]::new));
+    }
+
+    @BeforeEach
+    void clearCapturedStatements() {
+        SqlCapture.statements.clear();
+    }
+
+    private void execute(String... sql) throws SQLException {
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            for (String s : sql) {
+                statement.execute(s);
+            }
+        }
+    }
+
+    /**
+     * EXPLAINs the last statement Hibernate sent, bound to the same values in SQL order
+     */
+    private void assertLastStatementUsesIndex(String index, Object... parameters) throws SQLException {
+        assertFalse(SqlCapture.statements.isEmpty(), "No statement was captured");
+        String sql = SqlCapture.statements.get(SqlCapture.statements.size() - 1);
+
+        String plan;
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement explain = connection.prepareStatement("EXPLAIN " + sql)) {
+            for (int i = 0; i < parameters.length; i++) {
+                explain.setObject(i + 1, parameters[i]);
+            }
+            try (ResultSet result = explain.executeQuery()) {
+                result.next();
+                plan = result.getString(1);
+            }
+        }
+        assertTrue(plan.toUpperCase().contains(index.toUpperCase()),
+                "Expected " + index + " in the plan of:\n" + sql + "\nbut got:\n" + plan);
+    }
+
+    // ============= TEACHER EXAM ASSIGNMENTS =============
+
+    @Test
+    void testAssignments_GetAllBySession_UsesRunIndex() throws SQLException {
+        assignmentRepository.getAllBySession(1L);
+        assertLastStatementUsesIndex("idx_assignments_run_teacher", 1L);
+    }
+
+    @Test
+    void testAssignments_ExistsCurrentBySession_UsesRunIndex() throws SQLException {
+        assignmentRepository.existsCurrentBySessionId(1L);
+        assertLastStatementUsesIndex("idx_assignments_run_teacher", 1L);
+    }
+
+    @Test
+    void testAssignments_CurrentRunByTeacher_UsesRunTeacherIndex() throws SQLException {
+        assignmentRepository.findCurrentByTeacherIdAndSessionId(7L, 1L);
+        assertLastStatementUsesIndex("idx_assignments_run_teacher", 7L, 1L);
+    }
+
+    @Test
+    void testAssignments_CurrentRunByExam_UsesRunExamIndex() throws SQLException {
+        assignmentRepository.findCurrentByExamIdAndSessionId("E1", 1L);
+        assertLastStatementUsesIndex("idx_assignments_run_exam", "E1", 1L);
+    }
+
+    @Test
+    void testAssignments_SwapLookupByTeacherAndSlot_UsesRunTeacherIndex() throws SQLException {
+        assignmentRepository.findAssignmentIdByTeacherAndDayAndSeance(7L, 2, 1);
+        assertLastStatementUsesIndex("idx_assignments_run_teacher", 7L, 2, 1);
+    }
+
+    @Test
+    void testAssignments_PruneRuns_UsesRunIndex() throws SQLException {
+        assignmentRepository.deleteByRunIdIn(List.of(1L, 2L));
+        assertLastStatementUsesIndex("idx_assignments_run_teacher", 1L, 2L);
+    }
+
+    // ============= EXAMS =============
+
+    @Test
+    void testExams_UpdateRequiredSupervisorsOfRelatedExams_UsesSessionSlotIndex() throws SQLException {
+        examRepository.updateRequiredSupervisorsForRelatedExams(1L, 2, SeanceType.S1, "A12", 3);
+        assertLastStatementUsesIndex("idx_exams_session_slot", 3, 1L, 2, "S1", "A12");
+    }
+
+    @Test
+    void testExams_ExistsExamForTeacherInSlot_UsesTeacherSlotIndex() throws SQLException {
+        examRepository.existsExamForTeacherInSessionAndDayAndSeance(7L, 1L, 2, "S1");
+        assertLastStatementUsesIndex("idx_exams_teacher_slot", 7L, 1L, 2, "S1");
+    }
+
+    // ============= TEACHER UNAVAILABILITY =============
+
+    @Test
+    void testUnavailability_ExistsForTeacherInSlot_UsesTeacherSlotIndex() throws SQLException {
+        teacherUnavailabilityRepository.existsByTeacherAndSessionAndExamDayAndSeance(7L, 1L, 2, "S1");
+        assertLastStatementUsesIndex("idx_unavailability_teacher_slot", 7L, 1L, 2, "S1");
+    }
+}
@@ -0,0 +1,119 @@
+package org.teacherdistributionsystem.distribution_system.repositories;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.teacherdistributionsystem.distribution_system.entities.teacher.Teacher;
+import org.teacherdistributionsystem.distribution_system.repositories.teacher.TeacherCreditWriter;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Runs the MERGE of TeacherCreditWriter on H2. More teachers than one chunk holds are
+ * updated, so the last chunk is a partial one; ids without a teacher are skipped.
+ */
+@DataJpaTest
+@Import(TeacherCreditWriter.class)
+class TeacherCreditWriterTest {
+
+    private static final int TEACHERS = 1203; // Two full chunks of 500 and a partial one
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TeacherCreditWriter teacherCreditWriter;
+
+    private final List<Long> teacherIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < TEACHERS; i++) {
+            Teacher teacher = Teacher.builder()
+                    .prenom("Test")
+                    .nom("Teacher " + i)
+                    .email("credit-test-" + i + "@example.com")
+                    .gradeCode("MA")
+                    .participeSurveillance(true)
+                    .quotaCredit(-1)
+                    .build();
+            entityManager.persist(teacher);
+            teacherIds.add(teacher.getId());
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    private Map<Long, Integer> storedCredits() {
+        Map<Long, Integer> credits = new HashMap<>();
+        jdbcTemplate.query("SELECT id, quota_credit FROM teachers", rs -> {
+            credits.put(rs.getLong(1), (Integer) rs.getObject(2));
+        });
+        return credits;
+    }
+
+    @Test
+    void testUpdateCredits_AcrossChunks_UpdatesEveryTeacher() {
+        Map<Long, Integer> credits = new LinkedHashMap<>();
+        for (int i = 0; i < teacherIds.size(); i++) {
+            credits.put(teacherIds.get(i), i % 7);
+        }
+
+        assertEquals(TEACHERS, teacherCreditWriter.updateCredits(credits));
+
+        Map<Long, Integer> stored = storedCredits();
+        for (Map.Entry<Long, Integer> credit : credits.entrySet()) {
+            assertEquals(credit.getValue(), stored.get(credit.getKey()), "Credit of teacher " + credit.getKey());
+        }
+    }
+
+    @Test
+    void testUpdateCredits_NullCredit_ClearsIt() {
+        Map<Long, Integer> credits = new LinkedHashMap<>();
+        credits.put(teacherIds.get(0), null);
+        credits.put(teacherIds.get(1), 3);
+
+        assertEquals(2, teacherCreditWriter.updateCredits(credits));
+
+        Map<Long, Integer> stored = storedCredits();
+        assertNull(stored.get(teacherIds.get(0)));
+        assertEquals(3, stored.get(teacherIds.get(1)));
+        assertEquals(-1, stored.get(teacherIds.get(2)));
+    }
+
+    @Test
+    void testUpdateCredits_UnknownIds_AreSkipped() {
+        long unknownId = teacherIds.get(teacherIds.size() - 1) + 1000;
+        Map<Long, Integer> credits = new LinkedHashMap<>();
+        credits.put(unknownId, 5);
+        credits.put(teacherIds.get(0), 2);
+        credits.put(unknownId + 1, 4);
+
+        assertEquals(1, teacherCreditWriter.updateCredits(credits));
+
+        Map<Long, Integer> stored = storedCredits();
+        assertEquals(TEACHERS, stored.size()); // No teacher inserted for an unknown id
+        assertEquals(2, stored.get(teacherIds.get(0)));
+        assertEquals(-1, stored.get(teacherIds.get(1)));
+    }
+
+    @Test
+    void testUpdateCredits_Empty_SendsNothing() {
+        assertEquals(0, teacherCreditWriter.updateCredits(Map.of()));
+        assertEquals(-1, storedCredits().get(teacherIds.get(0)));
+    }
+}
@@ -0,0 +1,107 @@
+package org.teacherdistributionsystem.distribution_system.repositories;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.teacherdistributionsystem.distribution_system.entities.assignment.ExamSession;
+import org.teacherdistributionsystem.distribution_system.entities.teacher.Teacher;
+import org.teacherdistributionsystem.distribution_system.entities.teacher.TeacherUnavailability;
+import org.teacherdistributionsystem.distribution_system.models.projections.TeacherUnavailabilityProjection;
+import org.teacherdistributionsystem.distribution_system.repositories.teacher.TeacherUnavailabilityRepository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * The solver and the quota recommendation index unavailabilities by teacher id and by a
+ * day counted from 0; the capacity ledger reads the day as stored, counted from 1.
+ */
+@DataJpaTest
+class TeacherUnavailabilityRepositoryTest {
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private TeacherUnavailabilityRepository teacherUnavailabilityRepository;
+
+    private ExamSession session;
+    private Teacher teacher1;
+    private Teacher teacher2;
+
+    @BeforeEach
+    void setUp() {
+        session = ExamSession.builder()
+                .academicYear("2025/2026")
+                .semesterCode("S1")
+                .sessionLibelle("Principale")
+                .startDate(LocalDate.of(2026, 1, 5))
+                .endDate(LocalDate.of(2026, 1, 16))
+                .numExamDays(10)
+                .build();
+        entityManager.persist(session);
+        teacher1 = persistTeacher("unavailability-test-1@example.com");
+        teacher2 = persistTeacher("unavailability-test-2@example.com");
+
+        persistUnavailability(teacher1, 1, "S1");
+        persistUnavailability(teacher1, 3, "S4");
+        persistUnavailability(teacher2, 10, "S2");
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    private Teacher persistTeacher(String email) {
+        Teacher teacher = Teacher.builder()
+                .prenom("Test")
+                .nom("Teacher")
+                .email(email)
+                .gradeCode("MA")
+                .participeSurveillance(true)
+                .build();
+        entityManager.persist(teacher);
+        return teacher;
+    }
+
+    private void persistUnavailability(Teacher teacher, int numeroJour, String seance) {
+        entityManager.persist(TeacherUnavailability.builder()
+                .examSession(session)
+                .teacher(teacher)
+                .numeroJour(numeroJour)
+                .seance(seance)
+                .build());
+    }
+
+    private static Set<String> slots(List<TeacherUnavailabilityProjection> unavailabilities) {
+        return unavailabilities.stream()
+                .map(u -> u.getId() + "_" + u.getNumeroJour() + "_" + u.getSeance())
+                .collect(Collectors.toSet());
+    }
+
+    @Test
+    void testGetTeacherUnavailableBySessionId_ReturnsTeacherIdAndDayFromZero() {
+        List<TeacherUnavailabilityProjection> result =
+                teacherUnavailabilityRepository.getTeacherUnavailableBySessionId(session.getId());
+
+        assertEquals(Set.of(
+                teacher1.getId() + "_0_S1",
+                teacher1.getId() + "_2_S4",
+                teacher2.getId() + "_9_S2"), slots(result));
+    }
+
+    @Test
+    void testGetTeacherSlotsBySessionId_ReturnsTeacherIdAndStoredDay() {
+        List<TeacherUnavailabilityProjection> result =
+                teacherUnavailabilityRepository.getTeacherSlotsBySessionId(session.getId());
+
+        assertEquals(Set.of(
+                teacher1.getId() + "_1_S1",
+                teacher1.getId() + "_3_S4",
+                teacher2.getId() + "_10_S2"), slots(result));
+    }
+}
@@ -1,8 +1,12 @@
 package org.teacherdistributionsystem.distribution_system.services;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.ortools.sat.CpModelProto;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -11,17 +15,27 @@ import org.teacherdistributionsystem.distribution_system.dtos.assignment.ExamSes
 import org.teacherdistributionsystem.distribution_system.enums.AssignmentStatus;
 import org.teacherdistributionsystem.distribution_system.enums.GradeType;
 import org.teacherdistributionsystem.distribution_system.enums.SeanceType;
+import org.teacherdistributionsystem.distribution_system.models.others.SolverInstanceModel;
+import org.teacherdistributionsystem.distribution_system.models.others.SolverRunStatistics;
+import org.teacherdistributionsystem.distribution_system.models.others.SyntheticSessionSpec;
+import org.teacherdistributionsystem.distribution_system.models.others.TuningSearchSpace;
+import org.teacherdistributionsystem.distribution_system.models.others.TuningTrialResult;
 import org.teacherdistributionsystem.distribution_system.models.projections.ExamForAssignmentProjection;
+import org.teacherdistributionsystem.distribution_system.models.projections.SessionTeacherProjection;
 import org.teacherdistributionsystem.distribution_system.models.projections.TeacherUnavailabilityProjection;
 import org.teacherdistributionsystem.distribution_system.models.responses.assignment.AssignmentResponseModel;
+import org.teacherdistributionsystem.distribution_system.models.responses.assignment.JointAssignmentResponseModel;
 import org.teacherdistributionsystem.distribution_system.services.assignment.AssignmentAlgorithmService;
 import org.teacherdistributionsystem.distribution_system.services.assignment.ExamService;
 import org.teacherdistributionsystem.distribution_system.services.assignment.ExamSessionService;
-import org.teacherdistributionsystem.distribution_system.services.teacher.QuotaPerGradeService;
 import org.teacherdistributionsystem.distribution_system.services.teacher.TeacherQuotaService;
-import org.teacherdistributionsystem.distribution_system.services.teacher.TeacherService;
 import org.teacherdistributionsystem.distribution_system.services.teacher.TeacherUnavailabilityService;
+import org.teacherdistributionsystem.distribution_system.utils.SolverInstanceReplay;
+import org.teacherdistributionsystem.distribution_system.utils.SolverInstanceWriter;
+import org.teacherdistributionsystem.distribution_system.utils.SolverParameterTuner;
+import org.teacherdistributionsystem.distribution_system.utils.SyntheticSessionGenerator;
 
+import java.nio.file.Path;
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.util.*;
@@ -35,9 +49,6 @@ import static org.mockito.Mockito.*;
 @ExtendWith(MockitoExtension.class)
 class AssignmentAlgorithmServiceTest {
 
-    @Mock
-    private TeacherService teacherService;
-
     @Mock
     private TeacherQuotaService teacherQuotaService;
 
@@ -51,7 +62,7 @@ class AssignmentAlgorithmServiceTest {
     private ExamService examService;
 
     @Mock
-    private QuotaPerGradeService quotaPerGradeService;
+    private SolverInstanceWriter solverInstanceWriter;
 
     @InjectMocks
     private AssignmentAlgorithmService assignmentService;
@@ -126,12 +137,7 @@ class AssignmentAlgorithmServiceTest {
                 3L, 2
         );
 
-        when(teacherService.getTeacherParticipeSurveillance()).thenReturn(participationMap);
-        when(teacherService.getAllGrades()).thenReturn(gradeMap);
-        when(teacherService.getAllNames()).thenReturn(nameMap);
-        when(teacherService.getAllEmails()).thenReturn(emailMap);
-        when(teacherQuotaService.getAllQuotas(SESSION_ID)).thenReturn(quotaMap);
-        when(quotaPerGradeService.getPrioritiesByGrade()).thenReturn(getDefaultPriorities());
+        stubRoster(SESSION_ID, participationMap, quotaMap, gradeMap, nameMap, emailMap);
 
         ExamSessionDto session = createExamSession(5, "Test Session");
         when(examSessionService.getExamSessionDto(SESSION_ID)).thenReturn(session);
@@ -160,15 +166,13 @@ class AssignmentAlgorithmServiceTest {
         Map<Long, Boolean> participationMap = Map.of(1L, true, 2L, true, 3L, true);
         Map<Long, Integer> quotaMap = Map.of(1L, 2, 2L, 2, 3L, 2);
 
-        when(teacherService.getTeacherParticipeSurveillance()).thenReturn(participationMap);
-        when(teacherService.getAllGrades()).thenReturn(Map.of(
-                1L, "PR", 2L, "PR", 3L, "MA"));
-        when(teacherService.getAllNames()).thenReturn(Map.of(
-                1L, "Teacher 1", 2L, "Teacher 2", 3L, "Teacher 3"));
-        when(teacherService.getAllEmails()).thenReturn(Map.of(
-                1L, "t1@test.com", 2L, "t2@test.com", 3L, "t3@test.com"));
-        when(teacherQuotaService.getAllQuotas(SESSION_ID)).thenReturn(quotaMap);
-        when(quotaPerGradeService.getPrioritiesByGrade()).thenReturn(getDefaultPriorities());
+        stubRoster(SESSION_ID, participationMap, quotaMap,
+                Map.of(
+                        1L, "PR", 2L, "PR", 3L, "MA"),
+                Map.of(
+                        1L, "Teacher 1", 2L, "Teacher 2", 3L, "Teacher 3"),
+                Map.of(
+                        1L, "t1@test.com", 2L, "t2@test.com", 3L, "t3@test.com"));
 
         ExamSessionDto session = createExamSession(5, "Test Session");
         when(examSessionService.getExamSessionDto(SESSION_ID)).thenReturn(session);
@@ -207,15 +211,13 @@ class AssignmentAlgorithmServiceTest {
         Map<Long, Boolean> participationMap = Map.of(1L, true, 2L, true);
         Map<Long, Integer> quotaMap = Map.of(1L, 2, 2L, 2);
 
-        when(teacherService.getTeacherParticipeSurveillance()).thenReturn(participationMap);
-        when(teacherService.getAllGrades()).thenReturn(Map.of(
-                1L, "PR", 2L, "PR"));
-        when(teacherService.getAllNames()).thenReturn(Map.of(
-                1L, "Teacher 1", 2L, "Teacher 2"));
-        when(teacherService.getAllEmails()).thenReturn(Map.of(
-                1L, "t1@test.com", 2L, "t2@test.com"));
-        when(teacherQuotaService.getAllQuotas(SESSION_ID)).thenReturn(quotaMap);
-        when(quotaPerGradeService.getPrioritiesByGrade()).thenReturn(getDefaultPriorities());
+        stubRoster(SESSION_ID, participationMap, quotaMap,
+                Map.of(
+                        1L, "PR", 2L, "PR"),
+                Map.of(
+                        1L, "Teacher 1", 2L, "Teacher 2"),
+                Map.of(
+                        1L, "t1@test.com", 2L, "t2@test.com"));
 
         ExamSessionDto session = createExamSession(5, "Test Session");
         when(examSessionService.getExamSessionDto(SESSION_ID)).thenReturn(session);
@@ -280,17 +282,15 @@ class AssignmentAlgorithmServiceTest {
         Map<Long, Boolean> participationMap = Map.of(1L, true, 2L, true, 3L, true, 4L, true);
         Map<Long, Integer> quotaMap = Map.of(1L, 2, 2L, 2, 3L, 2, 4L, 2);
 
-        when(teacherService.getTeacherParticipeSurveillance()).thenReturn(participationMap);
-        when(teacherService.getAllGrades()).thenReturn(Map.of(
-                1L, "PR", 2L, "PR",
-                3L, "MA", 4L, "MA"));
-        when(teacherService.getAllNames()).thenReturn(Map.of(
-                1L, "Owner", 2L, "Teacher 2", 3L, "Teacher 3", 4L, "Teacher 4"));
-        when(teacherService.getAllEmails()).thenReturn(Map.of(
-                1L, "owner@test.com", 2L, "t2@test.com",
-                3L, "t3@test.com", 4L, "t4@test.com"));
-        when(teacherQuotaService.getAllQuotas(SESSION_ID)).thenReturn(quotaMap);
-        when(quotaPerGradeService.getPrioritiesByGrade()).thenReturn(getDefaultPriorities());
+        stubRoster(SESSION_ID, participationMap, quotaMap,
+                Map.of(
+                        1L, "PR", 2L, "PR",
+                        3L, "MA", 4L, "MA"),
+                Map.of(
+                        1L, "Owner", 2L, "Teacher 2", 3L, "Teacher 3", 4L, "Teacher 4"),
+                Map.of(
+                        1L, "owner@test.com", 2L, "t2@test.com",
+                        3L, "t3@test.com", 4L, "t4@test.com"));
 
         ExamSessionDto session = createExamSession(5, "Test Session");
         when(examSessionService.getExamSessionDto(SESSION_ID)).thenReturn(session);
@@ -329,15 +329,13 @@ class AssignmentAlgorithmServiceTest {
         Map<Long, Boolean> participationMap = Map.of(1L, true, 2L, true);
         Map<Long, Integer> quotaMap = Map.of(1L, 1, 2L, 2); // Teacher 1 limited to 1
 
-        when(teacherService.getTeacherParticipeSurveillance()).thenReturn(participationMap);
-        when(teacherService.getAllGrades()).thenReturn(Map.of(
-                1L, "PR", 2L, "PR"));
-        when(teacherService.getAllNames()).thenReturn(Map.of(
-                1L, "Teacher 1", 2L, "Teacher 2"));
-        when(teacherService.getAllEmails()).thenReturn(Map.of(
-                1L, "t1@test.com", 2L, "t2@test.com"));
-        when(teacherQuotaService.getAllQuotas(SESSION_ID)).thenReturn(quotaMap);
-        when(quotaPerGradeService.getPrioritiesByGrade()).thenReturn(getDefaultPriorities());
+        stubRoster(SESSION_ID, participationMap, quotaMap,
+                Map.of(
+                        1L, "PR", 2L, "PR"),
+                Map.of(
+                        1L, "Teacher 1", 2L, "Teacher 2"),
+                Map.of(
+                        1L, "t1@test.com", 2L, "t2@test.com"));
 
         ExamSessionDto session = createExamSession(5, "Test Session");
         when(examSessionService.getExamSessionDto(SESSION_ID)).thenReturn(session);
@@ -371,15 +369,13 @@ class AssignmentAlgorithmServiceTest {
         Map<Long, Boolean> participationMap = Map.of(1L, false, 2L, true, 3L, true);
         Map<Long, Integer> quotaMap = Map.of(1L, 5, 2L, 2, 3L, 2);
 
-        when(teacherService.getTeacherParticipeSurveillance()).thenReturn(participationMap);
-        when(teacherService.getAllGrades()).thenReturn(Map.of(
-                1L, "PR", 2L, "PR", 3L, "MA"));
-        when(teacherService.getAllNames()).thenReturn(Map.of(
-                1L, "Non-participant", 2L, "Teacher 2", 3L, "Teacher 3"));
-        when(teacherService.getAllEmails()).thenReturn(Map.of(
-                1L, "np@test.com", 2L, "t2@test.com", 3L, "t3@test.com"));
-        when(teacherQuotaService.getAllQuotas(SESSION_ID)).thenReturn(quotaMap);
-        when(quotaPerGradeService.getPrioritiesByGrade()).thenReturn(getDefaultPriorities());
+        stubRoster(SESSION_ID, participationMap, quotaMap,
+                Map.of(
+                        1L, "PR", 2L, "PR", 3L, "MA"),
+                Map.of(
+                        1L, "Non-participant", 2L, "Teacher 2", 3L, "Teacher 3"),
+                Map.of(
+                        1L, "np@test.com", 2L, "t2@test.com", 3L, "t3@test.com"));
 
         ExamSessionDto session = createExamSession(5, "Test Session");
         when(examSessionService.getExamSessionDto(SESSION_ID)).thenReturn(session);
@@ -414,15 +410,13 @@ class AssignmentAlgorithmServiceTest {
         Map<Long, Boolean> participationMap = Map.of(1L, true, 2L, true, 3L, true);
         Map<Long, Integer> quotaMap = Map.of(1L, 5, 2L, 5, 3L, 5);
 
-        when(teacherService.getTeacherParticipeSurveillance()).thenReturn(participationMap);
-        when(teacherService.getAllGrades()).thenReturn(Map.of(
-                1L, "PR", 2L, "PR", 3L, "MA"));
-        when(teacherService.getAllNames()).thenReturn(Map.of(
-                1L, "Teacher 1", 2L, "Teacher 2", 3L, "Teacher 3"));
-        when(teacherService.getAllEmails()).thenReturn(Map.of(
-                1L, "t1@test.com", 2L, "t2@test.com", 3L, "t3@test.com"));
-        when(teacherQuotaService.getAllQuotas(SESSION_ID)).thenReturn(quotaMap);
-        when(quotaPerGradeService.getPrioritiesByGrade()).thenReturn(getDefaultPriorities());
+        stubRoster(SESSION_ID, participationMap, quotaMap,
+                Map.of(
+                        1L, "PR", 2L, "PR", 3L, "MA"),
+                Map.of(
+                        1L, "Teacher 1", 2L, "Teacher 2", 3L, "Teacher 3"),
+                Map.of(
+                        1L, "t1@test.com", 2L, "t2@test.com", 3L, "t3@test.com"));
 
         ExamSessionDto session = createExamSession(5, "Test Session");
         when(examSessionService.getExamSessionDto(SESSION_ID)).thenReturn(session);
@@ -493,15 +487,13 @@ class AssignmentAlgorithmServiceTest {
         Map<Long, Boolean> participationMap = Map.of(1L, true, 2L, true, 3L, true);
         Map<Long, Integer> quotaMap = Map.of(1L, 2, 2L, 2, 3L, 2);
 
-        when(teacherService.getTeacherParticipeSurveillance()).thenReturn(participationMap);
-        when(teacherService.getAllGrades()).thenReturn(Map.of(
-                1L, "PR", 2L, "PR", 3L, "MA"));
-        when(teacherService.getAllNames()).thenReturn(Map.of(
-                1L, "Teacher 1", 2L, "Teacher 2", 3L, "Teacher 3"));
-        when(teacherService.getAllEmails()).thenReturn(Map.of(
-                1L, "t1@test.com", 2L, "t2@test.com", 3L, "t3@test.com"));
-        when(teacherQuotaService.getAllQuotas(SESSION_ID)).thenReturn(quotaMap);
-        when(quotaPerGradeService.getPrioritiesByGrade()).thenReturn(getDefaultPriorities());
+        stubRoster(SESSION_ID, participationMap, quotaMap,
+                Map.of(
+                        1L, "PR", 2L, "PR", 3L, "MA"),
+                Map.of(
+                        1L, "Teacher 1", 2L, "Teacher 2", 3L, "Teacher 3"),
+                Map.of(
+                        1L, "t1@test.com", 2L, "t2@test.com", 3L, "t3@test.com"));
 
         ExamSessionDto session = createExamSession(5, "Test Session");
         when(examSessionService.getExamSessionDto(SESSION_ID)).thenReturn(session);
@@ -548,12 +540,7 @@ class AssignmentAlgorithmServiceTest {
             quotaMap.put(i, quotaPerTeacher);
         }
 
-        when(teacherService.getTeacherParticipeSurveillance()).thenReturn(participationMap);
-        when(teacherService.getAllGrades()).thenReturn(gradeMap);
-        when(teacherService.getAllNames()).thenReturn(nameMap);
-        when(teacherService.getAllEmails()).thenReturn(emailMap);
-        when(teacherQuotaService.getAllQuotas(SESSION_ID)).thenReturn(quotaMap);
-        when(quotaPerGradeService.getPrioritiesByGrade()).thenReturn(getDefaultPriorities());
+        stubRoster(SESSION_ID, participationMap, quotaMap, gradeMap, nameMap, emailMap);
 
         ExamSessionDto session = createExamSession(5, "Test Session");
         when(examSessionService.getExamSessionDto(SESSION_ID)).thenReturn(session);
@@ -574,6 +561,53 @@ class AssignmentAlgorithmServiceTest {
                 .thenReturn(Collections.emptyList());
     }
 
+    private void stubRoster(Long sessionId, Map<Long, Boolean> participationMap, Map<Long, Integer> quotaMap,
+                            Map<Long, String> gradeMap, Map<Long, String> nameMap, Map<Long, String> emailMap) {
+        List<SessionTeacherProjection> roster = new ArrayList<>();
+        for (Long teacherId : new TreeSet<>(participationMap.keySet())) {
+            roster.add(createTeacherProjection(teacherId, gradeMap.get(teacherId), nameMap.get(teacherId),
+                    emailMap.get(teacherId), participationMap.get(teacherId), quotaMap.getOrDefault(teacherId, 0)));
+        }
+        when(teacherQuotaService.getSessionRoster(sessionId)).thenReturn(roster);
+    }
+
+    private SessionTeacherProjection createTeacherProjection(
+            Long id, String grade, String name, String email, Boolean participates, Integer quota) {
+        int cut = name.lastIndexOf(' ');
+        // The roster query LEFT JOINs quota_per_grade, so unknown grades come back without a priority
+        Integer priority = Arrays.stream(GradeType.values())
+                .filter(g -> g.name().equals(grade))
+                .findFirst()
+                .map(getDefaultPriorities()::get)
+                .orElse(null);
+
+        return new SessionTeacherProjection() {
+            @Override
+            public Long getId() { return id; }
+
+            @Override
+            public String getGradeCode() { return grade; }
+
+            @Override
+            public String getNom() { return cut < 0 ? "" : name.substring(cut + 1); }
+
+            @Override
+            public String getPrenom() { return cut < 0 ? name : name.substring(0, cut); }
+
+            @Override
+            public String getEmail() { return email; }
+
+            @Override
+            public Boolean getParticipeSurveillance() { return participates; }
+
+            @Override
+            public Integer getAssignedQuota() { return quota; }
+
+            @Override
+            public Integer getPriority() { return priority; }
+        };
+    }
+
     private ExamSessionDto createExamSession(int numDays, String name) {
         ExamSessionDto session = new ExamSessionDto();
         session.setId(SESSION_ID);
@@ -658,17 +692,15 @@ class AssignmentAlgorithmServiceTest {
         Map<Long, Boolean> participationMap = Map.of(1L, true, 2L, true, 3L, true, 4L, true);
         Map<Long, Integer> quotaMap = Map.of(1L, 2, 2L, 2, 3L, 2, 4L, 2);
 
-        when(teacherService.getTeacherParticipeSurveillance()).thenReturn(participationMap);
-        when(teacherService.getAllGrades()).thenReturn(Map.of(
-                1L, "PR", 2L, "PR",
-                3L, "MA", 4L, "MA"));
-        when(teacherService.getAllNames()).thenReturn(Map.of(
-                1L, "Owner 1", 2L, "Owner 2", 3L, "Teacher 3", 4L, "Teacher 4"));
-        when(teacherService.getAllEmails()).thenReturn(Map.of(
-                1L, "o1@test.com", 2L, "o2@test.com",
-                3L, "t3@test.com", 4L, "t4@test.com"));
-        when(teacherQuotaService.getAllQuotas(SESSION_ID)).thenReturn(quotaMap);
-        when(quotaPerGradeService.getPrioritiesByGrade()).thenReturn(getDefaultPriorities());
+        stubRoster(SESSION_ID, participationMap, quotaMap,
+                Map.of(
+                        1L, "PR", 2L, "PR",
+                        3L, "MA", 4L, "MA"),
+                Map.of(
+                        1L, "Owner 1", 2L, "Owner 2", 3L, "Teacher 3", 4L, "Teacher 4"),
+                Map.of(
+                        1L, "o1@test.com", 2L, "o2@test.com",
+                        3L, "t3@test.com", 4L, "t4@test.com"));
 
         ExamSessionDto session = createExamSession(5, "Test Session");
         when(examSessionService.getExamSessionDto(SESSION_ID)).thenReturn(session);
@@ -725,6 +757,260 @@ class AssignmentAlgorithmServiceTest {
         assertEquals(AssignmentStatus.SUCCESS, result.getStatus());
     }
 
+    // ============= OBJECTIVE MODE TESTS =============
+
+    @Test
+    void testAssignment_LexicographicMode_SolvesAllStages()
+            throws ExecutionException, InterruptedException {
+        AssignmentConstraintConfig config = AssignmentConstraintConfig.lexicographicConfig();
+        config.setEqualAssignmentMode(AssignmentConstraintConfig.ConstraintMode.SOFT);
+        config.setOwnerPresenceMode(AssignmentConstraintConfig.ConstraintMode.SOFT);
+        config.setMaxSolveTimeSeconds(10.0);
+        assignmentService.setConfig(config);
+
+        setupBasicScenario(4, 3, 1, 3);
+
+        // Owner of E1 can be present in the same slot, so owner presence forms its own stage
+        List<ExamForAssignmentProjection> exams = Arrays.asList(
+                createExamProjection("E1", 1, SeanceType.S1, "R1", 1L, 1),
+                createExamProjection("E2", 1, SeanceType.S1, "R2", null, 1),
+                createExamProjection("E3", 1, SeanceType.S3, "R3", null, 1)
+        );
+        when(examService.getExamsForAssignment(SESSION_ID)).thenReturn(exams);
+
+        CompletableFuture<AssignmentResponseModel> future = assignmentService.executeAssignment(SESSION_ID);
+        AssignmentResponseModel result = future.get();
+
+        assertEquals(AssignmentStatus.SUCCESS, result.getStatus());
+        assertEquals(3, result.getMetadata().getTotalAssignmentsMade());
+
+        // Equality is optimized first, but the owner bonus is still reached afterwards
+        List<Long> e2Teachers = result.getExamAssignments().stream()
+                .filter(e -> e.getExamId().equals("E2"))
+                .findFirst()
+                .get()
+                .getAssignedTeachers().stream()
+                .map(t -> t.getTeacherId())
+                .toList();
+        assertTrue(e2Teachers.contains(1L), "Owner should be present in same slot");
+    }
+
+    @Test
+    void testAssignment_SymmetryBreaking_OrdersInterchangeableExams()
+            throws ExecutionException, InterruptedException {
+        AssignmentConstraintConfig config = AssignmentConstraintConfig.defaultConfig();
+        config.setSymmetryBreaking(true);
+        assignmentService.setConfig(config);
+
+        setupBasicScenario(6, 3, 2, 1);
+
+        // Three ownerless exams in the same slot with the same supervisor count
+        List<ExamForAssignmentProjection> exams = Arrays.asList(
+                createExamProjection("E1", 1, SeanceType.S1, "R1", null, 2),
+                createExamProjection("E2", 1, SeanceType.S1, "R2", null, 2),
+                createExamProjection("E3", 1, SeanceType.S1, "R3", null, 2)
+        );
+        when(examService.getExamsForAssignment(SESSION_ID)).thenReturn(exams);
+
+        CompletableFuture<AssignmentResponseModel> future = assignmentService.executeAssignment(SESSION_ID);
+        AssignmentResponseModel result = future.get();
+
+        assertEquals(AssignmentStatus.SUCCESS, result.getStatus());
+        assertEquals(6, result.getMetadata().getTotalAssignmentsMade());
+
+        // Exams are returned in solver order, in which the smallest supervisor must increase
+        List<Long> smallestTeacherPerExam = result.getExamAssignments().stream()
+                .map(exam -> exam.getAssignedTeachers().stream()
+                        .mapToLong(t -> t.getTeacherId())
+                        .min()
+                        .orElseThrow())
+                .toList();
+
+        assertTrue(smallestTeacherPerExam.get(0) < smallestTeacherPerExam.get(1));
+        assertTrue(smallestTeacherPerExam.get(1) < smallestTeacherPerExam.get(2));
+    }
+
+    // ============= INSTANCE EXPORT / REPLAY TESTS =============
+
+    @Test
+    void testAssignment_ExportedInstance_ReplaysWithDifferentConfig() throws Exception {
+        AssignmentConstraintConfig config = AssignmentConstraintConfig.defaultConfig();
+        config.setExportInstance(true);
+        assignmentService.setConfig(config);
+
+        setupBasicScenario(4, 2, 2, 2);
+
+        AssignmentResponseModel original = assignmentService.executeAssignment(SESSION_ID).get();
+        assertEquals(AssignmentStatus.SUCCESS, original.getStatus());
+
+        ArgumentCaptor<SolverInstanceModel> captor = ArgumentCaptor.forClass(SolverInstanceModel.class);
+        verify(solverInstanceWriter).write(captor.capture());
+        SolverInstanceModel exported = captor.getValue();
+        assertEquals(4, exported.getTeacherIds().length);
+        assertEquals(2, exported.getExams().size());
+
+        // Round trip through JSON, as the instance file would be read back offline
+        ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+        SolverInstanceModel restored = objectMapper.readValue(
+                objectMapper.writeValueAsBytes(exported), SolverInstanceModel.class);
+
+        AssignmentResponseModel replayed =
+                assignmentService.replay(restored, AssignmentConstraintConfig.lexicographicConfig());
+
+        assertEquals(AssignmentStatus.SUCCESS, replayed.getStatus());
+        assertEquals(original.getMetadata().getTotalAssignmentsMade(),
+                replayed.getMetadata().getTotalAssignmentsMade());
+        verify(solverInstanceWriter, times(1)).write(any());
+    }
+
+    @Test
+    void testSolverInstanceReplay_ReplaysExportedFile(@TempDir Path outputDir) throws Exception {
+        SyntheticSessionSpec spec = SyntheticSessionSpec.builder()
+                .seed(5L)
+                .teachersPerGrade(Map.of(GradeType.MA, 5, GradeType.AS, 5))
+                .numDays(2)
+                .seancesPerDay(2)
+                .minRoomsPerSlot(1)
+                .maxRoomsPerSlot(2)
+                .build();
+        AssignmentConstraintConfig config = AssignmentConstraintConfig.defaultConfig();
+        config.setEqualAssignmentMode(AssignmentConstraintConfig.ConstraintMode.SOFT);
+        config.setOwnerPresenceMode(AssignmentConstraintConfig.ConstraintMode.SOFT);
+        SolverInstanceModel instance = SyntheticSessionGenerator.toInstance(SyntheticSessionGenerator.generate(spec), config);
+
+        Path file = outputDir.resolve("instance.json");
+        new ObjectMapper().findAndRegisterModules().writeValue(file.toFile(), instance);
+
+        assertDoesNotThrow(() -> SolverInstanceReplay.main(new String[]{file.toString()}));
+        assertThrows(IllegalArgumentException.class,
+                () -> SolverInstanceReplay.main(new String[]{file.toString(), "no-such-preset"}));
+    }
+
+    @Test
+    void testModelBuild_ParallelFragmentsMatchSequentialBuild() {
+        SyntheticSessionSpec spec = SyntheticSessionSpec.builder()
+                .seed(11L)
+                .teachersPerGrade(Map.of(GradeType.MA, 8, GradeType.AS, 8))
+                .numDays(3)
+                .seancesPerDay(3)
+                .build();
+
+        AssignmentConstraintConfig config = AssignmentConstraintConfig.defaultConfig();
+        config.setSymmetryBreaking(true);
+        SolverInstanceModel instance = SyntheticSessionGenerator.toInstance(SyntheticSessionGenerator.generate(spec), config);
+
+        config.setParallelModelBuild(false);
+        CpModelProto sequential = assignmentService.buildModel(instance, config).model();
+        config.setParallelModelBuild(true);
+        CpModelProto parallel = assignmentService.buildModel(instance, config).model();
+
+        assertTrue(sequential.getConstraintsCount() > 0);
+        assertEquals(sequential, parallel);
+        assertTrue(assignmentService.getModelBuildNanos().containsKey("Fragment merge"));
+    }
+
+    @Test
+    void testParameterTuner_RanksCandidatesOnSyntheticCorpus() {
+        AssignmentConstraintConfig config = AssignmentConstraintConfig.defaultConfig();
+        config.setEqualAssignmentMode(AssignmentConstraintConfig.ConstraintMode.SOFT);
+        config.setOwnerPresenceMode(AssignmentConstraintConfig.ConstraintMode.SOFT);
+        config.setMaxSolveTimeSeconds(10);
+
+        List<SolverInstanceModel> corpus = new ArrayList<>();
+        for (long seed = 1; seed <= 2; seed++) {
+            SyntheticSessionSpec spec = SyntheticSessionSpec.builder()
+                    .seed(seed)
+                    .teachersPerGrade(Map.of(GradeType.MA, 5, GradeType.AS, 5))
+                    .numDays(2)
+                    .seancesPerDay(2)
+                    .minRoomsPerSlot(1)
+                    .maxRoomsPerSlot(2)
+                    .build();
+            corpus.add(SyntheticSessionGenerator.toInstance(SyntheticSessionGenerator.generate(spec), config));
+        }
+
+        TuningSearchSpace space = TuningSearchSpace.builder()
+                .numSearchWorkers(List.of(1, 2))
+                .linearizationLevels(List.of(1))
+                .cpModelPresolve(List.of(true))
+                .relaxationBatchPercents(List.of(5))
+                .relaxationBatchGrowths(List.of(2.0))
+                .build();
+
+        List<TuningTrialResult> results = new SolverParameterTuner(assignmentService)
+                .tune(corpus, config, space, SolverParameterTuner.Strategy.GRID, 0, 42L);
+
+        assertEquals(2, results.size());
+        assertTrue(results.get(0).getScore() <= results.get(1).getScore());
+        for (TuningTrialResult result : results) {
+            assertEquals(2, result.getSolvedInstances());
+            // Candidates are copies: the base config and the non-tuned settings stay as they were
+            assertEquals(AssignmentConstraintConfig.ConstraintMode.SOFT, result.getConfig().getEqualAssignmentMode());
+            assertEquals(10, result.getConfig().getMaxSolveTimeSeconds());
+        }
+        assertEquals(0, config.getNumSearchWorkers());
+    }
+
+    // ============= JOINT SESSION TESTS =============
+
+    @Test
+    void testJointAssignment_CarriesQuotaAcrossSessions() throws ExecutionException, InterruptedException {
+        // Session 1: quota 2 each, one exam needing 2 supervisors
+        setupBasicScenario(4, 1, 2, 2);
+
+        // Session 2: quota 1 each (capacity 4) but 6 supervisions needed - infeasible on its own
+        Long resitId = 2L;
+        ExamSessionDto resit = createExamSession(2, "Resit");
+        resit.setId(resitId);
+        Map<Long, Integer> resitQuotas = new LinkedHashMap<>();
+        for (long i = 1; i <= 4; i++) {
+            resitQuotas.put(i, 1);
+        }
+        when(examSessionService.getExamSessionDto(resitId)).thenReturn(resit);
+        stubRoster(resitId, Map.of(1L, true, 2L, true, 3L, true, 4L, true), resitQuotas,
+                Map.of(1L, "MA", 2L, "PR", 3L, "MA", 4L, "PR"),
+                Map.of(1L, "Teacher 1", 2L, "Teacher 2", 3L, "Teacher 3", 4L, "Teacher 4"),
+                Map.of(1L, "teacher1@test.com", 2L, "teacher2@test.com", 3L, "teacher3@test.com", 4L, "teacher4@test.com"));
+        when(examService.getExamsForAssignment(resitId)).thenReturn(Arrays.asList(
+                createExamProjection("R1", 1, SeanceType.S1, "R1", null, 3),
+                createExamProjection("R2", 1, SeanceType.S3, "R2", null, 3)
+        ));
+        when(teacherUnavailabilityService.getTeacherUnavailabilitiesBySessionId(resitId))
+                .thenReturn(Collections.emptyList());
+
+        JointAssignmentResponseModel result =
+                assignmentService.executeJointAssignment(List.of(SESSION_ID, resitId), null).get();
+
+        assertEquals(AssignmentStatus.SUCCESS, result.getStatus());
+        assertEquals(3, result.getMetadata().getTotalExams());
+        assertEquals(2, result.getSessions().size());
+
+        AssignmentResponseModel main = result.getSessions().get(0);
+        AssignmentResponseModel resitResult = result.getSessions().get(1);
+        assertEquals(SESSION_ID, main.getMetadata().getSessionId());
+        assertEquals(resitId, resitResult.getMetadata().getSessionId());
+        assertEquals(2, main.getMetadata().getTotalAssignmentsMade());
+        assertEquals(6, resitResult.getMetadata().getTotalAssignmentsMade());
+
+        // Days are relative to each session again
+        assertTrue(resitResult.getExamAssignments().stream().allMatch(exam -> exam.getDay() == 1));
+
+        // Some teachers go above their resit quota, within the credit limit and their yearly quota
+        int limit = AssignmentConstraintConfig.defaultConfig().getJointSessionCreditLimit();
+        assertTrue(resitResult.getTeacherWorkloads().stream()
+                .anyMatch(w -> w.getAssignedSupervisions() > w.getQuotaSupervisions()));
+        for (int t = 0; t < 4; t++) {
+            int resitLoad = resitResult.getTeacherWorkloads().get(t).getAssignedSupervisions();
+            int mainLoad = main.getTeacherWorkloads().get(t).getAssignedSupervisions();
+            assertTrue(resitLoad <= 1 + limit);
+            assertTrue(mainLoad + resitLoad <= 3);
+        }
+
+        // Each session's roster is read once
+        verify(teacherQuotaService, times(1)).getSessionRoster(SESSION_ID);
+        verify(teacherQuotaService, times(1)).getSessionRoster(resitId);
+    }
+
     // ============= METADATA TESTS =============
 
     @Test
@@ -745,6 +1031,46 @@ class AssignmentAlgorithmServiceTest {
         assertNotNull(result.getGeneratedAt());
     }
 
+    @Test
+    void testAssignment_SolverStatisticsRecordedPerSolve()
+            throws ExecutionException, InterruptedException {
+        setupBasicScenario(4, 2, 2, 2);
+
+        AssignmentResponseModel result = assignmentService.executeAssignment(SESSION_ID).get();
+
+        assertEquals(AssignmentStatus.SUCCESS, result.getStatus());
+        List<SolverRunStatistics> runs = result.getMetadata().getSolverRuns();
+        assertEquals(1, runs.size());
+
+        SolverRunStatistics strict = runs.get(0);
+        assertEquals("Strict", strict.getPhase());
+        assertEquals("OPTIMAL", strict.getStatus());
+        assertEquals(8, strict.getNumVariables());
+        assertTrue(strict.getWallTimeSeconds() >= 0);
+        assertTrue(strict.getModelBuildMillis().containsKey("Variables"));
+        assertTrue(strict.getModelBuildMillis().containsKey("Exam coverage"));
+        // Search log statistics are off by default
+        assertNull(strict.getPresolvedVariables());
+        assertNull(strict.getNumWorkers());
+    }
+
+    @Test
+    void testAssignment_SolverSearchLog_ParsesLogStatistics()
+            throws ExecutionException, InterruptedException {
+        AssignmentConstraintConfig config = AssignmentConstraintConfig.defaultConfig();
+        config.setSolverSearchLog(true);
+        assignmentService.setConfig(config);
+        setupBasicScenario(4, 2, 2, 2);
+
+        AssignmentResponseModel result = assignmentService.executeAssignment(SESSION_ID).get();
+
+        SolverRunStatistics strict = result.getMetadata().getSolverRuns().get(0);
+        assertNotNull(strict.getPresolvedVariables());
+        assertNotNull(strict.getPresolvedConstraints());
+        assertNotNull(strict.getPresolveTimeSeconds());
+        assertNotNull(strict.getNumWorkers());
+    }
+
     // ============= EDGE CASES =============
 
     @Test
@@ -752,12 +1078,10 @@ class AssignmentAlgorithmServiceTest {
         Map<Long, Boolean> participationMap = Map.of(1L, true);
         Map<Long, Integer> quotaMap = Map.of(1L, 5);
 
-        when(teacherService.getTeacherParticipeSurveillance()).thenReturn(participationMap);
-        when(teacherService.getAllGrades()).thenReturn(Map.of(1L, "PR"));
-        when(teacherService.getAllNames()).thenReturn(Map.of(1L, "Teacher 1"));
-        when(teacherService.getAllEmails()).thenReturn(Map.of(1L, "t1@test.com"));
-        when(teacherQuotaService.getAllQuotas(SESSION_ID)).thenReturn(quotaMap);
-        when(quotaPerGradeService.getPrioritiesByGrade()).thenReturn(getDefaultPriorities());
+        stubRoster(SESSION_ID, participationMap, quotaMap,
+                Map.of(1L, "PR"),
+                Map.of(1L, "Teacher 1"),
+                Map.of(1L, "t1@test.com"));
 
         ExamSessionDto session = createExamSession(5, "Test Session");
         when(examSessionService.getExamSessionDto(SESSION_ID)).thenReturn(session);
@@ -779,15 +1103,13 @@ class AssignmentAlgorithmServiceTest {
         Map<Long, Boolean> participationMap = Map.of(1L, true, 2L, true);
         Map<Long, Integer> quotaMap = Map.of(1L, 2, 2L, 2);
 
-        when(teacherService.getTeacherParticipeSurveillance()).thenReturn(participationMap);
-        when(teacherService.getAllGrades()).thenReturn(Map.of(
-                1L, "PR", 2L, "PR"));
-        when(teacherService.getAllNames()).thenReturn(Map.of(
-                1L, "Teacher 1", 2L, "Teacher 2"));
-        when(teacherService.getAllEmails()).thenReturn(Map.of(
-                1L, "t1@test.com", 2L, "t2@test.com"));
-        when(teacherQuotaService.getAllQuotas(SESSION_ID)).thenReturn(quotaMap);
-        when(quotaPerGradeService.getPrioritiesByGrade()).thenReturn(getDefaultPriorities());
+        stubRoster(SESSION_ID, participationMap, quotaMap,
+                Map.of(
+                        1L, "PR", 2L, "PR"),
+                Map.of(
+                        1L, "Teacher 1", 2L, "Teacher 2"),
+                Map.of(
+                        1L, "t1@test.com", 2L, "t2@test.com"));
 
         ExamSessionDto session = createExamSession(5, "Test Session");
         when(examSessionService.getExamSessionDto(SESSION_ID)).thenReturn(session);
@@ -819,16 +1141,14 @@ class AssignmentAlgorithmServiceTest {
         Map<Long, Boolean> participationMap = Map.of(1L, true, 2L, true, 3L, true);
         Map<Long, Integer> quotaMap = Map.of(1L, 0, 2L, 2, 3L, 2);
 
-        when(teacherService.getTeacherParticipeSurveillance()).thenReturn(participationMap);
-        when(teacherService.getAllGrades()).thenReturn(Map.of(
-                1L, "PR", 2L, "PR",
-                3L, "MA"));
-        when(teacherService.getAllNames()).thenReturn(Map.of(
-                1L, "Zero Quota", 2L, "Teacher 2", 3L, "Teacher 3"));
-        when(teacherService.getAllEmails()).thenReturn(Map.of(
-                1L, "zq@test.com", 2L, "t2@test.com", 3L, "t3@test.com"));
-        when(teacherQuotaService.getAllQuotas(SESSION_ID)).thenReturn(quotaMap);
-        when(quotaPerGradeService.getPrioritiesByGrade()).thenReturn(getDefaultPriorities());
+        stubRoster(SESSION_ID, participationMap, quotaMap,
+                Map.of(
+                        1L, "PR", 2L, "PR",
+                        3L, "MA"),
+                Map.of(
+                        1L, "Zero Quota", 2L, "Teacher 2", 3L, "Teacher 3"),
+                Map.of(
+                        1L, "zq@test.com", 2L, "t2@test.com", 3L, "t3@test.com"));
 
         ExamSessionDto session = createExamSession(5, "Test Session");
         when(examSessionService.getExamSessionDto(SESSION_ID)).thenReturn(session);
@@ -863,16 +1183,12 @@ class AssignmentAlgorithmServiceTest {
         Map<Long, Boolean> participationMap = Map.of(1L, true, 2L, true);
         Map<Long, Integer> quotaMap = Map.of(1L, 3, 2L, 3);
 
-        when(teacherService.getTeacherParticipeSurveillance()).thenReturn(participationMap);
-        when(teacherService.getAllGrades()).thenReturn(Map.of(
-                1L, "PR", // Higher priority
-                2L, "MA"));   // Lower priority
-        when(teacherService.getAllNames()).thenReturn(Map.of(
-                1L, "High Priority", 2L, "Low Priority"));
-        when(teacherService.getAllEmails()).thenReturn(Map.of(
-                1L, "hp@test.com", 2L, "lp@test.com"));
-        when(teacherQuotaService.getAllQuotas(SESSION_ID)).thenReturn(quotaMap);
-        when(quotaPerGradeService.getPrioritiesByGrade()).thenReturn(getDefaultPriorities());
+        stubRoster(SESSION_ID, participationMap, quotaMap,
+                Map.of(
+                        1L, "PR", // Higher priority
+                        2L, "MA"),   // Lower priority
+                        Map.of(1L, "High Priority", 2L, "Low Priority"),
+                Map.of(1L, "hp@test.com", 2L, "lp@test.com"));
 
         ExamSessionDto session = createExamSession(5, "Test Session");
         when(examSessionService.getExamSessionDto(SESSION_ID)).thenReturn(session);
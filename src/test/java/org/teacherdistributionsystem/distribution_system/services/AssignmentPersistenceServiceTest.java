@@ -0,0 +1,246 @@
+package org.teacherdistributionsystem.distribution_system.services;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.teacherdistributionsystem.distribution_system.entities.assignment.Exam;
+import org.teacherdistributionsystem.distribution_system.entities.assignment.ExamSession;
+import org.teacherdistributionsystem.distribution_system.entities.assignment.TeacherExamAssignment;
+import org.teacherdistributionsystem.distribution_system.entities.teacher.Teacher;
+import org.teacherdistributionsystem.distribution_system.enums.AssignmentStatus;
+import org.teacherdistributionsystem.distribution_system.enums.SeanceType;
+import org.teacherdistributionsystem.distribution_system.models.others.AssignedTeacherModel;
+import org.teacherdistributionsystem.distribution_system.models.others.AssignmentMetadata;
+import org.teacherdistributionsystem.distribution_system.models.others.ExamAssignmentModel;
+import org.teacherdistributionsystem.distribution_system.models.projections.AssignmentDetailsProjection;
+import org.teacherdistributionsystem.distribution_system.models.responses.assignment.AssignmentResponseModel;
+import org.teacherdistributionsystem.distribution_system.repositories.assignement.AssignmentRunRepository;
+import org.teacherdistributionsystem.distribution_system.repositories.assignement.ExamSessionRepository;
+import org.teacherdistributionsystem.distribution_system.repositories.assignement.TeacherExamAssignmentBatchWriter;
+import org.teacherdistributionsystem.distribution_system.repositories.assignement.TeacherExamAssignmentRepository;
+import org.teacherdistributionsystem.distribution_system.repositories.teacher.TeacherCreditWriter;
+import org.teacherdistributionsystem.distribution_system.services.assignment.AssignmentPersistenceService;
+import org.teacherdistributionsystem.distribution_system.services.assignment.AssignmentQueryCache;
+import org.teacherdistributionsystem.distribution_system.services.assignment.AssignmentReadModelService;
+import org.teacherdistributionsystem.distribution_system.services.assignment.ScheduleNotificationService;
+import org.teacherdistributionsystem.distribution_system.services.teacher.TeacherService;
+import org.teacherdistributionsystem.distribution_system.utils.JsonArrayStreamWriter;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Saves and deletes runs through the persistence service against H2 with a retention of
+ * one previous run: a save keeps the current run and one more, a delete keeps one run
+ * besides the (now unset) current one. Each save assigns a different teacher to both
+ * exams, so the rows of every run can be told apart.
+ */
+@DataJpaTest(properties = "spring.application.assignmentRunRetention=1")
+@Import({AssignmentPersistenceService.class, TeacherExamAssignmentBatchWriter.class, TeacherCreditWriter.class})
+class AssignmentPersistenceServiceTest {
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private AssignmentPersistenceService persistenceService;
+
+    @Autowired
+    private TeacherExamAssignmentRepository assignmentRepository;
+
+    @Autowired
+    private AssignmentRunRepository assignmentRunRepository;
+
+    @Autowired
+    private ExamSessionRepository examSessionRepository;
+
+    @MockitoBean
+    private TeacherService teacherService;
+
+    @MockitoBean
+    private AssignmentReadModelService readModelService;
+
+    @MockitoBean
+    private AssignmentQueryCache queryCache;
+
+    @MockitoBean
+    private ScheduleNotificationService notificationService;
+
+    @MockitoBean
+    private JsonArrayStreamWriter jsonArrayStreamWriter;
+
+    private ExamSession session;
+    private ExamSession otherSession;
+    private final List<Teacher> teachers = new ArrayList<>();
+    private String exam1;
+    private String exam2;
+    private String otherExam;
+
+    @BeforeEach
+    void setUp() {
+        session = persistSession();
+        otherSession = persistSession();
+        for (int i = 1; i <= 3; i++) {
+            Teacher teacher = Teacher.builder()
+                    .prenom("Test")
+                    .nom("Teacher " + i)
+                    .email("persistence-test-" + i + "@example.com")
+                    .gradeCode("MA")
+                    .participeSurveillance(true)
+                    .build();
+            entityManager.persist(teacher);
+            teachers.add(teacher);
+        }
+        exam1 = persistExam(session, "A1");
+        exam2 = persistExam(session, "A2");
+        otherExam = persistExam(otherSession, "B1");
+        entityManager.flush();
+    }
+
+    private ExamSession persistSession() {
+        ExamSession examSession = ExamSession.builder()
+                .academicYear("2025/2026")
+                .semesterCode("S1")
+                .sessionLibelle("Principale")
+                .startDate(LocalDate.of(2026, 1, 5))
+                .endDate(LocalDate.of(2026, 1, 16))
+                .numExamDays(10)
+                .build();
+        entityManager.persist(examSession);
+        return examSession;
+    }
+
+    private String persistExam(ExamSession examSession, String room) {
+        Exam exam = Exam.builder()
+                .examSession(examSession)
+                .responsable(teachers.get(0))
+                .examDate(LocalDate.of(2026, 1, 5))
+                .jourNumero(1)
+                .seance(SeanceType.S1)
+                .startTime(LocalTime.of(8, 30))
+                .endTime(LocalTime.of(10, 0))
+                .numRooms(room)
+                .requiredSupervisors(1)
+                .examType("EXAMEN")
+                .build();
+        entityManager.persist(exam);
+        return exam.getId();
+    }
+
+    /**
+     * Saves a run of the session assigning the teacher to each exam, returns the run id
+     */
+    private Long saveRun(ExamSession examSession, Teacher teacher, String... examIds) {
+        List<ExamAssignmentModel> exams = Stream.of(examIds)
+                .map(examId -> ExamAssignmentModel.builder()
+                        .examId(examId)
+                        .day(1)
+                        .seance(1)
+                        .examDate(LocalDate.of(2026, 1, 5))
+                        .startTime(LocalTime.of(8, 30))
+                        .endTime(LocalTime.of(10, 0))
+                        .assignedTeachers(List.of(AssignedTeacherModel.builder().teacherId(teacher.getId()).build()))
+                        .build())
+                .toList();
+        persistenceService.saveAssignmentResults(AssignmentResponseModel.builder()
+                .status(AssignmentStatus.SUCCESS)
+                .metadata(AssignmentMetadata.builder().sessionId(examSession.getId()).build())
+                .examAssignments(exams)
+                .teacherWorkloads(List.of())
+                .build());
+        return examSessionRepository.findCurrentRunId(examSession.getId());
+    }
+
+    private Set<Long> runIdsOfRows(Long sessionId) {
+        return assignmentRepository.findAll().stream()
+                .filter(a -> a.getSessionId().equals(sessionId))
+                .map(TeacherExamAssignment::getRunId)
+                .collect(Collectors.toSet());
+    }
+
+    // ============= RETENTION =============
+
+    @Test
+    void testSaveThreeRuns_KeepsCurrentAndOnePreviousRun() {
+        Long otherRun = saveRun(otherSession, teachers.get(0), otherExam);
+        Long run1 = saveRun(session, teachers.get(0), exam1, exam2);
+        Long run2 = saveRun(session, teachers.get(1), exam1, exam2);
+        Long run3 = saveRun(session, teachers.get(2), exam1, exam2);
+
+        assertEquals(run3, examSessionRepository.findCurrentRunId(session.getId()));
+        assertEquals(List.of(run3, run2), assignmentRunRepository.findRunIdsBySessionNewestFirst(session.getId()));
+        assertEquals(Set.of(run3, run2), runIdsOfRows(session.getId()));
+        assertFalse(assignmentRunRepository.existsById(run1));
+
+        // Pruning one session leaves the runs of the others alone
+        assertEquals(List.of(otherRun), assignmentRunRepository.findRunIdsBySessionNewestFirst(otherSession.getId()));
+        assertEquals(Set.of(otherRun), runIdsOfRows(otherSession.getId()));
+    }
+
+    @Test
+    void testDelete_ClearsCurrentRunAndKeepsRetainedRun() {
+        saveRun(session, teachers.get(0), exam1, exam2);
+        Long run2 = saveRun(session, teachers.get(1), exam1, exam2);
+        Long run3 = saveRun(session, teachers.get(2), exam1, exam2);
+
+        persistenceService.deleteAssignments(session.getId());
+
+        assertNull(examSessionRepository.findCurrentRunId(session.getId()));
+        assertEquals(List.of(run3), assignmentRunRepository.findRunIdsBySessionNewestFirst(session.getId()));
+        assertEquals(Set.of(run3), runIdsOfRows(session.getId()));
+        assertFalse(assignmentRunRepository.existsById(run2));
+
+        // The retained run is no longer served
+        assertFalse(assignmentRepository.existsCurrentBySessionId(session.getId()));
+        assertTrue(assignmentRepository.findCurrentByTeacherIdAndSessionId(teachers.get(2).getId(), session.getId()).isEmpty());
+        assertTrue(assignmentRepository.getAllBySession(session.getId()).isEmpty());
+    }
+
+    // ============= CURRENT RUN READS =============
+
+    @Test
+    void testCurrentRunQueries_ReturnOnlyCurrentRunRows() {
+        Long run1 = saveRun(session, teachers.get(0), exam1, exam2);
+        Long run2 = saveRun(session, teachers.get(1), exam1, exam2);
+        assertEquals(Set.of(run1, run2), runIdsOfRows(session.getId()));
+        Long previousTeacher = teachers.get(0).getId();
+        Long currentTeacher = teachers.get(1).getId();
+
+        assertTrue(assignmentRepository.existsCurrentBySessionId(session.getId()));
+
+        assertTrue(assignmentRepository.findCurrentByTeacherIdAndSessionId(previousTeacher, session.getId()).isEmpty());
+        List<TeacherExamAssignment> byTeacher =
+                assignmentRepository.findCurrentByTeacherIdAndSessionId(currentTeacher, session.getId());
+        assertEquals(2, byTeacher.size());
+        assertTrue(byTeacher.stream().allMatch(a -> a.getRunId().equals(run2)));
+
+        List<TeacherExamAssignment> byExam = assignmentRepository.findCurrentByExamIdAndSessionId(exam1, session.getId());
+        assertEquals(1, byExam.size());
+        assertEquals(currentTeacher, byExam.get(0).getTeacherId());
+
+        List<TeacherExamAssignment> page = assignmentRepository.findCurrentAfter(session.getId(), 0L,
+                null, null, null, Limit.of(10));
+        assertEquals(2, page.size());
+        assertTrue(page.stream().allMatch(a -> a.getRunId().equals(run2)));
+
+        try (Stream<TeacherExamAssignment> streamed = assignmentRepository.streamCurrentBySessionId(session.getId())) {
+            assertEquals(List.of(run2, run2), streamed.map(TeacherExamAssignment::getRunId).toList());
+        }
+
+        List<AssignmentDetailsProjection> details = assignmentRepository.getAllBySession(session.getId());
+        assertEquals(2, details.size());
+        assertTrue(details.stream().allMatch(d -> d.getTeacherId().equals(currentTeacher)));
+    }
+}
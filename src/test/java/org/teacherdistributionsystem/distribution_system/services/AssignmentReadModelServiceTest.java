@@ -0,0 +1,249 @@
+package org.teacherdistributionsystem.distribution_system.services;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.teacherdistributionsystem.distribution_system.entities.assignment.TeacherExamAssignment;
+import org.teacherdistributionsystem.distribution_system.models.projections.AssignmentDetailsProjection;
+import org.teacherdistributionsystem.distribution_system.models.responses.assignment.DaySeanceGroupAssignments;
+import org.teacherdistributionsystem.distribution_system.models.responses.teacher.TeacherResponse;
+import org.teacherdistributionsystem.distribution_system.repositories.assignement.ExamSessionRepository;
+import org.teacherdistributionsystem.distribution_system.repositories.assignement.TeacherExamAssignmentRepository;
+import org.teacherdistributionsystem.distribution_system.services.assignment.AssignmentReadModelService;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Applies swaps to a built view the way AssignmentSwapService does, while the mocked
+ * repositories are changed to the rows the swap commits. After every swap the view must
+ * match one rebuilt from those rows.
+ */
+@ExtendWith(MockitoExtension.class)
+class AssignmentReadModelServiceTest {
+
+    @Mock
+    private TeacherExamAssignmentRepository assignmentRepository;
+
+    @Mock
+    private ExamSessionRepository examSessionRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private AssignmentReadModelService readModelService;
+
+    private static final Long SESSION_ID = 1L;
+    private static final Long RUN_ID = 7L;
+
+    // The assignment rows of the current run, changed by each test like the swaps would
+    private final List<AssignmentRow> rows = new ArrayList<>();
+
+    private static class AssignmentRow {
+        final Long id;
+        final int day;
+        final int seance;
+        final String room;
+        Long teacherId;
+
+        AssignmentRow(Long id, int day, int seance, String room, Long teacherId) {
+            this.id = id;
+            this.day = day;
+            this.seance = seance;
+            this.room = room;
+            this.teacherId = teacherId;
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        when(examSessionRepository.findCurrentRunId(SESSION_ID)).thenReturn(RUN_ID);
+        when(assignmentRepository.getAllBySession(SESSION_ID))
+                .thenAnswer(invocation -> projections());
+
+        // Day 1 S1: rooms A1 (teachers 1, 2) and A2 (teacher 3); day 2 S3: room B1 (teachers 4, 5)
+        rows.add(new AssignmentRow(1L, 1, 1, "A1", 1L));
+        rows.add(new AssignmentRow(2L, 1, 1, "A1", 2L));
+        rows.add(new AssignmentRow(3L, 1, 1, "A2", 3L));
+        rows.add(new AssignmentRow(4L, 2, 3, "B1", 4L));
+        rows.add(new AssignmentRow(5L, 2, 3, "B1", 5L));
+
+        readModelService = newReadModelService();
+    }
+
+    private AssignmentReadModelService newReadModelService() {
+        return new AssignmentReadModelService(assignmentRepository, examSessionRepository, transactionManager);
+    }
+
+    // ============= SWAPS =============
+
+    @Test
+    void testSwap_AcrossGroups_MatchesRebuiltView() {
+        readModelService.getAssignmentsBySession(SESSION_ID);
+
+        swap(1L, 4L, RUN_ID);
+        assertViewMatchesRebuild();
+        assertEquals(List.of(2L, 4L), supervisorIds(readModelService.getAssignmentsBySession(SESSION_ID)).get("1_1_A1"));
+        assertEquals(List.of(1L, 5L), supervisorIds(readModelService.getAssignmentsBySession(SESSION_ID)).get("2_3_B1"));
+
+        // Same seance, other room
+        swap(2L, 3L, RUN_ID);
+        assertViewMatchesRebuild();
+    }
+
+    @Test
+    void testSwap_PatchesViewWithoutRebuilding() {
+        readModelService.getAssignmentsBySession(SESSION_ID);
+        swap(1L, 4L, RUN_ID);
+        readModelService.getAssignmentsBySession(SESSION_ID);
+
+        verify(assignmentRepository, times(1)).getAllBySession(SESSION_ID);
+    }
+
+    @Test
+    void testSwap_SameGroup_MatchesRebuiltView() {
+        Map<Integer, Map<Integer, Map<String, DaySeanceGroupAssignments>>> before =
+                readModelService.getAssignmentsBySession(SESSION_ID);
+
+        swap(1L, 2L, RUN_ID);
+
+        assertSame(before, readModelService.getAssignmentsBySession(SESSION_ID));
+        assertViewMatchesRebuild();
+    }
+
+    @Test
+    void testSwap_StaleRunId_DropsView() {
+        readModelService.getAssignmentsBySession(SESSION_ID);
+
+        swap(1L, 4L, RUN_ID - 1);
+
+        assertViewMatchesRebuild();
+        verify(assignmentRepository, times(3)).getAllBySession(SESSION_ID); // Initial, dropped view rebuilt, rebuild
+    }
+
+    @Test
+    void testSwap_WithoutView_IsIgnored() {
+        swap(1L, 4L, RUN_ID);
+
+        assertViewMatchesRebuild();
+    }
+
+    // ============= PUBLICATION =============
+
+    @Test
+    void testGetAssignments_SwapDuringBuild_ViewIsNotKept() {
+        // The swap commits after the rows were read, the view built from them misses it
+        when(assignmentRepository.getAllBySession(SESSION_ID)).thenAnswer(invocation -> {
+            List<AssignmentDetailsProjection> read = projections();
+            if (mockingDetails(assignmentRepository).getInvocations().size() == 1) {
+                swap(1L, 4L, RUN_ID);
+            }
+            return read;
+        });
+
+        Map<String, List<Long>> first = supervisorIds(readModelService.getAssignmentsBySession(SESSION_ID));
+        Map<String, List<Long>> second = supervisorIds(readModelService.getAssignmentsBySession(SESSION_ID));
+        readModelService.getAssignmentsBySession(SESSION_ID);
+
+        assertEquals(List.of(1L, 2L), first.get("1_1_A1")); // Built from the rows read before the swap
+        assertEquals(List.of(2L, 4L), second.get("1_1_A1"));
+        verify(assignmentRepository, times(2)).getAllBySession(SESSION_ID); // The second build is kept
+    }
+
+    @Test
+    void testEvict_NextReadRebuilds() {
+        readModelService.getAssignmentsBySession(SESSION_ID);
+        rows.removeIf(row -> row.day == 2);
+        readModelService.evict(SESSION_ID);
+
+        assertFalse(readModelService.getAssignmentsBySession(SESSION_ID).containsKey(2));
+        verify(assignmentRepository, times(2)).getAllBySession(SESSION_ID);
+    }
+
+    // ============= HELPER METHODS =============
+
+    /**
+     * Swaps the teachers of two assignment rows and reports it like AssignmentSwapService
+     */
+    private void swap(Long assignmentId1, Long assignmentId2, Long runId) {
+        AssignmentRow row1 = row(assignmentId1);
+        AssignmentRow row2 = row(assignmentId2);
+        Long teacher1 = row1.teacherId;
+        row1.teacherId = row2.teacherId;
+        row2.teacherId = teacher1;
+
+        readModelService.onAssignmentsSwapped(assignment(row1, runId), row1.room, assignment(row2, runId), row2.room);
+    }
+
+    private AssignmentRow row(Long id) {
+        return rows.stream().filter(row -> row.id.equals(id)).findFirst().orElseThrow();
+    }
+
+    private static TeacherExamAssignment assignment(AssignmentRow row, Long runId) {
+        return TeacherExamAssignment.builder()
+                .id(row.id)
+                .sessionId(SESSION_ID)
+                .runId(runId)
+                .teacherId(row.teacherId)
+                .examDay(row.day)
+                .seance(row.seance)
+                .build();
+    }
+
+    /**
+     * Supervisor ids per "day_seance_room" group; the order inside a group is not part of
+     * the view's contract, rows of a group come in no particular order
+     */
+    private static Map<String, List<Long>> supervisorIds(
+            Map<Integer, Map<Integer, Map<String, DaySeanceGroupAssignments>>> days) {
+        Map<String, List<Long>> groups = new TreeMap<>();
+        days.forEach((day, seances) -> seances.forEach((seance, rooms) -> rooms.forEach((room, group) -> {
+            assertEquals(day, group.getExamDay());
+            assertEquals(seance, group.getSeance());
+            assertEquals(room, group.getNumRooms());
+            groups.put(day + "_" + seance + "_" + room,
+                    group.getSupervisors().stream().map(TeacherResponse::getId).sorted().toList());
+        })));
+        return groups;
+    }
+
+    private void assertViewMatchesRebuild() {
+        Map<String, List<Long>> expected = supervisorIds(newReadModelService().getAssignmentsBySession(SESSION_ID));
+        Map<String, List<Long>> actual = supervisorIds(readModelService.getAssignmentsBySession(SESSION_ID));
+        assertEquals(expected, actual);
+    }
+
+    private List<AssignmentDetailsProjection> projections() {
+        return rows.stream()
+                .sorted(Comparator.comparingInt((AssignmentRow row) -> row.day).thenComparingInt(row -> row.seance))
+                .map(AssignmentReadModelServiceTest::projection)
+                .toList();
+    }
+
+    private static AssignmentDetailsProjection projection(AssignmentRow row) {
+        Long teacherId = row.teacherId;
+        return new AssignmentDetailsProjection() {
+            public LocalDate getExamDate() { return LocalDate.of(2026, 1, 4 + row.day); }
+            public LocalTime getStartTime() { return LocalTime.of(8, 30); }
+            public LocalTime getEndTime() { return LocalTime.of(10, 0); }
+            public Integer getExamDay() { return row.day; }
+            public Integer getSeance() { return row.seance; }
+            public Long getTeacherId() { return teacherId; }
+            public String getNom() { return "Teacher" + teacherId; }
+            public String getPrenom() { return "Test"; }
+            public String getEmail() { return "teacher" + teacherId + "@test.com"; }
+            public Integer getCodeSmartex() { return teacherId.intValue(); }
+            public String getGradeCode() { return "MA"; }
+            public Boolean getParticipeSurveillance() { return true; }
+            public Integer getQuotaCredit() { return 0; }
+            public String getNumRooms() { return row.room; }
+        };
+    }
+}
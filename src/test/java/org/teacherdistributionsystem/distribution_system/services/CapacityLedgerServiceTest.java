@@ -0,0 +1,372 @@
+package org.teacherdistributionsystem.distribution_system.services;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.teacherdistributionsystem.distribution_system.entities.assignment.ExamSession;
+import org.teacherdistributionsystem.distribution_system.entities.teacher.Teacher;
+import org.teacherdistributionsystem.distribution_system.entities.teacher.TeacherUnavailability;
+import org.teacherdistributionsystem.distribution_system.enums.SeanceType;
+import org.teacherdistributionsystem.distribution_system.models.projections.ExamForAssignmentProjection;
+import org.teacherdistributionsystem.distribution_system.models.projections.SessionTeacherProjection;
+import org.teacherdistributionsystem.distribution_system.models.projections.TeacherUnavailabilityProjection;
+import org.teacherdistributionsystem.distribution_system.models.responses.assignment.SessionCapacityResponse;
+import org.teacherdistributionsystem.distribution_system.repositories.assignement.ExamRepository;
+import org.teacherdistributionsystem.distribution_system.repositories.assignement.ExamSessionRepository;
+import org.teacherdistributionsystem.distribution_system.repositories.teacher.TeacherQuotaRepository;
+import org.teacherdistributionsystem.distribution_system.repositories.teacher.TeacherUnavailabilityRepository;
+import org.teacherdistributionsystem.distribution_system.services.assignment.CapacityLedgerService;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Applies each kind of change to a tracked ledger, the same way the editing services do,
+ * while the mocked repositories are changed to the rows the edit commits. After every
+ * change the ledger must match one rebuilt from those rows.
+ */
+@ExtendWith(MockitoExtension.class)
+class CapacityLedgerServiceTest {
+
+    @Mock
+    private ExamSessionRepository examSessionRepository;
+
+    @Mock
+    private ExamRepository examRepository;
+
+    @Mock
+    private TeacherQuotaRepository teacherQuotaRepository;
+
+    @Mock
+    private TeacherUnavailabilityRepository teacherUnavailabilityRepository;
+
+    private CapacityLedgerService ledgerService;
+
+    private static final Long SESSION_ID = 1L;
+
+    // The rows the mocked repositories return, changed by each test like the edits would
+    private final List<ExamRow> exams = new ArrayList<>();
+    private final Map<Long, TeacherRow> roster = new LinkedHashMap<>();
+    private final List<UnavailabilityRow> unavailabilities = new ArrayList<>();
+
+    private static class ExamRow {
+        final String id;
+        final int jourNumero;
+        final SeanceType seance;
+        final String numRooms;
+        int requiredSupervisors;
+
+        ExamRow(String id, int jourNumero, SeanceType seance, String numRooms, int requiredSupervisors) {
+            this.id = id;
+            this.jourNumero = jourNumero;
+            this.seance = seance;
+            this.numRooms = numRooms;
+            this.requiredSupervisors = requiredSupervisors;
+        }
+    }
+
+    private static class TeacherRow {
+        final Long id;
+        final String grade;
+        final boolean participates;
+        Integer quota;
+
+        TeacherRow(Long id, String grade, boolean participates, Integer quota) {
+            this.id = id;
+            this.grade = grade;
+            this.participates = participates;
+            this.quota = quota;
+        }
+    }
+
+    private record UnavailabilityRow(Long teacherId, int numeroJour, String seance) {
+    }
+
+    @BeforeEach
+    void setUp() {
+        ExamSession session = ExamSession.builder().id(SESSION_ID).numExamDays(3).build();
+        when(examSessionRepository.findById(SESSION_ID)).thenReturn(Optional.of(session));
+        when(examRepository.getExamsBySessionIdForAssignment(SESSION_ID))
+                .thenAnswer(invocation -> exams.stream().map(CapacityLedgerServiceTest::examProjection).toList());
+        when(teacherQuotaRepository.getSessionRoster(SESSION_ID))
+                .thenAnswer(invocation -> roster.values().stream().map(CapacityLedgerServiceTest::teacherProjection).toList());
+        when(teacherUnavailabilityRepository.getTeacherSlotsBySessionId(SESSION_ID))
+                .thenAnswer(invocation -> unavailabilities.stream().map(CapacityLedgerServiceTest::unavailabilityProjection).toList());
+
+        // Day 1 S1 needs 4 supervisors from rooms A1 (two exam rows) and A2, day 2 S3 needs 1
+        exams.add(new ExamRow("E1", 1, SeanceType.S1, "A1", 2));
+        exams.add(new ExamRow("E2", 1, SeanceType.S1, "A1", 2));
+        exams.add(new ExamRow("E3", 1, SeanceType.S1, "A2", 2));
+        exams.add(new ExamRow("E4", 2, SeanceType.S3, "B1", 1));
+
+        roster.put(1L, new TeacherRow(1L, "PR", true, 3));
+        roster.put(2L, new TeacherRow(2L, "MA", true, 2));
+        roster.put(3L, new TeacherRow(3L, "MA", true, 0));
+        roster.put(4L, new TeacherRow(4L, "PR", false, 2));
+        roster.put(5L, new TeacherRow(5L, "AC", true, null));
+
+        unavailabilities.add(new UnavailabilityRow(1L, 1, "S1"));
+
+        ledgerService = newLedgerService();
+    }
+
+    private CapacityLedgerService newLedgerService() {
+        return new CapacityLedgerService(examSessionRepository, examRepository,
+                teacherQuotaRepository, teacherUnavailabilityRepository);
+    }
+
+    // ============= INCREMENTAL CHANGES =============
+
+    @Test
+    void testTeacherQuotaChanges_MatchRebuiltLedger() {
+        SessionCapacityResponse initial = ledgerService.getCapacity(SESSION_ID);
+        assertLedgerMatchesRebuild();
+        assertEquals(5, initial.getTotalDemand());
+        assertEquals(5, initial.getTotalQuota());
+        assertEquals(1, initial.getShortSlots()); // Only teacher 2 is active and available on day 1 S1
+
+        // Inactive teacher becomes active
+        setQuota(3L, 2);
+        assertLedgerMatchesRebuild();
+
+        // Active teacher with an unavailability becomes inactive
+        setQuota(1L, 0);
+        assertLedgerMatchesRebuild();
+
+        // Quota change that keeps the teacher active
+        setQuota(2L, 5);
+        assertLedgerMatchesRebuild();
+
+        // Non participating teachers never count
+        setQuota(4L, 7);
+        assertLedgerMatchesRebuild();
+    }
+
+    @Test
+    void testGradeQuotaChange_MatchesRebuiltLedger() {
+        ledgerService.getCapacity(SESSION_ID);
+
+        setGradeQuota("MA", 1);
+        assertLedgerMatchesRebuild();
+
+        setGradeQuota("PR", 0);
+        assertLedgerMatchesRebuild();
+
+        setGradeQuota("AC", 4);
+        assertLedgerMatchesRebuild();
+    }
+
+    @Test
+    void testSupervisorChanges_MatchRebuiltLedger() {
+        ledgerService.getCapacity(SESSION_ID);
+
+        // Both rows of room A1 are one logical exam
+        setExamSupervisors(1, SeanceType.S1, "A1", 3);
+        assertLedgerMatchesRebuild();
+
+        setExamSupervisors(2, SeanceType.S3, "B1", 0);
+        assertLedgerMatchesRebuild();
+
+        setSessionSupervisors(1);
+        assertLedgerMatchesRebuild();
+        assertEquals(3, ledgerService.getCapacity(SESSION_ID).getTotalDemand());
+    }
+
+    @Test
+    void testUnavailabilitiesAdded_MatchRebuiltLedger() {
+        ledgerService.getCapacity(SESSION_ID);
+
+        addUnavailabilities(
+                new UnavailabilityRow(2L, 2, "S3"),
+                new UnavailabilityRow(3L, 1, "S1"),
+                new UnavailabilityRow(4L, 3, "S2"),
+                new UnavailabilityRow(1L, 1, "S1"), // Already unavailable
+                new UnavailabilityRow(99L, 1, "S1")); // Not on the roster
+        assertLedgerMatchesRebuild();
+
+        // Supply then changes on the slots the teacher can still take
+        setQuota(3L, 2);
+        assertLedgerMatchesRebuild();
+    }
+
+    @Test
+    void testMixedChanges_MatchRebuiltLedger() {
+        ledgerService.getCapacity(SESSION_ID);
+
+        setQuota(3L, 1);
+        addUnavailabilities(new UnavailabilityRow(3L, 2, "S3"));
+        setGradeQuota("MA", 3);
+        setExamSupervisors(1, SeanceType.S1, "A2", 1);
+        setQuota(1L, 0);
+        setSessionSupervisors(2);
+        addUnavailabilities(new UnavailabilityRow(2L, 1, "S1"));
+        setGradeQuota("PR", 1);
+
+        assertLedgerMatchesRebuild();
+    }
+
+    // ============= PUBLICATION =============
+
+    @Test
+    void testGetCapacity_ServesTrackedLedgerWithoutRebuilding() {
+        ledgerService.getCapacity(SESSION_ID);
+        setQuota(2L, 4);
+        ledgerService.getCapacity(SESSION_ID);
+
+        verify(examRepository, times(1)).getExamsBySessionIdForAssignment(SESSION_ID);
+    }
+
+    @Test
+    void testGetCapacity_ChangeDuringBuild_LedgerIsNotKept() {
+        // The change commits after the exams were read but before the roster is
+        when(teacherQuotaRepository.getSessionRoster(SESSION_ID)).thenAnswer(invocation -> {
+            if (mockingDetails(teacherQuotaRepository).getInvocations().size() == 1) {
+                setExamSupervisors(1, SeanceType.S1, "A2", 4);
+            }
+            return roster.values().stream().map(CapacityLedgerServiceTest::teacherProjection).toList();
+        });
+
+        SessionCapacityResponse first = ledgerService.getCapacity(SESSION_ID);
+        SessionCapacityResponse second = ledgerService.getCapacity(SESSION_ID);
+
+        assertEquals(5, first.getTotalDemand()); // Built from the rows read before the change
+        assertEquals(7, second.getTotalDemand());
+        verify(examRepository, times(2)).getExamsBySessionIdForAssignment(SESSION_ID);
+    }
+
+    @Test
+    void testEvict_NextQueryRebuilds() {
+        ledgerService.getCapacity(SESSION_ID);
+        exams.clear();
+        ledgerService.evict(SESSION_ID);
+
+        assertEquals(0, ledgerService.getCapacity(SESSION_ID).getTotalDemand());
+        verify(examRepository, times(2)).getExamsBySessionIdForAssignment(SESSION_ID);
+    }
+
+    // ============= TRANSACTIONS =============
+
+    @Test
+    void testChangeInTransaction_AppliedOnlyAfterCommit() {
+        ledgerService.getCapacity(SESSION_ID);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            setQuota(3L, 2);
+            assertEquals(5, ledgerService.getCapacity(SESSION_ID).getTotalQuota());
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertEquals(7, ledgerService.getCapacity(SESSION_ID).getTotalQuota());
+    }
+
+    @Test
+    void testChangeInTransaction_NeverAppliedOnRollback() {
+        ledgerService.getCapacity(SESSION_ID);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            ledgerService.onTeacherQuotaChanged(SESSION_ID, 3L, 2);
+            ledgerService.onSessionSupervisorsChanged(SESSION_ID, 3);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertLedgerMatchesRebuild();
+    }
+
+    // ============= HELPER METHODS =============
+
+    private void setQuota(Long teacherId, int quota) {
+        roster.get(teacherId).quota = quota;
+        ledgerService.onTeacherQuotaChanged(SESSION_ID, teacherId, quota);
+    }
+
+    private void setGradeQuota(String grade, int quota) {
+        roster.values().stream().filter(t -> t.grade.equals(grade)).forEach(t -> t.quota = quota);
+        ledgerService.onGradeQuotaChanged(grade, quota);
+    }
+
+    private void setExamSupervisors(int jourNumero, SeanceType seance, String numRooms, int required) {
+        exams.stream()
+                .filter(e -> e.jourNumero == jourNumero && e.seance == seance && e.numRooms.equals(numRooms))
+                .forEach(e -> e.requiredSupervisors = required);
+        ledgerService.onExamSupervisorsChanged(SESSION_ID, jourNumero, seance, numRooms, required);
+    }
+
+    private void setSessionSupervisors(int required) {
+        exams.forEach(e -> e.requiredSupervisors = required);
+        ledgerService.onSessionSupervisorsChanged(SESSION_ID, required);
+    }
+
+    private void addUnavailabilities(UnavailabilityRow... rows) {
+        List<TeacherUnavailability> added = new ArrayList<>();
+        for (UnavailabilityRow row : rows) {
+            unavailabilities.add(row);
+            added.add(TeacherUnavailability.builder()
+                    .teacher(Teacher.builder().id(row.teacherId()).build())
+                    .numeroJour(row.numeroJour())
+                    .seance(row.seance())
+                    .build());
+        }
+        ledgerService.onUnavailabilitiesAdded(SESSION_ID, added);
+    }
+
+    private void assertLedgerMatchesRebuild() {
+        SessionCapacityResponse expected = newLedgerService().getCapacity(SESSION_ID);
+        SessionCapacityResponse actual = ledgerService.getCapacity(SESSION_ID);
+
+        assertEquals(expected.getShortSlots(), actual.getShortSlots(), "shortSlots");
+        assertEquals(expected.getTotalDemand(), actual.getTotalDemand(), "totalDemand");
+        assertEquals(expected.getTotalQuota(), actual.getTotalQuota(), "totalQuota");
+        assertEquals(expected.isFeasible(), actual.isFeasible(), "feasible");
+        assertEquals(expected.getSlots(), actual.getSlots(), "slots");
+        assertEquals(expected.getGrades(), actual.getGrades(), "grades");
+    }
+
+    private static ExamForAssignmentProjection examProjection(ExamRow row) {
+        return new ExamForAssignmentProjection() {
+            public String getId() { return row.id; }
+            public SeanceType getSeance() { return row.seance; }
+            public Integer getJourNumero() { return row.jourNumero; }
+            public String getNumRooms() { return row.numRooms; }
+            public Long getResponsableId() { return null; }
+            public Integer getRequiredSupervisors() { return row.requiredSupervisors; }
+            public LocalDate getExamDate() { return LocalDate.of(2026, 1, 4 + row.jourNumero); }
+            public LocalTime getStartTime() { return row.seance.getStartTime(); }
+            public LocalTime getEndTime() { return row.seance.getEndTime(); }
+        };
+    }
+
+    private static SessionTeacherProjection teacherProjection(TeacherRow row) {
+        return new SessionTeacherProjection() {
+            public Long getId() { return row.id; }
+            public String getGradeCode() { return row.grade; }
+            public String getNom() { return "Teacher" + row.id; }
+            public String getPrenom() { return "Test"; }
+            public String getEmail() { return "teacher" + row.id + "@test.com"; }
+            public Boolean getParticipeSurveillance() { return row.participates; }
+            public Integer getAssignedQuota() { return row.quota; }
+            public Integer getPriority() { return null; }
+        };
+    }
+
+    private static TeacherUnavailabilityProjection unavailabilityProjection(UnavailabilityRow row) {
+        return new TeacherUnavailabilityProjection() {
+            public Long getId() { return row.teacherId(); }
+            public Integer getNumeroJour() { return row.numeroJour(); }
+            public String getSeance() { return row.seance(); }
+        };
+    }
+}
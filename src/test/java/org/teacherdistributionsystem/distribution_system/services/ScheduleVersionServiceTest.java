@@ -0,0 +1,148 @@
+package org.teacherdistributionsystem.distribution_system.services;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.teacherdistributionsystem.distribution_system.entities.assignment.AssignmentRun;
+import org.teacherdistributionsystem.distribution_system.enums.AssignmentStatus;
+import org.teacherdistributionsystem.distribution_system.events.AssignmentsChangedEvent;
+import org.teacherdistributionsystem.distribution_system.models.others.AssignmentMetadata;
+import org.teacherdistributionsystem.distribution_system.models.others.TeacherWorkloadModel;
+import org.teacherdistributionsystem.distribution_system.models.responses.assignment.AssignmentResponseModel;
+import org.teacherdistributionsystem.distribution_system.repositories.assignement.AssignmentRunRepository;
+import org.teacherdistributionsystem.distribution_system.repositories.assignement.AssignmentSessionRepository;
+import org.teacherdistributionsystem.distribution_system.repositories.assignement.ExamSessionRepository;
+import org.teacherdistributionsystem.distribution_system.repositories.assignement.TeacherExamAssignmentBatchWriter;
+import org.teacherdistributionsystem.distribution_system.repositories.assignement.TeacherExamAssignmentRepository;
+import org.teacherdistributionsystem.distribution_system.repositories.teacher.TeacherCreditWriter;
+import org.teacherdistributionsystem.distribution_system.services.assignment.AssignmentPersistenceService;
+import org.teacherdistributionsystem.distribution_system.services.assignment.AssignmentQueryCache;
+import org.teacherdistributionsystem.distribution_system.services.assignment.AssignmentReadModelService;
+import org.teacherdistributionsystem.distribution_system.services.assignment.ScheduleNotificationService;
+import org.teacherdistributionsystem.distribution_system.services.assignment.ScheduleVersionService;
+import org.teacherdistributionsystem.distribution_system.services.teacher.TeacherService;
+import org.teacherdistributionsystem.distribution_system.utils.JsonArrayStreamWriter;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * The events the persistence service publishes are handed to a real ScheduleVersionService,
+ * outside a transaction they apply at once. A saved run rewrites every teacher's credit, so
+ * it must change the ETag of the other sessions too; a deleted run or a swap must not.
+ */
+@ExtendWith(MockitoExtension.class)
+class ScheduleVersionServiceTest {
+
+    private static final Long SESSION_A = 1L;
+    private static final Long SESSION_B = 2L;
+
+    @Mock
+    private TeacherExamAssignmentRepository assignmentRepository;
+
+    @Mock
+    private TeacherExamAssignmentBatchWriter assignmentBatchWriter;
+
+    @Mock
+    private AssignmentSessionRepository sessionRepository;
+
+    @Mock
+    private TeacherCreditWriter teacherCreditWriter;
+
+    @Mock
+    private TeacherService teacherService;
+
+    @Mock
+    private AssignmentRunRepository assignmentRunRepository;
+
+    @Mock
+    private ExamSessionRepository examSessionRepository;
+
+    @Mock
+    private AssignmentReadModelService readModelService;
+
+    @Mock
+    private AssignmentQueryCache queryCache;
+
+    @Mock
+    private ScheduleNotificationService notificationService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private JsonArrayStreamWriter jsonArrayStreamWriter;
+
+    private AssignmentPersistenceService persistenceService;
+    private ScheduleVersionService versionService;
+
+    @BeforeEach
+    void setUp() {
+        persistenceService = new AssignmentPersistenceService(assignmentRepository, assignmentBatchWriter,
+                sessionRepository, teacherCreditWriter, teacherService, sessionRepository, assignmentRunRepository,
+                examSessionRepository, readModelService, queryCache, notificationService, eventPublisher,
+                jsonArrayStreamWriter);
+        versionService = new ScheduleVersionService();
+    }
+
+    private AssignmentsChangedEvent publishedEvent() {
+        ArgumentCaptor<AssignmentsChangedEvent> event = ArgumentCaptor.forClass(AssignmentsChangedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        return event.getValue();
+    }
+
+    @Test
+    void testRunSaved_ChangesETagOfOtherSessions() {
+        when(assignmentRunRepository.save(any(AssignmentRun.class))).thenAnswer(invocation -> {
+            AssignmentRun run = invocation.getArgument(0);
+            run.setId(10L);
+            return run;
+        });
+        String sessionATag = versionService.session(SESSION_A).eTag();
+        String sessionBTag = versionService.session(SESSION_B).eTag();
+
+        persistenceService.saveAssignmentResults(AssignmentResponseModel.builder()
+                .status(AssignmentStatus.SUCCESS)
+                .metadata(AssignmentMetadata.builder().sessionId(SESSION_A).build())
+                .examAssignments(List.of())
+                .teacherWorkloads(List.of(TeacherWorkloadModel.builder().teacherId(5L).unavailabilityCredit(1).build()))
+                .build());
+        versionService.onAssignmentsChanged(publishedEvent());
+
+        assertNotEquals(sessionATag, versionService.session(SESSION_A).eTag());
+        assertNotEquals(sessionBTag, versionService.session(SESSION_B).eTag());
+    }
+
+    @Test
+    void testRunDeleted_KeepsETagOfOtherSessions() {
+        String sessionATag = versionService.session(SESSION_A).eTag();
+        String sessionBTag = versionService.session(SESSION_B).eTag();
+
+        persistenceService.deleteAssignments(SESSION_A);
+        versionService.onAssignmentsChanged(publishedEvent());
+
+        assertNotEquals(sessionATag, versionService.session(SESSION_A).eTag());
+        assertEquals(sessionBTag, versionService.session(SESSION_B).eTag());
+    }
+
+    @Test
+    void testSwap_KeepsETagOfOtherSessions() {
+        String sessionATag = versionService.session(SESSION_A).eTag();
+        String sessionBTag = versionService.session(SESSION_B).eTag();
+
+        versionService.onAssignmentsChanged(AssignmentsChangedEvent.swap(SESSION_A, Set.of(5L, 6L), Set.of("E1")));
+
+        assertNotEquals(sessionATag, versionService.session(SESSION_A).eTag());
+        assertEquals(sessionBTag, versionService.session(SESSION_B).eTag());
+    }
+}
@@ -0,0 +1,148 @@
+package org.teacherdistributionsystem.distribution_system.services;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.teacherdistributionsystem.distribution_system.entities.teacher.QuotaPerGrade;
+import org.teacherdistributionsystem.distribution_system.enums.GradeType;
+import org.teacherdistributionsystem.distribution_system.models.others.SyntheticSessionModel;
+import org.teacherdistributionsystem.distribution_system.models.others.SyntheticSessionModel.SyntheticExam;
+import org.teacherdistributionsystem.distribution_system.models.others.SyntheticSessionModel.SyntheticTeacher;
+import org.teacherdistributionsystem.distribution_system.models.others.SyntheticSessionSpec;
+import org.teacherdistributionsystem.distribution_system.models.projections.ExamForAssignmentProjection;
+import org.teacherdistributionsystem.distribution_system.models.projections.SessionTeacherProjection;
+import org.teacherdistributionsystem.distribution_system.repositories.assignement.ExamRepository;
+import org.teacherdistributionsystem.distribution_system.repositories.teacher.GradeTypeRepository;
+import org.teacherdistributionsystem.distribution_system.repositories.teacher.QuotaPerGradeRepository;
+import org.teacherdistributionsystem.distribution_system.repositories.teacher.TeacherQuotaRepository;
+import org.teacherdistributionsystem.distribution_system.repositories.teacher.TeacherUnavailabilityRepository;
+import org.teacherdistributionsystem.distribution_system.services.teacher.QuotaPerGradeService;
+import org.teacherdistributionsystem.distribution_system.utils.SyntheticSessionGenerator;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Loads a small synthetic session into H2 and reads it back through the queries the
+ * solver loads a session with. QuotaPerGrade only has MA beforehand: its quota must be
+ * kept and AS back-filled from the spec.
+ */
+@DataJpaTest
+@Import({SyntheticSessionLoader.class, QuotaPerGradeService.class})
+class SyntheticSessionLoaderTest {
+
+    private static final int MA_QUOTA = 5;
+    private static final int AS_QUOTA = 3;
+
+    @Autowired
+    private SyntheticSessionLoader loader;
+
+    @Autowired
+    private QuotaPerGradeRepository quotaPerGradeRepository;
+
+    @Autowired
+    private GradeTypeRepository gradeTypeRepository;
+
+    @Autowired
+    private TeacherQuotaRepository teacherQuotaRepository;
+
+    @Autowired
+    private ExamRepository examRepository;
+
+    @Autowired
+    private TeacherUnavailabilityRepository teacherUnavailabilityRepository;
+
+    private SyntheticSessionSpec spec;
+    private SyntheticSessionModel generated;
+    private Long sessionId;
+
+    @BeforeEach
+    void setUp() {
+        quotaPerGradeRepository.save(QuotaPerGrade.builder().grade(GradeType.MA).defaultQuota(MA_QUOTA).priority(2).build());
+
+        spec = SyntheticSessionSpec.builder()
+                .seed(11L)
+                .teachersPerGrade(Map.of(GradeType.MA, 6, GradeType.AS, 6))
+                .quotaPerGrade(Map.of(GradeType.MA, 8, GradeType.AS, AS_QUOTA))
+                .numDays(2)
+                .seancesPerDay(2)
+                .minRoomsPerSlot(1)
+                .maxRoomsPerSlot(2)
+                .unavailabilityDensity(0.5)
+                .build();
+        generated = SyntheticSessionGenerator.generate(spec);
+        sessionId = loader.load(spec).getId();
+    }
+
+    @Test
+    void testLoad_RosterMatchesGeneratedTeachers() {
+        List<SessionTeacherProjection> roster = teacherQuotaRepository.getSessionRoster(sessionId);
+
+        Map<String, SyntheticTeacher> teachersByEmail = generated.getTeachers().stream()
+                .collect(Collectors.toMap(SyntheticTeacher::getEmail, Function.identity()));
+        assertEquals(teachersByEmail.size(), roster.size());
+        for (SessionTeacherProjection teacher : roster) {
+            SyntheticTeacher expected = teachersByEmail.get(teacher.getEmail());
+            assertNotNull(expected, teacher.getEmail());
+            assertEquals(expected.getGrade().name(), teacher.getGradeCode());
+            assertEquals(expected.isParticipeSurveillance(), teacher.getParticipeSurveillance());
+            assertEquals(expected.getGrade() == GradeType.MA ? MA_QUOTA : AS_QUOTA, teacher.getAssignedQuota());
+            assertNotNull(teacher.getPriority(), "No QuotaPerGrade row for " + teacher.getGradeCode());
+        }
+    }
+
+    @Test
+    void testLoad_BackFillsOnlyMissingQuotaPerGrade() {
+        assertEquals(2, quotaPerGradeRepository.count());
+        assertEquals(MA_QUOTA, quotaPerGradeRepository.findByGrade(GradeType.MA).orElseThrow().getDefaultQuota());
+        QuotaPerGrade as = quotaPerGradeRepository.findByGrade(GradeType.AS).orElseThrow();
+        assertEquals(AS_QUOTA, as.getDefaultQuota());
+        assertEquals(spec.getPriorityPerGrade().get(GradeType.AS), as.getPriority());
+        assertEquals(2, gradeTypeRepository.count());
+    }
+
+    @Test
+    void testLoad_ExamsMatchGeneratedExams() {
+        List<ExamForAssignmentProjection> exams = examRepository.getExamsBySessionIdForAssignment(sessionId);
+        Set<Long> teacherIds = teacherQuotaRepository.getSessionRoster(sessionId).stream()
+                .map(SessionTeacherProjection::getId)
+                .collect(Collectors.toSet());
+
+        assertEquals(generated.getExams().size(), exams.size());
+        assertEquals(slotsOf(generated.getExams()), exams.stream()
+                .collect(Collectors.groupingBy(e -> (e.getJourNumero() - 1) + "_" + e.getSeance().ordinal(),
+                        Collectors.counting())));
+        for (ExamForAssignmentProjection exam : exams) {
+            assertEquals(spec.getSupervisorsPerExam(), exam.getRequiredSupervisors());
+            assertEquals(spec.getStartDate().plusDays(exam.getJourNumero() - 1), exam.getExamDate());
+            assertEquals(exam.getSeance().getStartTime(), exam.getStartTime());
+            assertTrue(teacherIds.contains(exam.getResponsableId()), "Owner " + exam.getResponsableId());
+        }
+    }
+
+    @Test
+    void testLoad_UnavailabilitiesStoredFromDayOne() {
+        List<String> stored = teacherUnavailabilityRepository.getTeacherSlotsBySessionId(sessionId).stream()
+                .map(u -> u.getNumeroJour() + "_" + u.getSeance())
+                .sorted()
+                .toList();
+        List<String> expected = generated.getUnavailabilities().stream()
+                .map(u -> (u.getDay() + 1) + "_S" + (u.getSeance() + 1))
+                .sorted()
+                .toList();
+
+        assertFalse(expected.isEmpty());
+        assertEquals(expected, stored);
+    }
+
+    private static Map<String, Long> slotsOf(List<SyntheticExam> exams) {
+        return exams.stream().collect(Collectors.groupingBy(e -> e.getDay() + "_" + e.getSeance(), Collectors.counting()));
+    }
+}
@@ -0,0 +1,84 @@
+package org.teacherdistributionsystem.distribution_system.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoundedCacheTest {
+
+    @Test
+    void testGet_SecondReadIsAHit() {
+        BoundedCache<Long, String> cache = new BoundedCache<>("test", 10, 1, TimeUnit.MINUTES);
+        AtomicInteger loads = new AtomicInteger();
+
+        assertEquals("1", cache.get(1L, key -> { loads.incrementAndGet(); return "1"; }));
+        assertEquals("1", cache.get(1L, key -> { loads.incrementAndGet(); return "other"; }));
+
+        BoundedCache.Stats stats = cache.stats();
+        assertEquals(1, loads.get());
+        assertEquals(1, stats.hits());
+        assertEquals(1, stats.misses());
+        assertEquals(0.5, stats.hitRate());
+    }
+
+    @Test
+    void testGet_LeastRecentlyUsedEntryIsEvicted() {
+        BoundedCache<Long, String> cache = new BoundedCache<>("test", 2, 1, TimeUnit.MINUTES);
+        cache.get(1L, String::valueOf);
+        cache.get(2L, String::valueOf);
+        cache.get(1L, String::valueOf); // 2 is now the least recently used
+        cache.get(3L, String::valueOf);
+
+        assertEquals("1", cache.get(1L, key -> "reloaded"));
+        assertEquals("reloaded", cache.get(2L, key -> "reloaded"));
+        assertEquals(2, cache.stats().size());
+        assertTrue(cache.stats().evictions() >= 1);
+    }
+
+    @Test
+    void testGet_ExpiredEntryIsReloaded() {
+        BoundedCache<Long, String> cache = new BoundedCache<>("test", 10, 0, TimeUnit.SECONDS);
+        cache.get(1L, key -> "old");
+
+        assertEquals("new", cache.get(1L, key -> "new"));
+        assertEquals(0, cache.stats().hits());
+    }
+
+    @Test
+    void testInvalidateIf_OnlyMatchingKeysAreDropped() {
+        BoundedCache<Long, String> cache = new BoundedCache<>("test", 10, 1, TimeUnit.MINUTES);
+        cache.get(1L, String::valueOf);
+        cache.get(2L, String::valueOf);
+
+        cache.invalidateIf(key -> key == 1L);
+
+        assertEquals("reloaded", cache.get(1L, key -> "reloaded"));
+        assertEquals("2", cache.get(2L, key -> "reloaded"));
+        assertEquals(1, cache.stats().invalidations());
+    }
+
+    @Test
+    void testGet_LoadOverlappingAnInvalidationIsNotKept() {
+        BoundedCache<Long, String> cache = new BoundedCache<>("test", 10, 1, TimeUnit.MINUTES);
+
+        String loaded = cache.get(1L, key -> {
+            cache.invalidateAll(); // The change commits while the old value is being read
+            return "stale";
+        });
+
+        assertEquals("stale", loaded);
+        assertEquals("fresh", cache.get(1L, key -> "fresh"));
+    }
+
+    @Test
+    void testGet_NullIsNotCached() {
+        BoundedCache<Long, String> cache = new BoundedCache<>("test", 10, 1, TimeUnit.MINUTES);
+
+        assertNull(cache.get(1L, key -> null));
+        assertEquals("1", cache.get(1L, String::valueOf));
+        assertEquals(0, cache.stats().hits());
+    }
+}
@@ -0,0 +1,87 @@
+package org.teacherdistributionsystem.distribution_system.utils;
+
+import org.junit.jupiter.api.Test;
+import org.teacherdistributionsystem.distribution_system.config.AssignmentConstraintConfig;
+import org.teacherdistributionsystem.distribution_system.enums.AssignmentStatus;
+import org.teacherdistributionsystem.distribution_system.enums.GradeType;
+import org.teacherdistributionsystem.distribution_system.models.others.SolverInstanceModel;
+import org.teacherdistributionsystem.distribution_system.models.others.SyntheticSessionModel;
+import org.teacherdistributionsystem.distribution_system.models.others.SyntheticSessionModel.SyntheticExam;
+import org.teacherdistributionsystem.distribution_system.models.others.SyntheticSessionSpec;
+import org.teacherdistributionsystem.distribution_system.models.responses.assignment.AssignmentResponseModel;
+import org.teacherdistributionsystem.distribution_system.services.assignment.AssignmentAlgorithmService;
+
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SyntheticSessionGeneratorTest {
+
+    private static SyntheticSessionSpec.SyntheticSessionSpecBuilder smallSpec() {
+        return SyntheticSessionSpec.builder()
+                .teachersPerGrade(Map.of(GradeType.MA, 6, GradeType.AS, 6))
+                .numDays(2)
+                .seancesPerDay(2)
+                .minRoomsPerSlot(1)
+                .maxRoomsPerSlot(2);
+    }
+
+    @Test
+    void testGenerate_SameSeedSameSession() {
+        SyntheticSessionSpec spec = smallSpec().seed(7L).build();
+
+        SyntheticSessionModel session = SyntheticSessionGenerator.generate(spec);
+
+        assertEquals(session, SyntheticSessionGenerator.generate(spec));
+        assertNotEquals(session, SyntheticSessionGenerator.generate(smallSpec().seed(8L).build()));
+        assertEquals(12, session.getTeachers().size());
+    }
+
+    @Test
+    void testGenerate_ExamsStayWithinTheSpec() {
+        SyntheticSessionSpec spec = smallSpec().seed(3L).build();
+
+        SyntheticSessionModel session = SyntheticSessionGenerator.generate(spec);
+
+        Map<String, Long> roomsPerSlot = session.getExams().stream()
+                .collect(Collectors.groupingBy(e -> e.getDay() + "_" + e.getSeance(), Collectors.counting()));
+        assertEquals(spec.getNumDays() * spec.getSeancesPerDay(), roomsPerSlot.size());
+        roomsPerSlot.values().forEach(rooms ->
+                assertTrue(rooms >= spec.getMinRoomsPerSlot() && rooms <= spec.getMaxRoomsPerSlot()));
+        for (SyntheticExam exam : session.getExams()) {
+            assertTrue(exam.getOwnerIndex() >= 0 && exam.getOwnerIndex() < session.getTeachers().size());
+        }
+        session.getUnavailabilities().forEach(u -> {
+            assertTrue(u.getDay() >= 0 && u.getDay() < spec.getNumDays());
+            assertTrue(u.getSeance() >= 0 && u.getSeance() < spec.getSeancesPerDay());
+        });
+    }
+
+    @Test
+    void testGenerate_InvalidSpec_Throws() {
+        assertThrows(IllegalArgumentException.class,
+                () -> SyntheticSessionGenerator.generate(smallSpec().numDays(0).build()));
+        assertThrows(IllegalArgumentException.class,
+                () -> SyntheticSessionGenerator.generate(smallSpec().seancesPerDay(5).build()));
+    }
+
+    @Test
+    void testToInstance_Solves() {
+        SyntheticSessionSpec spec = smallSpec().seed(7L).build();
+        SyntheticSessionModel session = SyntheticSessionGenerator.generate(spec);
+
+        // Random owners and per-grade head counts rarely admit exact equality or HARD owner presence
+        AssignmentConstraintConfig config = AssignmentConstraintConfig.defaultConfig();
+        config.setEqualAssignmentMode(AssignmentConstraintConfig.ConstraintMode.SOFT);
+        config.setOwnerPresenceMode(AssignmentConstraintConfig.ConstraintMode.SOFT);
+
+        SolverInstanceModel instance = SyntheticSessionGenerator.toInstance(session, config);
+        AssignmentResponseModel result = new AssignmentAlgorithmService(null, null, null, null, null)
+                .replay(instance, config);
+
+        assertEquals(AssignmentStatus.SUCCESS, result.getStatus());
+        assertEquals(session.getExams().size() * spec.getSupervisorsPerExam(),
+                result.getMetadata().getTotalAssignmentsMade());
+    }
+}